@@ -84,6 +84,7 @@ import com.dremio.exec.maestro.MaestroForwarder;
 import com.dremio.exec.maestro.MaestroService;
 import com.dremio.exec.maestro.MaestroServiceImpl;
 import com.dremio.exec.maestro.NoOpMaestroForwarder;
+import com.dremio.exec.planner.cost.StatisticsService;
 import com.dremio.exec.planner.observer.QueryObserverFactory;
 import com.dremio.exec.proto.CoordinationProtos.NodeEndpoint;
 import com.dremio.exec.rpc.RpcConstants;
@@ -212,6 +213,7 @@ import com.dremio.service.scheduler.LocalSchedulerService;
 import com.dremio.service.scheduler.SchedulerService;
 import com.dremio.service.spill.SpillService;
 import com.dremio.service.spill.SpillServiceImpl;
+import com.dremio.service.statistics.StatisticsServiceImpl;
 import com.dremio.service.tokens.TokenManager;
 import com.dremio.service.tokens.TokenManagerImpl;
 import com.dremio.service.users.SimpleUserService;
@@ -538,6 +540,7 @@ public class DACDaemonModule implements DACModule {
       registry.provider(QueryObserverFactory.class),
       registry.provider(AccelerationManager.class),
       registry.provider(AccelerationListManager.class),
+      registry.provider(StatisticsService.class),
       registry.provider(NamespaceService.Factory.class),
       registry.provider(DatasetListingService.class),
       registry.provider(UserService.class),
@@ -875,6 +878,7 @@ public class DACDaemonModule implements DACModule {
     }
 
     registry.bind(AccelerationManager.class, AccelerationManager.NO_OP);
+    registry.bind(StatisticsService.class, StatisticsService.NO_OP);
 
     if (isCoordinator) {
       final ReflectionServiceImpl reflectionService = new ReflectionServiceImpl(
@@ -896,6 +900,12 @@ public class DACDaemonModule implements DACModule {
         registry.provider(ReflectionService.class),
         registry.provider(ReflectionAdministrationService.Factory.class),
         namespaceServiceProvider));
+      registry.replace(StatisticsService.class, new StatisticsServiceImpl(
+        registry.provider(JobsService.class),
+        registry.provider(CatalogService.class),
+        registry.provider(LegacyKVStoreProvider.class),
+        bootstrap.getAllocator(),
+        bootstrap.getExecutor()));
 
       final Provider<Collection<NodeEndpoint>> nodeEndpointsProvider = () -> sabotContextProvider.get().getExecutors();
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.reflection;
+
+import static com.dremio.options.OptionValue.OptionType.SYSTEM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dremio.dac.explore.model.DatasetPath;
+import com.dremio.exec.ExecConstants;
+import com.dremio.options.OptionManager;
+import com.dremio.options.OptionValue;
+import com.dremio.service.accelerator.BaseTestReflection;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.service.reflection.proto.Materialization;
+import com.dremio.service.reflection.proto.ReflectionDetails;
+import com.dremio.service.reflection.proto.ReflectionField;
+import com.dremio.service.reflection.proto.ReflectionGoal;
+import com.dremio.service.reflection.proto.ReflectionId;
+import com.dremio.service.reflection.proto.ReflectionType;
+import com.dremio.service.reflection.proto.Refresh;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests the compaction of reflection refreshes
+ */
+public class TestReflectionCompaction extends BaseTestReflection {
+
+  private final ReflectionMonitor monitor = newReflectionMonitor(100, 60_000);
+
+  private DatasetConfig dataset;
+
+  private static OptionManager options() {
+    return getSabotContext().getOptionManager();
+  }
+
+  @Before
+  public void prepare() throws Exception {
+    setDeletionGracePeriod(60);
+    setManagerRefreshDelay(1);
+    setMaterializationCacheSettings(false, 1000);
+
+    // spread the refresh over several writers, each writing its own small file
+    options().setOption(OptionValue.createLong(SYSTEM, ExecConstants.SLICE_TARGET, 1));
+    options().setOption(OptionValue.createLong(SYSTEM, ExecConstants.MAX_WIDTH_PER_NODE_KEY, 4));
+    options().setOption(OptionValue.createBoolean(SYSTEM, ReflectionOptions.ENABLE_COMPACTION.getOptionName(), true));
+
+    final File file = temp.newFile("compaction_" + System.currentTimeMillis() + ".json");
+    try (PrintWriter writer = new PrintWriter(file)) {
+      for (int i = 0; i < 1000; i++) {
+        writer.printf("{ \"key\" : \"k%d\", \"value\" : %d }%n", i % 100, i);
+      }
+    }
+    dataset = addJson(new DatasetPath(ImmutableList.of("dfs", file.getAbsolutePath())));
+  }
+
+  @After
+  public void clearAll() throws Exception {
+    options().deleteOption(ExecConstants.SLICE_TARGET, SYSTEM);
+    options().deleteOption(ExecConstants.MAX_WIDTH_PER_NODE_KEY, SYSTEM);
+    options().deleteOption(ReflectionOptions.ENABLE_COMPACTION.getOptionName(), SYSTEM);
+    setDeletionGracePeriod(1);
+    getReflectionService().clearAll();
+    monitor.waitUntilNoMaterializationsAvailable();
+  }
+
+  @Test
+  public void testCompactionWritesTargetSizedFiles() throws Exception {
+    final ReflectionId id = getReflectionService().create(new ReflectionGoal()
+      .setType(ReflectionType.RAW)
+      .setDatasetId(dataset.getId().getId())
+      .setName("compacted-raw")
+      .setDetails(new ReflectionDetails()
+        .setDisplayFieldList(ImmutableList.of(new ReflectionField("key"), new ReflectionField("value")))
+        .setDistributionFieldList(ImmutableList.of(new ReflectionField("key")))));
+
+    final Materialization materialization = monitor.waitUntilMaterialized(id);
+
+    final List<Refresh> refreshes = getMaterializationStore().getRefreshes(materialization).toList();
+    assertEquals(1, refreshes.size());
+    final Refresh refresh = refreshes.get(0);
+    assertTrue("refresh wasn't compacted", Boolean.TRUE.equals(refresh.getCompacted()));
+    // the whole refresh is far below the target file size, so it is compacted into a single file
+    assertEquals(1, refresh.getMetrics().getNumFiles().intValue());
+  }
+}
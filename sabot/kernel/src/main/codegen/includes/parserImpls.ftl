@@ -446,6 +446,30 @@ SqlNode SqlRefreshReflection() :
     }
 }
 
+/**
+ * Parses an ANALYZE TABLE statement
+ *   ANALYZE TABLE tblname COMPUTE STATISTICS [ FOR COLUMNS (field1, field2 ...) ]
+ */
+SqlNode SqlAnalyzeTable() :
+{
+    SqlParserPos pos;
+    SqlIdentifier tblName;
+    SqlNodeList columns = SqlNodeList.EMPTY;
+}
+{
+    <ANALYZE> { pos = getPos(); }
+    <TABLE>
+    tblName = CompoundIdentifier()
+    <COMPUTE> <STATISTICS>
+    [
+        <FOR> <COLUMNS>
+        columns = ParseRequiredFieldList("Statistics")
+    ]
+    {
+        return new SqlAnalyzeTable(pos, tblName, columns);
+    }
+}
+
 /**
  * Parses a LOAD MATERIALIZATION statement
  *   $LOAD MATERIALIZATION METADATA materialization_path
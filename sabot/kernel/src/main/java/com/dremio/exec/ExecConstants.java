@@ -180,6 +180,19 @@ public interface ExecConstants {
 
   LongValidator PARQUET_MIN_RECORDS_FOR_FLUSH_VALIDATOR = new LongValidator("store.parquet.min_records_for_flush", 25000);
 
+  // Write and close each parquet file in the background while the next file is being filled
+  BooleanValidator PARQUET_WRITER_ASYNC_FLUSH = new BooleanValidator("store.parquet.writer.async_flush", false);
+
+  // Number of distinct values of a column in a file above which the parquet writer drops its bloom filter, which is
+  // stored in the footer and read with it. Each distinct value takes about 10 bits at the default fpp
+  LongValidator PARQUET_WRITER_BLOOM_FILTER_MAX_NDV = new RangeLongValidator("store.parquet.writer.bloom_filter.max_ndv", 1, 10_000_000, 10_000);
+
+  // False positive probability of the bloom filters written by the parquet writer
+  DoubleValidator PARQUET_WRITER_BLOOM_FILTER_FPP = new RangeDoubleValidator("store.parquet.writer.bloom_filter.fpp", 0.0001, 0.5, 0.01);
+
+  // Skip the parquet row groups whose bloom filters show they can't match an equality condition
+  BooleanValidator PARQUET_READER_BLOOM_FILTER_PRUNING = new BooleanValidator("store.parquet.reader.bloom_filter_pruning", true);
+
   String PARQUET_NEW_RECORD_READER = "store.parquet.use_new_reader";
   BooleanValidator PARQUET_RECORD_READER_IMPLEMENTATION_VALIDATOR = new BooleanValidator(PARQUET_NEW_RECORD_READER, false);
 
@@ -198,6 +211,8 @@ public interface ExecConstants {
   BooleanValidator JSON_READER_ALL_TEXT_MODE_VALIDATOR = new BooleanValidator(JSON_ALL_TEXT_MODE, false);
   BooleanValidator JSON_EXTENDED_TYPES = new BooleanValidator("store.json.extended_types", false);
   BooleanValidator JSON_WRITER_UGLIFY = new BooleanValidator("store.json.writer.uglify", false);
+  // split uncompressed JSON files at block boundaries, requires every record to be on a single line
+  BooleanValidator JSON_SPLIT_NEWLINE_DELIMITED = new BooleanValidator("store.json.split_newline_delimited", false);
 
   DoubleValidator TEXT_ESTIMATED_ROW_SIZE = new RangeDoubleValidator(
       "store.text.estimated_row_size_bytes", 1, Long.MAX_VALUE, 10.0);
@@ -455,6 +470,12 @@ public interface ExecConstants {
 
   BooleanValidator ENABLE_ICEBERG = new BooleanValidator("dremio.iceberg.enabled", false);
 
+  // number of threads reading the manifests of an iceberg table when refreshing its metadata
+  RangeLongValidator ICEBERG_MANIFEST_READ_PARALLELISM = new RangeLongValidator("store.iceberg.manifest_read_parallelism", 1, 64, 16);
+
+  // estimated heap size of the data files read from iceberg manifests that are cached across metadata refreshes
+  PositiveLongValidator ICEBERG_MANIFEST_CACHE_MAX_BYTES = new PositiveLongValidator("store.iceberg.manifest_cache_max_bytes", Long.MAX_VALUE, 256 * 1024 * 1024);
+
   // warning threshold for running time of a task
   PositiveLongValidator SLICING_WARN_MAX_RUNTIME_MS = new PositiveLongValidator("dremio.sliced.warn_max_runtime", Long.MAX_VALUE, 120000);
 
@@ -464,11 +485,24 @@ public interface ExecConstants {
   // warning threshold for long IO time
   LongValidator STORE_IO_TIME_WARN_THRESH_MILLIS = new LongValidator("store.io_time_warn_thresh_millis", 10000);
 
+  // interval of the operator timelines recorded in the profiles, 0 to not record them
+  RangeLongValidator OPERATOR_TIMELINE_INTERVAL_MILLIS = new RangeLongValidator("exec.operator.timeline.interval_millis", 0, 60_000, 0);
+
   // global hive-async option
   BooleanValidator ENABLE_HIVE_ASYNC = new TypeValidators.BooleanValidator("store.hive.async", true);
 
   BooleanValidator ENABLE_REMOTE_JOB_FETCH = new BooleanValidator("jobs.remote.fetch_enabled", true);
 
+  // number of result batches a screen sends to the coordinator before waiting for the client to acknowledge one
+  RangeLongValidator SCREEN_MAX_IN_FLIGHT_BATCHES = new RangeLongValidator("exec.screen.max_in_flight_batches", 1, 64, 3);
+
+  // let spillable operators grow past their planned memory limit while the executor has unused memory
+  BooleanValidator MEMORY_ARBITER_ENABLED = new BooleanValidator("exec.memory.arbiter.enabled", false);
+  // fraction of the executor memory the arbiter never hands out
+  DoubleValidator MEMORY_ARBITER_RESERVE_FACTOR = new RangeDoubleValidator("exec.memory.arbiter.reserve_factor", 0.0, 1.0, 0.2);
+  // fraction of its planned limit an operator is granted per request
+  DoubleValidator MEMORY_ARBITER_GROWTH_FACTOR = new RangeDoubleValidator("exec.memory.arbiter.growth_factor", 0.01, 1.0, 0.25);
+
   DoubleValidator EXPR_COMPLEXITY_NO_OPTIMIZE_THRESHOLD = new DoubleValidator("exec.expression.complexity.no_optimize.threshold", 2000.00);
 
   BooleanValidator ENABLE_BOOSTING = new BooleanValidator("exec.storage.enable_arrow_caching", true);
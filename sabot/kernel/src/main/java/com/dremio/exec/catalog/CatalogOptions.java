@@ -52,6 +52,12 @@ public final class CatalogOptions {
   // Maximum number of single split partitions allowed to be saved together
   public static final LongValidator SINGLE_SPLIT_PARTITION_MAX = new PositiveLongValidator("store.plugin.max_single_split_partitions", Long.MAX_VALUE, 500);
 
+  // Maximum number of existing datasets of a source whose metadata is refreshed concurrently
+  public static final LongValidator METADATA_REFRESH_PARALLELISM = new PositiveLongValidator("store.plugin.metadata_refresh_parallelism", 64, 4);
+
+  // Let sources reuse the splits of files left unchanged since the previous refresh of a dataset
+  public static final BooleanValidator REUSE_UNCHANGED_SPLITS = new BooleanValidator("store.plugin.reuse_unchanged_splits", true);
+
   // How should (multi-)splits be compressed in the K/V store
   public static final TypeValidators.EnumValidator<NamespaceService.SplitCompression> SPLIT_COMPRESSION_TYPE = new TypeValidators.EnumValidator<>(
     "store.plugin.split_compression", NamespaceService.SplitCompression.class, NamespaceService.SplitCompression.SNAPPY);
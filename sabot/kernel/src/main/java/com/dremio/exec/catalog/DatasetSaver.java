@@ -16,6 +16,7 @@
 package com.dremio.exec.catalog;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
@@ -24,6 +25,7 @@ import com.dremio.common.exceptions.UserException;
 import com.dremio.connector.metadata.BytesOutput;
 import com.dremio.connector.metadata.DatasetHandle;
 import com.dremio.connector.metadata.DatasetMetadata;
+import com.dremio.connector.metadata.ListPartitionChunkOption;
 import com.dremio.connector.metadata.PartitionChunkListing;
 import com.dremio.connector.metadata.SourceMetadata;
 import com.dremio.connector.metadata.extensions.SupportsReadSignature;
@@ -35,6 +37,7 @@ import com.dremio.service.namespace.NamespaceException;
 import com.dremio.service.namespace.NamespaceKey;
 import com.dremio.service.namespace.NamespaceService;
 import com.dremio.service.namespace.NamespaceService.SplitCompression;
+import com.dremio.service.namespace.PartitionChunkId;
 import com.dremio.service.namespace.dataset.proto.DatasetConfig;
 import com.dremio.service.namespace.proto.EntityId;
 
@@ -91,7 +94,7 @@ public class DatasetSaver {
     SplitCompression splitCompression = NamespaceService.SplitCompression.valueOf(optionManager.getOption(CatalogOptions.SPLIT_COMPRESSION_TYPE).toUpperCase());
     try (DatasetMetadataSaver saver = systemNamespace.newDatasetMetadataSaver(canonicalKey, datasetConfig.getId(), splitCompression, optionManager.getOption(CatalogOptions.SINGLE_SPLIT_PARTITION_MAX))) {
       final PartitionChunkListing chunkListing = sourceMetadata.listPartitionChunks(handle,
-          options.asListPartitionChunkOptions(datasetConfig));
+          listPartitionChunkOptions(datasetConfig, options));
 
       final long recordCountFromSplits = saver == null || chunkListing == null ? 0 :
         saver.savePartitionChunks(chunkListing);
@@ -128,6 +131,24 @@ public class DatasetSaver {
     }
   }
 
+  private ListPartitionChunkOption[] listPartitionChunkOptions(DatasetConfig datasetConfig, DatasetRetrievalOptions options) {
+    final ListPartitionChunkOption[] chunkOptions = options.asListPartitionChunkOptions(datasetConfig);
+    // a forced update regenerates every split
+    if (options.forceUpdate() ||
+        !optionManager.getOption(CatalogOptions.REUSE_UNCHANGED_SPLITS) ||
+        datasetConfig.getReadDefinition() == null ||
+        datasetConfig.getReadDefinition().getSplitVersion() == null) {
+      return chunkOptions;
+    }
+
+    // splits of the current version are only deleted once the new version is saved, so they can be read while the
+    // new splits are listed
+    final ListPartitionChunkOption[] withPrevious = Arrays.copyOf(chunkOptions, chunkOptions.length + 1);
+    withPrevious[chunkOptions.length] = new PreviousPartitionChunksOption(
+        systemNamespace.findSplits(PartitionChunkId.getSplitsRange(datasetConfig)));
+    return withPrevious;
+  }
+
   /**
    * @param opportunisticSave  if set, will only attempt a save once, without attempting to handle concurrent modifications
    */
@@ -16,16 +16,19 @@
 package com.dremio.exec.catalog;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.dremio.common.collections.Tuple;
+import com.dremio.common.concurrent.CloseableThreadPool;
 import com.dremio.common.utils.PathUtils;
 import com.dremio.connector.ConnectorException;
 import com.dremio.connector.metadata.BytesOutput;
@@ -68,6 +71,7 @@ public class MetadataSynchronizer {
   private final ManagedStoragePlugin.MetadataBridge bridge;
   private final DatasetSaver saver;
   private final DatasetRetrievalOptions options;
+  private final int parallelism;
 
   private final UpdateMode updateMode;
   private final Set<NamespaceKey> ancestorsToKeep;
@@ -81,7 +85,8 @@ public class MetadataSynchronizer {
       ManagedStoragePlugin.MetadataBridge bridge,
       MetadataPolicy metadataPolicy,
       DatasetSaver saver,
-      DatasetRetrievalOptions options
+      DatasetRetrievalOptions options,
+      int parallelism
   ) {
     this.systemNamespace = Preconditions.checkNotNull(systemNamespace);
     this.sourceKey = Preconditions.checkNotNull(sourceKey);
@@ -89,10 +94,11 @@ public class MetadataSynchronizer {
     this.sourceMetadata = Preconditions.checkNotNull(bridge.getMetadata());
     this.saver = saver;
     this.options = options;
+    this.parallelism = Math.max(1, parallelism);
 
     this.updateMode = metadataPolicy.getDatasetUpdateMode();
     this.ancestorsToKeep = new HashSet<>();
-    this.failedDatasets = new ArrayList<>();
+    this.failedDatasets = Collections.synchronizedList(new ArrayList<>());
   }
 
   /**
@@ -167,35 +173,82 @@ public class MetadataSynchronizer {
 
   /**
    * Brings the namespace up to date by gathering metadata from the source about existing and new datasets.
+   * <p>
+   * The listing is consumed on the calling thread, which also handles new datasets as they only require a shallow
+   * entry. Existing datasets require the source to be probed (listing partitions, reading footers, generating splits),
+   * so up to {@code parallelism} of them are refreshed concurrently while the listing is still being consumed.
    *
    * @throws NamespaceException if it cannot be handled
    */
   private void synchronizeDatasets() throws NamespaceException, ConnectorException {
     logger.trace("Source '{}' syncing datasets", sourceKey);
+    if (parallelism == 1) {
+      synchronizeDatasets(null, null);
+      return;
+    }
+
+    final Semaphore permits = new Semaphore(parallelism);
+    try (CloseableThreadPool pool = new CloseableThreadPool("metadata-refresh-" + sourceKey.getRoot())) {
+      synchronizeDatasets(pool, permits);
+    }
+  }
+
+  private void synchronizeDatasets(CloseableThreadPool pool, Semaphore permits)
+      throws NamespaceException, ConnectorException {
     try (DatasetHandleListing datasetListing = getDatasetHandleListing(options.asGetDatasetOptions(null))) {
-      final Iterator<? extends DatasetHandle> iterator = datasetListing.iterator();
-      do {
-        try {
-          if (!iterator.hasNext()) {
+      try {
+        final Iterator<? extends DatasetHandle> iterator = datasetListing.iterator();
+        do {
+          try {
+            if (!iterator.hasNext()) {
+              break;
+            }
+            final DatasetHandle handle = iterator.next();
+            final NamespaceKey datasetKey = MetadataObjectsUtils.toNamespaceKey(handle.getDatasetPath());
+            final boolean existing = existingDatasets.remove(datasetKey);
+            if (logger.isTraceEnabled()) {
+              logger.trace("Dataset '{}' sync started ({})", datasetKey, existing ? "existing" : "new");
+            }
+            if (existing) {
+              addAncestors(datasetKey, ancestorsToKeep);
+              if (pool == null) {
+                handleExistingDataset(datasetKey, handle);
+              } else {
+                // bounds the datasets being refreshed, so the listing is not read ahead of the refreshes
+                permits.acquire();
+                try {
+                  pool.execute(() -> {
+                    try {
+                      handleExistingDataset(datasetKey, handle);
+                    } finally {
+                      permits.release();
+                    }
+                  });
+                } catch (RuntimeException e) {
+                  permits.release();
+                  throw e;
+                }
+              }
+            } else {
+              handleNewDataset(datasetKey, handle);
+            }
+          } catch (DatasetMetadataTooLargeException e) {
+            final boolean existing = existingDatasets.remove(new NamespaceKey(PathUtils.parseFullPath(e.getMessage())));
+            logger.warn("Dataset {} sync failed ({}) due to Metadata too large. Please check.", e.getMessage(), existing ? "existing" : "new");
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.debug("Source '{}' sync interrupted", sourceKey);
+            syncStatus.setInterrupted(true);
             break;
           }
-          final DatasetHandle handle = iterator.next();
-          final NamespaceKey datasetKey = MetadataObjectsUtils.toNamespaceKey(handle.getDatasetPath());
-          final boolean existing = existingDatasets.remove(datasetKey);
-          if (logger.isTraceEnabled()) {
-            logger.trace("Dataset '{}' sync started ({})", datasetKey, existing ? "existing" : "new");
-          }
-          if (existing) {
-            addAncestors(datasetKey, ancestorsToKeep);
-            handleExistingDataset(datasetKey, handle);
-          } else {
-            handleNewDataset(datasetKey, handle);
-          }
-        } catch (DatasetMetadataTooLargeException e) {
-          final boolean existing = existingDatasets.remove(new NamespaceKey(PathUtils.parseFullPath(e.getMessage())));
-          logger.warn("Dataset {} sync failed ({}) due to Metadata too large. Please check.", e.getMessage(), existing ? "existing" : "new");
+        } while (true);
+      } finally {
+        if (permits != null) {
+          // wait for the in-flight datasets, which use handles of the listing, before the listing is closed and the
+          // orphans are computed
+          permits.acquireUninterruptibly(parallelism);
         }
-      } while (true);
+      }
     }
   }
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.catalog;
+
+import java.util.stream.Stream;
+
+import com.dremio.connector.metadata.ListPartitionChunkOption;
+import com.dremio.connector.metadata.MetadataOption;
+import com.dremio.service.namespace.PartitionChunkMetadata;
+
+/**
+ * Partition chunks saved by the previous refresh of a dataset, which sources may reuse for the parts of the dataset
+ * that did not change since.
+ */
+public class PreviousPartitionChunksOption implements ListPartitionChunkOption {
+
+  private final Iterable<PartitionChunkMetadata> partitionChunks;
+
+  public PreviousPartitionChunksOption(Iterable<PartitionChunkMetadata> partitionChunks) {
+    this.partitionChunks = partitionChunks;
+  }
+
+  public Iterable<PartitionChunkMetadata> getPartitionChunks() {
+    return partitionChunks;
+  }
+
+  public static Iterable<PartitionChunkMetadata> getPartitionChunks(MetadataOption... options) {
+    return Stream.of(options).filter(o -> o instanceof PreviousPartitionChunksOption).findFirst().map(o -> ((PreviousPartitionChunksOption) o).getPartitionChunks()).orElse(null);
+  }
+
+}
@@ -401,7 +401,8 @@ class SourceMetadataManager implements AutoCloseable {
 
       final Stopwatch stopwatch = Stopwatch.createStarted();
       final MetadataSynchronizer synchronizeRun = new MetadataSynchronizer(systemNamespace, sourceKey,
-          bridge, metadataPolicy, getSaver(), retrievalOptions);
+          bridge, metadataPolicy, getSaver(), retrievalOptions,
+          (int) optionManager.getOption(CatalogOptions.METADATA_REFRESH_PARALLELISM));
       synchronizeRun.setup();
       final SyncStatus syncStatus = synchronizeRun.go();
 
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import javax.inject.Inject;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.holders.NullableBigIntHolder;
+import org.apache.arrow.vector.holders.NullableDateMilliHolder;
+import org.apache.arrow.vector.holders.NullableFloat4Holder;
+import org.apache.arrow.vector.holders.NullableFloat8Holder;
+import org.apache.arrow.vector.holders.NullableIntHolder;
+import org.apache.arrow.vector.holders.NullableTimeStampMilliHolder;
+import org.apache.arrow.vector.holders.NullableVarBinaryHolder;
+import org.apache.arrow.vector.holders.NullableVarCharHolder;
+
+import com.dremio.exec.expr.SimpleFunction;
+import com.dremio.exec.expr.annotations.FunctionTemplate;
+import com.dremio.exec.expr.annotations.FunctionTemplate.FunctionScope;
+import com.dremio.exec.expr.annotations.FunctionTemplate.NullHandling;
+import com.dremio.exec.expr.annotations.Output;
+import com.dremio.exec.expr.annotations.Param;
+
+/*
+ * Functions computing the Z-order keys used to cluster the rows written with LOCALSORT BY on several columns.
+ * zorder_normalize maps a value to a BIGINT whose order is the order of the values, zorder_scale scales a normalized
+ * value to a range of its column (values outside of it and nulls are clamped to it), and zorder_interleave interleaves
+ * the bits of the scaled values.
+ */
+public class ZOrderFunctions {
+
+  @FunctionTemplate(name = "zorder_normalize", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class NormalizeInt implements SimpleFunction {
+
+    @Param
+    NullableIntHolder in;
+    @Output
+    NullableBigIntHolder out;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = in.isSet;
+      if (in.isSet == 1) {
+        out.value = in.value;
+      }
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_normalize", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class NormalizeBigInt implements SimpleFunction {
+
+    @Param
+    NullableBigIntHolder in;
+    @Output
+    NullableBigIntHolder out;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = in.isSet;
+      if (in.isSet == 1) {
+        out.value = in.value;
+      }
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_normalize", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class NormalizeFloat implements SimpleFunction {
+
+    @Param
+    NullableFloat4Holder in;
+    @Output
+    NullableBigIntHolder out;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = in.isSet;
+      if (in.isSet == 1) {
+        out.value = com.dremio.exec.expr.fn.impl.ZOrderHelper.normalize((double) in.value);
+      }
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_normalize", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class NormalizeDouble implements SimpleFunction {
+
+    @Param
+    NullableFloat8Holder in;
+    @Output
+    NullableBigIntHolder out;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = in.isSet;
+      if (in.isSet == 1) {
+        out.value = com.dremio.exec.expr.fn.impl.ZOrderHelper.normalize(in.value);
+      }
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_normalize", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class NormalizeDate implements SimpleFunction {
+
+    @Param
+    NullableDateMilliHolder in;
+    @Output
+    NullableBigIntHolder out;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = in.isSet;
+      if (in.isSet == 1) {
+        out.value = in.value;
+      }
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_normalize", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class NormalizeTimeStamp implements SimpleFunction {
+
+    @Param
+    NullableTimeStampMilliHolder in;
+    @Output
+    NullableBigIntHolder out;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = in.isSet;
+      if (in.isSet == 1) {
+        out.value = in.value;
+      }
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_normalize", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class NormalizeVarChar implements SimpleFunction {
+
+    @Param
+    NullableVarCharHolder in;
+    @Output
+    NullableBigIntHolder out;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = in.isSet;
+      if (in.isSet == 1) {
+        out.value = com.dremio.exec.expr.fn.impl.ZOrderHelper.normalize(in.buffer, in.start, in.end);
+      }
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_scale", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class Scale implements SimpleFunction {
+
+    @Param
+    NullableBigIntHolder in;
+    @Param
+    NullableBigIntHolder min;
+    @Param
+    NullableBigIntHolder max;
+    @Output
+    NullableBigIntHolder out;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = 1;
+      if (in.isSet == 0 || min.isSet == 0 || max.isSet == 0) {
+        out.value = 0;
+      } else {
+        out.value = com.dremio.exec.expr.fn.impl.ZOrderHelper.scale(in.value, min.value, max.value);
+      }
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_interleave", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class Interleave2 implements SimpleFunction {
+
+    @Param
+    NullableBigIntHolder in1;
+    @Param
+    NullableBigIntHolder in2;
+    @Output
+    NullableVarBinaryHolder out;
+    @Inject
+    ArrowBuf buffer;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = 1;
+      out.buffer = buffer = buffer.reallocIfNeeded(2 * 8);
+      out.start = 0;
+      out.end = com.dremio.exec.expr.fn.impl.ZOrderHelper.interleave(buffer, in1.value, in2.value);
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_interleave", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class Interleave3 implements SimpleFunction {
+
+    @Param
+    NullableBigIntHolder in1;
+    @Param
+    NullableBigIntHolder in2;
+    @Param
+    NullableBigIntHolder in3;
+    @Output
+    NullableVarBinaryHolder out;
+    @Inject
+    ArrowBuf buffer;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = 1;
+      out.buffer = buffer = buffer.reallocIfNeeded(3 * 8);
+      out.start = 0;
+      out.end = com.dremio.exec.expr.fn.impl.ZOrderHelper.interleave(buffer, in1.value, in2.value, in3.value);
+    }
+  }
+
+  @FunctionTemplate(name = "zorder_interleave", scope = FunctionScope.SIMPLE, nulls = NullHandling.INTERNAL)
+  public static class Interleave4 implements SimpleFunction {
+
+    @Param
+    NullableBigIntHolder in1;
+    @Param
+    NullableBigIntHolder in2;
+    @Param
+    NullableBigIntHolder in3;
+    @Param
+    NullableBigIntHolder in4;
+    @Output
+    NullableVarBinaryHolder out;
+    @Inject
+    ArrowBuf buffer;
+
+    public void setup() {
+    }
+
+    public void eval() {
+      out.isSet = 1;
+      out.buffer = buffer = buffer.reallocIfNeeded(4 * 8);
+      out.start = 0;
+      out.end = com.dremio.exec.expr.fn.impl.ZOrderHelper.interleave(buffer, in1.value, in2.value, in3.value, in4.value);
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.expr.fn.impl;
+
+import org.apache.arrow.memory.ArrowBuf;
+
+/**
+ * Helpers for the functions computing Z-order (Morton) keys, see {@link ZOrderFunctions}.<br>
+ * Values are first normalized to longs whose order is the order of the values, then scaled to the range of their
+ * column so that the bits of every column are significant, and the bits of the scaled values are interleaved, most
+ * significant bits first. Sorting on the bytes of the interleaved key clusters rows that are close on all the columns
+ * at once.
+ */
+public final class ZOrderHelper {
+
+  private ZOrderHelper() {
+  }
+
+  public static long normalize(double value) {
+    final long bits = Double.doubleToLongBits(value);
+    // negative values have all their bits but the sign bit flipped
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+
+  /**
+   * Normalizes a string value to its first 8 bytes, padded with zeros.
+   */
+  public static long normalize(ArrowBuf buffer, int start, int end) {
+    long value = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      value = (value << 8) | (start + i < end ? buffer.getByte(start + i) & 0xFF : 0);
+    }
+    return value ^ Long.MIN_VALUE;
+  }
+
+  /**
+   * Scales a normalized value to the range of its column: the offset of the value from the minimum is shifted left
+   * until the offset of the maximum uses the most significant bit. Values out of the range, as the range may come from
+   * a sample, are clamped to it.
+   *
+   * @return a long whose unsigned order is the order of the values
+   */
+  public static long scale(long value, long min, long max) {
+    final long range = max - min;
+    if (range == 0) {
+      return 0;
+    }
+    final long clamped = Math.max(min, Math.min(max, value));
+    return (clamped - min) << Long.numberOfLeadingZeros(range);
+  }
+
+  /**
+   * Writes the interleaved bits of the given scaled values as 16 big endian bytes.
+   *
+   * @return the number of bytes written
+   */
+  public static int interleave(ArrowBuf buffer, long key1, long key2) {
+    long out = 0;
+    int position = 0;
+    for (int bit = Long.SIZE - 1; bit >= 0; bit--) {
+      out = append(buffer, out, position++, key1 >>> bit);
+      out = append(buffer, out, position++, key2 >>> bit);
+    }
+    return 2 * Long.BYTES;
+  }
+
+  /**
+   * Writes the interleaved bits of the given scaled values as 24 big endian bytes.
+   *
+   * @return the number of bytes written
+   */
+  public static int interleave(ArrowBuf buffer, long key1, long key2, long key3) {
+    long out = 0;
+    int position = 0;
+    for (int bit = Long.SIZE - 1; bit >= 0; bit--) {
+      out = append(buffer, out, position++, key1 >>> bit);
+      out = append(buffer, out, position++, key2 >>> bit);
+      out = append(buffer, out, position++, key3 >>> bit);
+    }
+    return 3 * Long.BYTES;
+  }
+
+  /**
+   * Writes the interleaved bits of the given scaled values as 32 big endian bytes.
+   *
+   * @return the number of bytes written
+   */
+  public static int interleave(ArrowBuf buffer, long key1, long key2, long key3, long key4) {
+    long out = 0;
+    int position = 0;
+    for (int bit = Long.SIZE - 1; bit >= 0; bit--) {
+      out = append(buffer, out, position++, key1 >>> bit);
+      out = append(buffer, out, position++, key2 >>> bit);
+      out = append(buffer, out, position++, key3 >>> bit);
+      out = append(buffer, out, position++, key4 >>> bit);
+    }
+    return 4 * Long.BYTES;
+  }
+
+  /**
+   * Appends the lowest bit of the given bits to the word being interleaved, and writes the word once it is full.
+   *
+   * @param out word being interleaved
+   * @param position position of the bit appended in the interleaved key
+   * @return the word with the bit appended
+   */
+  private static long append(ArrowBuf buffer, long out, int position, long bits) {
+    final long appended = (out << 1) | (bits & 1);
+    if ((position & (Long.SIZE - 1)) == Long.SIZE - 1) {
+      buffer.setLong((position / Long.SIZE) * Long.BYTES, Long.reverseBytes(appended));
+    }
+    return appended;
+  }
+}
@@ -99,26 +99,33 @@ public class ExecutionPlanCreator {
     final long queryPerNodeFromResourceAllocation =  allocationSet.getPerNodeQueryMemoryLimit();
     planningSet.setMemoryAllocationPerNode(queryPerNodeFromResourceAllocation);
 
-    // set bounded memory for all bounded memory operations
-    MemoryAllocationUtilities.setupBoundedMemoryAllocations(
-        plan,
-        queryContext.getOptions(),
-        groupResourceInformation,
-        planningSet,
-        queryPerNodeFromResourceAllocation);
-
     // pass all query, session and non-default system options to the fragments
     final OptionList fragmentOptions = filterDCSControlOptions(queryContext.getNonDefaultOptions());
 
     // index repetitive items to reduce rpc size.
     final PlanFragmentsIndex.Builder indexBuilder = new PlanFragmentsIndex.Builder();
 
-    final List<PlanFragmentFull> planFragments = parallelizer.getFragments(
-      fragmentOptions,
-      planningSet,
-      reader,
-      rootOperatorFragment,
-      indexBuilder);
+    final List<PlanFragmentFull> planFragments;
+    // cached and prepared plans are shared by their executions, and memory limits are set on the operators themselves:
+    // each execution starts from the planned limits, and holds the plan until its fragments are serialized.
+    synchronized (plan) {
+      plan.resetMemoryLimits();
+
+      // set bounded memory for all bounded memory operations
+      MemoryAllocationUtilities.setupBoundedMemoryAllocations(
+          plan,
+          queryContext.getOptions(),
+          groupResourceInformation,
+          planningSet,
+          queryPerNodeFromResourceAllocation);
+
+      planFragments = parallelizer.getFragments(
+        fragmentOptions,
+        planningSet,
+        reader,
+        rootOperatorFragment,
+        indexBuilder);
+    }
 
     traceFragments(queryContext, planFragments);
 
@@ -48,6 +48,7 @@ import com.dremio.exec.expr.fn.FunctionImplementationRegistry;
 import com.dremio.exec.planner.PlannerPhase;
 import com.dremio.exec.planner.acceleration.substitution.DefaultSubstitutionProviderFactory;
 import com.dremio.exec.planner.acceleration.substitution.SubstitutionProviderFactory;
+import com.dremio.exec.planner.cost.StatisticsService;
 import com.dremio.exec.planner.physical.PlannerSettings;
 import com.dremio.exec.planner.sql.OperatorTable;
 import com.dremio.exec.proto.CoordExecRPC.QueryContextInformation;
@@ -180,6 +181,7 @@ public class QueryContext implements AutoCloseable, ResourceSchedulingContext, O
     this.executionControls = new ExecutionControls(optionManager, sabotContext.getEndpoint());
     this.plannerSettings = new PlannerSettings(sabotContext.getConfig(), optionManager,
       () -> groupResourceInformation, executionControls);
+    this.plannerSettings.setStatisticsService(sabotContext.getStatisticsService());
     functionImplementationRegistry = this.optionManager.getOption(PlannerSettings
       .ENABLE_DECIMAL_V2)? sabotContext.getDecimalFunctionImplementationRegistry() : sabotContext
       .getFunctionImplementationRegistry();
@@ -232,6 +234,10 @@ public class QueryContext implements AutoCloseable, ResourceSchedulingContext, O
     return sabotContext.getAccelerationManager();
   }
 
+  public StatisticsService getStatisticsService() {
+    return sabotContext.getStatisticsService();
+  }
+
   public SubstitutionProviderFactory getSubstitutionProviderFactory() {
     return substitutionProviderFactory;
   }
@@ -15,13 +15,16 @@
  */
 package com.dremio.exec.physical;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.dremio.common.graph.Graph;
 import com.dremio.common.graph.GraphAlgos;
 import com.dremio.common.logical.PlanProperties;
 import com.dremio.exec.physical.base.Leaf;
+import com.dremio.exec.physical.base.OpProps;
 import com.dremio.exec.physical.base.PhysicalOperator;
 import com.dremio.exec.physical.base.Root;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -42,10 +45,16 @@ public class PhysicalPlan {
   @JsonIgnore
   Runnable committer;
 
+  // memory limits as planned, before any execution bounded them. See resetMemoryLimits().
+  private final Map<OpProps, Long> plannedMemLimits = new IdentityHashMap<>();
+
   @JsonCreator
   public PhysicalPlan(@JsonProperty("head") PlanProperties properties, @JsonProperty("graph") List<PhysicalOperator> operators) {
     this.properties = properties;
     this.graph = Graph.newGraph(operators, Root.class, Leaf.class);
+    for (PhysicalOperator op : getSortedOperators()) {
+      plannedMemLimits.put(op.getProps(), op.getProps().getMemLimit());
+    }
   }
 
   public PhysicalPlan(PlanProperties properties, List<PhysicalOperator> operators, Runnable committer) {
@@ -97,6 +106,17 @@ public class PhysicalPlan {
   }
 
 
+  /**
+   * Restores the memory limits of the operators to their planned values. Execution bounds the limits in place, so a
+   * plan executed more than once (a cached or prepared plan) must be reset first, and must not be executed
+   * concurrently while its limits are being set and its fragments serialized.
+   */
+  public void resetMemoryLimits() {
+    for (Map.Entry<OpProps, Long> limit : plannedMemLimits.entrySet()) {
+      limit.getKey().setMemLimit(limit.getValue());
+    }
+  }
+
   public Optional<Runnable> getCommitter() {
     return Optional.ofNullable(committer);
   }
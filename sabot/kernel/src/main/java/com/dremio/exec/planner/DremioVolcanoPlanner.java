@@ -19,10 +19,12 @@ import static com.dremio.exec.work.foreman.AttemptManager.INJECTOR_DURING_PLANNI
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 import org.apache.calcite.plan.Context;
 import org.apache.calcite.plan.ConventionTraitDef;
 import org.apache.calcite.plan.RelOptCostFactory;
+import org.apache.calcite.plan.volcano.RelSubset;
 import org.apache.calcite.plan.volcano.VolcanoPlanner;
 import org.apache.calcite.rel.RelCollationTraitDef;
 import org.apache.calcite.rel.RelNode;
@@ -47,6 +49,7 @@ import com.google.common.base.Throwables;
 public class DremioVolcanoPlanner extends VolcanoPlanner {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DremioVolcanoPlanner.class);
   private static final ControlsInjector INJECTOR = ControlsInjectorFactory.getInjector(DremioVolcanoPlanner.class);
+  private static final Pattern ALL_RULES = Pattern.compile(".*");
 
   private final SubstitutionProvider substitutionProvider;
 
@@ -55,6 +58,7 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
   private RelNode originalRoot;
   private PlannerPhase phase;
   private MaxNodesListener listener;
+  private boolean bestSoFar;
   private final ExecutionControls executionControls;
   private final PlannerSettings plannerSettings;
 
@@ -91,6 +95,8 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
     try {
       cancelFlag.reset();
       listener.reset();
+      bestSoFar = false;
+      setRuleDescExclusionFilter(null);
       return super.findBestExp();
     } catch(RuntimeException ex) {
       // if the planner is hiding a UserException, bubble it's message to the top.
@@ -136,6 +142,15 @@ public class DremioVolcanoPlanner extends VolcanoPlanner {
                                         null, plannerSettings, phase, logger);
     }
 
+    // once out of planning budget, stop firing rules so that the phase completes with the best plan found so far.
+    final PlanningBudget budget = plannerSettings.getPlanningBudget();
+    if (!bestSoFar && budget.isExhausted() && getRoot() instanceof RelSubset && ((RelSubset) getRoot()).getBest() != null) {
+      bestSoFar = true;
+      setRuleDescExclusionFilter(ALL_RULES);
+      budget.fallback(String.format("%s phase stopped at the best plan so far",
+        phase == null ? "Volcano" : phase.description));
+    }
+
     if (executionControls != null) {
       INJECTOR.injectPause(executionControls, INJECTOR_DURING_PLANNING_PAUSE, logger);
     }
@@ -49,6 +49,7 @@ import com.dremio.exec.proto.UserBitShared;
 import com.dremio.exec.proto.UserBitShared.AccelerationProfile;
 import com.dremio.exec.proto.UserBitShared.FragmentRpcSizeStats;
 import com.dremio.exec.proto.UserBitShared.LayoutMaterializedViewProfile;
+import com.dremio.exec.proto.UserBitShared.PlanCacheProfile;
 import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
 import com.dremio.exec.proto.UserBitShared.SubstitutionProfile;
 import com.dremio.exec.record.BatchSchema;
@@ -84,11 +85,15 @@ public class PlanCaptureAttemptObserver extends AbstractAttemptObserver {
   private long normalizationMillis = 0;
   private long substitutionMillis = 0;
   private int numSubstitutions = 0;
+  private int numMaterializationsAvailable = 0;
+  private int numCandidatesConsidered = 0;
+  private int numCandidatesMatched = 0;
   private int numFragments;
   private List<String> normalizedQueryPlans;
 
   private volatile ByteString accelerationDetails;
   private byte[] serializedPlan;
+  private PlanCacheProfile planCacheProfile;
 
   public PlanCaptureAttemptObserver(final boolean verbose, final boolean includeDatasetProfiles,
                                     final FunctionImplementationRegistry funcRegistry,
@@ -107,7 +112,10 @@ public class PlanCaptureAttemptObserver extends AbstractAttemptObserver {
       .setNumSubstitutions(numSubstitutions)
       .setMillisTakenGettingMaterializations(findMaterializationMillis)
       .setMillisTakenNormalizing(normalizationMillis)
-      .setMillisTakenSubstituting(substitutionMillis);
+      .setMillisTakenSubstituting(substitutionMillis)
+      .setNumMaterializationsAvailable(numMaterializationsAvailable)
+      .setNumCandidatesConsidered(numCandidatesConsidered)
+      .setNumCandidatesMatched(numCandidatesMatched);
     if (normalizedQueryPlans != null) {
       builder.addAllNormalizedQueryPlans(normalizedQueryPlans);
     }
@@ -132,6 +140,10 @@ public class PlanCaptureAttemptObserver extends AbstractAttemptObserver {
     return serializedPlan;
   }
 
+  public PlanCacheProfile getPlanCacheProfile() {
+    return planCacheProfile;
+  }
+
   @Override
   public void planText(String text, long millisTaken) {
     this.text = text;
@@ -191,6 +203,23 @@ public class PlanCaptureAttemptObserver extends AbstractAttemptObserver {
     }
   }
 
+  @Override
+  public void planMaterializationCandidates(int available, int considered, int matched) {
+    numMaterializationsAvailable = Math.max(numMaterializationsAvailable, available);
+    numCandidatesConsidered += considered;
+    numCandidatesMatched += matched;
+  }
+
+  @Override
+  public void planCacheLookup(PlanCacheProfile profile) {
+    planCacheProfile = profile;
+  }
+
+  @Override
+  public void planningBudget(PlanPhaseProfile profile) {
+    planPhases.add(profile);
+  }
+
   @Override
   public void planSubstituted(DremioMaterialization materialization,
                               List<RelNode> substitutions,
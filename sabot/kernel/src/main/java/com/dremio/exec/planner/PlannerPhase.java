@@ -76,6 +76,7 @@ import com.dremio.exec.planner.logical.AggregateRule;
 import com.dremio.exec.planner.logical.CompositeFilterJoinRule;
 import com.dremio.exec.planner.logical.Conditions;
 import com.dremio.exec.planner.logical.CorrelateRule;
+import com.dremio.exec.planner.logical.DPJoinOptimizeRule;
 import com.dremio.exec.planner.logical.DremioAggregateReduceFunctionsRule;
 import com.dremio.exec.planner.logical.DremioProjectJoinTransposeRule;
 import com.dremio.exec.planner.logical.DremioRelFactories;
@@ -285,8 +286,17 @@ public enum PlannerPhase {
 
 
       // Check if multi-join optimization has been enabled
-      if (context.getPlannerSettings().isJoinOptimizationEnabled()) {
-        if (context.getPlannerSettings().isExperimentalBushyJoinOptimizerEnabled()) {
+      final PlanningBudget budget = context.getPlannerSettings().getPlanningBudget();
+      if (context.getPlannerSettings().isJoinOptimizationEnabled() && budget.isExhausted()) {
+        // out of planning budget, keep the join order of the query instead of searching for a better one
+        budget.fallback("join reordering skipped");
+        builder.add(LOPT_UNOPTIMIZE_JOIN_RULE);
+      } else if (context.getPlannerSettings().isJoinOptimizationEnabled()) {
+        if (context.getPlannerSettings().isDpJoinEnumeratorEnabled()) {
+          // multi joins with outer joins are not handled by the enumerator and are left to the LOPT rule
+          builder.add(DP_JOIN_OPTIMIZE_RULE);
+          builder.add(LOPT_OPTIMIZE_JOIN_RULE);
+        } else if (context.getPlannerSettings().isExperimentalBushyJoinOptimizerEnabled()) {
           builder.add(MULTI_JOIN_OPTIMIZE_BUSHY_RULE);
         } else {
           builder.add(LOPT_OPTIMIZE_JOIN_RULE);
@@ -579,6 +589,7 @@ public enum PlannerPhase {
   private static final RelOptRule LOPT_OPTIMIZE_JOIN_RULE = new LoptOptimizeJoinRule(DremioRelFactories.LOGICAL_BUILDER, false);
   private static final RelOptRule LOPT_UNOPTIMIZE_JOIN_RULE = new LoptOptimizeJoinRule(DremioRelFactories.LOGICAL_BUILDER, true);
   private static final MultiJoinOptimizeBushyRule MULTI_JOIN_OPTIMIZE_BUSHY_RULE = new MultiJoinOptimizeBushyRule(DremioRelFactories.LOGICAL_BUILDER);
+  private static final DPJoinOptimizeRule DP_JOIN_OPTIMIZE_RULE = new DPJoinOptimizeRule(DremioRelFactories.LOGICAL_BUILDER);
 
   private static final RelOptRule PUSH_PROJECT_PAST_FILTER_INSTANCE = new ProjectFilterTransposeRule(
     ProjectRel.class,
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Tracks the time spent planning a query against its planning budget.<br>
+ * Once the budget is exhausted, the planner falls back to cheaper strategies instead of failing the query: join
+ * reordering is skipped, reflections are no longer considered and Volcano phases stop at the best plan found so far.
+ * Each fallback taken is logged and recorded along with the time spent in every planning phase, and reported to the
+ * query profile through the attempt observer once planning completes.
+ */
+public class PlanningBudget {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(PlanningBudget.class);
+
+  public static final String PHASE_NAME = "Planning Budget";
+
+  private final Stopwatch watch;
+  private final Map<String, Long> phaseMillis = Maps.newLinkedHashMap();
+  private final Set<String> fallbacks = Sets.newLinkedHashSet();
+  private long budgetMillis;
+  private boolean started;
+
+  public PlanningBudget() {
+    this(Ticker.systemTicker());
+  }
+
+  PlanningBudget(Ticker ticker) {
+    this.watch = Stopwatch.createUnstarted(ticker);
+  }
+
+  /**
+   * Starts tracking planning time, if not already started.
+   *
+   * @param budgetMillis planning budget, 0 or less to never fall back
+   */
+  public synchronized void start(long budgetMillis) {
+    if (!started) {
+      this.budgetMillis = budgetMillis;
+      this.started = true;
+      watch.start();
+    }
+  }
+
+  /**
+   * Stops tracking planning time, once the physical plan is built.
+   */
+  public synchronized void stop() {
+    if (watch.isRunning()) {
+      watch.stop();
+    }
+  }
+
+  public synchronized boolean isExhausted() {
+    return started && budgetMillis > 0 && watch.elapsed(TimeUnit.MILLISECONDS) > budgetMillis;
+  }
+
+  /**
+   * Records the time taken by a planning phase. Phases running more than once accumulate their time.
+   */
+  public synchronized void phaseCompleted(String phase, long millisTaken) {
+    phaseMillis.merge(phase, millisTaken, Long::sum);
+  }
+
+  /**
+   * Records that planning fell back to a cheaper strategy because the budget was exhausted.
+   */
+  public synchronized void fallback(String description) {
+    if (fallbacks.add(description)) {
+      logger.warn("Planning budget of {} ms exhausted after {} ms: {}", budgetMillis,
+        watch.elapsed(TimeUnit.MILLISECONDS), description);
+    }
+  }
+
+  public synchronized List<String> getFallbacks() {
+    return ImmutableList.copyOf(fallbacks);
+  }
+
+  /**
+   * @return a profile entry listing the time spent per phase and the fallbacks taken, if planning started
+   */
+  public synchronized List<PlanPhaseProfile> getPlanPhaseProfiles() {
+    if (!started) {
+      return ImmutableList.of();
+    }
+
+    final StringBuilder sb = new StringBuilder();
+    if (!fallbacks.isEmpty()) {
+      sb.append("WARNING: planning budget exhausted, the plan may be worse than without a budget.\n");
+    }
+    sb.append("budget (ms)   : ").append(budgetMillis > 0 ? String.valueOf(budgetMillis) : "none").append("\n");
+    sb.append("exhausted     : ").append(isExhausted()).append("\n");
+    for (Map.Entry<String, Long> phase : phaseMillis.entrySet()) {
+      sb.append("phase         : ").append(phase.getKey()).append(" (").append(phase.getValue()).append(" ms)\n");
+    }
+    for (String fallback : fallbacks) {
+      sb.append("fallback      : ").append(fallback).append("\n");
+    }
+    return ImmutableList.of(PlanPhaseProfile.newBuilder()
+      .setPhaseName(PHASE_NAME)
+      .setDurationMillis(watch.elapsed(TimeUnit.MILLISECONDS))
+      .setPlan(sb.toString())
+      .build());
+  }
+}
@@ -15,10 +15,15 @@
  */
 package com.dremio.exec.planner.acceleration;
 
+import java.util.Set;
+
 import org.apache.calcite.plan.CopyWithCluster;
 
+import com.dremio.exec.planner.acceleration.MaterializationIndex.SourceKey;
 import com.dremio.exec.planner.sql.SqlConverter;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 
 /**
  * {@link MaterializationDescriptor} that caches the expanded {@link DremioMaterialization}
@@ -26,6 +31,7 @@ import com.google.common.base.Preconditions;
 public class CachedMaterializationDescriptor extends MaterializationDescriptor {
 
   private final DremioMaterialization materialization;
+  private final Supplier<Set<SourceKey>> sourceKeys;
 
   public CachedMaterializationDescriptor(MaterializationDescriptor descriptor, DremioMaterialization materialization) {
     super(descriptor.getLayoutInfo(),
@@ -41,6 +47,7 @@ public class CachedMaterializationDescriptor extends MaterializationDescriptor {
           descriptor.getJoinDependencyProperties(),
           descriptor.getStrippedPlanHash());
     this.materialization = Preconditions.checkNotNull(materialization, "materialization is required");
+    this.sourceKeys = Suppliers.memoize(() -> MaterializationIndex.keysOf(materialization.getQueryRel()));
   }
 
   @Override
@@ -54,4 +61,12 @@ public class CachedMaterializationDescriptor extends MaterializationDescriptor {
   public DremioMaterialization getMaterialization() {
     return materialization;
   }
+
+  /**
+   * Returns the tables, views and external queries used by the materialization's query plan. Computed once and
+   * reused for as long as the descriptor stays cached.
+   */
+  public Set<SourceKey> getSourceKeys() {
+    return sourceKeys.get();
+  }
 }
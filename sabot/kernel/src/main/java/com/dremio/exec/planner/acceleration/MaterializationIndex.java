@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.acceleration;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelVisitor;
+import org.apache.calcite.rel.core.TableScan;
+
+import com.dremio.exec.tablefunctions.ExternalQueryScanCrel;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Inverted index from the tables, views and external queries used by materialization plans to the materializations
+ * themselves.<br>
+ * A materialization can only substitute part of a query if both plans use at least one common source, so looking up
+ * the sources of the query returns the candidates without walking the plan of every available materialization.
+ *
+ * @param <T> indexed entry type
+ */
+public final class MaterializationIndex<T> {
+
+  private final List<T> entries;
+  private final Map<SourceKey, BitSet> postings;
+  private final BitSet unindexed;
+
+  private MaterializationIndex(List<T> entries, Map<SourceKey, BitSet> postings, BitSet unindexed) {
+    this.entries = entries;
+    this.postings = postings;
+    this.unindexed = unindexed;
+  }
+
+  /**
+   * Builds an index over the given entries.
+   *
+   * @param entries entries to index
+   * @param keysFn returns the sources used by an entry, or null if they are unknown. Entries with unknown sources are
+   *               returned by every lookup
+   * @return index
+   */
+  public static <T> MaterializationIndex<T> of(Collection<T> entries, Function<T, Set<SourceKey>> keysFn) {
+    final List<T> list = ImmutableList.copyOf(entries);
+    final Map<SourceKey, BitSet> postings = Maps.newHashMap();
+    final BitSet unindexed = new BitSet(list.size());
+    for (int i = 0; i < list.size(); i++) {
+      final Set<SourceKey> keys = keysFn.apply(list.get(i));
+      if (keys == null) {
+        unindexed.set(i);
+        continue;
+      }
+      for (SourceKey key : keys) {
+        postings.computeIfAbsent(key, k -> new BitSet(list.size())).set(i);
+      }
+    }
+    return new MaterializationIndex<>(list, postings, unindexed);
+  }
+
+  /**
+   * Returns the entries that use at least one of the given sources, in the order they were indexed.
+   */
+  public List<T> find(Set<SourceKey> keys) {
+    final BitSet matches = (BitSet) unindexed.clone();
+    for (SourceKey key : keys) {
+      final BitSet posting = postings.get(key);
+      if (posting != null) {
+        matches.or(posting);
+      }
+    }
+
+    final List<T> result = Lists.newArrayListWithCapacity(matches.cardinality());
+    for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+      result.add(entries.get(i));
+    }
+    return result;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Collects the tables, views and external queries used anywhere in the given plan.
+   */
+  public static Set<SourceKey> keysOf(RelNode root) {
+    final Set<SourceKey> keys = Sets.newHashSet();
+    new RelVisitor() {
+      @Override
+      public void visit(RelNode node, int ordinal, RelNode parent) {
+        if (node instanceof TableScan) {
+          keys.add(SourceKey.table(node.getTable().getQualifiedName()));
+        } else if (node instanceof ExpansionNode) {
+          keys.add(SourceKey.view(((ExpansionNode) node).getPath().getPathComponents()));
+        } else if (node instanceof ExternalQueryScanCrel) {
+          final ExternalQueryScanCrel eq = (ExternalQueryScanCrel) node;
+          keys.add(SourceKey.externalQuery(eq.getPluginId().getName(), eq.getSql()));
+        }
+        super.visit(node, ordinal, parent);
+      }
+    }.go(root);
+    return ImmutableSet.copyOf(keys);
+  }
+
+  /**
+   * A source a plan reads from.
+   */
+  public static final class SourceKey {
+    enum Type {
+      TABLE,
+      VIEW,
+      EXTERNAL_QUERY
+    }
+
+    private final Type type;
+    private final List<String> path;
+
+    private SourceKey(Type type, List<String> path) {
+      this.type = type;
+      this.path = ImmutableList.copyOf(Preconditions.checkNotNull(path, "path is required"));
+    }
+
+    public static SourceKey table(List<String> path) {
+      return new SourceKey(Type.TABLE, path);
+    }
+
+    public static SourceKey view(List<String> path) {
+      return new SourceKey(Type.VIEW, path);
+    }
+
+    public static SourceKey externalQuery(String source, String sql) {
+      return new SourceKey(Type.EXTERNAL_QUERY, ImmutableList.of(source, sql));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final SourceKey that = (SourceKey) o;
+      return type == that.type && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, path);
+    }
+
+    @Override
+    public String toString() {
+      return type + ":" + path;
+    }
+  }
+}
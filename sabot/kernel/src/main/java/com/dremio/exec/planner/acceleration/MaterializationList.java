@@ -21,8 +21,10 @@ import java.util.Objects;
 import java.util.Set;
 
 import org.apache.calcite.plan.RelOptMaterialization;
+import org.apache.calcite.rel.RelNode;
 
 import com.dremio.exec.planner.acceleration.substitution.MaterializationProvider;
+import com.dremio.exec.planner.acceleration.substitution.SubstitutionUtils;
 import com.dremio.exec.planner.sql.SqlConverter;
 import com.dremio.exec.server.MaterializationDescriptorProvider;
 import com.dremio.sabot.rpc.user.UserSession;
@@ -45,12 +47,21 @@ public class MaterializationList implements MaterializationProvider {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MaterializationList.class);
 
   private final Map<TablePath, MaterializationDescriptor> mapping = Maps.newHashMap();
+  private final Map<String, Optional<DremioMaterialization>> expanded = Maps.newLinkedHashMap();
   private final Supplier<List<DremioMaterialization>> factory = Suppliers.memoize(new Supplier<List<DremioMaterialization>>() {
     @Override
     public List<DremioMaterialization> get() {
       return build(provider);
     }
   });
+  private final Supplier<MaterializationIndex<MaterializationDescriptor>> index = Suppliers.memoize(new Supplier<MaterializationIndex<MaterializationDescriptor>>() {
+    @Override
+    public MaterializationIndex<MaterializationDescriptor> get() {
+      // only cached descriptors know their sources without being expanded first, the others are always candidates
+      return MaterializationIndex.of(getEligibleDescriptors(provider), descriptor ->
+        descriptor instanceof CachedMaterializationDescriptor ? ((CachedMaterializationDescriptor) descriptor).getSourceKeys() : null);
+    }
+  });
 
   private final MaterializationDescriptorProvider provider;
   private final SqlConverter converter;
@@ -74,6 +85,46 @@ public class MaterializationList implements MaterializationProvider {
     return factory.get();
   }
 
+  /**
+   * Returns list of materializations that may substitute part of the given query.
+   *
+   * Candidates are looked up in a {@link MaterializationIndex} so only the descriptors sharing a source with the query
+   * are converted to {@link RelOptMaterialization materializations}.
+   */
+  @Override
+  public List<DremioMaterialization> getApplicableMaterializations(final RelNode query) {
+    final List<MaterializationDescriptor> candidates = index.get().find(MaterializationIndex.keysOf(query));
+    final List<DremioMaterialization> materializations = Lists.newArrayList();
+    for (final MaterializationDescriptor descriptor : candidates) {
+      final Optional<DremioMaterialization> materialization = expand(descriptor);
+      if (materialization.isPresent()) {
+        materializations.add(materialization.get());
+      }
+    }
+    logger.debug("{} of {} materializations are candidates for substitution", candidates.size(), index.get().size());
+    // descriptors that are not cached could not be indexed, make sure they actually apply to the query
+    return SubstitutionUtils.findApplicableMaterializations(query, materializations);
+  }
+
+  @Override
+  public void materializationsMatched(int considered, int matched) {
+    converter.getObserver().planMaterializationCandidates(index.get().size(), considered, matched);
+  }
+
+  /**
+   * Returns the materializations converted so far, either by {@link #getMaterializations()} or while looking for
+   * {@link #getApplicableMaterializations(RelNode) applicable materializations}.
+   */
+  public List<DremioMaterialization> getExpandedMaterializations() {
+    final List<DremioMaterialization> materializations = Lists.newArrayList();
+    for (Optional<DremioMaterialization> materialization : expanded.values()) {
+      if (materialization.isPresent()) {
+        materializations.add(materialization.get());
+      }
+    }
+    return materializations;
+  }
+
   @Override
   public java.util.Optional<DremioMaterialization> getDefaultRawMaterialization(NamespaceKey path, List<String> vdsFields) {
     return getDefaultRawMaterialization(provider, path, vdsFields);
@@ -96,10 +147,24 @@ public class MaterializationList implements MaterializationProvider {
    */
   @VisibleForTesting
   protected List<DremioMaterialization> build(final MaterializationDescriptorProvider provider) {
+    final List<DremioMaterialization> materializations = Lists.newArrayList();
+    for (final MaterializationDescriptor descriptor : getEligibleDescriptors(provider)) {
+      final Optional<DremioMaterialization> materialization = expand(descriptor);
+      if (materialization.isPresent()) {
+        materializations.add(materialization.get());
+      }
+    }
+    return materializations;
+  }
+
+  /**
+   * Returns the descriptors of the given provider that are allowed by the session's substitution settings.
+   */
+  private List<MaterializationDescriptor> getEligibleDescriptors(final MaterializationDescriptorProvider provider) {
     final Set<String> exclusions = Sets.newHashSet(session.getSubstitutionSettings().getExclusions());
     final Set<String> inclusions = Sets.newHashSet(session.getSubstitutionSettings().getInclusions());
     final boolean hasInclusions = !inclusions.isEmpty();
-    final List<DremioMaterialization> materializations = Lists.newArrayList();
+    final List<MaterializationDescriptor> descriptors = Lists.newArrayList();
     for (final MaterializationDescriptor descriptor : provider.get()) {
 
       if(
@@ -109,20 +174,32 @@ public class MaterializationList implements MaterializationProvider {
          ) {
           continue;
       }
+      descriptors.add(descriptor);
+    }
+    return descriptors;
+  }
 
-      try {
-        final DremioMaterialization materialization = descriptor.getMaterializationFor(converter);
-        if (materialization == null) {
-          continue;
-        }
+  /**
+   * Converts the descriptor to a materialization, at most once per descriptor.
+   */
+  private Optional<DremioMaterialization> expand(final MaterializationDescriptor descriptor) {
+    final Optional<DremioMaterialization> existing = expanded.get(descriptor.getMaterializationId());
+    if (existing != null) {
+      return existing;
+    }
 
+    Optional<DremioMaterialization> result = Optional.absent();
+    try {
+      final DremioMaterialization materialization = descriptor.getMaterializationFor(converter);
+      if (materialization != null) {
         mapping.put(TablePath.of(descriptor.getPath()), descriptor);
-        materializations.add(materialization);
-      } catch (Throwable e) {
-        logger.warn("failed to expand materialization {}", descriptor.getMaterializationId(), e);
+        result = Optional.of(materialization);
       }
+    } catch (Throwable e) {
+      logger.warn("failed to expand materialization {}", descriptor.getMaterializationId(), e);
     }
-    return materializations;
+    expanded.put(descriptor.getMaterializationId(), result);
+    return result;
   }
 
   /**
@@ -150,7 +227,11 @@ public class MaterializationList implements MaterializationProvider {
         )
       ) {
         try {
-          return java.util.Optional.of(descriptor.getMaterializationFor(converter));
+          final DremioMaterialization materialization = descriptor.getMaterializationFor(converter);
+          // remember the default raw reflection so it is reported if it ends up in the final plan
+          mapping.put(TablePath.of(descriptor.getPath()), descriptor);
+          expanded.putIfAbsent(descriptor.getMaterializationId(), Optional.of(materialization));
+          return java.util.Optional.of(materialization);
         } catch (Throwable e) {
           logger.warn("Failed to expand materialization {}", descriptor.getMaterializationId(), e);
         }
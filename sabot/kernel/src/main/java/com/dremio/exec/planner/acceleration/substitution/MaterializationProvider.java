@@ -18,6 +18,8 @@ package com.dremio.exec.planner.acceleration.substitution;
 import java.util.List;
 import java.util.Optional;
 
+import org.apache.calcite.rel.RelNode;
+
 import com.dremio.exec.planner.acceleration.DremioMaterialization;
 import com.dremio.service.namespace.NamespaceKey;
 
@@ -32,6 +34,23 @@ public interface MaterializationProvider {
    */
   List<DremioMaterialization> getMaterializations();
 
+  /**
+   * Returns list of materializations that may substitute part of the given query, that is the materializations
+   * using at least one of the tables, views or external queries used by the query.
+   */
+  default List<DremioMaterialization> getApplicableMaterializations(RelNode query) {
+    return SubstitutionUtils.findApplicableMaterializations(query, getMaterializations());
+  }
+
+  /**
+   * Reports how many of the applicable materializations yielded at least one substitution.
+   *
+   * @param considered number of materializations substitution was attempted with
+   * @param matched number of materializations that yielded at least one substitution
+   */
+  default void materializationsMatched(int considered, int matched) {
+  }
+
   /**
    * Returns the default raw materialization that provider considers for substitution
    * for the VDS with the given path
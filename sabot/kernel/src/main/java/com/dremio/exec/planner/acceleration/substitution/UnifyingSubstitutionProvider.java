@@ -48,10 +48,10 @@ public class UnifyingSubstitutionProvider extends AbstractSubstitutionProvider {
 
   @Override
   public SubstitutionStream findSubstitutions(final RelNode query) {
-    final List<DremioMaterialization> materializations =
-      SubstitutionUtils.findApplicableMaterializations(query, getMaterializations());
+    final List<DremioMaterialization> materializations = getApplicableMaterializations(query);
 
     final List<Substitution> substitutions = Lists.newArrayList(Substitution.createRootEquivalent(query));
+    int matched = 0;
     for (final DremioMaterialization materialization : materializations) {
       final int count = substitutions.size();
       for (int i = 0; i < count; i++) {
@@ -61,7 +61,11 @@ public class UnifyingSubstitutionProvider extends AbstractSubstitutionProvider {
           LOGGER.warn("unable to apply materialization: {}", materialization, ex);
         }
       }
+      if (substitutions.size() > count) {
+        matched++;
+      }
     }
+    getMaterializationProvider().materializationsMatched(materializations.size(), matched);
 
     // discard the original query
     return new SubstitutionStream(substitutions.subList(1, substitutions.size()).stream(), () -> { }, t ->  { });
@@ -29,6 +29,7 @@ import org.apache.calcite.util.ImmutableBitSet;
 
 import com.dremio.exec.planner.common.ScanRelBase;
 import com.dremio.reflection.rules.ReplacementPointer;
+import com.dremio.service.namespace.dataset.proto.TableStatistics;
 
 public class RelMdDistinctRowCount extends org.apache.calcite.rel.metadata.RelMdDistinctRowCount {
   private static final RelMdDistinctRowCount INSTANCE =
@@ -39,6 +40,19 @@ public class RelMdDistinctRowCount extends org.apache.calcite.rel.metadata.RelMd
           BuiltInMethod.DISTINCT_ROW_COUNT.method, INSTANCE);
 
   public Double getDistinctRowCount(ScanRelBase scan, RelMetadataQuery mq, ImmutableBitSet groupKey, RexNode predicate) {
+    final TableStatistics stats = StatisticsEstimator.getTableStatistics(scan);
+    if (stats != null) {
+      final double rowCount = scan.estimateRowCount(mq);
+      final Double ndv = StatisticsEstimator.getDistinctRowCount(stats, scan.getRowType().getFieldNames(), groupKey, rowCount);
+      if (ndv != null) {
+        if (predicate == null || predicate.isAlwaysTrue()) {
+          return ndv;
+        }
+        // distinct values left once the rows not matching the predicate are filtered out
+        final double selectivity = StatisticsEstimator.getSelectivity(stats, scan.getRowType().getFieldNames(), predicate);
+        return RelMdUtil.numDistinctVals(ndv, rowCount * selectivity);
+      }
+    }
     return getDistinctRowCountFromEstimateRowCount(scan, mq, groupKey, predicate);
   }
 
@@ -15,20 +15,24 @@
  */
 package com.dremio.exec.planner.cost;
 
+import org.apache.calcite.plan.hep.HepRelVertex;
 import org.apache.calcite.plan.volcano.RelSubset;
 import org.apache.calcite.rel.metadata.BuiltInMetadata;
 import org.apache.calcite.rel.metadata.MetadataDef;
 import org.apache.calcite.rel.metadata.MetadataHandler;
 import org.apache.calcite.rel.metadata.ReflectiveRelMetadataProvider;
+import org.apache.calcite.rel.metadata.RelMdUtil;
 import org.apache.calcite.rel.metadata.RelMetadataProvider;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.BuiltInMethod;
 
+import com.dremio.exec.planner.common.ScanRelBase;
+import com.dremio.service.namespace.dataset.proto.TableStatistics;
 import com.google.common.base.MoreObjects;
 
 /**
- * a metadata handler for projectable aggregates.
+ * a metadata handler for projectable aggregates, and for scans of datasets with column statistics.
  */
 public class RelMdSelectivity
 implements MetadataHandler<BuiltInMetadata.Selectivity> {
@@ -47,4 +51,16 @@ implements MetadataHandler<BuiltInMetadata.Selectivity> {
       RexNode predicate) {
     return mq.getSelectivity(MoreObjects.firstNonNull(rel.getBest(), rel.getOriginal()), predicate);
   }
+
+  public Double getSelectivity(HepRelVertex vertex, RelMetadataQuery mq, RexNode predicate) {
+    return mq.getSelectivity(vertex.getCurrentRel(), predicate);
+  }
+
+  public Double getSelectivity(ScanRelBase scan, RelMetadataQuery mq, RexNode predicate) {
+    final TableStatistics stats = StatisticsEstimator.getTableStatistics(scan);
+    if (stats == null) {
+      return RelMdUtil.guessSelectivity(predicate);
+    }
+    return StatisticsEstimator.getSelectivity(stats, scan.getRowType().getFieldNames(), predicate);
+  }
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.cost;
+
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.List;
+
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.util.DateString;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.Pair;
+import org.apache.calcite.util.TimestampString;
+
+import com.dremio.exec.planner.common.ScanRelBase;
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.planner.physical.PrelUtil;
+import com.dremio.service.namespace.dataset.proto.ColumnStatistics;
+import com.dremio.service.namespace.dataset.proto.TableStatistics;
+
+/**
+ * Estimates selectivities and numbers of distinct values from the {@link TableStatistics} of a dataset.<br>
+ * Comparisons of a column with a literal use the number of distinct values, the number of nulls and the histogram of
+ * the column. Predicates on columns without statistics, or too complex to estimate, use Calcite's default guesses.
+ */
+public final class StatisticsEstimator {
+
+  private StatisticsEstimator() {
+  }
+
+  /**
+   * @return the statistics of the dataset read by a scan, or null if there are none for its current version
+   */
+  public static TableStatistics getTableStatistics(ScanRelBase scan) {
+    final PlannerSettings settings = PrelUtil.getPlannerSettings(scan.getCluster());
+    if (settings == null || scan.getTableMetadata() == null) {
+      return null;
+    }
+    return settings.getStatisticsService().getTableStatistics(scan.getTableMetadata().getName(),
+      scan.getTableMetadata().getDatasetConfig().getTag());
+  }
+
+  /**
+   * @param stats statistics of the dataset
+   * @param fieldNames names of the fields of the rows the predicate applies to
+   * @param predicate predicate to estimate
+   * @return the fraction of rows matching the predicate
+   */
+  public static double getSelectivity(TableStatistics stats, List<String> fieldNames, RexNode predicate) {
+    if (predicate == null || predicate.isAlwaysTrue()) {
+      return 1d;
+    }
+
+    switch (predicate.getKind()) {
+    case AND: {
+      double selectivity = 1d;
+      for (RexNode operand : ((RexCall) predicate).getOperands()) {
+        selectivity *= getSelectivity(stats, fieldNames, operand);
+      }
+      return selectivity;
+    }
+
+    case OR: {
+      // assume the operands are independent
+      double selectivity = 0d;
+      for (RexNode operand : ((RexCall) predicate).getOperands()) {
+        final double operandSelectivity = getSelectivity(stats, fieldNames, operand);
+        selectivity += operandSelectivity - selectivity * operandSelectivity;
+      }
+      return selectivity;
+    }
+
+    case NOT:
+      return 1d - getSelectivity(stats, fieldNames, ((RexCall) predicate).getOperands().get(0));
+
+    case IS_NULL:
+    case IS_NOT_NULL: {
+      final ColumnStatistics column = getColumn(stats, fieldNames, ((RexCall) predicate).getOperands().get(0));
+      if (column == null || column.getNullCount() == null || !hasRows(stats)) {
+        break;
+      }
+      final double nullFraction = nullFraction(stats, column);
+      return predicate.getKind() == SqlKind.IS_NULL ? nullFraction : 1d - nullFraction;
+    }
+
+    case EQUALS:
+    case NOT_EQUALS:
+    case LESS_THAN:
+    case LESS_THAN_OR_EQUAL:
+    case GREATER_THAN:
+    case GREATER_THAN_OR_EQUAL: {
+      final Double selectivity = getComparisonSelectivity(stats, fieldNames, (RexCall) predicate);
+      if (selectivity != null) {
+        return selectivity;
+      }
+      break;
+    }
+
+    default:
+      break;
+    }
+    return RelMdUtil.guessSelectivity(predicate);
+  }
+
+  /**
+   * @param stats statistics of the dataset
+   * @param fieldNames names of the fields of the rows
+   * @param groupKey fields to count the distinct values of
+   * @param rowCount number of rows
+   * @return the number of distinct values of the fields, or null if some field has no statistics
+   */
+  public static Double getDistinctRowCount(TableStatistics stats, List<String> fieldNames, ImmutableBitSet groupKey,
+                                           double rowCount) {
+    double ndv = 1d;
+    for (int field : groupKey) {
+      final ColumnStatistics column = getColumn(stats, fieldNames.get(field));
+      if (column == null || column.getNdv() == null) {
+        return null;
+      }
+      ndv *= Math.max(1d, column.getNdv());
+    }
+    return Math.min(ndv, rowCount);
+  }
+
+  /**
+   * @param stats statistics of the dataset
+   * @param name name of the column
+   * @return the minimum and maximum of the column, as sampled by its histogram, or null if it has none
+   */
+  public static Pair<Double, Double> getRange(TableStatistics stats, String name) {
+    final ColumnStatistics column = getColumn(stats, name);
+    if (column == null) {
+      return null;
+    }
+    final List<Double> bounds = column.getHistogramBoundsList();
+    if (bounds == null || bounds.isEmpty()) {
+      return null;
+    }
+    return Pair.of(bounds.get(0), bounds.get(bounds.size() - 1));
+  }
+
+  /**
+   * @param bounds bounds of an equi-depth histogram, minimum first and maximum last
+   * @param value value to locate
+   * @return the fraction of the values of the histogram lower than the value, interpolated within its bucket
+   */
+  static double fractionBelow(List<Double> bounds, double value) {
+    final int buckets = bounds.size() - 1;
+    if (value <= bounds.get(0)) {
+      return 0d;
+    }
+    for (int i = 0; i < buckets; i++) {
+      final double low = bounds.get(i);
+      final double high = bounds.get(i + 1);
+      if (value < high) {
+        return (i + (value - low) / (high - low)) / buckets;
+      }
+    }
+    return 1d;
+  }
+
+  private static Double getComparisonSelectivity(TableStatistics stats, List<String> fieldNames, RexCall comparison) {
+    SqlKind kind = comparison.getKind();
+    RexNode columnRef = comparison.getOperands().get(0);
+    RexNode literal = comparison.getOperands().get(1);
+    if (literal instanceof RexInputRef && columnRef instanceof RexLiteral) {
+      final RexNode swap = columnRef;
+      columnRef = literal;
+      literal = swap;
+      kind = kind.reverse();
+    }
+    if (!(literal instanceof RexLiteral)) {
+      return null;
+    }
+
+    final ColumnStatistics column = getColumn(stats, fieldNames, columnRef);
+    if (column == null) {
+      return null;
+    }
+    final double nonNullFraction = 1d - nullFraction(stats, column);
+    final Double value = toDouble((RexLiteral) literal);
+    final List<Double> bounds = column.getHistogramBoundsList();
+    final boolean hasHistogram = value != null && bounds != null && bounds.size() > 1;
+
+    switch (kind) {
+    case EQUALS:
+    case NOT_EQUALS: {
+      if (column.getNdv() == null) {
+        return null;
+      }
+      double equal = 1d / Math.max(1d, column.getNdv());
+      if (hasHistogram && (value < bounds.get(0) || value > bounds.get(bounds.size() - 1))) {
+        equal = 0d;
+      }
+      return nonNullFraction * (kind == SqlKind.EQUALS ? equal : 1d - equal);
+    }
+
+    case LESS_THAN:
+    case LESS_THAN_OR_EQUAL:
+      return hasHistogram ? nonNullFraction * fractionBelow(bounds, value) : null;
+
+    case GREATER_THAN:
+    case GREATER_THAN_OR_EQUAL:
+      return hasHistogram ? nonNullFraction * (1d - fractionBelow(bounds, value)) : null;
+
+    default:
+      return null;
+    }
+  }
+
+  private static boolean hasRows(TableStatistics stats) {
+    return stats.getRowCount() != null && stats.getRowCount() > 0;
+  }
+
+  private static double nullFraction(TableStatistics stats, ColumnStatistics column) {
+    if (column.getNullCount() == null || !hasRows(stats)) {
+      return 0d;
+    }
+    return Math.min(1d, (double) column.getNullCount() / stats.getRowCount());
+  }
+
+  private static ColumnStatistics getColumn(TableStatistics stats, List<String> fieldNames, RexNode node) {
+    if (!(node instanceof RexInputRef)) {
+      return null;
+    }
+    return getColumn(stats, fieldNames.get(((RexInputRef) node).getIndex()));
+  }
+
+  private static ColumnStatistics getColumn(TableStatistics stats, String name) {
+    if (stats.getColumnsList() == null) {
+      return null;
+    }
+    for (ColumnStatistics column : stats.getColumnsList()) {
+      if (name.equalsIgnoreCase(column.getName())) {
+        return column;
+      }
+    }
+    return null;
+  }
+
+  private static Double toDouble(RexLiteral literal) {
+    final Comparable value = literal.getValue();
+    if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).doubleValue();
+    } else if (value instanceof DateString) {
+      return (double) ((DateString) value).getMillisSinceEpoch();
+    } else if (value instanceof TimestampString) {
+      return (double) ((TimestampString) value).getMillisSinceEpoch();
+    } else if (value instanceof Calendar) {
+      return (double) ((Calendar) value).getTimeInMillis();
+    }
+    return null;
+  }
+}
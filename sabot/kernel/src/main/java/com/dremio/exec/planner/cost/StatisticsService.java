@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.cost;
+
+import java.util.List;
+
+import com.dremio.common.exceptions.UserException;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.TableStatistics;
+
+/**
+ * Computes and serves the column statistics of datasets used by the cost model.
+ */
+public interface StatisticsService {
+
+  /**
+   * @param table path of the dataset
+   * @param datasetTag current version of the dataset
+   * @return the statistics of the dataset, or null if they were never computed or were computed for another version of
+   *         the dataset, before it was refreshed or recreated
+   */
+  TableStatistics getTableStatistics(NamespaceKey table, String datasetTag);
+
+  /**
+   * Starts computing the statistics of a dataset, replacing the existing ones once done.
+   *
+   * @param table path of the dataset
+   * @param columns columns to compute statistics for, all the supported columns if empty
+   * @param user user running the computation
+   * @return id of the job computing the statistics
+   */
+  String computeStatistics(NamespaceKey table, List<String> columns, String user);
+
+  StatisticsService NO_OP = new StatisticsService() {
+    @Override
+    public TableStatistics getTableStatistics(NamespaceKey table, String datasetTag) {
+      return null;
+    }
+
+    @Override
+    public String computeStatistics(NamespaceKey table, List<String> columns, String user) {
+      throw UserException.unsupportedError()
+        .message("Statistics can only be computed on a coordinator node")
+        .buildSilently();
+    }
+  };
+}
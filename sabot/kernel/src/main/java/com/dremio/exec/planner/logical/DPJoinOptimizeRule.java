@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.logical;
+
+import java.util.List;
+
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.rules.MultiJoin;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.tools.RelBuilder;
+import org.apache.calcite.tools.RelBuilderFactory;
+import org.apache.calcite.util.ImmutableBitSet;
+
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.planner.physical.PrelUtil;
+import com.google.common.collect.Lists;
+
+/**
+ * Rule that orders the inputs of an inner {@link MultiJoin} using a {@link JoinEnumerator}.<br>
+ * Join conditions referencing a single input are applied to that input, and the others become the edges of the join
+ * graph. The selectivity of an equality between two columns is derived from their number of distinct values, other
+ * conditions use default selectivities. MultiJoins with outer joins are left to {@code LoptOptimizeJoinRule}.
+ */
+public class DPJoinOptimizeRule extends RelOptRule {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DPJoinOptimizeRule.class);
+
+  public DPJoinOptimizeRule(RelBuilderFactory relBuilderFactory) {
+    super(operand(MultiJoin.class, any()), relBuilderFactory, "DPJoinOptimizeRule");
+  }
+
+  @Override
+  public boolean matches(RelOptRuleCall call) {
+    final MultiJoin multiJoin = call.rel(0);
+    if (multiJoin.isFullOuterJoin() || multiJoin.getInputs().size() > JoinEnumerator.MAX_FACTORS) {
+      return false;
+    }
+    for (JoinRelType joinType : multiJoin.getJoinTypes()) {
+      if (joinType != JoinRelType.INNER) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final MultiJoin multiJoin = call.rel(0);
+    final PlannerSettings settings = PrelUtil.getPlannerSettings(call.getPlanner());
+    final RelMetadataQuery mq = call.getMetadataQuery();
+    final RelBuilder relBuilder = call.builder();
+    final RexBuilder rexBuilder = multiJoin.getCluster().getRexBuilder();
+
+    final List<RelNode> inputs = multiJoin.getInputs();
+    final int[] starts = new int[inputs.size() + 1];
+    for (int i = 0; i < inputs.size(); i++) {
+      starts[i + 1] = starts[i] + inputs.get(i).getRowType().getFieldCount();
+    }
+
+    // split the join conditions into edges and filters on a single input
+    final List<List<RexNode>> inputFilters = Lists.newArrayList();
+    for (int i = 0; i < inputs.size(); i++) {
+      inputFilters.add(Lists.newArrayList());
+    }
+    final List<RexNode> topFilters = Lists.newArrayList();
+    final List<RexNode> edges = Lists.newArrayList();
+    final List<Long> edgeFactors = Lists.newArrayList();
+    for (RexNode condition : RelOptUtil.conjunctions(multiJoin.getJoinFilter())) {
+      long factors = 0;
+      for (int field : RelOptUtil.InputFinder.bits(condition)) {
+        factors |= 1L << factorOf(starts, field);
+      }
+
+      switch (Long.bitCount(factors)) {
+      case 0:
+        topFilters.add(condition);
+        break;
+      case 1:
+        final int factor = Long.numberOfTrailingZeros(factors);
+        inputFilters.get(factor).add(RexUtil.shift(condition, -starts[factor]));
+        break;
+      default:
+        edges.add(condition);
+        edgeFactors.add(factors);
+      }
+    }
+    if (multiJoin.getPostJoinFilter() != null) {
+      topFilters.add(multiJoin.getPostJoinFilter());
+    }
+
+    final List<RelNode> factors = Lists.newArrayList();
+    final double[] rowCounts = new double[inputs.size()];
+    for (int i = 0; i < inputs.size(); i++) {
+      final RelNode factor = inputFilters.get(i).isEmpty()
+        ? inputs.get(i)
+        : relBuilder.push(inputs.get(i)).filter(inputFilters.get(i)).build();
+      factors.add(factor);
+      final Double rowCount = mq.getRowCount(factor);
+      rowCounts[i] = rowCount == null ? 1d : rowCount;
+    }
+
+    final long[] edgeFactorArray = new long[edges.size()];
+    final double[] selectivities = new double[edges.size()];
+    for (int e = 0; e < edges.size(); e++) {
+      edgeFactorArray[e] = edgeFactors.get(e);
+      selectivities[e] = selectivity(mq, factors, starts, edges.get(e));
+    }
+
+    final JoinEnumerator.Plan plan = new JoinEnumerator(rowCounts, edgeFactorArray, selectivities)
+      .optimize((int) settings.getDpJoinEnumeratorMaxFactors());
+    logger.debug("Join order for {} inputs: {}", inputs.size(), plan);
+
+    // build the joins, then restore the field order of the multi join
+    final int[] positions = new int[starts[inputs.size()]];
+    final RelNode joined = build(plan, relBuilder, rexBuilder, factors, edges, starts, positions);
+    final List<RexNode> projects = Lists.newArrayList();
+    for (int field = 0; field < positions.length; field++) {
+      projects.add(rexBuilder.makeInputRef(joined, positions[field]));
+    }
+    relBuilder.push(joined).project(projects, multiJoin.getRowType().getFieldNames());
+    if (!topFilters.isEmpty()) {
+      relBuilder.filter(topFilters);
+    }
+    call.transformTo(relBuilder.build());
+  }
+
+  /**
+   * Builds the joins of a plan.
+   *
+   * @param positions filled with the position, in the output of the plan, of every field of the multi join read by
+   *                  the plan
+   * @return the root of the joins
+   */
+  private static RelNode build(JoinEnumerator.Plan plan, RelBuilder relBuilder, RexBuilder rexBuilder,
+                               List<RelNode> factors, List<RexNode> edges, int[] starts, int[] positions) {
+    if (plan.isLeaf()) {
+      final int factor = plan.getFactor();
+      for (int field = starts[factor]; field < starts[factor + 1]; field++) {
+        positions[field] = field - starts[factor];
+      }
+      return factors.get(factor);
+    }
+
+    final RelNode left = build(plan.getLeft(), relBuilder, rexBuilder, factors, edges, starts, positions);
+    final int leftCount = left.getRowType().getFieldCount();
+    final int[] rightPositions = new int[positions.length];
+    final RelNode right = build(plan.getRight(), relBuilder, rexBuilder, factors, edges, starts, rightPositions);
+    for (int field = 0; field < positions.length; field++) {
+      if (isRead(plan.getRight(), starts, field)) {
+        positions[field] = leftCount + rightPositions[field];
+      }
+    }
+
+    final List<RexNode> conditions = Lists.newArrayList();
+    for (int edge : plan.getEdges()) {
+      conditions.add(edges.get(edge).accept(new RexShuttle() {
+        @Override
+        public RexNode visitInputRef(RexInputRef inputRef) {
+          return new RexInputRef(positions[inputRef.getIndex()], inputRef.getType());
+        }
+      }));
+    }
+    return relBuilder.push(left)
+      .push(right)
+      .join(JoinRelType.INNER, RexUtil.composeConjunction(rexBuilder, conditions, false))
+      .build();
+  }
+
+  private static boolean isRead(JoinEnumerator.Plan plan, int[] starts, int field) {
+    if (plan.isLeaf()) {
+      return field >= starts[plan.getFactor()] && field < starts[plan.getFactor() + 1];
+    }
+    return isRead(plan.getLeft(), starts, field) || isRead(plan.getRight(), starts, field);
+  }
+
+  private static int factorOf(int[] starts, int field) {
+    int factor = 0;
+    while (field >= starts[factor + 1]) {
+      factor++;
+    }
+    return factor;
+  }
+
+  /**
+   * Estimates the selectivity of an edge. An equality between columns of two inputs selects one row out of the
+   * larger number of distinct values of the columns.
+   */
+  private static double selectivity(RelMetadataQuery mq, List<RelNode> factors, int[] starts, RexNode condition) {
+    if (condition.getKind() == SqlKind.EQUALS) {
+      final List<RexNode> operands = ((RexCall) condition).getOperands();
+      if (operands.get(0) instanceof RexInputRef && operands.get(1) instanceof RexInputRef) {
+        final Double ndv1 = distinctRowCount(mq, factors, starts, ((RexInputRef) operands.get(0)).getIndex());
+        final Double ndv2 = distinctRowCount(mq, factors, starts, ((RexInputRef) operands.get(1)).getIndex());
+        if (ndv1 != null || ndv2 != null) {
+          final double ndv = Math.max(ndv1 == null ? 1d : ndv1, ndv2 == null ? 1d : ndv2);
+          return 1d / Math.max(1d, ndv);
+        }
+      }
+    }
+    return RelMdUtil.guessSelectivity(condition);
+  }
+
+  private static Double distinctRowCount(RelMetadataQuery mq, List<RelNode> factors, int[] starts, int field) {
+    final int factor = factorOf(starts, field);
+    return mq.getDistinctRowCount(factors.get(factor), ImmutableBitSet.of(field - starts[factor]), null);
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.logical;
+
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Finds the order of a set of inner joins.<br>
+ * The joins form a hypergraph: factors are the inputs being joined and every join condition is an edge between the
+ * factors it references, with a selectivity. Plans are bushy trees of joins, costed by the sum of the rows they produce
+ * and of the rows of the smaller side of every join, which is the side hash joins build.<br>
+ * Up to a given number of factors, the best plan is found by dynamic programming over the connected subsets of the
+ * graph, so cross products are never considered. Past that number, or when the graph is not connected, joins are
+ * picked greedily, smallest result first.
+ */
+public class JoinEnumerator {
+
+  /**
+   * Largest number of factors supported, as sets of factors are kept as bitmasks.
+   */
+  public static final int MAX_FACTORS = Long.SIZE - 1;
+
+  /**
+   * Largest number of factors searched exhaustively, as the search keeps the best plan of every subset of factors.
+   */
+  public static final int MAX_DP_FACTORS = 20;
+
+  private final double[] rowCounts;
+  private final long[] edgeFactors;
+  private final double[] edgeSelectivities;
+
+  /**
+   * @param rowCounts number of rows of every factor
+   * @param edgeFactors bitmask of the factors referenced by every edge, with at least two factors per edge
+   * @param edgeSelectivities selectivity of every edge
+   */
+  public JoinEnumerator(double[] rowCounts, long[] edgeFactors, double[] edgeSelectivities) {
+    Preconditions.checkArgument(rowCounts.length > 0 && rowCounts.length <= MAX_FACTORS,
+      "Unsupported number of factors %s", rowCounts.length);
+    Preconditions.checkArgument(edgeFactors.length == edgeSelectivities.length);
+    this.rowCounts = rowCounts;
+    this.edgeFactors = edgeFactors;
+    this.edgeSelectivities = edgeSelectivities;
+  }
+
+  /**
+   * @param maxDpFactors number of factors up to which the best plan is searched exhaustively
+   * @return the plan joining all the factors
+   */
+  public Plan optimize(int maxDpFactors) {
+    if (rowCounts.length <= Math.min(maxDpFactors, MAX_DP_FACTORS)) {
+      final Plan plan = dp();
+      if (plan != null) {
+        return plan;
+      }
+    }
+    return greedy();
+  }
+
+  /**
+   * @return the best plan without cross products, or null if the factors are not all connected
+   */
+  Plan dp() {
+    final int n = rowCounts.length;
+    final long all = (1L << n) - 1;
+    final Plan[] best = new Plan[1 << n];
+    for (int i = 0; i < n; i++) {
+      best[1 << i] = leaf(i);
+    }
+
+    for (long set = 1; set <= all; set++) {
+      if (Long.bitCount(set) < 2) {
+        continue;
+      }
+      final long lowest = Long.lowestOneBit(set);
+      // visit every split of the set once, by keeping its lowest factor on the first side
+      for (long left = (set - 1) & set; left > 0; left = (left - 1) & set) {
+        if ((left & lowest) == 0) {
+          continue;
+        }
+        final Plan p1 = best[(int) left];
+        final Plan p2 = best[(int) (set ^ left)];
+        if (p1 == null || p2 == null || !isConnected(p1.factors, p2.factors)) {
+          continue;
+        }
+        final Plan join = join(p1, p2);
+        if (best[(int) set] == null || join.cost < best[(int) set].cost) {
+          best[(int) set] = join;
+        }
+      }
+    }
+    return best[(int) all];
+  }
+
+  /**
+   * @return a plan joining, at every step, the two connected plans with the smallest result, and falling back to cross
+   * products only once no connected plans remain
+   */
+  Plan greedy() {
+    final List<Plan> plans = Lists.newArrayList();
+    for (int i = 0; i < rowCounts.length; i++) {
+      plans.add(leaf(i));
+    }
+
+    while (plans.size() > 1) {
+      Plan best = null;
+      int bestLeft = -1;
+      int bestRight = -1;
+      boolean bestConnected = false;
+      for (int i = 0; i < plans.size(); i++) {
+        for (int j = i + 1; j < plans.size(); j++) {
+          final boolean connected = isConnected(plans.get(i).factors, plans.get(j).factors);
+          if (bestConnected && !connected) {
+            continue;
+          }
+          final Plan join = join(plans.get(i), plans.get(j));
+          if (best == null || (connected && !bestConnected) || join.rowCount < best.rowCount) {
+            best = join;
+            bestLeft = i;
+            bestRight = j;
+            bestConnected = connected;
+          }
+        }
+      }
+      plans.remove(bestRight);
+      plans.remove(bestLeft);
+      plans.add(best);
+    }
+    return plans.get(0);
+  }
+
+  private Plan leaf(int factor) {
+    return new Plan(factor, 1L << factor, null, null, ImmutableList.of(), Math.max(1d, rowCounts[factor]), 0d);
+  }
+
+  private boolean isConnected(long s1, long s2) {
+    final long set = s1 | s2;
+    for (long factors : edgeFactors) {
+      if ((factors & ~set) == 0 && (factors & s1) != 0 && (factors & s2) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Joins two plans, applying the edges referencing both and no other factor. The bigger plan is put on the left, so
+   * that the smaller one is built.
+   */
+  private Plan join(Plan p1, Plan p2) {
+    final long set = p1.factors | p2.factors;
+    final ImmutableList.Builder<Integer> edges = ImmutableList.builder();
+    double rowCount = p1.rowCount * p2.rowCount;
+    for (int e = 0; e < edgeFactors.length; e++) {
+      final long factors = edgeFactors[e];
+      if ((factors & ~set) == 0 && (factors & p1.factors) != 0 && (factors & p2.factors) != 0) {
+        edges.add(e);
+        rowCount *= edgeSelectivities[e];
+      }
+    }
+    rowCount = Math.max(1d, rowCount);
+
+    final Plan left = p1.rowCount >= p2.rowCount ? p1 : p2;
+    final Plan right = left == p1 ? p2 : p1;
+    final double cost = p1.cost + p2.cost + rowCount + right.rowCount;
+    return new Plan(-1, set, left, right, edges.build(), rowCount, cost);
+  }
+
+  /**
+   * A join tree over some of the factors.
+   */
+  public static final class Plan {
+    private final int factor;
+    private final long factors;
+    private final Plan left;
+    private final Plan right;
+    private final List<Integer> edges;
+    private final double rowCount;
+    private final double cost;
+
+    private Plan(int factor, long factors, Plan left, Plan right, List<Integer> edges, double rowCount, double cost) {
+      this.factor = factor;
+      this.factors = factors;
+      this.left = left;
+      this.right = right;
+      this.edges = edges;
+      this.rowCount = rowCount;
+      this.cost = cost;
+    }
+
+    public boolean isLeaf() {
+      return left == null;
+    }
+
+    /**
+     * @return the factor read by a leaf
+     */
+    public int getFactor() {
+      return factor;
+    }
+
+    public Plan getLeft() {
+      return left;
+    }
+
+    public Plan getRight() {
+      return right;
+    }
+
+    /**
+     * @return the edges applied by a join
+     */
+    public List<Integer> getEdges() {
+      return edges;
+    }
+
+    public double getRowCount() {
+      return rowCount;
+    }
+
+    public double getCost() {
+      return cost;
+    }
+
+    @Override
+    public String toString() {
+      return isLeaf() ? String.valueOf(factor) : "(" + left + " x " + right + ")";
+    }
+  }
+}
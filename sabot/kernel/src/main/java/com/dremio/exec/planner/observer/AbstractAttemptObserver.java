@@ -33,6 +33,8 @@ import com.dremio.exec.planner.physical.Prel;
 import com.dremio.exec.proto.GeneralRPCProtos.Ack;
 import com.dremio.exec.proto.UserBitShared.AttemptEvent;
 import com.dremio.exec.proto.UserBitShared.FragmentRpcSizeStats;
+import com.dremio.exec.proto.UserBitShared.PlanCacheProfile;
+import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
 import com.dremio.exec.proto.UserBitShared.QueryProfile;
 import com.dremio.exec.rpc.RpcOutcomeListener;
 import com.dremio.exec.work.QueryWorkUnit;
@@ -82,6 +84,18 @@ public abstract class AbstractAttemptObserver implements AttemptObserver {
   public void planNormalized(long millisTaken, List<RelNode> normalizedQueryPlans) {
   }
 
+  @Override
+  public void planMaterializationCandidates(int available, int considered, int matched) {
+  }
+
+  @Override
+  public void planCacheLookup(PlanCacheProfile profile) {
+  }
+
+  @Override
+  public void planningBudget(PlanPhaseProfile profile) {
+  }
+
   @Override
   public void planAccelerated(final SubstitutionInfo info) {
   }
@@ -33,6 +33,8 @@ import com.dremio.exec.planner.physical.Prel;
 import com.dremio.exec.proto.GeneralRPCProtos.Ack;
 import com.dremio.exec.proto.UserBitShared.AttemptEvent;
 import com.dremio.exec.proto.UserBitShared.FragmentRpcSizeStats;
+import com.dremio.exec.proto.UserBitShared.PlanCacheProfile;
+import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
 import com.dremio.exec.proto.UserBitShared.QueryProfile;
 import com.dremio.exec.rpc.RpcOutcomeListener;
 import com.dremio.exec.work.QueryWorkUnit;
@@ -164,6 +166,26 @@ public interface AttemptObserver {
    */
   void planNormalized(long millisTaken, List<RelNode> normalizedQueryPlans);
 
+  /**
+   * Report how many materializations were looked at during substitution
+   * @param available number of materializations available to the query
+   * @param considered number of materializations substitution was attempted with
+   * @param matched number of materializations that yielded at least one substitution
+   */
+  void planMaterializationCandidates(int available, int considered, int matched);
+
+  /**
+   * Report the outcome of looking up the query in the plan cache
+   * @param profile whether the plan was found, along with the cache statistics
+   */
+  void planCacheLookup(PlanCacheProfile profile);
+
+  /**
+   * Report the time spent planning against the planning budget, once planning completed
+   * @param profile time spent per planning phase, and the fallbacks taken if the budget was exhausted
+   */
+  void planningBudget(PlanPhaseProfile profile);
+
   /**
    * Report substitution
    * @param materialization
@@ -34,6 +34,8 @@ import com.dremio.exec.planner.physical.Prel;
 import com.dremio.exec.proto.GeneralRPCProtos.Ack;
 import com.dremio.exec.proto.UserBitShared.AttemptEvent;
 import com.dremio.exec.proto.UserBitShared.FragmentRpcSizeStats;
+import com.dremio.exec.proto.UserBitShared.PlanCacheProfile;
+import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
 import com.dremio.exec.proto.UserBitShared.QueryProfile;
 import com.dremio.exec.rpc.RpcOutcomeListener;
 import com.dremio.exec.work.QueryWorkUnit;
@@ -172,6 +174,27 @@ public class AttemptObservers implements AttemptObserver {
     }
   }
 
+  @Override
+  public void planMaterializationCandidates(int available, int considered, int matched) {
+    for (final AttemptObserver observer : observers) {
+      observer.planMaterializationCandidates(available, considered, matched);
+    }
+  }
+
+  @Override
+  public void planCacheLookup(PlanCacheProfile profile) {
+    for (final AttemptObserver observer : observers) {
+      observer.planCacheLookup(profile);
+    }
+  }
+
+  @Override
+  public void planningBudget(PlanPhaseProfile profile) {
+    for (final AttemptObserver observer : observers) {
+      observer.planningBudget(profile);
+    }
+  }
+
   @Override
   public void planSubstituted(DremioMaterialization materialization, List<RelNode> substitutions,
                               RelNode target, long millisTaken, boolean defaultReflection) {
@@ -33,6 +33,8 @@ import com.dremio.exec.planner.physical.Prel;
 import com.dremio.exec.proto.GeneralRPCProtos.Ack;
 import com.dremio.exec.proto.UserBitShared.AttemptEvent;
 import com.dremio.exec.proto.UserBitShared.FragmentRpcSizeStats;
+import com.dremio.exec.proto.UserBitShared.PlanCacheProfile;
+import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
 import com.dremio.exec.proto.UserBitShared.QueryProfile;
 import com.dremio.exec.rpc.RpcOutcomeListener;
 import com.dremio.exec.work.QueryWorkUnit;
@@ -134,6 +136,21 @@ public class DelegatingAttemptObserver implements AttemptObserver {
     observer.planNormalized(millisTaken, normalizedQueryPlans);
   }
 
+  @Override
+  public void planMaterializationCandidates(int available, int considered, int matched) {
+    observer.planMaterializationCandidates(available, considered, matched);
+  }
+
+  @Override
+  public void planCacheLookup(PlanCacheProfile profile) {
+    observer.planCacheLookup(profile);
+  }
+
+  @Override
+  public void planningBudget(PlanPhaseProfile profile) {
+    observer.planningBudget(profile);
+  }
+
   @Override
   public void planSubstituted(DremioMaterialization materialization, List<RelNode> substitutions, RelNode target, long millisTaken, boolean defaultReflection) {
     observer.planSubstituted(materialization, substitutions, target, millisTaken, defaultReflection);
@@ -36,6 +36,8 @@ import com.dremio.exec.planner.physical.Prel;
 import com.dremio.exec.proto.GeneralRPCProtos.Ack;
 import com.dremio.exec.proto.UserBitShared.AttemptEvent;
 import com.dremio.exec.proto.UserBitShared.FragmentRpcSizeStats;
+import com.dremio.exec.proto.UserBitShared.PlanCacheProfile;
+import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
 import com.dremio.exec.proto.UserBitShared.QueryProfile;
 import com.dremio.exec.rpc.RpcOutcomeListener;
 import com.dremio.exec.work.QueryWorkUnit;
@@ -119,6 +121,21 @@ public class OutOfBandAttemptObserver implements AttemptObserver {
     execute(() -> innerObserver.planNormalized(millisTaken, normalizedQueryPlans));
   }
 
+  @Override
+  public void planMaterializationCandidates(final int available, final int considered, final int matched) {
+    execute(() -> innerObserver.planMaterializationCandidates(available, considered, matched));
+  }
+
+  @Override
+  public void planCacheLookup(final PlanCacheProfile profile) {
+    execute(() -> innerObserver.planCacheLookup(profile));
+  }
+
+  @Override
+  public void planningBudget(final PlanPhaseProfile profile) {
+    execute(() -> innerObserver.planningBudget(profile));
+  }
+
   @Override
   public void planSubstituted(final DremioMaterialization materialization,
                               final List<RelNode> substitutions,
@@ -28,6 +28,8 @@ import org.apache.calcite.util.CancelFlag;
 import com.dremio.common.config.SabotConfig;
 import com.dremio.exec.ExecConstants;
 import com.dremio.exec.catalog.conf.SourceType;
+import com.dremio.exec.planner.PlanningBudget;
+import com.dremio.exec.planner.cost.StatisticsService;
 import com.dremio.exec.proto.CoordinationProtos.NodeEndpoint;
 import com.dremio.exec.server.options.CachingOptionManager;
 import com.dremio.exec.testing.ExecutionControls;
@@ -120,6 +122,8 @@ public class PlannerSettings implements Context{
   public static final String UNIONALL_DISTRIBUTE_KEY = "planner.enable_unionall_distribute";
   public static final BooleanValidator UNIONALL_DISTRIBUTE = new BooleanValidator(UNIONALL_DISTRIBUTE_KEY, true);
   public static final LongValidator PLANNING_MAX_MILLIS = new LongValidator("planner.timeout_per_phase_ms", 60_000);
+  // time after which planning falls back to cheaper strategies, 0 (the default) to disable. See PlanningBudget.
+  public static final LongValidator PLANNING_BUDGET_MILLIS = new LongValidator("planner.planning_budget_ms", 0);
   public static final BooleanValidator RELATIONAL_PLANNING = new BooleanValidator("planner.enable_relational_planning", true);
   public static final BooleanValidator FULL_NESTED_SCHEMA_SUPPORT = new BooleanValidator("planner.enable_full_nested_schema", true);
   public static final BooleanValidator COMPLEX_TYPE_FILTER_PUSHDOWN = new BooleanValidator("planner.complex_type_filter_pushdown", false);
@@ -205,6 +209,13 @@ public class PlannerSettings implements Context{
 
   public static final BooleanValidator WRITER_TEMP_FILE = new BooleanValidator("planner.writer_temp_file", false);
 
+  /**
+   * Controls whether a LOCALSORT BY on several columns sorts the written rows on the Z-order of the columns rather than
+   * on the columns one after the other, so that the files written are clustered on each of the columns. The columns are
+   * scaled to their range in the statistics computed by ANALYZE TABLE, or else to the domain of their type.
+   */
+  public static final BooleanValidator WRITER_LOCALSORT_ZORDER = new BooleanValidator("planner.writer.localsort_zorder", false);
+
   /**
    * Controls whether to use the cached prepared statement handles more than once. Setting it to false will remove the
    * handle when it is used the first time before it expires. Setting it to true will reuse the handle as many times as
@@ -212,6 +223,12 @@ public class PlannerSettings implements Context{
    */
   public static final BooleanValidator REUSE_PREPARE_HANDLES = new BooleanValidator("planner.reuse_prepare_statement_handles", false);
 
+  /**
+   * Controls whether the physical plans of sql queries are cached on the coordinator and reused by later submissions
+   * of the same query, from any session, as long as the datasets and reflections it depends on did not change.
+   */
+  public static final BooleanValidator PLAN_CACHE_ENABLED = new BooleanValidator("planner.plan_cache.enabled", false);
+
   public static final BooleanValidator VERBOSE_PROFILE = new BooleanValidator("planner.verbose_profile", false);
 
   public static final BooleanValidator INCLUDE_DATASET_PROFILE = new BooleanValidator("planner.include_dataset_profile", true);
@@ -220,6 +237,13 @@ public class PlannerSettings implements Context{
 
   public static final BooleanValidator ENABLE_EXPERIMENTAL_BUSHY_JOIN_OPTIMIZER = new BooleanValidator("planner.experimental.enable_bushy_join_optimizer", false);
 
+  // orders inner joins by dynamic programming up to the given number of inputs, greedily past it. See JoinEnumerator.
+  public static final BooleanValidator ENABLE_DP_JOIN_ENUMERATOR = new BooleanValidator("planner.experimental.enable_dp_join_enumerator", false);
+  public static final LongValidator DP_JOIN_ENUMERATOR_MAX_FACTORS = new RangeLongValidator("planner.dp_join_enumerator.max_factors", 2, 16, 12);
+
+  // use the column statistics computed by ANALYZE TABLE to estimate selectivities and distinct values
+  public static final BooleanValidator USE_COLUMN_STATISTICS = new BooleanValidator("planner.use_column_statistics", true);
+
   public static final DoubleValidator FILTER_MIN_SELECTIVITY_ESTIMATE_FACTOR =
       new RangeDoubleValidator("planner.filter.min_selectivity_estimate_factor", 0.0, 1.0, DEFAULT_FILTER_MIN_SELECTIVITY_ESTIMATE_FACTOR);
   public static final DoubleValidator FILTER_MAX_SELECTIVITY_ESTIMATE_FACTOR =
@@ -288,6 +312,9 @@ public class PlannerSettings implements Context{
   private String cancelContext = null;
   private volatile boolean isCancelledByHeapMonitor = false;
 
+  private final PlanningBudget planningBudget = new PlanningBudget();
+  private StatisticsService statisticsService = StatisticsService.NO_OP;
+
   private NodeEndpoint nodeEndpoint = null;
 
   public PlannerSettings(SabotConfig config, OptionManager options,
@@ -343,6 +370,18 @@ public class PlannerSettings implements Context{
     return options.getOption(PLANNING_MAX_MILLIS);
   }
 
+  /**
+   * Starts tracking the planning budget of the query, if not already started.
+   */
+  public PlanningBudget startPlanningBudget() {
+    planningBudget.start(options.getOption(PLANNING_BUDGET_MILLIS));
+    return planningBudget;
+  }
+
+  public PlanningBudget getPlanningBudget() {
+    return planningBudget;
+  }
+
   public void forceSingleMode() {
     forceSingleMode = true;
   }
@@ -570,6 +609,10 @@ public class PlannerSettings implements Context{
     return resourceInformation.get().getExecutorNodeCount();
   }
 
+  public boolean isWriterZOrderSortEnabled() {
+    return options.getOption(WRITER_LOCALSORT_ZORDER);
+  }
+
   public boolean isJoinOptimizationEnabled() {
     return options.getOption(ENABLE_JOIN_OPTIMIZATION);
   }
@@ -578,6 +621,25 @@ public class PlannerSettings implements Context{
     return options.getOption(ENABLE_EXPERIMENTAL_BUSHY_JOIN_OPTIMIZER);
   }
 
+  public boolean isDpJoinEnumeratorEnabled() {
+    return options.getOption(ENABLE_DP_JOIN_ENUMERATOR);
+  }
+
+  public long getDpJoinEnumeratorMaxFactors() {
+    return options.getOption(DP_JOIN_ENUMERATOR_MAX_FACTORS);
+  }
+
+  public void setStatisticsService(StatisticsService statisticsService) {
+    this.statisticsService = statisticsService == null ? StatisticsService.NO_OP : statisticsService;
+  }
+
+  /**
+   * @return the service serving column statistics, or a service without statistics if their use is disabled
+   */
+  public StatisticsService getStatisticsService() {
+    return options.getOption(USE_COLUMN_STATISTICS) ? statisticsService : StatisticsService.NO_OP;
+  }
+
   boolean shouldPullDistributionTrait() {
     return pullDistributionTrait;
   }
@@ -15,6 +15,7 @@
  */
 package com.dremio.exec.planner.physical.visitor;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -26,16 +27,24 @@ import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelCollations;
 import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Project;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rex.RexBuilder;
 import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.type.ReturnTypes;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.Pair;
 
 import com.dremio.common.exceptions.UserException;
+import com.dremio.exec.expr.fn.impl.ZOrderHelper;
 import com.dremio.exec.physical.base.WriterOptions;
 import com.dremio.exec.planner.common.MoreRelOptUtil;
+import com.dremio.exec.planner.common.ScanRelBase;
+import com.dremio.exec.planner.cost.StatisticsEstimator;
 import com.dremio.exec.planner.physical.DistributionTrait;
 import com.dremio.exec.planner.physical.DistributionTrait.DistributionType;
 import com.dremio.exec.planner.physical.DistributionTraitDef;
@@ -46,6 +55,7 @@ import com.dremio.exec.planner.physical.ProjectPrel;
 import com.dremio.exec.planner.physical.SortPrel;
 import com.dremio.exec.planner.physical.WriterPrel;
 import com.dremio.exec.planner.sql.SqlOperatorImpl;
+import com.dremio.service.namespace.dataset.proto.TableStatistics;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.FluentIterable;
@@ -63,12 +73,34 @@ public class WriterUpdater extends BasePrelVisitor<Prel, Void, RuntimeException>
 
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(WriterUpdater.class);
 
-  private static final WriterUpdater INSTANCE = new WriterUpdater();
+  private static final WriterUpdater INSTANCE = new WriterUpdater(false);
+  private static final WriterUpdater ZORDER_INSTANCE = new WriterUpdater(true);
 
-  private WriterUpdater(){}
+  // Z-order key added to sort on when zorderSort is enabled, and removed before writing.
+  private static final String ZORDER_FIELD = "Z_O_R_D_E_R_K_E_Y";
+  // number of sort columns the Z-order key is computed on, the other columns are ignored.
+  private static final int MAX_ZORDER_COLUMNS = 4;
+  // dates and timestamps without statistics are scaled to the milliseconds from about 1830 to 2109.
+  private static final long DATETIME_DOMAIN_MILLIS = 1L << 42;
+  private static final Set<SqlTypeName> ZORDER_TYPES = Sets.immutableEnumSet(SqlTypeName.INTEGER, SqlTypeName.BIGINT,
+      SqlTypeName.FLOAT, SqlTypeName.DOUBLE, SqlTypeName.DATE, SqlTypeName.TIMESTAMP, SqlTypeName.CHAR,
+      SqlTypeName.VARCHAR);
+
+  private final boolean zorderSort;
+
+  private WriterUpdater(boolean zorderSort){
+    this.zorderSort = zorderSort;
+  }
 
   public static Prel update(Prel prel) {
-    return prel.accept(INSTANCE, null);
+    return update(prel, false);
+  }
+
+  /**
+   * @param zorderSort whether to sort on the Z-order of the LOCALSORT BY columns when there are several of them
+   */
+  public static Prel update(Prel prel, boolean zorderSort) {
+    return prel.accept(zorderSort ? ZORDER_INSTANCE : INSTANCE, null);
   }
 
   private Prel renameAsNecessary(RelDataType expectedRowType, Prel initialInput, WriterOptions.IcebergWriterOperation icebergWriterOperation) {
@@ -131,6 +163,7 @@ public class WriterUpdater extends BasePrelVisitor<Prel, Void, RuntimeException>
       }
 
       // if sorted, add those as well.
+      final List<Integer> localSortKeys = new ArrayList<>();
       if (options.hasSort()) {
         List<Integer> sortRequestKeys = getFieldIndices(options.getSortColumns(), project.getRowType());
         for(Integer key : sortRequestKeys){
@@ -138,13 +171,11 @@ public class WriterUpdater extends BasePrelVisitor<Prel, Void, RuntimeException>
             logger.warn("Rejecting sort key {} since it is already included in partition clause.", key);
             continue;
           }
-          sortKeys.add(key);
+          localSortKeys.add(key);
         }
       }
 
-      final RelCollation collation = getCollation(prel.getTraitSet(), sortKeys);
-
-      final Prel sort = SortPrel.create(project.getCluster(), project.getTraitSet().plus(collation), project, collation);
+      final Prel sort = addSort(project, prel.getTraitSet(), sortKeys, localSortKeys);
 
       List<Integer> fieldIndices = new ArrayList<>();
       // add bucket field.
@@ -168,6 +199,7 @@ public class WriterUpdater extends BasePrelVisitor<Prel, Void, RuntimeException>
       sortedKeys.addAll(partitionKeys);
 
       // then sort by sort keys, if available.
+      final List<Integer> localSortKeys = new ArrayList<>();
       if (options.hasSort()) {
         List<Integer> sortRequestKeys = getFieldIndices(options.getSortColumns(), input.getRowType());
         for(Integer key : sortRequestKeys){
@@ -175,12 +207,11 @@ public class WriterUpdater extends BasePrelVisitor<Prel, Void, RuntimeException>
             logger.warn("Rejecting sort key {} since it is already included in partition clause.", key);
             continue;
           }
-          sortKeys.add(key);
+          localSortKeys.add(key);
         }
       }
 
-      final RelCollation collation = getCollation(prel.getTraitSet(), sortKeys);
-      final Prel sort = SortPrel.create(input.getCluster(), input.getTraitSet().plus(collation), input, collation);
+      final Prel sort = addSort(input, prel.getTraitSet(), sortKeys, localSortKeys);
 
       // we need to sort by the partitions.
       final Prel changeDetectionPrel = addChangeDetectionProject(sort, getFieldIndices(options.getPartitionColumns(), input.getRowType()));
@@ -190,8 +221,8 @@ public class WriterUpdater extends BasePrelVisitor<Prel, Void, RuntimeException>
     } else if(options.hasSort()){
       // no partitions or distributions.
       // insert a sort on sort fields.
-      final RelCollation collation = getCollation(prel.getTraitSet(), getFieldIndices(options.getSortColumns(), input.getRowType()));
-      final Prel sort = SortPrel.create(input.getCluster(), input.getTraitSet().plus(collation), input, collation);
+      final Prel sort = addSort(input, prel.getTraitSet(), ImmutableList.<Integer>of(),
+          getFieldIndices(options.getSortColumns(), input.getRowType()));
       final WriterPrel writer = new WriterPrel(prel.getCluster(), prel.getTraitSet(), sort, prel.getCreateTableEntry(), prel.getExpectedInboundRowType());
       return writer;
 
@@ -200,6 +231,128 @@ public class WriterUpdater extends BasePrelVisitor<Prel, Void, RuntimeException>
     }
   }
 
+  /**
+   * Sorts the input on the given keys followed by the local sort keys. When Z-order sorting is enabled and there are
+   * several local sort keys, the input is sorted on the Z-order of the local sort keys instead, computed in a field
+   * added for the sort and removed after it. The columns are scaled to their range, so that each of them takes a share
+   * of the key whatever its range.
+   */
+  private Prel addSort(Prel input, RelTraitSet traitSet, List<Integer> sortKeys, List<Integer> localSortKeys) {
+    final List<Integer> keys = new ArrayList<>(sortKeys);
+    if (!useZOrder(input.getRowType(), localSortKeys)) {
+      keys.addAll(localSortKeys);
+      final RelCollation collation = getCollation(traitSet, keys);
+      return SortPrel.create(input.getCluster(), input.getTraitSet().plus(collation), input, collation);
+    }
+
+    final RelOptCluster cluster = input.getCluster();
+    final RexBuilder rexBuilder = cluster.getRexBuilder();
+    final RelDataTypeFactory typeFactory = cluster.getTypeFactory();
+    final RelDataType rowType = input.getRowType();
+    final int fieldCount = rowType.getFieldCount();
+    final List<Integer> zorderKeys = localSortKeys.subList(0, Math.min(localSortKeys.size(), MAX_ZORDER_COLUMNS));
+    final List<RexNode> fields = new ArrayList<>();
+    final List<String> fieldNames = new ArrayList<>();
+    for (final RelDataTypeField field : rowType.getFieldList()) {
+      fields.add(RexInputRef.of(field.getIndex(), rowType));
+      fieldNames.add(field.getName());
+    }
+
+    // normalize the Z-order columns, scale them to their range and interleave them
+    final SqlOperatorImpl normalize = new SqlOperatorImpl("zorder_normalize", 1, 1, true, ReturnTypes.BIGINT_NULLABLE);
+    final SqlOperatorImpl scale = new SqlOperatorImpl("zorder_scale", 3, 3, true, ReturnTypes.BIGINT);
+    final SqlOperatorImpl interleave = new SqlOperatorImpl("zorder_interleave", 2, MAX_ZORDER_COLUMNS, true,
+        ReturnTypes.explicit(SqlTypeName.VARBINARY));
+    final List<RexNode> scaled = new ArrayList<>();
+    for (Integer key : zorderKeys) {
+      final Pair<Long, Long> range = getZOrderRange(input, key);
+      scaled.add(rexBuilder.makeCall(scale, rexBuilder.makeCall(normalize, RexInputRef.of(key, rowType)),
+          rexBuilder.makeBigintLiteral(BigDecimal.valueOf(range.left)),
+          rexBuilder.makeBigintLiteral(BigDecimal.valueOf(range.right))));
+    }
+    final List<RexNode> exprs = new ArrayList<>(fields);
+    exprs.add(rexBuilder.makeCall(interleave, scaled));
+    fieldNames.add(ZORDER_FIELD);
+
+    final RelDataType rowTypeWithKey = RexUtil.createStructType(typeFactory, exprs, fieldNames);
+    final Prel project = ProjectPrel.create(cluster, input.getTraitSet(), input, exprs, rowTypeWithKey);
+
+    keys.add(fieldCount);
+    final RelCollation collation = getCollation(traitSet, keys);
+    final Prel sort = SortPrel.create(cluster, project.getTraitSet().plus(collation), project, collation);
+
+    // remove the Z-order key before writing
+    return ProjectPrel.create(cluster, input.getTraitSet(), sort, fields, rowType);
+  }
+
+  /**
+   * Returns the range of the normalized values of a Z-order column: the minimum and maximum of the column in the
+   * statistics of the dataset it is read from unchanged, if it has some, otherwise the domain of its type.
+   */
+  private static Pair<Long, Long> getZOrderRange(RelNode input, int field) {
+    final SqlTypeName type = input.getRowType().getFieldList().get(field).getType().getSqlTypeName();
+    final Pair<Double, Double> range = getStatisticsRange(input, field);
+    if (range != null) {
+      switch (type) {
+      case INTEGER:
+      case BIGINT:
+        return Pair.of((long) Math.floor(range.left), (long) Math.ceil(range.right));
+      case FLOAT:
+      case DOUBLE:
+        return Pair.of(ZOrderHelper.normalize(range.left), ZOrderHelper.normalize(range.right));
+      default:
+        break;
+      }
+    }
+
+    switch (type) {
+    case INTEGER:
+      return Pair.of((long) Integer.MIN_VALUE, (long) Integer.MAX_VALUE);
+    case DATE:
+    case TIMESTAMP:
+      return Pair.of(-DATETIME_DOMAIN_MILLIS, DATETIME_DOMAIN_MILLIS - 1);
+    default:
+      return Pair.of(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+  }
+
+  /**
+   * Follows a field down to the scan it is read from, through the operators that only pass it on, and returns its range
+   * in the statistics of the dataset scanned.
+   *
+   * @return the minimum and maximum of the field, or null if it is computed or its dataset has no histogram of it
+   */
+  private static Pair<Double, Double> getStatisticsRange(RelNode rel, int field) {
+    if (rel instanceof ScanRelBase) {
+      final TableStatistics stats = StatisticsEstimator.getTableStatistics((ScanRelBase) rel);
+      return stats == null ? null : StatisticsEstimator.getRange(stats, rel.getRowType().getFieldNames().get(field));
+    }
+    if (rel instanceof Project) {
+      final RexNode expr = ((Project) rel).getProjects().get(field);
+      return expr instanceof RexInputRef ? getStatisticsRange(rel.getInput(0), ((RexInputRef) expr).getIndex()) : null;
+    }
+    // filters, sorts, limits and exchanges only pass on a subset of the rows of their input
+    if (rel.getInputs().size() == 1 && RelOptUtil.areRowTypesEqual(rel.getRowType(), rel.getInput(0).getRowType(), false)) {
+      return getStatisticsRange(rel.getInput(0), field);
+    }
+    return null;
+  }
+
+  private boolean useZOrder(RelDataType rowType, List<Integer> localSortKeys) {
+    if (!zorderSort || localSortKeys.size() < 2) {
+      return false;
+    }
+    for (Integer key : localSortKeys.subList(0, Math.min(localSortKeys.size(), MAX_ZORDER_COLUMNS))) {
+      final RelDataTypeField field = rowType.getFieldList().get(key);
+      if (!ZORDER_TYPES.contains(field.getType().getSqlTypeName())) {
+        logger.debug("Sorting on the LOCALSORT BY columns one after the other since column {} of type {} has no Z-order.",
+            field.getName(), field.getType());
+        return false;
+      }
+    }
+    return true;
+  }
+
   private static RelCollation getCollation(RelTraitSet set, List<Integer> keys) {
     return set.canonize(RelCollations.of(FluentIterable.from(keys)
         .transform(new Function<Integer, RelFieldCollation>() {
@@ -76,6 +76,7 @@ import com.dremio.exec.planner.DremioHepPlanner;
 import com.dremio.exec.planner.DremioVolcanoPlanner;
 import com.dremio.exec.planner.PlannerPhase;
 import com.dremio.exec.planner.PlannerType;
+import com.dremio.exec.planner.PlanningBudget;
 import com.dremio.exec.planner.StatelessRelShuttleImpl;
 import com.dremio.exec.planner.acceleration.DremioMaterialization;
 import com.dremio.exec.planner.acceleration.ExpansionNode;
@@ -176,6 +177,7 @@ public class PrelTransformer {
   }
 
   public static ConvertedRelNode validateAndConvert(SqlHandlerConfig config, SqlNode sqlNode, RelTransformer relTransformer) throws ForemanSetupException, RelConversionException, ValidationException {
+    config.getContext().getPlannerSettings().startPlanningBudget();
     final Pair<SqlNode, RelDataType> validatedTypedSqlNode = validateNode(config, sqlNode);
     if (config.getObserver() != null) {
       config.getObserver().beginState(AttemptObserver.toEvent(UserBitShared.AttemptEvent.State.PLANNING));
@@ -233,7 +235,10 @@ public class PrelTransformer {
   public static Rel convertToDrel(SqlHandlerConfig config, final RelNode relNode) throws SqlUnsupportedException, RelConversionException {
 
     try {
+      final Stopwatch trimWatch = Stopwatch.createStarted();
       final RelNode trimmed = trimFields(relNode, true, config.getContext().getPlannerSettings().isRelPlanningEnabled());
+      config.getContext().getPlannerSettings().getPlanningBudget()
+        .phaseCompleted(PlannerPhase.FIELD_TRIMMING.description, trimWatch.elapsed(TimeUnit.MILLISECONDS));
       final RelNode preLog = transform(config, PlannerType.HEP_BOTTOM_UP, PlannerPhase.PRE_LOGICAL, trimmed, trimmed.getTraitSet(), true);
 
       final RelTraitSet logicalTraits = preLog.getTraitSet().plus(Rel.LOGICAL);
@@ -501,7 +506,13 @@ public class PrelTransformer {
       // Configure substitutions
       final AccelerationAwareSubstitutionProvider substitutions = config.getConverter().getSubstitutionProvider();
       substitutions.setObserver(config.getObserver());
-      substitutions.setEnabled(phase.useMaterializations);
+      // once out of planning budget, keep the plan without trying to substitute reflections in.
+      final PlanningBudget budget = config.getContext().getPlannerSettings().getPlanningBudget();
+      final boolean skipSubstitution = phase.useMaterializations && budget.isExhausted();
+      if (skipSubstitution) {
+        budget.fallback("reflection substitution skipped in phase " + phase.description);
+      }
+      substitutions.setEnabled(phase.useMaterializations && !skipSubstitution);
       substitutions.setPostSubstitutionTransformer(getPostSubstitutionTransformer(config));
 
       planner = volcanoPlanner;
@@ -554,6 +565,8 @@ public class PrelTransformer {
         output = intermediateNode;
       }
 
+      config.getContext().getPlannerSettings().getPlanningBudget()
+        .phaseCompleted(phase.description, watch.elapsed(TimeUnit.MILLISECONDS));
       if (log) {
         log(plannerType, phase, output, logger, watch);
         config.getObserver().planRelTransform(phase, planner, input, output, watch.elapsed(TimeUnit.MILLISECONDS));
@@ -575,8 +588,9 @@ public class PrelTransformer {
   }
 
   private static RelNode processBoostedMaterializations(SqlHandlerConfig config, RelNode relNode) {
+    // only materializations expanded during substitution can be part of the plan
     final Set<List<String>> qualifiedNames = config.getMaterializations().isPresent() ?
-      config.getMaterializations().get().getMaterializations()
+      config.getMaterializations().get().getExpandedMaterializations()
         .stream()
         .filter(m -> m.getLayoutInfo().isArrowCachingEnabled())
         .map(DremioMaterialization::getTableRel)
@@ -773,7 +787,7 @@ public class PrelTransformer {
     /* 5.5)
      * Insert additional required operations to achieve correct writer behavior
      */
-    phyRelNode = WriterUpdater.update(phyRelNode);
+    phyRelNode = WriterUpdater.update(phyRelNode, plannerSettings.isWriterZOrderSortEnabled());
 
     /* 5.5)
      * Insert Project before/after HashToMergeExchangePrel and HashToRandomExchangePrel nodes
@@ -848,6 +862,9 @@ public class PrelTransformer {
   }
 
   public static PhysicalPlan convertToPlan(SqlHandlerConfig config, PhysicalOperator op, Runnable committer) {
+    final PlanningBudget budget = config.getContext().getPlannerSettings().getPlanningBudget();
+    budget.stop();
+    budget.getPlanPhaseProfiles().forEach(config.getObserver()::planningBudget);
     OptionList options = new OptionList();
     options.merge(config.getContext().getQueryOptionManager().getNonDefaultOptions());
     options.merge(config.getContext().getSessionOptionManager().getNonDefaultOptions());
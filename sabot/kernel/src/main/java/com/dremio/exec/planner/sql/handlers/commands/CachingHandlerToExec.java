@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql.handlers.commands;
+
+import java.util.List;
+
+import org.apache.calcite.sql.SqlNode;
+
+import com.dremio.exec.catalog.DremioTable;
+import com.dremio.exec.ops.QueryContext;
+import com.dremio.exec.physical.PhysicalPlan;
+import com.dremio.exec.planner.observer.AbstractAttemptObserver;
+import com.dremio.exec.planner.observer.AttemptObserver;
+import com.dremio.exec.planner.observer.AttemptObservers;
+import com.dremio.exec.planner.sql.handlers.SqlHandlerConfig;
+import com.dremio.exec.planner.sql.handlers.commands.HandlerToPreparePlanBase.RecordingObserver;
+import com.dremio.exec.planner.sql.handlers.query.SqlToPlanHandler;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Take a sql node, plan it, store the plan in the {@link PlanCache} and run as async command.
+ */
+public class CachingHandlerToExec extends AsyncCommand {
+
+  private final QueryContext context;
+  private final AttemptObserver observer;
+  private final SqlNode sqlNode;
+  private final SqlToPlanHandler handler;
+  private final String sql;
+  private final PlanCache planCache;
+  private final PlanCache.Key key;
+  private SqlHandlerConfig config;
+  private PhysicalPlan physicalPlan;
+
+  public CachingHandlerToExec(
+      QueryContext context,
+      AttemptObserver observer,
+      String sql,
+      SqlNode sqlNode,
+      SqlToPlanHandler handler,
+      SqlHandlerConfig config,
+      PlanCache planCache,
+      PlanCache.Key key) {
+    super();
+    this.context = context;
+    this.observer = observer;
+    this.sqlNode = sqlNode;
+    this.sql = sql;
+    this.handler = handler;
+    this.config = config;
+    this.planCache = planCache;
+    this.key = key;
+  }
+
+  @Override
+  public PhysicalPlan getPhysicalPlan() {
+    return physicalPlan;
+  }
+
+  @Override
+  public double plan() throws Exception {
+    final RecordingObserver recording = new RecordingObserver();
+    final TablesObserver tables = new TablesObserver();
+    final AttemptObservers observers = AttemptObservers.of(observer, recording, tables);
+    observers.planStart(sql);
+    physicalPlan = handler.getPlan(config.cloneWithNewObserver(observers), sql, sqlNode);
+
+    // plans that folded the query start time (now(), current_date...) or the last query id into constants are only
+    // valid for this query, and plans whose datasets are unknown can't be validated.
+    if (!context.getContextInformation().isQuerySpecific() && tables.tables != null) {
+      planCache.put(key,
+        new PreparedPlan(context.getQueryId(), context.getQueryUserName(), sql, physicalPlan, recording),
+        tables.tables);
+    }
+    return physicalPlan.getCost();
+  }
+
+  @Override
+  public void executionStarted() {
+    physicalPlan = null; // no longer needed.
+    config = null; // no longer needed.
+  }
+
+  @Override
+  public CommandType getCommandType() {
+    return CommandType.ASYNC_QUERY;
+  }
+
+  @Override
+  public String getDescription() {
+    return "execute; query";
+  }
+
+  /**
+   * Collects the datasets and views read by the plan, to validate it on later lookups.
+   */
+  private static class TablesObserver extends AbstractAttemptObserver {
+    private List<DremioTable> tables;
+
+    @Override
+    public void tablesCollected(Iterable<DremioTable> tables) {
+      this.tables = ImmutableList.copyOf(tables);
+    }
+  }
+}
@@ -15,6 +15,7 @@
  */
 package com.dremio.exec.planner.sql.handlers.commands;
 
+import static com.dremio.exec.planner.physical.PlannerSettings.PLAN_CACHE_ENABLED;
 import static com.dremio.exec.planner.physical.PlannerSettings.REUSE_PREPARE_HANDLES;
 import static com.dremio.exec.planner.physical.PlannerSettings.STORE_QUERY_RESULTS;
 
@@ -41,6 +42,7 @@ import com.dremio.exec.planner.sql.handlers.direct.AccelDropReflectionHandler;
 import com.dremio.exec.planner.sql.handlers.direct.AccelToggleHandler;
 import com.dremio.exec.planner.sql.handlers.direct.AddColumnsHandler;
 import com.dremio.exec.planner.sql.handlers.direct.AlterTableSetOptionHandler;
+import com.dremio.exec.planner.sql.handlers.direct.AnalyzeTableHandler;
 import com.dremio.exec.planner.sql.handlers.direct.ChangeColumnHandler;
 import com.dremio.exec.planner.sql.handlers.direct.CreateEmptyTableHandler;
 import com.dremio.exec.planner.sql.handlers.direct.CreateViewHandler;
@@ -71,6 +73,7 @@ import com.dremio.exec.planner.sql.parser.SqlAlterTableAddColumns;
 import com.dremio.exec.planner.sql.parser.SqlAlterTableChangeColumn;
 import com.dremio.exec.planner.sql.parser.SqlAlterTableDropColumn;
 import com.dremio.exec.planner.sql.parser.SqlAlterTableSetOption;
+import com.dremio.exec.planner.sql.parser.SqlAnalyzeTable;
 import com.dremio.exec.planner.sql.parser.SqlCreateEmptyTable;
 import com.dremio.exec.planner.sql.parser.SqlCreateReflection;
 import com.dremio.exec.planner.sql.parser.SqlDropReflection;
@@ -119,6 +122,7 @@ public class CommandCreator {
   private final AttemptObserver observer;
   private final SabotContext dbContext;
   private final Cache<Long, PreparedPlan> plans;
+  private final PlanCache planCache;
   private final int attemptNumber;
   private final Pointer<QueryId> prepareId;
 
@@ -128,6 +132,7 @@ public class CommandCreator {
       UserRequest request,
       AttemptObserver observer,
       Cache<Long, PreparedPlan> plans,
+      PlanCache planCache,
       Pointer<QueryId> prepareId,
       int attemptNumber) {
     this.context = context;
@@ -135,6 +140,7 @@ public class CommandCreator {
     this.observer = observer;
     this.dbContext = dbContext;
     this.plans = plans;
+    this.planCache = planCache;
     this.prepareId = prepareId;
     this.attemptNumber = attemptNumber;
   }
@@ -258,6 +264,22 @@ public class CommandCreator {
     return ReflectionContext.SYSTEM_USER_CONTEXT;
   }
 
+  private boolean isStoreQueryResults() {
+    final StoreQueryResultsPolicy storeQueryResultsPolicy = Optional
+        .ofNullable(context.getOptions().getOption(STORE_QUERY_RESULTS.getOptionName()))
+        .map(o -> StoreQueryResultsPolicy.valueOf(o.getStringVal().toUpperCase(Locale.ROOT)))
+        .orElse(StoreQueryResultsPolicy.NO);
+    return storeQueryResultsPolicy != StoreQueryResultsPolicy.NO;
+  }
+
+  private boolean isPlanCacheEnabled() {
+    // later attempts have to replan to pick up schema changes, and plans storing the query results write them to a
+    // location specific to the query.
+    return attemptNumber == 0
+      && context.getOptions().getOption(PLAN_CACHE_ENABLED)
+      && !isStoreQueryResults();
+  }
+
   @VisibleForTesting
   CommandRunner<?> getSqlCommand(String sql, PrepareMetadataType prepareMetadataType) {
     try{
@@ -354,6 +376,8 @@ public class CommandCreator {
           return direct.create(new ForgetTableHandler(catalog));
         } else if (sqlNode instanceof SqlRefreshTable) {
           return direct.create(new RefreshTableHandler(catalog));
+        } else if (sqlNode instanceof SqlAnalyzeTable) {
+          return direct.create(new AnalyzeTableHandler(catalog, context.getStatisticsService(), context.getQueryUserName()));
         } else if (sqlNode instanceof SqlRefreshSourceStatus) {
           return direct.create(new RefreshSourceStatusHandler(catalog));
         } else if (sqlNode instanceof SqlSetApprox) {
@@ -390,12 +414,7 @@ public class CommandCreator {
       this.sqlNode = sqlNode;
       this.prepareMetadataType = prepareMetadataType;
       this.sql = sql;
-
-      final StoreQueryResultsPolicy storeQueryResultsPolicy = Optional
-          .ofNullable(context.getOptions().getOption(STORE_QUERY_RESULTS.getOptionName()))
-          .map(o -> StoreQueryResultsPolicy.valueOf(o.getStringVal().toUpperCase(Locale.ROOT)))
-          .orElse(StoreQueryResultsPolicy.NO);
-      this.storeResults = storeQueryResultsPolicy != StoreQueryResultsPolicy.NO;
+      this.storeResults = isStoreQueryResults();
     }
 
     // handlers in handlers.direct package
@@ -436,6 +455,15 @@ public class CommandCreator {
           return new HandlerToPrepareArrowPlan(context, sqlNode, handler, plans, sql, observer, config);
         case NONE:
         default:
+          if (handler instanceof NormalHandler && isPlanCacheEnabled()) {
+            final PlanCache.Key key = PlanCache.Key.of(context, sql);
+            final PreparedPlan plan = planCache.get(key, context.getCatalog());
+            observer.planCacheLookup(planCache.getProfile(plan != null));
+            if (plan != null) {
+              return new PrepareToExecution(plan, observer);
+            }
+            return new CachingHandlerToExec(context, observer, sql, sqlNode, handler, config, planCache, key);
+          }
           return new HandlerToExec(observer, sql, sqlNode, handler, config);
       }
     }
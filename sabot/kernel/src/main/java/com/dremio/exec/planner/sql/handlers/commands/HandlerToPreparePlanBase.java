@@ -25,6 +25,7 @@ import org.apache.calcite.rel.RelRoot;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.sql.SqlNode;
 
+import com.dremio.exec.catalog.DremioTable;
 import com.dremio.exec.ops.QueryContext;
 import com.dremio.exec.physical.PhysicalPlan;
 import com.dremio.exec.planner.PlannerPhase;
@@ -38,6 +39,7 @@ import com.dremio.exec.planner.sql.SqlExceptionHelper;
 import com.dremio.exec.planner.sql.handlers.SqlHandlerConfig;
 import com.dremio.exec.planner.sql.handlers.query.SqlToPlanHandler;
 import com.dremio.exec.proto.ExecProtos.ServerPreparedStatementState;
+import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
 import com.dremio.exec.work.foreman.ExecutionPlan;
 import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableList;
@@ -173,6 +175,11 @@ public abstract class HandlerToPreparePlanBase<T> implements CommandRunner<T> {
       calls.add(observer -> observer.substitutionFailures(errors));
     }
 
+    @Override
+    public void planningBudget(final PlanPhaseProfile profile) {
+      calls.add(observer -> observer.planningBudget(profile));
+    }
+
     @Override
     public void planText(final String text, final long millisTaken) {
       calls.add(observer -> observer.planText(text, millisTaken));
@@ -183,6 +190,11 @@ public abstract class HandlerToPreparePlanBase<T> implements CommandRunner<T> {
       calls.add(observer -> observer.planRelTransform(phase, planner, before, after, millisTaken));
     }
 
+    @Override
+    public void tablesCollected(final Iterable<DremioTable> tables) {
+      calls.add(observer -> observer.tablesCollected(tables));
+    }
+
     @Override
     public void planFindMaterializations(final long millisTaken) {
       calls.add(observer -> observer.planFindMaterializations(millisTaken));
@@ -194,6 +206,11 @@ public abstract class HandlerToPreparePlanBase<T> implements CommandRunner<T> {
       calls.add(observer -> observer.planNormalized(millisTaken, normalizedQueryPlans));
     }
 
+    @Override
+    public void planMaterializationCandidates(final int available, final int considered, final int matched) {
+      calls.add(observer -> observer.planMaterializationCandidates(available, considered, matched));
+    }
+
     @Override
     public void planAccelerated(final SubstitutionInfo info) {
       calls.add(observer -> observer.planAccelerated(info));
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql.handlers.commands;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.dremio.common.exceptions.UserException;
+import com.dremio.exec.catalog.Catalog;
+import com.dremio.exec.catalog.DremioTable;
+import com.dremio.exec.ops.QueryContext;
+import com.dremio.exec.proto.UserBitShared.PlanCacheProfile;
+import com.dremio.options.OptionValue;
+import com.dremio.sabot.rpc.user.UserSession;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.telemetry.api.metrics.Counter;
+import com.dremio.telemetry.api.metrics.Metrics;
+import com.dremio.telemetry.api.metrics.Metrics.ResetType;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Coordinator wide cache of the physical plans of sql queries, shared by all sessions.<br>
+ * Plans are keyed by the query text and by everything else planning depends on: the user, the default schema, the
+ * non default options, the reflection substitution settings and the available reflections. The versions of the datasets
+ * and views a plan reads are recorded when it is cached and checked on every lookup through the catalog of the querying
+ * user, so a metadata change invalidates the plan and a lost access privilege is noticed as soon as the source's
+ * permission check does, instead of when the plan expires.
+ */
+public class PlanCache {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(PlanCache.class);
+
+  private static final Counter HITS = Metrics.newCounter(Metrics.join("planning", "plan_cache_hits"), ResetType.NEVER);
+  private static final Counter MISSES = Metrics.newCounter(Metrics.join("planning", "plan_cache_misses"), ResetType.NEVER);
+
+  private final Cache<Key, Entry> plans;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public PlanCache(long maximumSize, long expireAfterWriteMillis) {
+    this.plans = CacheBuilder.newBuilder()
+      .maximumSize(maximumSize)
+      // like prepared statement handles, plans are memory intensive and can be rebuilt.
+      .softValues()
+      .expireAfterWrite(expireAfterWriteMillis, TimeUnit.MILLISECONDS)
+      .build();
+  }
+
+  /**
+   * Looks up the plan of a query.
+   *
+   * @param key key of the query
+   * @param catalog catalog of the querying user, used to check the versions of and the access to the datasets read by
+   *                the plan
+   * @return the cached plan, or null if there is none, if a dataset it reads changed since it was planned or if the
+   *         user can no longer read one
+   */
+  public PreparedPlan get(Key key, Catalog catalog) {
+    final Entry entry = plans.getIfPresent(key);
+    if (entry != null) {
+      if (entry.isValid(catalog)) {
+        hits.incrementAndGet();
+        HITS.increment();
+        return entry.plan;
+      }
+      plans.invalidate(key);
+    }
+    misses.incrementAndGet();
+    MISSES.increment();
+    return null;
+  }
+
+  /**
+   * Caches the plan of a query. Plans reading a dataset without a version are not cached, since there is no way to
+   * tell when they become stale.
+   *
+   * @param key key of the query
+   * @param plan plan of the query
+   * @param tables datasets and views read by the plan
+   */
+  public void put(Key key, PreparedPlan plan, Iterable<DremioTable> tables) {
+    final ImmutableMap.Builder<NamespaceKey, String> versions = ImmutableMap.builder();
+    for (DremioTable table : tables) {
+      final DatasetConfig config = table.getDatasetConfig();
+      if (config == null || config.getTag() == null) {
+        logger.debug("Not caching plan as dataset {} has no version.", table.getPath());
+        return;
+      }
+      versions.put(table.getPath(), config.getTag());
+    }
+    plans.put(key, new Entry(plan, versions.build()));
+  }
+
+  public void invalidate(Key key) {
+    plans.invalidate(key);
+  }
+
+  public PlanCacheProfile getProfile(boolean hit) {
+    return PlanCacheProfile.newBuilder()
+      .setHit(hit)
+      .setCachedPlans(plans.size())
+      .setHits(hits.get())
+      .setMisses(misses.get())
+      .build();
+  }
+
+  @VisibleForTesting
+  long size() {
+    return plans.size();
+  }
+
+  private static final class Entry {
+    private final PreparedPlan plan;
+    private final Map<NamespaceKey, String> versions;
+
+    private Entry(PreparedPlan plan, Map<NamespaceKey, String> versions) {
+      this.plan = plan;
+      this.versions = versions;
+    }
+
+    private boolean isValid(Catalog catalog) {
+      for (Map.Entry<NamespaceKey, String> version : versions.entrySet()) {
+        final DremioTable table;
+        try {
+          // goes through the same access check as planning, so the query fails the way it would without the cache
+          // once it is planned again.
+          table = catalog.getTableNoResolve(version.getKey());
+        } catch (UserException e) {
+          logger.debug("Dataset {} read by cached plan is no longer accessible.", version.getKey(), e);
+          return false;
+        }
+        if (table == null) {
+          logger.debug("Dataset {} read by cached plan is no longer available.", version.getKey());
+          return false;
+        }
+        final DatasetConfig config = table.getDatasetConfig();
+        if (config == null || !version.getValue().equals(config.getTag())) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Identifies the plan of a query. Two queries with the same key are planned identically, as long as the datasets
+   * they read did not change in between.
+   */
+  public static final class Key {
+    private final String sql;
+    private final String user;
+    private final String defaultSchema;
+    private final String options;
+    private final String substitutionSettings;
+    private final String reflections;
+
+    @VisibleForTesting
+    Key(String sql, String user, String defaultSchema, String options, String substitutionSettings,
+        String reflections) {
+      this.sql = sql;
+      this.user = user;
+      this.defaultSchema = defaultSchema;
+      this.options = options;
+      this.substitutionSettings = substitutionSettings;
+      this.reflections = reflections;
+    }
+
+    public static Key of(QueryContext context, String sql) {
+      final UserSession session = context.getSession();
+      final List<OptionValue> options = context.getNonDefaultOptions();
+      final String optionsString = options.stream()
+        .sorted()
+        .map(o -> o.getName() + '=' + o.getValue())
+        .collect(Collectors.joining(","));
+
+      final String substitutionSettings = session.getSubstitutionSettings().getExclusions() + ";"
+        + session.getSubstitutionSettings().getInclusions();
+
+      // the ids and versions of the materializations are enough to tell when a reflection is added, refreshed or
+      // dropped, so hash them instead of keeping them all in every key.
+      final Hasher reflections = Hashing.murmur3_128().newHasher();
+      context.getMaterializationProvider().get().stream()
+        .map(d -> d.getMaterializationId() + ':' + d.getVersion())
+        .sorted()
+        .forEach(s -> reflections.putString(s, StandardCharsets.UTF_8));
+
+      return new Key(sql, context.getQueryUserName(), String.valueOf(session.getDefaultSchemaPath()), optionsString,
+        substitutionSettings, reflections.hash().toString());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key that = (Key) o;
+      return sql.equals(that.sql)
+        && Objects.equals(user, that.user)
+        && defaultSchema.equals(that.defaultSchema)
+        && options.equals(that.options)
+        && substitutionSettings.equals(that.substitutionSettings)
+        && reflections.equals(that.reflections);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sql, user, defaultSchema, options, substitutionSettings, reflections);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql.handlers.direct;
+
+import static com.dremio.exec.planner.sql.handlers.direct.SimpleCommandResult.successful;
+import static java.util.Collections.singletonList;
+
+import java.util.List;
+
+import org.apache.calcite.sql.SqlNode;
+
+import com.dremio.exec.catalog.Catalog;
+import com.dremio.exec.planner.cost.StatisticsService;
+import com.dremio.exec.planner.sql.parser.SqlAnalyzeTable;
+import com.dremio.service.namespace.NamespaceKey;
+
+/**
+ * Handler for <code>ANALYZE TABLE tblname COMPUTE STATISTICS</code> command.
+ */
+public class AnalyzeTableHandler extends SimpleDirectHandler {
+
+  private final Catalog catalog;
+  private final StatisticsService statisticsService;
+  private final String userName;
+
+  public AnalyzeTableHandler(Catalog catalog, StatisticsService statisticsService, String userName) {
+    this.catalog = catalog;
+    this.statisticsService = statisticsService;
+    this.userName = userName;
+  }
+
+  @Override
+  public List<SimpleCommandResult> toResult(String sql, SqlNode sqlNode) throws Exception {
+    final SqlAnalyzeTable sqlAnalyzeTable = SqlNodeUtil.unwrap(sqlNode, SqlAnalyzeTable.class);
+
+    final NamespaceKey tableNSKey = catalog.resolveSingle(new NamespaceKey(sqlAnalyzeTable.getTable().names));
+    final String jobId = statisticsService.computeStatistics(tableNSKey, sqlAnalyzeTable.getColumns(), userName);
+
+    return singletonList(successful(String.format("Computing statistics of table '%s' in job %s.",
+      sqlAnalyzeTable.getTable().toString(), jobId)));
+  }
+}
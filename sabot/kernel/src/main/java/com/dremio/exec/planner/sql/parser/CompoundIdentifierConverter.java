@@ -198,6 +198,7 @@ public class CompoundIdentifierConverter extends SqlShuttle {
     rules.put(SqlAccelToggle.class, R(D,D, D));
     rules.put(SqlForgetTable.class, R(D));
     rules.put(SqlRefreshTable.class, R(D,D,D,D));
+    rules.put(SqlAnalyzeTable.class, R(D,D));
     rules.put(SqlAddExternalReflection.class, R(D,D,D));
     rules.put(SqlRefreshSourceStatus.class, R(D));
     rules.put(SqlRefreshReflection.class, R(D,D,D));
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql.parser;
+
+import java.util.List;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlSpecialOperator;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.util.ImmutableNullableList;
+
+import com.google.common.collect.Lists;
+
+/**
+ * SQL node tree for <code>ANALYZE TABLE table_identifier COMPUTE STATISTICS [FOR COLUMNS (column1, ...)]</code>
+ */
+public class SqlAnalyzeTable extends SqlSystemCall {
+
+  public static final SqlSpecialOperator OPERATOR =
+      new SqlSpecialOperator("ANALYZE_TABLE", SqlKind.OTHER) {
+        @Override public SqlCall createCall(SqlLiteral functionQualifier,
+            SqlParserPos pos, SqlNode... operands) {
+          return new SqlAnalyzeTable(pos, (SqlIdentifier) operands[0], (SqlNodeList) operands[1]);
+        }
+      };
+
+  private SqlIdentifier table;
+  private SqlNodeList columns;
+
+  public SqlAnalyzeTable(SqlParserPos pos, SqlIdentifier table, SqlNodeList columns) {
+    super(pos);
+    this.table = table;
+    this.columns = columns;
+  }
+
+  @Override public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+    writer.keyword("ANALYZE");
+    writer.keyword("TABLE");
+    table.unparse(writer, leftPrec, rightPrec);
+    writer.keyword("COMPUTE");
+    writer.keyword("STATISTICS");
+
+    if (columns.size() > 0) {
+      writer.keyword("FOR");
+      writer.keyword("COLUMNS");
+      final SqlWriter.Frame frame = writer.startList("(", ")");
+      for (SqlNode column : columns) {
+        writer.sep(",");
+        column.unparse(writer, leftPrec, rightPrec);
+      }
+      writer.endList(frame);
+    }
+  }
+
+  @Override public void setOperand(int i, SqlNode operand) {
+    switch (i) {
+      case 0:
+        table = (SqlIdentifier) operand;
+        break;
+      case 1:
+        columns = (SqlNodeList) operand;
+        break;
+      default:
+        throw new AssertionError(i);
+    }
+  }
+
+  @Override public SqlOperator getOperator() {
+    return OPERATOR;
+  }
+
+  @Override public List<SqlNode> getOperandList() {
+    return ImmutableNullableList.<SqlNode>of(table, columns);
+  }
+
+  public SqlIdentifier getTable() { return table; }
+
+  /**
+   * @return the columns to compute statistics of, empty for all the supported columns
+   */
+  public List<String> getColumns() {
+    final List<String> names = Lists.newArrayList();
+    for (SqlNode column : columns) {
+      names.add(((SqlIdentifier) column).getSimple());
+    }
+    return names;
+  }
+
+}
@@ -41,6 +41,7 @@ import com.dremio.exec.expr.fn.DecimalFunctionImplementationRegistry;
 import com.dremio.exec.expr.fn.FunctionImplementationRegistry;
 import com.dremio.exec.planner.PhysicalPlanReader;
 import com.dremio.exec.planner.RulesFactory;
+import com.dremio.exec.planner.cost.StatisticsService;
 import com.dremio.exec.planner.observer.QueryObserverFactory;
 import com.dremio.exec.proto.CoordinationProtos.NodeEndpoint;
 import com.dremio.exec.server.options.SystemOptionManager;
@@ -91,6 +92,7 @@ public class SabotContext implements AutoCloseable {
   private final Provider<QueryObserverFactory> queryObserverFactory;
   private final Provider<AccelerationManager> accelerationManager;
   private final Provider<AccelerationListManager> accelerationListManager;
+  private final Provider<StatisticsService> statisticsService;
   private final Provider<CatalogService> catalogService;
   private final ConduitProvider conduitProvider;
   private final Provider<InformationSchemaServiceBlockingStub> informationSchemaStub;
@@ -126,6 +128,7 @@ public class SabotContext implements AutoCloseable {
       Provider<QueryObserverFactory> queryObserverFactory,
       Provider<AccelerationManager> accelerationManager,
       Provider<AccelerationListManager> accelerationListManager,
+      Provider<StatisticsService> statisticsService,
       Provider<CatalogService> catalogService,
       ConduitProvider conduitProvider,
       Provider<InformationSchemaServiceBlockingStub> informationSchemaStub,
@@ -152,6 +155,7 @@ public class SabotContext implements AutoCloseable {
     this.lpPersistence = lpPersistence;
     this.accelerationManager = accelerationManager;
     this.accelerationListManager = accelerationListManager;
+    this.statisticsService = statisticsService;
     this.connectionReaderProvider = connectionReaderProvider;
 
     this.reader = new PhysicalPlanReader(config, classpathScan, lpPersistence, endpoint, catalogService, this);
@@ -218,6 +222,7 @@ public class SabotContext implements AutoCloseable {
     Provider<QueryObserverFactory> queryObserverFactory,
     Provider<AccelerationManager> accelerationManager,
     Provider<AccelerationListManager> accelerationListManager,
+    Provider<StatisticsService> statisticsService,
     Provider<CatalogService> catalogService,
     ConduitProvider conduitProvider,
     Provider<InformationSchemaServiceBlockingStub> informationSchemaStub,
@@ -249,6 +254,7 @@ public class SabotContext implements AutoCloseable {
     this.lpPersistence = lpPersistence;
     this.accelerationManager = accelerationManager;
     this.accelerationListManager = accelerationListManager;
+    this.statisticsService = statisticsService;
     this.connectionReaderProvider = connectionReaderProvider;
 
     // Escaping 'this'
@@ -473,6 +479,10 @@ public class SabotContext implements AutoCloseable {
     return accelerationManager.get();
   }
 
+  public StatisticsService getStatisticsService() {
+    return statisticsService.get();
+  }
+
   public AccelerationListManager getAccelerationListManager() {
     return accelerationListManager.get();
   }
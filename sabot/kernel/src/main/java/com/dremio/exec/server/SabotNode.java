@@ -53,6 +53,7 @@ import com.dremio.exec.maestro.MaestroForwarder;
 import com.dremio.exec.maestro.MaestroService;
 import com.dremio.exec.maestro.MaestroServiceImpl;
 import com.dremio.exec.maestro.NoOpMaestroForwarder;
+import com.dremio.exec.planner.cost.StatisticsService;
 import com.dremio.exec.planner.observer.QueryObserverFactory;
 import com.dremio.exec.proto.CoordinationProtos.NodeEndpoint;
 import com.dremio.exec.rpc.RpcConstants;
@@ -547,6 +548,7 @@ public class SabotNode implements AutoCloseable {
         ));
 
         bind(AccelerationManager.class).toInstance(AccelerationManager.NO_OP);
+        bind(StatisticsService.class).toInstance(StatisticsService.NO_OP);
 
         // Note: corePoolSize param below should be more than 1 to show any multithreading issues
         final LocalSchedulerService localSchedulerService = new LocalSchedulerService(2);
@@ -650,6 +652,7 @@ public class SabotNode implements AutoCloseable {
             Provider<QueryObserverFactory> queryObserverFactory,
             Provider<AccelerationManager> accelerationManager,
             Provider<AccelerationListManager> accelerationListManager,
+            Provider<StatisticsService> statisticsService,
             Provider<NamespaceService.Factory> namespaceServiceFactory,
             Provider<DatasetListingService> datasetListingService,
             Provider<UserService> userService,
@@ -675,6 +678,7 @@ public class SabotNode implements AutoCloseable {
               queryObserverFactory,
               accelerationManager,
               accelerationListManager,
+              statisticsService,
               namespaceServiceFactory,
               datasetListingService,
               userService,
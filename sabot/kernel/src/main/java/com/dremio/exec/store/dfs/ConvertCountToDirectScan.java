@@ -17,6 +17,7 @@
 package com.dremio.exec.store.dfs;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
 
@@ -24,13 +25,14 @@ import org.apache.calcite.plan.RelOptRuleCall;
 import org.apache.calcite.plan.RelOptRuleOperand;
 import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.type.RelDataType;
-import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rel.type.RelDataTypeFieldImpl;
 import org.apache.calcite.rel.type.RelRecordType;
 import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.sql.type.SqlTypeName;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
 
 import com.dremio.common.JSONOptions;
 import com.dremio.datastore.LegacyProtobufSerializer;
@@ -51,11 +53,13 @@ import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ParquetDatasetS
 import com.dremio.service.namespace.DatasetHelper;
 import com.dremio.service.namespace.PartitionChunkMetadata;
 import com.dremio.service.namespace.dataset.proto.PartitionProtobuf.DatasetSplit;
+import com.dremio.service.namespace.dataset.proto.PartitionProtobuf.PartitionValue;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
+import com.google.common.primitives.UnsignedBytes;
 import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
@@ -75,6 +79,15 @@ import com.google.protobuf.InvalidProtocolBufferException;
  *           \
  *            ValuesRel ((columnValueCount))
  *
+ * or
+ *    " select min(column), max(column) from table "
+ *    into
+ *      Project(min, max)
+ *           \
+ *            ValuesRel ((minPartitionValue, maxPartitionValue))
+ *    when the column has a single value in every split: partition columns of iceberg tables, directory columns and
+ *    parquet columns with a single value in each row group. Several count, min and max calls can be converted at once.
+ *
  * Currently, only parquet group scan has the exact row count and column value count,
  * obtained from parquet row group info. This will save the cost to
  * scan the whole parquet files.
@@ -83,6 +96,8 @@ import com.google.protobuf.InvalidProtocolBufferException;
 public class ConvertCountToDirectScan extends Prule {
 
   private static final ObjectMapper MAPPER = new ObjectMapper();
+  // returned when an aggregate call can't be computed from the dataset metadata
+  private static final Object NO_RESULT = new Object();
 
   private final SourceType type;
   private final int scanIndex;
@@ -167,77 +182,180 @@ public class ConvertCountToDirectScan extends Prule {
 
     // Only apply the rule when :
     //    1) No GroupBY key,
-    //    2) only one agg function (Check if it's count(*) below).
+    //    2) only count, min and max agg functions (checked below).
     //    3) No distinct agg call.
     if (!(agg.getGroupCount() == 0
-        && agg.getAggCallList().size() == 1
+        && !agg.getAggCallList().isEmpty()
         && !agg.containsDistinctCall())) {
       return;
     }
 
-    AggregateCall aggCall = agg.getAggCallList().get(0);
+    final List<Object> results = Lists.newArrayList();
+    for (AggregateCall aggCall : agg.getAggCallList()) {
+      final Object result = getResult(agg, proj, scan, aggCall);
+      if (result == NO_RESULT) {
+        return; // do nothing.
+      }
+      results.add(result);
+    }
+
+    RelDataType scanRowType = getResultsRowType(agg);
+    final ValuesPrel values = new ValuesPrel(agg.getCluster(), scan.getTraitSet().plus(Prel.PHYSICAL).plus(DistributionTrait.SINGLETON), scanRowType, new JSONOptions(getResultsNode(scanRowType, results)), 1);
+    List<RexNode> exprs = Lists.newArrayList();
+    for (int i = 0; i < results.size(); i++) {
+      exprs.add(RexInputRef.of(i, scanRowType));
+    }
 
-    if (aggCall.getAggregation().getName().equals("COUNT") ) {
+    final ProjectPrel newProj = ProjectPrel.create(agg.getCluster(), agg.getTraitSet().plus(Prel.PHYSICAL)
+        .plus(DistributionTrait.SINGLETON), values, exprs, agg.getRowType());
+    call.transformTo(newProj);
+  }
 
-      long cnt = 0;
+  /**
+   * @return the result of the aggregate call computed from the dataset metadata, or {@link #NO_RESULT}
+   */
+  private static Object getResult(AggregateRel agg, ProjectRel proj, FilesystemScanDrel scan, AggregateCall aggCall) {
+    final String name = aggCall.getAggregation().getName();
+    if (name.equals("COUNT")) {
       //  count(*)  == >  empty arg  ==>  rowCount
       //  count(Not-null-input) ==> rowCount
       if (aggCall.getArgList().isEmpty() ||
           (aggCall.getArgList().size() == 1 &&
            ! agg.getInput().getRowType().getFieldList().get(aggCall.getArgList().get(0).intValue()).getType().isNullable())) {
-        cnt = getAccurateRowCount(scan.getTableMetadata().getSplits());
+        return getAccurateRowCount(scan.getTableMetadata().getSplits());
       } else if (aggCall.getArgList().size() == 1) {
       // count(columnName) ==> Agg ( Scan )) ==> columnValueCount
-        int index = aggCall.getArgList().get(0);
-
-        if (proj != null) {
-          // project in the middle of Agg and Scan : Only when input of AggCall is a RexInputRef in Project, we find the index of Scan's field.
-          // For instance,
-          // Agg - count($0)
-          //  \
-          //  Proj - Exp={$1}
-          //    \
-          //   Scan (col1, col2).
-          // return count of "col2" in Scan's metadata, if found.
-
-          if (proj.getProjects().get(index) instanceof RexInputRef) {
-            index = ((RexInputRef) proj.getProjects().get(index)).getIndex();
-          } else {
-            return;  // do not apply for all other cases.
-          }
+        final String columnName = getScanColumnName(proj, scan, aggCall.getArgList().get(0));
+        if (columnName == null) {
+          return NO_RESULT;  // do not apply for all other cases.
         }
 
-        String columnName = scan.getRowType().getFieldNames().get(index).toLowerCase();
-
-        cnt = getAccurateColumnCount(columnName, scan.getTableMetadata().getSplits());
+        long cnt = getAccurateColumnCount(columnName, scan.getTableMetadata().getSplits());
         if (cnt == GroupScan.NO_COLUMN_STATS) {
           // if column stats are not available don't apply this rule
-          return;
+          return NO_RESULT;
         }
+        return cnt;
+      }
+    } else if ((name.equals("MIN") || name.equals("MAX")) && aggCall.getArgList().size() == 1) {
+      // min(columnName)/max(columnName) ==> Agg ( Scan )) ==> min/max of the column's partition values, if the
+      // column has a single value in every split (partition columns, directories, single valued parquet row groups)
+      final String columnName = getScanColumnName(proj, scan, aggCall.getArgList().get(0));
+      if (columnName == null) {
+        return NO_RESULT;
+      }
+      return getPartitionValueBound(columnName, aggCall.getType().getSqlTypeName(), name.equals("MAX"),
+          scan.getTableMetadata().getSplits());
+    }
+    return NO_RESULT;
+  }
+
+  /**
+   * @return the name of the scan column the aggregate argument refers to, or null if the argument is an expression
+   */
+  private static String getScanColumnName(ProjectRel proj, FilesystemScanDrel scan, int index) {
+    if (proj != null) {
+      // project in the middle of Agg and Scan : Only when input of AggCall is a RexInputRef in Project, we find the index of Scan's field.
+      // For instance,
+      // Agg - count($0)
+      //  \
+      //  Proj - Exp={$1}
+      //    \
+      //   Scan (col1, col2).
+      // return count of "col2" in Scan's metadata, if found.
+
+      if (proj.getProjects().get(index) instanceof RexInputRef) {
+        index = ((RexInputRef) proj.getProjects().get(index)).getIndex();
       } else {
-        return; // do nothing.
+        return null;
+      }
+    }
+    return scan.getRowType().getFieldNames().get(index).toLowerCase();
+  }
+
+  private static Object getPartitionValueBound(String name, SqlTypeName type, boolean max,
+                                               Iterator<PartitionChunkMetadata> partitionChunks) {
+    Object bound = null;
+    while (partitionChunks.hasNext()) {
+      PartitionChunkMetadata partitionChunk = partitionChunks.next();
+      if (partitionChunk.getRowCount() == 0) {
+        continue;
       }
 
-      RelDataType scanRowType = getCountRowType(agg.getCluster().getTypeFactory());
-      final ValuesPrel values = new ValuesPrel(agg.getCluster(), scan.getTraitSet().plus(Prel.PHYSICAL).plus(DistributionTrait.SINGLETON), scanRowType, new JSONOptions(getResultsNode(cnt)), 1);
-      List<RexNode> exprs = Lists.newArrayList();
-      exprs.add(RexInputRef.of(0, scanRowType));
+      PartitionValue partitionValue = null;
+      for (PartitionValue value : partitionChunk.getPartitionValues()) {
+        if (value.getColumn().equalsIgnoreCase(name)) {
+          partitionValue = value;
+          break;
+        }
+      }
+      if (partitionValue == null) {
+        // the column has several values in the split
+        return NO_RESULT;
+      }
+
+      final Object value = getPartitionValue(partitionValue, type);
+      if (value == NO_RESULT) {
+        return NO_RESULT;
+      }
+      if (value != null && (bound == null || (compare(value, bound) > 0) == max)) {
+        bound = value;
+      }
+    }
+    return bound;
+  }
 
-      final ProjectPrel newProj = ProjectPrel.create(agg.getCluster(), agg.getTraitSet().plus(Prel.PHYSICAL)
-          .plus(DistributionTrait.SINGLETON), values, exprs, agg.getRowType());
-      call.transformTo(newProj);
+  /**
+   * @return the value of the partition, null if the partition is null, or {@link #NO_RESULT} if the partition value
+   * doesn't have the given type
+   */
+  private static Object getPartitionValue(PartitionValue value, SqlTypeName type) {
+    if (!value.hasBitValue() && !value.hasIntValue() && !value.hasLongValue() && !value.hasFloatValue()
+        && !value.hasDoubleValue() && !value.hasBinaryValue() && !value.hasStringValue()) {
+      return null;
     }
 
+    switch (type) {
+      case BOOLEAN:
+        return value.hasBitValue() ? value.getBitValue() : NO_RESULT;
+      case INTEGER:
+        return value.hasIntValue() ? value.getIntValue() : NO_RESULT;
+      case BIGINT:
+      case DATE:
+      case TIMESTAMP:
+        return value.hasLongValue() ? value.getLongValue() : NO_RESULT;
+      case FLOAT:
+        return value.hasFloatValue() ? value.getFloatValue() : NO_RESULT;
+      case DOUBLE:
+        return value.hasDoubleValue() ? value.getDoubleValue() : NO_RESULT;
+      case VARCHAR:
+        return value.hasStringValue() ? value.getStringValue() : NO_RESULT;
+      default:
+        return NO_RESULT;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static int compare(Object value1, Object value2) {
+    if (value1 instanceof String) {
+      // strings are compared as utf-8 bytes
+      return UnsignedBytes.lexicographicalComparator().compare(
+          ((String) value1).getBytes(StandardCharsets.UTF_8), ((String) value2).getBytes(StandardCharsets.UTF_8));
+    }
+    return ((Comparable<Object>) value1).compareTo(value2);
   }
 
-  private JsonNode getResultsNode(long count) {
+  private JsonNode getResultsNode(RelDataType rowType, List<Object> results) {
     try{
       TokenBuffer out = new TokenBuffer(MAPPER.getFactory().getCodec(), false);
       JsonOutput json = new ExtendedJsonOutput(out);
       json.writeStartArray();
       json.writeStartObject();
-      json.writeFieldName("count");
-      json.writeBigInt(count);
+      for (int i = 0; i < results.size(); i++) {
+        final RelDataTypeField field = rowType.getFieldList().get(i);
+        json.writeFieldName(field.getName());
+        writeResult(json, field.getType().getSqlTypeName(), results.get(i));
+      }
       json.writeEndObject();
       json.writeEndArray();
       json.flush();
@@ -247,6 +365,69 @@ public class ConvertCountToDirectScan extends Prule {
     }
   }
 
+  private static void writeResult(JsonOutput json, SqlTypeName type, Object result) throws IOException {
+    switch (type) {
+      case BOOLEAN:
+        if (result == null) {
+          json.writeBooleanNull();
+        } else {
+          json.writeBoolean((Boolean) result);
+        }
+        return;
+      case INTEGER:
+        if (result == null) {
+          json.writeIntNull();
+        } else {
+          json.writeInt((Integer) result);
+        }
+        return;
+      case BIGINT:
+        if (result == null) {
+          json.writeBigIntNull();
+        } else {
+          json.writeBigInt((Long) result);
+        }
+        return;
+      case DATE:
+        if (result == null) {
+          json.writeDateNull();
+        } else {
+          json.writeDate(new LocalDateTime((Long) result, DateTimeZone.UTC));
+        }
+        return;
+      case TIMESTAMP:
+        if (result == null) {
+          json.writeTimestampNull();
+        } else {
+          json.writeTimestamp(new LocalDateTime((Long) result, DateTimeZone.UTC));
+        }
+        return;
+      case FLOAT:
+        if (result == null) {
+          json.writeFloatNull();
+        } else {
+          json.writeFloat((Float) result);
+        }
+        return;
+      case DOUBLE:
+        if (result == null) {
+          json.writeDoubleNull();
+        } else {
+          json.writeDouble((Double) result);
+        }
+        return;
+      case VARCHAR:
+        if (result == null) {
+          json.writeVarcharNull();
+        } else {
+          json.writeVarChar((String) result);
+        }
+        return;
+      default:
+        throw new UnsupportedOperationException("Unsupported type " + type);
+    }
+  }
+
   /**
    * Class to represent the count aggregate result.
    */
@@ -258,9 +439,11 @@ public class ConvertCountToDirectScan extends Prule {
     }
   }
 
-  private RelDataType getCountRowType(RelDataTypeFactory typeFactory) {
+  private static RelDataType getResultsRowType(AggregateRel agg) {
     List<RelDataTypeField> fields = Lists.newArrayList();
-    fields.add(new RelDataTypeFieldImpl("count", 0, typeFactory.createSqlType(SqlTypeName.BIGINT)));
+    for (int i = 0; i < agg.getAggCallList().size(); i++) {
+      fields.add(new RelDataTypeFieldImpl("result" + i, i, agg.getAggCallList().get(i).getType()));
+    }
     return new RelRecordType(fields);
   }
 
@@ -20,6 +20,7 @@ import static com.dremio.exec.store.easy.arrow.ArrowFormatPlugin.FOOTER_OFFSET_S
 import static com.dremio.exec.store.easy.arrow.ArrowFormatPlugin.MAGIC_STRING;
 import static com.dremio.exec.store.easy.arrow.ArrowFormatPlugin.MAGIC_STRING_LENGTH;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -56,6 +57,7 @@ import com.dremio.io.FSInputStream;
 import com.dremio.io.file.FileAttributes;
 import com.dremio.io.file.FileSystem;
 import com.dremio.io.file.Path;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import com.google.common.primitives.Longs;
 
@@ -71,6 +73,8 @@ public class ArrowFileReader implements AutoCloseable {
   private final Path path;
 
   private FSInputStream inputStream;
+  private long[] batchStarts;
+  private boolean closed;
 
   public ArrowFileReader(final FileSystem dfs, Path basePath, final ArrowFileMetadata metadata,
                    final BufferAllocator allocator) {
@@ -122,12 +126,16 @@ public class ArrowFileReader implements AutoCloseable {
   }
 
   /**
-   * Read the record batches containing the rows in given range.
+   * Read the record batches containing the rows in given range. The file is kept open between reads, until the reader
+   * is closed.
    * @param start Starting record number in file (0 based index)
    * @param limit number of records to read
    * @return
+   * @throws IllegalStateException if the reader is closed
    */
-  public List<RecordBatchHolder> read(final long start, final long limit) throws IOException {
+  public synchronized List<RecordBatchHolder> read(final long start, final long limit) throws IOException {
+    // reopening the file here would leak it, as nothing closes the reader again
+    checkState(!closed, "Reader of %s is closed", path);
     // Make sure the range is valid according to the metadata in footer
     checkArgument(start == 0 && metadata.getRecordCount() == 0|| start >= 0 && start < metadata.getRecordCount(),
         "Invalid start index (%s). Record count in file (%s)", start, metadata.getRecordCount());
@@ -135,30 +143,23 @@ public class ArrowFileReader implements AutoCloseable {
         "Invalid start index (%s) and limit (%s) combination. Record count in file (%s)",
         start, limit, metadata.getRecordCount());
 
-    openFile();
+    if (inputStream == null) {
+      openFile();
+    }
 
     final VectorAccessibleSerializable vectorAccessibleSerializable = new VectorAccessibleSerializable(allocator);
     final List<RecordBatchHolder> batches = Lists.newArrayList();
-    final ArrowFileFooter footer = metadata.getFooter();
+    final List<ArrowRecordBatchSummary> batchList = metadata.getFooter().getBatchList();
+    final long[] batchStarts = getBatchStarts();
 
-    long runningCount = 0;
     long remaining = limit;
-    final int numBatches = footer.getBatchList() == null ? 0 : footer.getBatchList().size();
-    for(int batchIndex = 0; batchIndex < numBatches; batchIndex++) {
-      ArrowRecordBatchSummary batchSummary = footer.getBatchList().get(batchIndex);
+    for(int batchIndex = findBatch(batchStarts, start); remaining > 0 && batchIndex < batchStarts.length; batchIndex++) {
+      final ArrowRecordBatchSummary batchSummary = batchList.get(batchIndex);
       // Skip past empty batches
       if (batchSummary.getRecordCount() == 0) {
         continue;
       }
 
-      runningCount += batchSummary.getRecordCount();
-
-      // Skip batches until we reach a batch that contains the start index
-      if (start >= runningCount) {
-        // valid indices in up until the current batch are in range [0, runningCount - 1]
-        continue;
-      }
-
       final long currentBatchCount = batchSummary.getRecordCount();
 
       // Seek to the place where the batch starts and read
@@ -167,7 +168,7 @@ public class ArrowFileReader implements AutoCloseable {
       final VectorContainer vectorContainer = vectorAccessibleSerializable.get();
 
       // Find the start and end indices within the batch.
-      final int batchStart = Math.max(0, (int) (start - (runningCount - currentBatchCount)));
+      final int batchStart = (int) Math.max(0, start - batchStarts[batchIndex]);
       final int batchEnd = (int) Math.min(currentBatchCount, batchStart + remaining);
 
       final RecordBatchHolder batchHolder = newRecordBatchHolder(
@@ -179,10 +180,6 @@ public class ArrowFileReader implements AutoCloseable {
       batches.add(batchHolder);
 
       remaining -= batchHolder.size();
-
-      if (remaining == 0) {
-        break;
-      }
     }
 
     if (batches.isEmpty()) {
@@ -192,8 +189,53 @@ public class ArrowFileReader implements AutoCloseable {
     return batches;
   }
 
+  /**
+   * @return the index of the first record of every batch in the file, as written in the footer or, for files written
+   * before the footer had them, computed from the record counts of the batches
+   */
+  private long[] getBatchStarts() {
+    if (batchStarts == null) {
+      final List<ArrowRecordBatchSummary> batchList = metadata.getFooter().getBatchList();
+      final int numBatches = batchList == null ? 0 : batchList.size();
+      final long[] starts = new long[numBatches];
+      long runningCount = 0;
+      for (int batchIndex = 0; batchIndex < numBatches; batchIndex++) {
+        final ArrowRecordBatchSummary batchSummary = batchList.get(batchIndex);
+        starts[batchIndex] = batchSummary.getRecordOffset() != null ? batchSummary.getRecordOffset() : runningCount;
+        runningCount += batchSummary.getRecordCount();
+      }
+      batchStarts = starts;
+    }
+    return batchStarts;
+  }
+
+  /**
+   * @return the index of the last batch starting at or before the given record, or 0 if there is none
+   */
+  @VisibleForTesting
+  static int findBatch(long[] batchStarts, long record) {
+    int low = 0;
+    int high = batchStarts.length - 1;
+    int found = 0;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      if (batchStarts[mid] <= record) {
+        found = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return found;
+  }
+
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
   @Override
-  public void close() throws IOException {
+  public synchronized void close() throws IOException {
+    closed = true;
     if (inputStream != null) {
       inputStream.close();
       inputStream = null;
@@ -315,6 +357,9 @@ public class ArrowFileReader implements AutoCloseable {
       ArrowRecordBatchSummary beanSummary = new ArrowRecordBatchSummary();
       beanSummary.setOffset(summary.getOffset());
       beanSummary.setRecordCount(summary.getRecordCount());
+      if (summary.hasRecordOffset()) {
+        beanSummary.setRecordOffset(summary.getRecordOffset());
+      }
 
       beanFooter.getBatchList().add(beanSummary);
     }
@@ -459,12 +504,14 @@ public class ArrowFileReader implements AutoCloseable {
 
     if(footer.getBatchList() != null) {
       for (ArrowRecordBatchSummary beanSummary : footer.getBatchList()) {
-        ArrowFileFormat.ArrowRecordBatchSummary summary =
+        ArrowFileFormat.ArrowRecordBatchSummary.Builder summary =
           ArrowFileFormat.ArrowRecordBatchSummary.newBuilder()
                                                  .setOffset(beanSummary.getOffset())
-                                                 .setRecordCount(beanSummary.getRecordCount())
-                                                 .build();
-        arrowRecordBatchSummaryList.add(summary);
+                                                 .setRecordCount(beanSummary.getRecordCount());
+        if (beanSummary.getRecordOffset() != null) {
+          summary.setRecordOffset(beanSummary.getRecordOffset());
+        }
+        arrowRecordBatchSummaryList.add(summary.build());
       }
     }
 
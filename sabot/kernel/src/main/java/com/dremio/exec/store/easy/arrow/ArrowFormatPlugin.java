@@ -59,7 +59,7 @@ public class ArrowFormatPlugin extends EasyFormatPlugin<ArrowFormatPluginConfig>
    * @param fsPlugin
    */
   public ArrowFormatPlugin(final String name, final SabotContext context, final ArrowFormatPluginConfig formatConfig, final FileSystemPlugin fsPlugin) {
-    super(name, context, formatConfig, true, false, /* splittable = */ false, /* compressible = */ false,
+    super(name, context, formatConfig, true, false, /* splittable = */ true, /* compressible = */ false,
         formatConfig.getDefaultExtensions(), ARROW_DEFAULT_NAME, fsPlugin);
   }
 
@@ -71,7 +71,11 @@ public class ArrowFormatPlugin extends EasyFormatPlugin<ArrowFormatPluginConfig>
   @Override
   public RecordReader getRecordReader(final OperatorContext context, final FileSystem dfs, EasyDatasetSplitXAttr splitAttributes, final List<SchemaPath> columns) throws ExecutionSetupException {
     final Path path = dfs.makeQualified(Path.of(splitAttributes.getPath()));
-    return new ArrowRecordReader(context, dfs, path, columns);
+    if (!splitAttributes.hasLength()) {
+      return new ArrowRecordReader(context, dfs, path, columns);
+    }
+    // files are split at block boundaries, each split reads the record batches starting in it
+    return new ArrowRecordReader(context, dfs, path, splitAttributes.getStart(), splitAttributes.getLength(), columns);
   }
 
   @Override
@@ -57,13 +57,17 @@ import com.google.common.primitives.Longs;
 
 /**
  * {@link RecordReader} implementation for reading Arrow format files. Currently this reader can only read files written
- * by writer {@link ArrowRecordWriter}.
+ * by writer {@link ArrowRecordWriter}.<br>
+ * A reader can be limited to a byte range of the file, in which case it only reads the record batches starting in the
+ * range. Reading the ranges of a file one after the other reads every record batch exactly once.
  */
 public class ArrowRecordReader extends AbstractRecordReader {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ArrowRecordReader.class);
 
   private final FileSystem dfs;
   private final Path path;
+  private final long start;
+  private final long end;
 
   private FSInputStream inputStream;
   private ArrowFileFooter footer;
@@ -76,12 +80,27 @@ public class ArrowRecordReader extends AbstractRecordReader {
    * File can contain several record batches. This index points to the next record batch.
    */
   private int nextBatchIndex;
+  /**
+   * Index of the first record batch after the byte range read.
+   */
+  private int endBatchIndex;
 
   public ArrowRecordReader(final OperatorContext context, final FileSystem dfs, final Path path,
       List<SchemaPath> columns) {
+    this(context, dfs, path, 0, Long.MAX_VALUE, columns);
+  }
+
+  /**
+   * @param start offset of the byte range of the file to read
+   * @param length length of the byte range of the file to read
+   */
+  public ArrowRecordReader(final OperatorContext context, final FileSystem dfs, final Path path,
+      long start, long length, List<SchemaPath> columns) {
     super(context, columns);
     this.dfs = dfs;
     this.path = path;
+    this.start = start;
+    this.end = length > Long.MAX_VALUE - start ? Long.MAX_VALUE : start + length;
   }
 
   @Override
@@ -147,9 +166,9 @@ public class ArrowRecordReader extends AbstractRecordReader {
         }
       }
 
-      // Reset to beginning of the file
-      inputStream.setPosition(0);
-      nextBatchIndex = 0;
+      // Find the record batches starting in the byte range
+      nextBatchIndex = getFirstBatchIndex(footer, start);
+      endBatchIndex = getFirstBatchIndex(footer, end);
     } catch (final Exception e) {
       String bestEffortMessage = bestEffortMessageForUnknownException(e.getCause());
       if (bestEffortMessage != null) {
@@ -161,6 +180,18 @@ public class ArrowRecordReader extends AbstractRecordReader {
     }
   }
 
+  /**
+   * @return the index of the first record batch starting at or after the given offset, or the number of record batches
+   * if there is none. The footer lists the record batches in file order.
+   */
+  static int getFirstBatchIndex(ArrowFileFooter footer, long offset) {
+    int index = 0;
+    while (index < footer.getBatchCount() && footer.getBatch(index).getOffset() < offset) {
+      index++;
+    }
+    return index;
+  }
+
   @Override
   public void allocate(Map<String, ValueVector> vectorMap) throws OutOfMemoryException {
     // no-op as this allocates buffers based on the size of the buffers in file.
@@ -168,24 +199,19 @@ public class ArrowRecordReader extends AbstractRecordReader {
 
   @Override
   public int next() {
-    if (nextBatchIndex >= footer.getBatchCount()) {
+    // If the batch has no records, go to the next non-zero record batch. Returning a zero record batch to ScanBatch
+    // ends up closing the RecordReader as it assumes there are no more records in the reader.
+    while (nextBatchIndex < endBatchIndex && footer.getBatch(nextBatchIndex).getRecordCount() == 0) {
+      nextBatchIndex++;
+    }
+    if (nextBatchIndex >= endBatchIndex) {
+      // no more batches in the range
       return 0;
     }
 
     try {
       // Get the next batch info and seek to the location where the batch starts
-      ArrowRecordBatchSummary batchSummary = footer.getBatch(nextBatchIndex);
-
-      while (batchSummary.getRecordCount() == 0) {
-        // If the batch has no records, go to the next non-zero record batch. Returning a zero record batch to ScanBatch
-        // ends up closing the RecordReader as it assumes there are no more records in the reader.
-        if (nextBatchIndex == footer.getBatchCount()) {
-          // no more batches in the file
-          return 0;
-        }
-
-        batchSummary = footer.getBatch(++nextBatchIndex);
-      }
+      final ArrowRecordBatchSummary batchSummary = footer.getBatch(nextBatchIndex);
 
       inputStream.setPosition(batchSummary.getOffset());
 
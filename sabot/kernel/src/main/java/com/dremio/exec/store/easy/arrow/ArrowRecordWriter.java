@@ -136,6 +136,7 @@ public class ArrowRecordWriter implements RecordWriter {
             .newBuilder()
             .setOffset(startOffset)
             .setRecordCount(recordCount)
+            .setRecordOffset(this.recordCount)
             .build();
 
     footerBuilder.addBatch(summary);
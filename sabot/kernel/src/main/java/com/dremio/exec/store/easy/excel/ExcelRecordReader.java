@@ -87,7 +87,8 @@ public class ExcelRecordReader extends AbstractRecordReader implements XlsInputS
         final XlsInputStream xlsStream = new XlsInputStream(this, inputStream);
         parser = new XlsRecordProcessor(xlsStream, pluginConfig, writer, managedBuf, columnsToProject, isSkipQuery(), maxCellSize);
       } else {
-        parser = new StAXBasedParser(inputStream, pluginConfig, writer, managedBuf, columnsToProject, isSkipQuery(), maxCellSize);
+        parser = new StAXBasedParser(inputStream, pluginConfig, writer, managedBuf, executionContext.getAllocator(),
+            columnsToProject, isSkipQuery(), maxCellSize);
       }
     } catch (final SheetNotFoundException e) {
       // This check will move to schema validation in planning after DX-2271
@@ -38,6 +38,9 @@ public class ExcelUtil {
   public static final String INLINE_STRING = "is";
   public static final String INLINE_STRING_TEXT = "t";
   public static final String SST_STRING = "s";
+  public static final String SHARED_STRING_ITEM = "si";
+  public static final String SHARED_STRING_TEXT = "t";
+  public static final String PHONETIC_RUN = "rPh";
   public static final String MERGE_CELLS = "mergeCells";
   public static final String MERGE_CELL = "mergeCell";
   public static final String MERGE_CELL_REF = "ref";
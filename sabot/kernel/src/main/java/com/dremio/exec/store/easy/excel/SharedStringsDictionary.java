@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.easy.excel;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.InputStream;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+
+/**
+ * Shared strings table of an Excel document, read with a streaming parser and kept off heap.<br>
+ * Strings are stored as UTF-8 bytes one after the other in a single buffer, along with the offset of each string,
+ * instead of materializing the whole table as POI objects on heap. Values of cells referencing the table can be
+ * written to vectors directly from the buffer.
+ */
+class SharedStringsDictionary implements AutoCloseable {
+  private static final int INITIAL_DATA_SIZE = 64 * 1024;
+  private static final int INITIAL_COUNT = 1024;
+
+  private final BufferAllocator allocator;
+
+  // UTF-8 bytes of all the strings
+  private ArrowBuf data;
+  // start offset of each string in data, followed by the end offset of the last one
+  private ArrowBuf offsets;
+  private int count;
+
+  private SharedStringsDictionary(BufferAllocator allocator) {
+    this.allocator = allocator;
+    this.data = allocator.buffer(INITIAL_DATA_SIZE);
+    this.offsets = allocator.buffer((INITIAL_COUNT + 1) * Integer.BYTES);
+    offsets.setInt(0, 0);
+  }
+
+  /**
+   * Read the shared strings table.
+   *
+   * @param allocator allocator for the buffers holding the strings
+   * @param sstInputStream InputStream of the shared strings table, or null if the document has none. Caller is
+   *                       responsible for closing it.
+   * @return dictionary of the strings, to be closed by the caller
+   * @throws XMLStreamException
+   */
+  static SharedStringsDictionary read(BufferAllocator allocator, InputStream sstInputStream) throws XMLStreamException {
+    final SharedStringsDictionary dictionary = new SharedStringsDictionary(allocator);
+    if (sstInputStream == null) {
+      return dictionary;
+    }
+
+    try {
+      dictionary.parse(ExcelUtil.XML_INPUT_FACTORY.createXMLStreamReader(sstInputStream));
+      return dictionary;
+    } catch (XMLStreamException | RuntimeException e) {
+      dictionary.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Parse the "si" elements of the table. The value of an element is its text, or the text of all its rich text
+   * runs, excluding phonetic runs.
+   */
+  private void parse(XMLStreamReader reader) throws XMLStreamException {
+    try {
+      final StringBuilder item = new StringBuilder();
+      boolean inItem = false;
+      boolean inPhoneticRun = false;
+      while (reader.hasNext()) {
+        final int event = reader.next();
+        switch (event) {
+          case START_ELEMENT: {
+            final String name = reader.getLocalName();
+            if (ExcelUtil.SHARED_STRING_ITEM.equals(name)) {
+              inItem = true;
+              item.setLength(0);
+            } else if (ExcelUtil.PHONETIC_RUN.equals(name)) {
+              inPhoneticRun = true;
+            } else if (inItem && !inPhoneticRun && ExcelUtil.SHARED_STRING_TEXT.equals(name)) {
+              item.append(reader.getElementText());
+            }
+            break;
+          }
+
+          case END_ELEMENT: {
+            final String name = reader.getLocalName();
+            if (ExcelUtil.SHARED_STRING_ITEM.equals(name)) {
+              inItem = false;
+              // decodes the escaped characters the same way POI does
+              add(new XSSFRichTextString(item.toString()).toString().getBytes(Charsets.UTF_8));
+            } else if (ExcelUtil.PHONETIC_RUN.equals(name)) {
+              inPhoneticRun = false;
+            }
+            break;
+          }
+        }
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  private void add(byte[] value) {
+    final int start = offsets.getInt((long) count * Integer.BYTES);
+    final long end = (long) start + value.length;
+    Preconditions.checkState(end <= Integer.MAX_VALUE, "Shared strings table is too large");
+
+    data = ensureCapacity(data, end);
+    offsets = ensureCapacity(offsets, (long) (count + 2) * Integer.BYTES);
+    data.setBytes(start, value);
+    count++;
+    offsets.setInt((long) count * Integer.BYTES, (int) end);
+  }
+
+  private ArrowBuf ensureCapacity(ArrowBuf buffer, long size) {
+    if (buffer.capacity() >= size) {
+      return buffer;
+    }
+
+    final ArrowBuf newBuffer = allocator.buffer(Math.max(size, buffer.capacity() * 2));
+    newBuffer.setBytes(0, buffer, 0, buffer.capacity());
+    buffer.close();
+    return newBuffer;
+  }
+
+  int size() {
+    return count;
+  }
+
+  /**
+   * @return buffer holding the bytes of the strings, at the offsets given by {@link #getStart(int)} and
+   * {@link #getEnd(int)}
+   */
+  ArrowBuf getBuffer() {
+    return data;
+  }
+
+  int getStart(int index) {
+    Preconditions.checkElementIndex(index, count, "Shared string index");
+    return offsets.getInt((long) index * Integer.BYTES);
+  }
+
+  int getEnd(int index) {
+    Preconditions.checkElementIndex(index, count, "Shared string index");
+    return offsets.getInt((long) (index + 1) * Integer.BYTES);
+  }
+
+  byte[] getBytes(int index) {
+    final int start = getStart(index);
+    final byte[] bytes = new byte[getEnd(index) - start];
+    data.getBytes(start, bytes);
+    return bytes;
+  }
+
+  String getString(int index) {
+    return new String(getBytes(index), Charsets.UTF_8);
+  }
+
+  @Override
+  public void close() {
+    data.close();
+    offsets.close();
+  }
+}
@@ -32,6 +32,7 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.complex.impl.VectorContainerWriter;
 import org.apache.arrow.vector.complex.writer.BaseWriter.StructWriter;
 import org.apache.poi.openxml4j.opc.OPCPackage;
@@ -39,7 +40,6 @@ import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.util.LocaleUtil;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
-import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf;
@@ -78,7 +78,7 @@ public class StAXBasedParser implements ExcelParser {
         }
       });
 
-  private final SharedStringsTable sst;
+  private final SharedStringsDictionary sst;
   private final StylesTable styles;
   private final InputStream sheetInputStream;
   private final StructWriter writer;
@@ -125,11 +125,13 @@ public class StAXBasedParser implements ExcelParser {
    * @param pluginConfig config options
    * @param writer {@link VectorContainerWriter} for writing values into vectors.
    * @param managedBuf Workspace buffer.
+   * @param allocator Allocator for the buffers holding the shared strings table.
+   * @param columnsToProject names of the projected columns, or null if all columns are projected
    * @param skipQuery if a query should skip columns
    * @param maxCellSize maximum allowable size of variable length cells
    */
   public StAXBasedParser(final InputStream inputStream, final ExcelFormatPluginConfig pluginConfig,
-                         final VectorContainerWriter writer, final ArrowBuf managedBuf,
+                         final VectorContainerWriter writer, final ArrowBuf managedBuf, final BufferAllocator allocator,
                          final HashSet<String> columnsToProject, final boolean skipQuery,
                          final int maxCellSize) throws Exception {
     this.pkgInputStream = OPCPackage.open(inputStream);
@@ -154,10 +156,20 @@ public class StAXBasedParser implements ExcelParser {
 
 
     // WARNING: XSSFReader can actually return null instances of sst and styles
-    sst = xssfReader.getSharedStringsTable();
     styles = checkNotNull(xssfReader.getStylesTable(), "Expected a valid styles table instance");
 
-    init(pluginConfig.extractHeader, pluginConfig.hasMergedCells);
+    // Read the shared strings table off heap instead of using XSSFReader#getSharedStringsTable(), which keeps the
+    // whole table as POI objects
+    try (final InputStream sstInputStream = xssfReader.getSharedStringsData()) {
+      sst = SharedStringsDictionary.read(allocator, sstInputStream);
+    }
+
+    try {
+      init(pluginConfig.extractHeader, pluginConfig.hasMergedCells);
+    } catch (Exception e) {
+      sst.close();
+      throw e;
+    }
   }
 
   /**
@@ -317,7 +329,9 @@ public class StAXBasedParser implements ExcelParser {
                 (inInlineString && ExcelUtil.INLINE_STRING_TEXT.equals(name))) {
               inValue = true;
             } else if (ExcelUtil.CELL.equals(name)) {
-              handleCellStart();
+              if (!handleCellStart()) {
+                skipElement();
+              }
             } else if (ExcelUtil.INLINE_STRING.equals(name)) {
               inInlineString = true;
             }
@@ -407,17 +421,46 @@ public class StAXBasedParser implements ExcelParser {
   /**
    * Helper method to handle start of the "cell" element. It reads required attributes and set the workspace
    * variables.
+   * @return false if the cell is neither projected nor the top-left cell of a merged region, in which case
+   * the cell contents are not needed and the workspace variables are not set.
    */
-  private void handleCellStart() {
+  private boolean handleCellStart() {
+    currentCellRef = xmlStreamReader.getAttributeValue(/*namespaceURI=*/null, ExcelUtil.CELL_REF);
+    String columnName = ExcelUtil.getColumnName(currentCellRef);
+    final int columnIndex = CellReference.convertColStringToIndex(columnName);
+    if (!isProjected(columnIndex) && (mergeCells == null || !mergeCells.containsKey(currentCellRef))) {
+      return false;
+    }
+
     final String typeValue = xmlStreamReader.getAttributeValue(/*namespaceURI=*/null, ExcelUtil.TYPE);
     lookupNextValueInSST = ExcelUtil.SST_STRING.equals(typeValue);
 
     determineOutputTypes(
         typeValue,
         xmlStreamReader.getAttributeValue(/*namespaceURI=*/null, ExcelUtil.STYLE));
-    currentCellRef = xmlStreamReader.getAttributeValue(/*namespaceURI=*/null, ExcelUtil.CELL_REF);
-    String columnName = ExcelUtil.getColumnName(currentCellRef);
-    currentColumnIndex = CellReference.convertColStringToIndex(columnName);
+    currentColumnIndex = columnIndex;
+    return true;
+  }
+
+  private boolean isProjected(int columnIndex) {
+    return !skipQuery &&
+        (columnsToProject == null || columnsToProject.contains(columnNameHandler.getColumnName(columnIndex)));
+  }
+
+  /**
+   * Helper method to move the cursor to the end of the current element, without processing its children.
+   * @throws XMLStreamException
+   */
+  private void skipElement() throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0 && xmlStreamReader.hasNext()) {
+      final int event = xmlStreamReader.next();
+      if (event == START_ELEMENT) {
+        depth++;
+      } else if (event == END_ELEMENT) {
+        depth--;
+      }
+    }
   }
 
   /**
@@ -427,13 +470,17 @@ public class StAXBasedParser implements ExcelParser {
    */
   private void handleValue(String value) {
     if (value.length() != 0) {
-      value = resolveValue(value, lookupNextValueInSST);
-
       assert currentColumnIndex != -1 : "Invalid currentColumnIndex";
 
       final String finalColumnName = columnNameHandler.getColumnName(currentColumnIndex);
 
-      final boolean projectedAndNotSkipQuery = !skipQuery && (columnsToProject == null || columnsToProject.contains(finalColumnName));
+      final boolean projectedAndNotSkipQuery = isProjected(currentColumnIndex);
+
+      if (lookupNextValueInSST) {
+        handleSharedStringValue(value, finalColumnName, projectedAndNotSkipQuery);
+        return;
+      }
+      value = resolveValue(value, false);
 
       final MergeCellRegion mergeCellRegion = mergeCells != null ? mergeCells.get(currentCellRef) : null;
 
@@ -494,6 +541,30 @@ public class StAXBasedParser implements ExcelParser {
     }
   }
 
+  /**
+   * Handle a value which is an index into the shared strings table. The string is written from the
+   * table buffer without copying it.
+   */
+  private void handleSharedStringValue(String value, String finalColumnName, boolean projectedAndNotSkipQuery) {
+    final int idx = getSharedStringIndex(value);
+    final int start = sst.getStart(idx);
+    final int end = sst.getEnd(idx);
+    indexToLastTypeCache.put(currentColumnIndex, MinorType.VARCHAR);
+    FieldSizeLimitExceptionHelper.checkSizeLimit(end - start, maxCellSize, currentColumnIndex, logger);
+
+    if (projectedAndNotSkipQuery) {
+      writer.varChar(finalColumnName).writeVarChar(start, end, sst.getBuffer());
+    }
+    final MergeCellRegion mergeCellRegion = mergeCells != null ? mergeCells.get(currentCellRef) : null;
+    if (mergeCellRegion != null) {
+      mergeCellRegion.setValue(MinorType.VARCHAR, sst.getBytes(idx));
+    }
+  }
+
+  private static int getSharedStringIndex(String value) {
+    return (int) Double.parseDouble(value);
+  }
+
   /**
    * Ensure a null value is set for the writer by retrieving the writer for the column but not writing a value.
    */
@@ -547,8 +618,8 @@ public class StAXBasedParser implements ExcelParser {
    */
   private String resolveValue(String value, boolean lookupNextValueInSST) {
     if(lookupNextValueInSST) {
-      int idx = (int)Double.parseDouble(value);
-      return new XSSFRichTextString(sst.getEntryAt(idx)).toString();
+      // values are decoded when reading the shared strings table
+      return sst.getString(getSharedStringIndex(value));
     }
 
     return new XSSFRichTextString(value).toString();
@@ -581,6 +652,6 @@ public class StAXBasedParser implements ExcelParser {
 
   @Override
   public void close() throws Exception {
-    AutoCloseables.close(pkgInputStream, sheetInputStream);
+    AutoCloseables.close(pkgInputStream, sheetInputStream, sst);
   }
 }
@@ -22,6 +22,7 @@ import java.util.Objects;
 import com.dremio.common.exceptions.ExecutionSetupException;
 import com.dremio.common.expression.SchemaPath;
 import com.dremio.common.logical.FormatPluginConfig;
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.proto.UserBitShared.CoreOperatorType;
 import com.dremio.exec.server.SabotContext;
 import com.dremio.exec.store.RecordReader;
@@ -53,9 +54,23 @@ public class JSONFormatPlugin extends EasyFormatPlugin<JSONFormatConfig> {
 
   @Override
   public RecordReader getRecordReader(OperatorContext context, FileSystem dfs, EasyDatasetSplitXAttr splitAttributes, List<SchemaPath> columns) throws ExecutionSetupException {
+    // splits saved while splitting was enabled keep their range even if the option was turned off since
+    if (splitAttributes.hasLength()) {
+      return new JSONRecordReader(context, splitAttributes.getPath(), splitAttributes.getStart(), splitAttributes.getLength(),
+        getFsPlugin().getCompressionCodecFactory(), dfs, columns);
+    }
     return new JSONRecordReader(context, splitAttributes.getPath(), getFsPlugin().getCompressionCodecFactory(), dfs, columns);
   }
 
+  /**
+   * Newline-delimited JSON files can be split, as every line is a record. This only decides how new splits are
+   * generated: readers always honor the byte range of the split they are given.
+   */
+  @Override
+  public boolean isBlockSplittable() {
+    return getContext().getOptionManager().getOption(ExecConstants.JSON_SPLIT_NEWLINE_DELIMITED);
+  }
+
   @Override
   public RecordWriter getRecordWriter(OperatorContext context, EasyWriter writer) throws IOException {
     RecordWriter recordWriter = new JsonRecordWriter(context, writer, (JSONFormatConfig) getConfig());
@@ -52,6 +52,8 @@ public class JSONRecordReader extends AbstractRecordReader {
 
   // Data we're consuming
   private final Path fsPath;
+  private final long start;
+  private final long length;
   private final JsonNode embeddedContent;
 
   private final CompressionCodecFactory codecFactory;
@@ -79,7 +81,29 @@ public class JSONRecordReader extends AbstractRecordReader {
       final CompressionCodecFactory codecFactory,
       final FileSystem fileSystem,
       final List<SchemaPath> columns) throws OutOfMemoryException {
-    this(context, inputPath, null, codecFactory, fileSystem, columns);
+    this(context, inputPath, 0, -1, null, codecFactory, fileSystem, columns);
+  }
+
+  /**
+   * Create a JSON Record Reader that reads the lines of a newline-delimited JSON file starting within a byte range.
+   * @param context
+   * @param inputPath
+   * @param start offset of the range
+   * @param length length of the range
+   * @param codecFactory
+   * @param fileSystem
+   * @param columns  pathnames of columns/subfields to read
+   * @throws OutOfMemoryException
+   */
+  public JSONRecordReader(
+      final OperatorContext context,
+      final String inputPath,
+      final long start,
+      final long length,
+      final CompressionCodecFactory codecFactory,
+      final FileSystem fileSystem,
+      final List<SchemaPath> columns) throws OutOfMemoryException {
+    this(context, inputPath, start, length, null, codecFactory, fileSystem, columns);
   }
 
   /**
@@ -94,11 +118,13 @@ public class JSONRecordReader extends AbstractRecordReader {
   public JSONRecordReader(final OperatorContext context, final JsonNode embeddedContent,
       final CompressionCodecFactory codecFactory, final FileSystem fileSystem, final List<SchemaPath> columns)
       throws OutOfMemoryException {
-    this(context, null, embeddedContent, codecFactory, fileSystem, columns);
+    this(context, null, 0, -1, embeddedContent, codecFactory, fileSystem, columns);
   }
 
   private JSONRecordReader(final OperatorContext operatorContext,
                            final String inputPath,
+                           final long start,
+                           final long length,
                            final JsonNode embeddedContent,
                            final CompressionCodecFactory codecFactory,
                            final FileSystem fileSystem,
@@ -119,6 +145,8 @@ public class JSONRecordReader extends AbstractRecordReader {
       this.fsPath = null;
     }
 
+    this.start = start;
+    this.length = length;
     this.codecFactory = codecFactory;
     this.fileSystem = fileSystem;
     this.context = operatorContext;
@@ -141,7 +169,12 @@ public class JSONRecordReader extends AbstractRecordReader {
   public void setup(final OutputMutator output) throws ExecutionSetupException {
     try{
       if (fsPath != null) {
-        this.stream = FileSystemUtils.openPossiblyCompressedStream(codecFactory, fileSystem, fsPath);
+        // compressed files are never split
+        if (length >= 0 && codecFactory.getCodec(fsPath) == null) {
+          this.stream = new LineRangeInputStream(fileSystem.open(fsPath), start, start + length);
+        } else {
+          this.stream = FileSystemUtils.openPossiblyCompressedStream(codecFactory, fileSystem, fsPath);
+        }
       }
 
       this.writer = new VectorContainerWriter(output);
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.easy.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.dremio.io.FSInputStream;
+
+/**
+ * Reads the lines of a file starting within a byte range.<br>
+ * A line belongs to the range its first byte is in: unless the range starts the file, the partial line at the start
+ * of the range is skipped, and the line crossing the end of the range is read up to its newline. Reading the ranges of
+ * a file one after the other returns every line exactly once.
+ */
+class LineRangeInputStream extends InputStream {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final byte NEWLINE = '\n';
+
+  private final FSInputStream input;
+  private final long end;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private int bufferPosition;
+  private int bufferLength;
+
+  // position in the file of the next byte returned
+  private long position;
+  // last byte returned, or skipped when resynchronizing on the first line of the range
+  private byte lastByte = NEWLINE;
+  private boolean done;
+
+  /**
+   * @param input stream of the file, closed along with this stream
+   * @param start offset of the range
+   * @param end offset of the end of the range, exclusive
+   */
+  LineRangeInputStream(FSInputStream input, long start, long end) throws IOException {
+    this.input = input;
+    this.end = end;
+    if (start > 0) {
+      // the byte before the range tells whether the range starts a line
+      this.position = start - 1;
+      input.setPosition(position);
+      skipLine();
+    }
+  }
+
+  private void skipLine() throws IOException {
+    int b;
+    do {
+      b = readBuffered();
+    } while (b != -1 && b != NEWLINE);
+  }
+
+  private boolean fill() throws IOException {
+    if (bufferPosition < bufferLength) {
+      return true;
+    }
+    final int read = input.read(buffer, 0, buffer.length);
+    if (read <= 0) {
+      return false;
+    }
+    bufferPosition = 0;
+    bufferLength = read;
+    return true;
+  }
+
+  private int readBuffered() throws IOException {
+    if (!fill()) {
+      return -1;
+    }
+    final byte b = buffer[bufferPosition++];
+    position++;
+    lastByte = b;
+    return b & 0xFF;
+  }
+
+  /**
+   * @return the number of bytes left in the buffer that can be returned without crossing the end of the range or of
+   * the line crossing it
+   */
+  private int readable() throws IOException {
+    if (done || (position >= end && lastByte == NEWLINE) || !fill()) {
+      done = true;
+      return 0;
+    }
+
+    final int available = bufferLength - bufferPosition;
+    if (position < end) {
+      return (int) Math.min(available, end - position);
+    }
+    // past the end of the range, stop after the next newline
+    for (int i = bufferPosition; i < bufferLength; i++) {
+      if (buffer[i] == NEWLINE) {
+        return i - bufferPosition + 1;
+      }
+    }
+    return available;
+  }
+
+  @Override
+  public int read() throws IOException {
+    return readable() == 0 ? -1 : readBuffered();
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    final int readable = readable();
+    if (readable == 0) {
+      return -1;
+    }
+
+    final int count = Math.min(len, readable);
+    System.arraycopy(buffer, bufferPosition, b, off, count);
+    bufferPosition += count;
+    position += count;
+    lastByte = b[off + count - 1];
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    input.close();
+  }
+}
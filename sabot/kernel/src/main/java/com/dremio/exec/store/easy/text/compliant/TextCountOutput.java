@@ -59,6 +59,11 @@ public class TextCountOutput extends TextOutput  {
     // no-op
   }
 
+  @Override
+  public void append(long address, int length) {
+    // no-op
+  }
+
   @Override
   public void finishRecord() {
     if (fieldOpen) {
@@ -34,6 +34,7 @@ package com.dremio.exec.store.easy.text.compliant;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BoundsChecking;
@@ -55,6 +56,11 @@ final class TextInput {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TextInput.class);
 
 //  private static final int READ_CHARS_LIMIT = 1024*64;
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+  private static final boolean UNALIGNED = PlatformDependent.isUnaligned();
+  private static final long ONES = 0x0101010101010101L;
+  private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
   private final byte[] lineSeparator;
   private final byte normalizedLineSeparator;
   private final TextParsingSettings settings;
@@ -350,6 +356,82 @@ final class TextInput {
     return byteChar;
   }
 
+  /**
+   * Appends to the output the bytes from the current position up to the first occurrence of any of the given bytes,
+   * and moves past them. The bytes are searched 8 at a time, so that bytes that don't change the state of the parser
+   * are not handled one by one.<br>
+   * The search stops before the last byte of the buffer, which is left to {@link #nextChar()} so that it reads the
+   * next chunk of the input.
+   * @param output the output to append the bytes to
+   * @param b1 first byte to stop at
+   * @param b2 second byte to stop at
+   * @param b3 third byte to stop at
+   * @return the number of bytes appended
+   */
+  public final int appendUntil(TextOutput output, byte b1, byte b2, byte b3) {
+    if (length == -1) {
+      return 0;
+    }
+
+    final long start = bStartMinus1 + bufferPtr;
+    final long limit = bStart + length - 1;
+    if (start >= limit) {
+      return 0;
+    }
+    if (BoundsChecking.BOUNDS_CHECKING_ENABLED) {
+      buffer.checkBytes(bufferPtr - 1, length - 1);
+    }
+
+    long address = start;
+    if (UNALIGNED) {
+      final long pattern1 = (b1 & 0xFFL) * ONES;
+      final long pattern2 = (b2 & 0xFFL) * ONES;
+      final long pattern3 = (b3 & 0xFFL) * ONES;
+      while (address + Long.BYTES <= limit) {
+        final long word = PlatformDependent.getLong(address);
+        final long matches = matches(word, pattern1) | matches(word, pattern2) | matches(word, pattern3);
+        if (matches != 0) {
+          address += (LITTLE_ENDIAN ? Long.numberOfTrailingZeros(matches) : Long.numberOfLeadingZeros(matches)) >>> 3;
+          return append(output, start, address);
+        }
+        address += Long.BYTES;
+      }
+    }
+
+    while (address < limit) {
+      final byte b = PlatformDependent.getByte(address);
+      if (b == b1 || b == b2 || b == b3) {
+        break;
+      }
+      address++;
+    }
+    return append(output, start, address);
+  }
+
+  private int append(TextOutput output, long start, long end) {
+    final int count = (int) (end - start);
+    if (count > 0) {
+      output.append(start, count);
+      bufferPtr += count;
+    }
+    return count;
+  }
+
+  /**
+   * @return a word with the high bit set in every byte of the word equal to the byte repeated in the pattern
+   */
+  private static long matches(long word, long pattern) {
+    final long x = word ^ pattern;
+    return ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS);
+  }
+
+  /**
+   * @return the byte before the current position, in the current chunk of the input
+   */
+  public final byte previousChar() {
+    return PlatformDependent.getByte(bStartMinus1 + bufferPtr - 1);
+  }
+
   /**
    * Number of lines read since the start of this split.
    * @return
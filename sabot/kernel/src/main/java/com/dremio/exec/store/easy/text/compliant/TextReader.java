@@ -73,6 +73,8 @@ final class TextReader implements AutoCloseable {
   private final byte quote;
   private final byte quoteEscape;
   private final byte newLine;
+  // first byte of the input line delimiter
+  private final byte lineDelimiterStart;
 
   /**
    * The CsvParser supports all settings provided by {@link CsvParserSettings}, and requires this configuration to be
@@ -104,6 +106,7 @@ final class TextReader implements AutoCloseable {
     final byte[] newLineDelimiter = settings.getNewLineDelimiter();
     isNormalLineDelimiter = ((newLineDelimiter.length == 1) && (newLineDelimiter[0] == settings.getNormalizedNewLine())) ?
       true : false;
+    this.lineDelimiterStart = newLineDelimiter[0];
   }
 
   public TextOutput getOutput(){
@@ -210,6 +213,8 @@ final class TextReader implements AutoCloseable {
     byte ch = this.ch;
     while (ch != delimiter && ch != newLine) {
       output.append(ch);
+      // append the rest of the value in the current chunk of the input at once
+      input.appendUntil(output, delimiter, newLine, lineDelimiterStart);
       ch = input.nextChar();
     }
     this.ch = ch;
@@ -260,7 +265,8 @@ final class TextReader implements AutoCloseable {
           }
         }
         output.append(ch);
-        prev = ch;
+        // append the rest of the quoted value in the current chunk of the input at once
+        prev = input.appendUntil(output, quote, quote, quote) > 0 ? input.previousChar() : ch;
       } else if (prev == quoteEscape) {
         output.append(quote);
         prev = NULL_BYTE;
@@ -23,16 +23,23 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.iceberg.DataFile;
-import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.ManifestFiles;
+import org.apache.iceberg.Metrics;
 import org.apache.iceberg.PartitionField;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Schema;
+import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.Table;
 import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.transforms.Transforms;
 import org.apache.iceberg.types.Type;
 import org.apache.iceberg.types.Types;
@@ -45,10 +52,12 @@ import com.dremio.connector.metadata.DatasetSplit;
 import com.dremio.connector.metadata.DatasetSplitAffinity;
 import com.dremio.connector.metadata.PartitionChunkListing;
 import com.dremio.connector.metadata.PartitionValue;
+import com.dremio.exec.ExecConstants;
 import com.dremio.exec.proto.CoordinationProtos.NodeEndpoint;
 import com.dremio.exec.record.BatchSchema;
 import com.dremio.exec.server.SabotContext;
 import com.dremio.exec.store.PartitionChunkListingImpl;
+import com.dremio.exec.store.TimedRunnable;
 import com.dremio.exec.store.file.proto.FileProtobuf.FileSystemCachedEntity;
 import com.dremio.exec.store.file.proto.FileProtobuf.FileUpdateKey;
 import com.dremio.exec.store.parquet.Metadata;
@@ -56,11 +65,17 @@ import com.dremio.exec.store.parquet.ParquetGroupScanUtils;
 import com.dremio.io.file.FileAttributes;
 import com.dremio.io.file.FileSystem;
 import com.dremio.io.file.Path;
+import com.dremio.options.OptionManager;
 import com.dremio.sabot.exec.store.iceberg.proto.IcebergProtobuf.IcebergDatasetXAttr;
 import com.dremio.sabot.exec.store.iceberg.proto.IcebergProtobuf.IcebergSchemaField;
 import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ColumnValueCount;
 import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ParquetDatasetSplitXAttr;
 import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ParquetDatasetXAttr;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.net.HostAndPort;
@@ -72,6 +87,17 @@ import com.google.common.net.HostAndPort;
 public class IcebergTableWrapper {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(IcebergTableWrapper.class);
 
+  // estimated heap size of a cached data file without its path, column stats and partition values.
+  private static final int DATA_FILE_BASE_BYTES = 256;
+  // estimated heap size of an entry of a column stats map, boxed key and value included.
+  private static final int STATS_ENTRY_BYTES = 64;
+  // estimated heap size of a partition value or split offset.
+  private static final int VALUE_BYTES = 24;
+
+  // data files of the manifests read, shared by all the tables, rebuilt empty when its size limit is changed.
+  private static Cache<String, List<DataFile>> manifestCache;
+  private static long manifestCacheMaxBytes;
+
   private SabotContext context;
   private FileSystem fs;
   private Configuration fsConf;
@@ -157,19 +183,162 @@ public class IcebergTableWrapper {
   // build the list of "distinct partition values" and the corresponding dataset splits.
   // TODO: this should be optimised to handle deltas.
   private void buildPartitionsAndSplits() throws IOException {
+    final Snapshot snapshot = table.currentSnapshot();
+    if (snapshot == null) {
+      // no data files yet
+      return;
+    }
+
     PartitionConverter partitionConverter = new PartitionConverter(schema);
-    SplitConverter splitConverter = new SplitConverter(context, fs, schema, datasetColumnValueCounts);
-
-    // map of distinct partition values.
-
-    // iterate over all data files to get the partition values and them to the map.
-    // TODO ravindra: this iteration requires reading all of the manifest files. This should go via
-    // the dremio wrappers.
-    for (FileScanTask task : table.newScan().includeColumnStats().planFiles()) {
-      List<PartitionValue> partition = partitionConverter.from(task);
-      DatasetSplit split = splitConverter.from(task);
-      partitionChunkListing.put(partition, split);
-      recordCount += task.file().recordCount();
+    SplitConverter splitConverter = new SplitConverter(context, fs, schema);
+
+    // read the manifests in parallel, skipping the ones without any live data file.
+    final List<TimedRunnable<ManifestSplits>> gatherers = Lists.newArrayList();
+    for (ManifestFile manifest : snapshot.manifests()) {
+      if (!manifest.hasAddedFiles() && !manifest.hasExistingFiles()) {
+        continue;
+      }
+      gatherers.add(new ManifestGatherer(manifest, partitionConverter, splitConverter));
+    }
+    if (gatherers.isEmpty()) {
+      return;
+    }
+
+    final int parallelism = (int) context.getOptionManager().getOption(ExecConstants.ICEBERG_MANIFEST_READ_PARALLELISM);
+    final List<ManifestSplits> manifestSplitsList;
+    try {
+      manifestSplitsList = TimedRunnable.run("Read iceberg manifests of " + rootDir, logger, gatherers, parallelism);
+    } catch (IOException e) {
+      // unsupported partitions are reported as user exceptions
+      if (e.getCause() instanceof UserException) {
+        throw (UserException) e.getCause();
+      }
+      throw e;
+    }
+
+    for (ManifestSplits manifestSplits : manifestSplitsList) {
+      for (int i = 0; i < manifestSplits.splits.size(); i++) {
+        partitionChunkListing.put(manifestSplits.partitions.get(i), manifestSplits.splits.get(i));
+      }
+      recordCount += manifestSplits.recordCount;
+      for (Map.Entry<String, Long> entry : manifestSplits.columnValueCounts.entrySet()) {
+        datasetColumnValueCounts.merge(entry.getKey(), entry.getValue(), Long::sum);
+      }
+    }
+  }
+
+  /**
+   * Returns the live data files of a manifest. Manifests are never modified once written, so the files read are
+   * cached by manifest path and id of the snapshot that added the manifest, and only the manifests added since the
+   * previous refresh of a table are read. The cache is weighted by the estimated heap size of the files, up to
+   * {@link ExecConstants#ICEBERG_MANIFEST_CACHE_MAX_BYTES}.
+   */
+  private List<DataFile> readManifest(ManifestFile manifest, PartitionSpec spec) throws IOException {
+    final Cache<String, List<DataFile>> cache = getManifestCache(context.getOptionManager());
+    final String key = manifest.snapshotId() + ":" + manifest.path();
+    final List<DataFile> cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    final List<DataFile> dataFiles = new ArrayList<>();
+    try (CloseableIterable<DataFile> reader = ManifestFiles.read(manifest, table.io())) {
+      for (DataFile dataFile : reader) {
+        // only the value counts of the column stats are used, the column sizes and bounds are dropped
+        dataFiles.add(DataFiles.builder(spec)
+          .copy(dataFile)
+          .withMetrics(new Metrics(dataFile.recordCount(), null, copyOf(dataFile.valueCounts()),
+            copyOf(dataFile.nullValueCounts())))
+          .build());
+      }
+    }
+    cache.put(key, dataFiles);
+    return dataFiles;
+  }
+
+  private static Map<Integer, Long> copyOf(Map<Integer, Long> counts) {
+    return counts == null ? null : new HashMap<>(counts);
+  }
+
+  private static synchronized Cache<String, List<DataFile>> getManifestCache(OptionManager options) {
+    final long maxBytes = options.getOption(ExecConstants.ICEBERG_MANIFEST_CACHE_MAX_BYTES);
+    if (manifestCache == null || manifestCacheMaxBytes != maxBytes) {
+      manifestCache = CacheBuilder.newBuilder()
+        .maximumWeight(maxBytes)
+        .weigher((Weigher<String, List<DataFile>>) (key, files) -> estimateSize(key, files))
+        .expireAfterAccess(1, TimeUnit.HOURS)
+        .recordStats()
+        .build();
+      manifestCacheMaxBytes = maxBytes;
+    }
+    return manifestCache;
+  }
+
+  @VisibleForTesting
+  static synchronized CacheStats getManifestCacheStats() {
+    return manifestCache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : manifestCache.stats();
+  }
+
+  private static int estimateSize(String key, List<DataFile> dataFiles) {
+    long size = 2L * key.length();
+    for (DataFile dataFile : dataFiles) {
+      size += DATA_FILE_BASE_BYTES + 2L * dataFile.path().length();
+      size += (long) STATS_ENTRY_BYTES * (sizeOf(dataFile.valueCounts()) + sizeOf(dataFile.nullValueCounts()));
+      size += (long) VALUE_BYTES * dataFile.partition().size();
+      if (dataFile.splitOffsets() != null) {
+        size += (long) VALUE_BYTES * dataFile.splitOffsets().size();
+      }
+    }
+    return (int) Math.min(Integer.MAX_VALUE, size);
+  }
+
+  private static int sizeOf(Map<Integer, Long> counts) {
+    return counts == null ? 0 : counts.size();
+  }
+
+  /**
+   * Partition values, splits and column value counts of the data files of a manifest.
+   */
+  private static final class ManifestSplits {
+    private final List<List<PartitionValue>> partitions = new ArrayList<>();
+    private final List<DatasetSplit> splits = new ArrayList<>();
+    private final Map<String, Long> columnValueCounts = new HashMap<>();
+    private long recordCount;
+  }
+
+  /**
+   * TimedRunnable that reads a manifest and converts its data files into splits.
+   */
+  private final class ManifestGatherer extends TimedRunnable<ManifestSplits> {
+    private final ManifestFile manifest;
+    private final PartitionConverter partitionConverter;
+    private final SplitConverter splitConverter;
+
+    private ManifestGatherer(ManifestFile manifest, PartitionConverter partitionConverter, SplitConverter splitConverter) {
+      this.manifest = manifest;
+      this.partitionConverter = partitionConverter;
+      this.splitConverter = splitConverter;
+    }
+
+    @Override
+    protected ManifestSplits runInner() throws Exception {
+      final PartitionSpec spec = table.specs().get(manifest.partitionSpecId());
+      final ManifestSplits manifestSplits = new ManifestSplits();
+      for (DataFile dataFile : readManifest(manifest, spec)) {
+        manifestSplits.partitions.add(partitionConverter.from(spec, dataFile));
+        manifestSplits.splits.add(splitConverter.from(dataFile, manifestSplits.columnValueCounts));
+        manifestSplits.recordCount += dataFile.recordCount();
+      }
+      return manifestSplits;
+    }
+
+    @Override
+    protected IOException convertToIOException(Exception e) {
+      if (e instanceof IOException) {
+        return (IOException) e;
+      } else {
+        return new IOException(e);
+      }
     }
   }
 
@@ -204,9 +373,9 @@ public class IcebergTableWrapper {
       this.schema = schema;
     }
 
-    List<PartitionValue> from(FileScanTask task) {
-      List<PartitionField> partitionFields = task.spec().fields();
-      StructLike filePartition = task.file().partition();
+    List<PartitionValue> from(PartitionSpec spec, DataFile dataFile) {
+      List<PartitionField> partitionFields = spec.fields();
+      StructLike filePartition = dataFile.partition();
 
       List<PartitionValue> partitionValues = new ArrayList<>();
       for (int i = 0; i < partitionFields.size(); ++i) {
@@ -221,8 +390,8 @@ public class IcebergTableWrapper {
         Type resultType = partitionFields.get(i).transform().getResultType(partitionColumnFromSchema.type());
 
         logger.debug("file {} partitionColumn {} type {} value {}",
-          task.file().path(), partitionColumnFromSchema.name(), resultType,
-          filePartition.get(i, task.spec().javaClasses()[i]));
+          dataFile.path(), partitionColumnFromSchema.name(), resultType,
+          filePartition.get(i, spec.javaClasses()[i]));
 
         PartitionValue partitionValue = null;
         switch (resultType.typeId()) {
@@ -358,15 +527,12 @@ public class IcebergTableWrapper {
   private static class SplitConverter {
     private final Schema schema;
     private final FileSystem fs;
-    private final Map<String, Long> datasetColumnValueCounts;
     private final Set<HostAndPort> activeHostMap = Sets.newHashSet();
     private final Set<HostAndPort> activeHostPortMap = Sets.newHashSet();
 
-    SplitConverter(SabotContext context, FileSystem fs, Schema schema,
-      Map<String, Long> datasetColumnValueCounts) {
+    SplitConverter(SabotContext context, FileSystem fs, Schema schema) {
       this.schema = schema;
       this.fs = fs;
-      this.datasetColumnValueCounts = datasetColumnValueCounts;
 
       for (NodeEndpoint endpoint : context.getExecutors()) {
         activeHostMap.add(HostAndPort.fromHost(endpoint.getAddress()));
@@ -374,10 +540,9 @@ public class IcebergTableWrapper {
       }
     }
 
-    DatasetSplit from(FileScanTask task) throws IOException {
+    DatasetSplit from(DataFile dataFile, Map<String, Long> datasetColumnValueCounts) throws IOException {
       // TODO ravindra: iceberg does not track counts at a row-group level. We should fallback to
       // an alternate codepath for this.
-      DataFile dataFile = task.file();
       if (dataFile.splitOffsets() != null && dataFile.splitOffsets().size() > 1) {
         throw new UnsupportedOperationException("iceberg does not support multiple row groups yet");
       }
@@ -418,7 +583,7 @@ public class IcebergTableWrapper {
       ParquetDatasetSplitXAttr splitExtended =
           ParquetDatasetSplitXAttr.newBuilder()
               .setPath(pathString)
-              .setStart(task.start())
+              .setStart(0)
               .setRowGroupIndex(0)
               .setUpdateKey(
                   FileSystemCachedEntity.newBuilder()
@@ -426,21 +591,21 @@ public class IcebergTableWrapper {
                       .setLastModificationTime(fileAttributes.lastModifiedTime().toMillis())
                       .setLength(fileAttributes.size()))
               .addAllColumnValueCounts(columnValueCounts)
-              .setLength(task.length())
+              .setLength(dataFile.fileSizeInBytes())
               .build();
 
       // build the host affinity details for the split.
       Map<HostAndPort, Float> affinities =
-        Metadata.getHostAffinity(fs, fileAttributes, task.start(), task.length());
+        Metadata.getHostAffinity(fs, fileAttributes, 0, dataFile.fileSizeInBytes());
       List<DatasetSplitAffinity> splitAffinities = new ArrayList<>();
       for (ObjectLongCursor<HostAndPort> item :
         ParquetGroupScanUtils.buildEndpointByteMap(activeHostMap,
-          activeHostPortMap, affinities, task.length())) {
+          activeHostPortMap, affinities, dataFile.fileSizeInBytes())) {
         splitAffinities.add(DatasetSplitAffinity.of(item.key.toString(), item.value));
       }
 
       return DatasetSplit.of(
-          splitAffinities, task.length(), task.file().recordCount(), splitExtended::writeTo);
+          splitAffinities, dataFile.fileSizeInBytes(), dataFile.recordCount(), splitExtended::writeTo);
     }
   }
 
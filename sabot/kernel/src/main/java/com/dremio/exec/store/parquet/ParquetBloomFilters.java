@@ -0,0 +1,412 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.parquet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.joda.time.DateTimeConstants;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import com.dremio.common.expression.FunctionCall;
+import com.dremio.common.expression.FunctionHolderExpression;
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.common.expression.ValueExpressions.DateExpression;
+import com.dremio.common.expression.ValueExpressions.IntExpression;
+import com.dremio.common.expression.ValueExpressions.LongExpression;
+import com.dremio.common.expression.ValueExpressions.QuotedString;
+import com.dremio.common.expression.ValueExpressions.TimeStampExpression;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Bloom filters of the values of top level columns of the parquet files written by Dremio.<br>
+ * The filter of a column is kept in the key value metadata of the footer, under
+ * {@link #BLOOM_FILTER_PROPERTY_PREFIX} followed by the name of the column. It is a base64 encoded Guava
+ * {@link BloomFilter} of the 64 bits murmur3 hashes of the plain values of the column: integers are widened to longs,
+ * and binaries are hashed as they are. As the footer is read whole, filters are only written for columns with at most
+ * {@link com.dremio.exec.ExecConstants#PARQUET_WRITER_BLOOM_FILTER_MAX_NDV} distinct values in the file, about 16 KB
+ * encoded by default.<br>
+ * Filters are decoded once per file, and shared by the readers of its row groups as long as its footer is.
+ */
+public final class ParquetBloomFilters {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ParquetBloomFilters.class);
+
+  public static final String BLOOM_FILTER_PROPERTY_PREFIX = "dremio.bloom_filter.";
+
+  private static final HashFunction HASH = Hashing.murmur3_128();
+
+  // filters decoded from the footers being read, by column, absent if the column has none
+  private static final Cache<FileMetaData, Map<String, Optional<BloomFilter<Long>>>> DECODED_FILTERS =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  private ParquetBloomFilters() {
+  }
+
+  static long hash(long value) {
+    return HASH.hashLong(value).asLong();
+  }
+
+  static long hash(Binary value) {
+    return HASH.hashBytes(value.toByteBuffer()).asLong();
+  }
+
+  /**
+   * @param fileMetaData metadata of a parquet file
+   * @param conditions conditions the rows read must match
+   * @return true if some condition is an equality with a value absent from the bloom filter of its column, meaning no
+   * row of the file matches the conditions
+   */
+  public static boolean excludes(FileMetaData fileMetaData, List<ParquetFilterCondition> conditions) {
+    if (conditions == null || conditions.isEmpty()) {
+      return false;
+    }
+
+    for (ParquetFilterCondition condition : conditions) {
+      final SchemaPath path = condition.getPath();
+      if (path == null || !path.isSimplePath()) {
+        continue;
+      }
+      final String column = path.getRootSegment().getPath();
+      final Type type = getField(fileMetaData.getSchema(), column);
+      final LogicalExpression literal = getEqualityLiteral(condition.getExpr());
+      if (type == null || !type.isPrimitive() || literal == null) {
+        continue;
+      }
+      final Long hash = hashLiteral(type.asPrimitiveType(), literal);
+      if (hash == null) {
+        continue;
+      }
+      final Optional<BloomFilter<Long>> filter = getFilter(fileMetaData, type.getName());
+      if (filter.isPresent() && !filter.get().mightContain(hash)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Optional<BloomFilter<Long>> getFilter(FileMetaData fileMetaData, String column) {
+    return DECODED_FILTERS.asMap()
+        .computeIfAbsent(fileMetaData, f -> new ConcurrentHashMap<>())
+        .computeIfAbsent(column, c -> {
+          final String filter = getFilterProperty(fileMetaData.getKeyValueMetaData(), c);
+          return filter == null ? Optional.empty() : Optional.of(deserialize(filter));
+        });
+  }
+
+  private static String getFilterProperty(Map<String, String> keyValueMetaData, String column) {
+    if (keyValueMetaData == null) {
+      return null;
+    }
+    final String key = BLOOM_FILTER_PROPERTY_PREFIX + column;
+    for (Map.Entry<String, String> entry : keyValueMetaData.entrySet()) {
+      if (entry.getKey().equalsIgnoreCase(key)) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  private static Type getField(MessageType schema, String column) {
+    for (Type field : schema.getFields()) {
+      if (field.getName().equalsIgnoreCase(column)) {
+        return field;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the literal compared for equality with the column by the expression, or null if the expression is not
+   * such an equality
+   */
+  private static LogicalExpression getEqualityLiteral(LogicalExpression expr) {
+    final List<LogicalExpression> args;
+    if (expr instanceof FunctionCall && "equal".equals(((FunctionCall) expr).getName())) {
+      args = ((FunctionCall) expr).args;
+    } else if (expr instanceof FunctionHolderExpression && "equal".equals(((FunctionHolderExpression) expr).getName())) {
+      args = ((FunctionHolderExpression) expr).args;
+    } else {
+      return null;
+    }
+
+    if (args.size() != 2) {
+      return null;
+    }
+    if (args.get(0) instanceof SchemaPath) {
+      return args.get(1);
+    } else if (args.get(1) instanceof SchemaPath) {
+      return args.get(0);
+    }
+    return null;
+  }
+
+  /**
+   * @return the hash of the literal as written in a column of the given type, or null if the literal can't be
+   * compared with the bloom filter of the column
+   */
+  private static Long hashLiteral(PrimitiveType type, LogicalExpression literal) {
+    final OriginalType originalType = type.getOriginalType();
+    switch (type.getPrimitiveTypeName()) {
+    case INT32:
+      if (originalType == null && literal instanceof IntExpression) {
+        return hash(((IntExpression) literal).getInt());
+      } else if (originalType == OriginalType.DATE && literal instanceof DateExpression) {
+        // dates are written as days since epoch
+        final long date = ((DateExpression) literal).getDate();
+        return date % DateTimeConstants.MILLIS_PER_DAY == 0 ? hash(date / DateTimeConstants.MILLIS_PER_DAY) : null;
+      }
+      return null;
+
+    case INT64:
+      if (originalType == null && literal instanceof LongExpression) {
+        return hash(((LongExpression) literal).getLong());
+      } else if (originalType == null && literal instanceof IntExpression) {
+        return hash(((IntExpression) literal).getInt());
+      } else if (originalType == OriginalType.TIMESTAMP_MILLIS && literal instanceof TimeStampExpression) {
+        return hash(((TimeStampExpression) literal).getTimeStamp());
+      }
+      return null;
+
+    case BINARY:
+      if (originalType == OriginalType.UTF8 && literal instanceof QuotedString) {
+        return hash(Binary.fromConstantByteArray(((QuotedString) literal).getString().getBytes(StandardCharsets.UTF_8)));
+      }
+      return null;
+
+    default:
+      return null;
+    }
+  }
+
+  private static BloomFilter<Long> deserialize(String filter) {
+    try {
+      return BloomFilter.readFrom(new ByteArrayInputStream(Base64.getDecoder().decode(filter)), Funnels.longFunnel());
+    } catch (IOException | IllegalArgumentException e) {
+      logger.debug("Unable to read parquet bloom filter", e);
+      // a filter that can't be read excludes nothing
+      return BloomFilter.create(Funnels.longFunnel(), 1, 1d);
+    }
+  }
+
+  /**
+   * {@link RecordConsumer} collecting the hashes of the values written in some top level columns of a file, before
+   * passing them on.
+   */
+  static final class Collector extends RecordConsumer {
+    private final RecordConsumer delegate;
+    private final long maxDistinctValues;
+    // hashes of the values of each top level field, null for the fields without bloom filter
+    private final LongHashSet[] hashes;
+    private final String[] names;
+
+    private int depth;
+    // top level field being written, -1 if none
+    private int currentField = -1;
+
+    private Collector(RecordConsumer delegate, MessageType schema, List<String> columns, long maxDistinctValues) {
+      this.delegate = delegate;
+      this.maxDistinctValues = maxDistinctValues;
+      this.hashes = new LongHashSet[schema.getFieldCount()];
+      this.names = new String[schema.getFieldCount()];
+      for (int i = 0; i < schema.getFieldCount(); i++) {
+        final Type field = schema.getType(i);
+        if (isSupported(field) && columns.stream().anyMatch(field.getName()::equalsIgnoreCase)) {
+          hashes[i] = new LongHashSet();
+          names[i] = field.getName();
+        }
+      }
+    }
+
+    /**
+     * @param delegate consumer writing the values
+     * @param schema schema of the file
+     * @param columns names of the top level columns to write bloom filters for
+     * @param maxDistinctValues number of distinct values above which the bloom filter of a column is dropped
+     * @return a collector for the columns, or null if none of the columns is in the schema with a supported type
+     */
+    static Collector create(RecordConsumer delegate, MessageType schema, List<String> columns, long maxDistinctValues) {
+      if (columns.isEmpty()) {
+        return null;
+      }
+      final Collector collector = new Collector(delegate, schema, columns, maxDistinctValues);
+      for (LongHashSet set : collector.hashes) {
+        if (set != null) {
+          return collector;
+        }
+      }
+      return null;
+    }
+
+    private static boolean isSupported(Type field) {
+      if (!field.isPrimitive()) {
+        return false;
+      }
+      switch (field.asPrimitiveType().getPrimitiveTypeName()) {
+      case INT32:
+      case INT64:
+      case BINARY:
+        return true;
+      default:
+        return false;
+      }
+    }
+
+    /**
+     * @param fpp false positive probability of the filters
+     * @return the key value metadata holding the bloom filters of the columns
+     */
+    Map<String, String> getBloomFilters(double fpp) {
+      final Map<String, String> filters = new HashMap<>();
+      for (int i = 0; i < hashes.length; i++) {
+        if (hashes[i] == null) {
+          continue;
+        }
+        final BloomFilter<Long> filter = BloomFilter.create(Funnels.longFunnel(), Math.max(1, hashes[i].size()), fpp);
+        for (LongCursor cursor : hashes[i]) {
+          filter.put(cursor.value);
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+          filter.writeTo(out);
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+        filters.put(BLOOM_FILTER_PROPERTY_PREFIX + names[i], Base64.getEncoder().encodeToString(out.toByteArray()));
+      }
+      return filters;
+    }
+
+    /**
+     * @return whether the value being written is one of a top level column with a bloom filter
+     */
+    private boolean isCollecting() {
+      return depth == 0 && currentField >= 0 && hashes[currentField] != null;
+    }
+
+    private void add(long hash) {
+      final LongHashSet set = hashes[currentField];
+      set.add(hash);
+      if (set.size() > maxDistinctValues) {
+        // too many values for the filter to be worth its size
+        hashes[currentField] = null;
+      }
+    }
+
+    @Override
+    public void startMessage() {
+      delegate.startMessage();
+    }
+
+    @Override
+    public void endMessage() {
+      delegate.endMessage();
+    }
+
+    @Override
+    public void startField(String field, int index) {
+      if (depth == 0) {
+        currentField = index;
+      }
+      delegate.startField(field, index);
+    }
+
+    @Override
+    public void endField(String field, int index) {
+      if (depth == 0) {
+        currentField = -1;
+      }
+      delegate.endField(field, index);
+    }
+
+    @Override
+    public void startGroup() {
+      depth++;
+      delegate.startGroup();
+    }
+
+    @Override
+    public void endGroup() {
+      depth--;
+      delegate.endGroup();
+    }
+
+    @Override
+    public void addInteger(int value) {
+      if (isCollecting()) {
+        add(hash(value));
+      }
+      delegate.addInteger(value);
+    }
+
+    @Override
+    public void addLong(long value) {
+      if (isCollecting()) {
+        add(hash(value));
+      }
+      delegate.addLong(value);
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+      if (isCollecting()) {
+        add(hash(value));
+      }
+      delegate.addBinary(value);
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+      delegate.addBoolean(value);
+    }
+
+    @Override
+    public void addFloat(float value) {
+      delegate.addFloat(value);
+    }
+
+    @Override
+    public void addDouble(double value) {
+      delegate.addDouble(value);
+    }
+
+    @Override
+    public void flush() {
+      delegate.flush();
+    }
+  }
+}
@@ -31,9 +31,14 @@ public class ParquetFormatConfig implements FormatPluginConfig{
    */
   public String outputExtension = "parquet";
 
+  /**
+   * Comma separated names of the top level columns to write bloom filters for as part of CTAS.
+   */
+  public String bloomFilterColumns = null;
+
   @Override
   public int hashCode() {
-    return Objects.hash(outputExtension, autoCorrectCorruptDates);
+    return Objects.hash(outputExtension, autoCorrectCorruptDates, bloomFilterColumns);
   }
 
   @Override
@@ -51,13 +56,14 @@ public class ParquetFormatConfig implements FormatPluginConfig{
     final ParquetFormatConfig other = (ParquetFormatConfig)obj;
 
     return Objects.equals(outputExtension, other.outputExtension)
-        && (autoCorrectCorruptDates == other.autoCorrectCorruptDates);
+        && (autoCorrectCorruptDates == other.autoCorrectCorruptDates)
+        && Objects.equals(bloomFilterColumns, other.bloomFilterColumns);
   }
 
   @Override
   public String toString() {
     return "ParquetFormatConfig [autoCorrectCorruptDates=" + autoCorrectCorruptDates + ", outputExtension="
-        + outputExtension + "]";
+        + outputExtension + ", bloomFilterColumns=" + bloomFilterColumns + "]";
   }
 
 }
@@ -52,14 +52,17 @@ import com.dremio.connector.metadata.DatasetSplit;
 import com.dremio.connector.metadata.DatasetSplitAffinity;
 import com.dremio.connector.metadata.DatasetStats;
 import com.dremio.connector.metadata.EntityPath;
+import com.dremio.connector.metadata.ExtendedPropertyOption;
 import com.dremio.connector.metadata.GetMetadataOption;
 import com.dremio.connector.metadata.ListPartitionChunkOption;
 import com.dremio.connector.metadata.PartitionChunkListing;
 import com.dremio.connector.metadata.PartitionValue;
+import com.dremio.datastore.LegacyProtobufSerializer;
 import com.dremio.exec.ExecConstants;
 import com.dremio.exec.catalog.ColumnCountTooLargeException;
 import com.dremio.exec.catalog.FileConfigMetadata;
 import com.dremio.exec.catalog.MetadataObjectsUtils;
+import com.dremio.exec.catalog.PreviousPartitionChunksOption;
 import com.dremio.exec.physical.base.GroupScan;
 import com.dremio.exec.planner.cost.ScanCostFactor;
 import com.dremio.exec.record.BatchSchema;
@@ -92,7 +95,9 @@ import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ColumnValueCoun
 import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.DictionaryEncodedColumns;
 import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ParquetDatasetSplitXAttr;
 import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ParquetDatasetXAttr;
+import com.dremio.service.namespace.MetadataProtoUtils;
 import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.PartitionChunkMetadata;
 import com.dremio.service.namespace.dataset.proto.DatasetType;
 import com.dremio.service.namespace.file.proto.FileConfig;
 import com.google.common.base.Optional;
@@ -101,6 +106,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.net.HostAndPort;
+import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Parquet dataset accessor.
@@ -292,12 +298,17 @@ public class ParquetFormatDatasetAccessor implements FileDatasetHandle {
     throw UserException.dataReadError().message("Only empty parquet files found.").build(logger);
   }
 
-  private void buildIfNecessary() throws Exception {
+  private void buildIfNecessary(ListPartitionChunkOption... options) throws Exception {
     if (partitionChunkListing.computed()) {
       return;
     }
     schema = getBatchSchema(oldConfig.getSchema(), fileSelection, fs);
 
+    final ReusableParquetSplits reusableSplits = getReusableSplits(options);
+    if (reusableSplits != null && buildIncrementally(reusableSplits, options)) {
+      return;
+    }
+
     final ParquetGroupScanUtils parquetGroupScanUtils = ((ParquetFormatPlugin) formatPlugin).getGroupScan(SYSTEM_USERNAME, fsPlugin, fileSelection, tableSchemaPath.getPathComponents(), GroupScan.ALL_COLUMNS, schema, null);
 
     // TODO: copy sort columns
@@ -305,12 +316,129 @@ public class ParquetFormatDatasetAccessor implements FileDatasetHandle {
     this.recordCount = parquetGroupScanUtils.getScanStats().getRecordCount();
 
     final ParquetDatasetXAttr.Builder datasetXAttr = ParquetDatasetXAttr.newBuilder().setSelectionRoot(fileSelection.getSelectionRoot());
+    final Set<String> allImplicitColumns = Sets.newLinkedHashSet();
+    addRowGroups(parquetGroupScanUtils, parquetGroupScanUtils.getPartitionColumns(), allImplicitColumns);
+
+    final List<String> filePartitionColumns = MetadataUtils.getStringColumnNames(parquetGroupScanUtils.getPartitionColumns());
+    if (filePartitionColumns != null) {
+      allImplicitColumns.addAll(filePartitionColumns);
+    }
 
+    for (Map.Entry<SchemaPath, Long> entry : parquetGroupScanUtils.getColumnValueCounts().entrySet()) {
+      datasetXAttr.addColumnValueCountsBuilder()
+          .setColumn(entry.getKey().getAsUnescapedPath())
+          .setCount(entry.getValue())
+          .build();
+    }
+
+    finishBuild(datasetXAttr, allImplicitColumns);
+  }
+
+  private ReusableParquetSplits getReusableSplits(ListPartitionChunkOption... options) {
+    final Iterable<PartitionChunkMetadata> previousChunks = PreviousPartitionChunksOption.getPartitionChunks(options);
+    final ParquetDatasetXAttr previousXAttr = getPreviousDatasetXAttr(options);
+    if (previousChunks == null || previousXAttr == null ||
+        !fileSelection.getSelectionRoot().equals(previousXAttr.getSelectionRoot())) {
+      return null;
+    }
+    return ReusableParquetSplits.of(previousChunks, fileSelection.getFileAttributesList());
+  }
+
+  private ParquetDatasetXAttr getPreviousDatasetXAttr(ListPartitionChunkOption... options) {
+    final java.util.Optional<BytesOutput> extendedProperty =
+        ExtendedPropertyOption.getExtendedPropertyFromListPartitionChunkOption(options);
+    if (!extendedProperty.isPresent()) {
+      return null;
+    }
+    try {
+      return LegacyProtobufSerializer.parseFrom(ParquetDatasetXAttr.PARSER,
+          MetadataProtoUtils.toProtobuf(extendedProperty.get()));
+    } catch (InvalidProtocolBufferException e) {
+      logger.debug("Unable to read previous extended property of table {}", tableSchemaPath, e);
+      return null;
+    }
+  }
+
+  /**
+   * Builds the splits by only reading the footers of the files that were added or modified since the previous
+   * refresh, and saving the previous splits of the other files as is.
+   *
+   * @return false if the previous splits cannot be combined with the ones of the modified files, or if the modified
+   *         files may change the partition columns of the dataset
+   */
+  private boolean buildIncrementally(ReusableParquetSplits reusableSplits, ListPartitionChunkOption... options) throws Exception {
+    final ImmutableList<FileAttributes> changedFiles = fileSelection.getFileAttributesList().stream()
+        .filter(file -> !reusableSplits.isReused(file))
+        .collect(ImmutableList.toImmutableList());
+
+    ParquetGroupScanUtils parquetGroupScanUtils = null;
+    final List<SchemaPath> partitionColumns = new ArrayList<>();
+    if (!changedFiles.isEmpty()) {
+      final FileSelection changedSelection = FileSelection.createFromExpanded(changedFiles, fileSelection.getSelectionRoot());
+      parquetGroupScanUtils = ((ParquetFormatPlugin) formatPlugin).getGroupScan(SYSTEM_USERNAME, fsPlugin, changedSelection, tableSchemaPath.getPathComponents(), GroupScan.ALL_COLUMNS, schema, null);
+
+      // a column remains a partition column only if it is also single valued in the modified files
+      final Map<String, SchemaPath> changedPartitionColumns = parquetGroupScanUtils.getPartitionColumns().stream()
+          .collect(Collectors.toMap(SchemaPath::getAsUnescapedPath, c -> c, (a, b) -> a));
+      for (String column : reusableSplits.getPartitionColumns()) {
+        final SchemaPath partitionColumn = changedPartitionColumns.get(column);
+        if (partitionColumn == null) {
+          logger.debug("Partition column {} of table {} no longer qualifies, all footers are read", column, tableSchemaPath);
+          return false;
+        }
+        partitionColumns.add(partitionColumn);
+      }
+
+      // other single valued columns may be partition columns of the whole dataset if the files where they had several
+      // values were modified or deleted, which only reading all the footers tells
+      if (changedPartitionColumns.size() > partitionColumns.size()) {
+        logger.debug("Modified files of table {} have single valued columns other than the partition columns {}, "
+            + "all footers are read", tableSchemaPath, reusableSplits.getPartitionColumns());
+        return false;
+      }
+    }
+
+    logger.debug("Table {}: reusing splits of {} files, reading footers of {} files", tableSchemaPath,
+        fileSelection.getFileAttributesList().size() - changedFiles.size(), changedFiles.size());
+
+    long reusedRecordCount = 0;
+    for (ReusableParquetSplits.ReusedSplit reused : reusableSplits.getSplits()) {
+      partitionChunkListing.put(reused.getPartitionValues(), reused.getSplit());
+      reusedRecordCount += reused.getSplit().getRecordCount();
+    }
+
+    final Set<String> allImplicitColumns = Sets.newLinkedHashSet(reusableSplits.getImplicitColumns());
+    final Map<String, Long> columnValueCounts = reusableSplits.getColumnValueCounts(getPreviousDatasetXAttr(options).getColumnValueCountsList());
+    this.recordCount = reusedRecordCount;
+    if (parquetGroupScanUtils != null) {
+      addRowGroups(parquetGroupScanUtils, partitionColumns, allImplicitColumns);
+      this.recordCount += parquetGroupScanUtils.getScanStats().getRecordCount();
+
+      for (Map.Entry<SchemaPath, Long> entry : parquetGroupScanUtils.getColumnValueCounts().entrySet()) {
+        columnValueCounts.merge(entry.getKey().getAsUnescapedPath(), entry.getValue(),
+            (a, b) -> a == GroupScan.NO_COLUMN_STATS || b == GroupScan.NO_COLUMN_STATS ? GroupScan.NO_COLUMN_STATS : a + b);
+      }
+    }
+    allImplicitColumns.addAll(reusableSplits.getPartitionColumns());
+
+    final ParquetDatasetXAttr.Builder datasetXAttr = ParquetDatasetXAttr.newBuilder().setSelectionRoot(fileSelection.getSelectionRoot());
+    for (Map.Entry<String, Long> entry : columnValueCounts.entrySet()) {
+      datasetXAttr.addColumnValueCountsBuilder()
+          .setColumn(entry.getKey())
+          .setCount(entry.getValue())
+          .build();
+    }
+
+    finishBuild(datasetXAttr, allImplicitColumns);
+    return true;
+  }
+
+  private void addRowGroups(ParquetGroupScanUtils parquetGroupScanUtils, List<SchemaPath> partitionColumns,
+      Set<String> allImplicitColumns) {
     final ImplicitFilesystemColumnFinder finder = new ImplicitFilesystemColumnFinder(fsPlugin.getContext().getOptionManager(), fs, GroupScan.ALL_COLUMNS);
     List<RowGroupInfo> rowGroups = parquetGroupScanUtils.getRowGroupInfos();
 
     final List<List<NameValuePair<?>>> pairs = finder.getImplicitFields(parquetGroupScanUtils.getSelectionRoot(), rowGroups);
-    final Set<String> allImplicitColumns = Sets.newLinkedHashSet();
 
     for (int i = 0; i < parquetGroupScanUtils.getRowGroupInfos().size(); i++) {
       final ParquetGroupScanUtils.RowGroupInfo rowGroupInfo = parquetGroupScanUtils.getRowGroupInfos().get(i);
@@ -329,7 +457,7 @@ public class ParquetFormatDatasetAccessor implements FileDatasetHandle {
       final LinkedHashMap<String, PartitionValue> partitionValues = new LinkedHashMap<>();
       final Map<SchemaPath, MajorType> typeMap = checkNotNull(parquetGroupScanUtils.getColumnTypeMap());
       final Map<SchemaPath, Object> pValues = parquetGroupScanUtils.getPartitionValueMap().get(rowGroupInfo.getFileAttributes());
-      for (SchemaPath pCol : parquetGroupScanUtils.getPartitionColumns()) {
+      for (SchemaPath pCol : partitionColumns) {
         final MajorType pColType = typeMap.get(pCol);
         final MinorType minorType = MinorType.valueOf(pColType.getMinorType().getNumber());
         final Object pVal;
@@ -392,13 +520,9 @@ public class ParquetFormatDatasetAccessor implements FileDatasetHandle {
       DatasetSplit split = DatasetSplit.of(affinities, size, splitRecordCount, splitExtended::writeTo);
       partitionChunkListing.put(partitionValueList, split);
     }
+  }
 
-    final List<String> filePartitionColumns = MetadataUtils.getStringColumnNames(parquetGroupScanUtils.getPartitionColumns());
-    if (filePartitionColumns != null) {
-      allImplicitColumns.addAll(filePartitionColumns);
-    }
-
-
+  private void finishBuild(ParquetDatasetXAttr.Builder datasetXAttr, Set<String> allImplicitColumns) {
     // scan for global dictionaries
     final DictionaryEncodedColumns dictionaryEncodedColumns = ParquetFormatPlugin.scanForDictionaryEncodedColumns(fs, fileSelection.getSelectionRoot(), schema);
     if (dictionaryEncodedColumns != null) {
@@ -406,13 +530,6 @@ public class ParquetFormatDatasetAccessor implements FileDatasetHandle {
       datasetXAttr.setDictionaryEncodedColumns(dictionaryEncodedColumns);
     }
 
-    for (Map.Entry<SchemaPath, Long> entry : parquetGroupScanUtils.getColumnValueCounts().entrySet()) {
-      datasetXAttr.addColumnValueCountsBuilder()
-          .setColumn(entry.getKey().getAsUnescapedPath())
-          .setCount(entry.getValue())
-          .build();
-    }
-
     extended = datasetXAttr.build();
     partitionColumns = Lists.newArrayList(allImplicitColumns);
     partitionChunkListing.computePartitionChunks();
@@ -481,7 +598,7 @@ public class ParquetFormatDatasetAccessor implements FileDatasetHandle {
   @Override
   public PartitionChunkListing listPartitionChunks(ListPartitionChunkOption... options) throws ConnectorException {
     try {
-      buildIfNecessary();
+      buildIfNecessary(options);
     } catch (Exception e) {
       Throwables.propagateIfPossible(e, ConnectorException.class);
       throw new ConnectorException(e);
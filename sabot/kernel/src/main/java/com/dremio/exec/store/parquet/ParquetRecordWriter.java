@@ -26,10 +26,13 @@ import static org.apache.parquet.hadoop.ParquetWriter.MAX_PADDING_SIZE_DEFAULT;
 import static org.apache.parquet.schema.Type.Repetition.OPTIONAL;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nullable;
 
@@ -115,9 +118,12 @@ import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.sabot.exec.context.OperatorStats;
 import com.dremio.sabot.exec.store.iceberg.proto.IcebergProtobuf;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.protobuf.InvalidProtocolBufferException;
 
 import io.protostuff.ByteString;
@@ -167,6 +173,8 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
   private CompressionCodecName codec = CompressionCodecName.SNAPPY;
   private WriterVersion writerVersion = WriterVersion.PARQUET_1_0;
   private CompressionCodecFactory codecFactory;
+  // codec factory of the file being filled, when files are flushed in the background
+  private CompressionCodecFactory fileCodecFactory;
   private FileSystem fs;
   private Path path;
 
@@ -198,6 +206,15 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
   private final int parquetFileWriteTimeThresholdMilliSecs;
   private final double parquetFileWriteIoRateThresholdMbps;
 
+  private final boolean asyncFlush;
+  private Future<WrittenFile> pendingFlush;
+
+  private final List<String> bloomFilterColumns;
+  private final long bloomFilterMaxDistinctValues;
+  private final double bloomFilterFpp;
+  // collects the values of the bloom filter columns of the file being filled, null if there are none
+  private ParquetBloomFilters.Collector bloomFilterCollector;
+
   // metrics workspace variables
   int numFilesWritten = 0;
   long minFileSize = Long.MAX_VALUE;
@@ -264,6 +281,11 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
     minRecordsForFlush = context.getOptions().getOption(ExecConstants.PARQUET_MIN_RECORDS_FOR_FLUSH_VALIDATOR);
     parquetFileWriteTimeThresholdMilliSecs = (int)context.getOptions().getOption(ExecConstants.PARQUET_WRITE_TIME_THRESHOLD_MILLI_SECS_VALIDATOR);
     parquetFileWriteIoRateThresholdMbps = context.getOptions().getOption(ExecConstants.PARQUET_WRITE_IO_RATE_THRESHOLD_MBPS_VALIDATOR);
+    asyncFlush = context.getOptions().getOption(ExecConstants.PARQUET_WRITER_ASYNC_FLUSH);
+    bloomFilterColumns = config.bloomFilterColumns == null ? Collections.emptyList()
+        : Splitter.on(',').trimResults().omitEmptyStrings().splitToList(config.bloomFilterColumns);
+    bloomFilterMaxDistinctValues = context.getOptions().getOption(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_MAX_NDV);
+    bloomFilterFpp = context.getOptions().getOption(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_FPP);
   }
 
   @Override
@@ -362,11 +384,26 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
       .withEnableDictionarForBinaryType(enableDictionaryForBinary)
       .withPageRowCountLimit(Integer.MAX_VALUE) // Bug 16118
       .build();
+    CompressionCodecFactory storeCodecFactory = codecFactory;
+    if (asyncFlush) {
+      // compressors are not thread safe, give each file its own as its last pages are compressed in the background
+      if (fileCodecFactory != null) {
+        fileCodecFactory.release();
+      }
+      fileCodecFactory = CodecFactory.createDirectCodecFactory(new Configuration(),
+          new ParquetDirectByteBufferAllocator(codecAllocator), pageSize);
+      storeCodecFactory = fileCodecFactory;
+    }
     pageStore = ColumnChunkPageWriteStoreExposer.newColumnChunkPageWriteStore(
-        toDeprecatedBytesCompressor(codecFactory.getCompressor(codec)), schema, parquetProperties);
+        toDeprecatedBytesCompressor(storeCodecFactory.getCompressor(codec)), schema, parquetProperties);
     store = new ColumnWriteStoreV1(pageStore, parquetProperties);
     MessageColumnIO columnIO = new ColumnIOFactory(false).getColumnIO(this.schema);
     consumer = columnIO.getRecordWriter(store);
+    bloomFilterCollector = ParquetBloomFilters.Collector.create(consumer, schema, bloomFilterColumns,
+        bloomFilterMaxDistinctValues);
+    if (bloomFilterCollector != null) {
+      consumer = bloomFilterCollector;
+    }
     setUp(schema, consumer);
   }
 
@@ -580,33 +617,28 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
     }
 
     if (recordCount > 0) {
-      long writeFileStartTimeMillis = System.currentTimeMillis();
-      long memSize = store.getBufferedSize();
-      parquetFileWriter.startBlock(recordCount);
+      // keep a single file flushing in the background, so that at most two files are buffered in memory
+      completePendingFlush();
       consumer.flush();
-      store.flush();
-      ColumnChunkPageWriteStoreExposer.flushPageStore(pageStore, parquetFileWriter);
-      parquetFileWriter.endBlock();
-      long recordsWritten = recordCount;
-
-      long footerWriteAndFlushStartTimeMillis = System.currentTimeMillis();
-      // we are writing one single block per file
-      parquetFileWriter.end(extraMetaData);
-
-      long writeFileEndTimeMillis = System.currentTimeMillis();
-
-      logSlowIoWrite(writeFileStartTimeMillis, footerWriteAndFlushStartTimeMillis,  writeFileEndTimeMillis,
-        parquetFileWriter.getPos(), recordsWritten, path);
-
-      byte[] metadata = this.trackingConverter == null ? null : trackingConverter.getMetadata();
-      final long fileSize = parquetFileWriter.getPos();
-      listener.recordsWritten(recordsWritten, fileSize, path.toString(), metadata /** TODO: add parquet footer **/,
-        partition.getBucketNumber(), getIcebergMetaData());
+      final byte[] metadata = this.trackingConverter == null ? null : trackingConverter.getMetadata();
+      // copied, as the next file may change it
+      final Map<String, String> fileMetaData = new HashMap<>(extraMetaData);
+      if (bloomFilterCollector != null) {
+        fileMetaData.putAll(bloomFilterCollector.getBloomFilters(bloomFilterFpp));
+      }
+      final FileFlush flush = new FileFlush(parquetFileWriter, store, pageStore, fileCodecFactory, path, partition,
+          recordCount, metadata, fileMetaData);
       parquetFileWriter = null;
-
-      updateStats(memSize, recordCount);
-
+      store = null;
+      pageStore = null;
+      fileCodecFactory = null;
       recordCount = 0;
+
+      if (asyncFlush) {
+        pendingFlush = context.getExecutor().submit(flush::write);
+      } else {
+        fileWritten(flush.write());
+      }
     }
 
     if(store != null){
@@ -618,6 +650,128 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
     index++;
   }
 
+  /**
+   * Waits for the file flushing in the background, if any, and reports it.
+   */
+  private void completePendingFlush() throws IOException {
+    if (pendingFlush == null) {
+      return;
+    }
+
+    final WrittenFile file;
+    try {
+      // not interruptible, the flush must be done before its buffers are released
+      file = Uninterruptibles.getUninterruptibly(pendingFlush);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new RuntimeException(e.getCause());
+    } finally {
+      pendingFlush = null;
+    }
+    fileWritten(file);
+  }
+
+  private void fileWritten(WrittenFile file) {
+    listener.recordsWritten(file.recordCount, file.fileSize, file.path, file.metadata /** TODO: add parquet footer **/,
+      file.partitionNumber, file.icebergMetadata);
+    updateStats(file.memSize, file.recordCount);
+  }
+
+  /**
+   * Writes the row group buffered in a column store to its file, and closes the file.<br>
+   * Holds all the state of the file, so that the writer can fill the next file while this one is written in the
+   * background.
+   */
+  private final class FileFlush {
+    private final ParquetFileWriter fileWriter;
+    private final ColumnWriteStore store;
+    private final PageWriteStore pageStore;
+    // released once the file is written, null if the page store uses the codec factory of the writer
+    private final CompressionCodecFactory codecFactory;
+    private final Path path;
+    private final WritePartition partition;
+    private final long recordCount;
+    private final byte[] metadata;
+    private final Map<String, String> extraMetaData;
+
+    private FileFlush(ParquetFileWriter fileWriter, ColumnWriteStore store, PageWriteStore pageStore,
+                      CompressionCodecFactory codecFactory, Path path, WritePartition partition, long recordCount,
+                      byte[] metadata, Map<String, String> extraMetaData) {
+      this.fileWriter = fileWriter;
+      this.store = store;
+      this.pageStore = pageStore;
+      this.codecFactory = codecFactory;
+      this.path = path;
+      this.partition = partition;
+      this.recordCount = recordCount;
+      this.metadata = metadata;
+      this.extraMetaData = extraMetaData;
+    }
+
+    private WrittenFile write() throws IOException {
+      boolean written = false;
+      try {
+        long writeFileStartTimeMillis = System.currentTimeMillis();
+        long memSize = store.getBufferedSize();
+        fileWriter.startBlock(recordCount);
+        store.flush();
+        ColumnChunkPageWriteStoreExposer.flushPageStore(pageStore, fileWriter);
+        fileWriter.endBlock();
+
+        long footerWriteAndFlushStartTimeMillis = System.currentTimeMillis();
+        // we are writing one single block per file
+        fileWriter.end(extraMetaData);
+
+        long writeFileEndTimeMillis = System.currentTimeMillis();
+
+        final long fileSize = fileWriter.getPos();
+        logSlowIoWrite(writeFileStartTimeMillis, footerWriteAndFlushStartTimeMillis,  writeFileEndTimeMillis,
+          fileSize, recordCount, path);
+
+        final WrittenFile file = new WrittenFile(recordCount, fileSize, path.toString(), metadata,
+          partition.getBucketNumber(), getIcebergMetaData(fileWriter, path, partition, recordCount), memSize);
+        written = true;
+        return file;
+      } finally {
+        try {
+          if (written) {
+            store.close();
+          } else {
+            NoExceptionAutoCloseables.close(store, pageStore, fileWriter);
+          }
+        } finally {
+          if (codecFactory != null) {
+            codecFactory.release();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * File written by a {@link FileFlush}, reported to the listener by the writer's thread.
+   */
+  private static final class WrittenFile {
+    private final long recordCount;
+    private final long fileSize;
+    private final String path;
+    private final byte[] metadata;
+    private final Integer partitionNumber;
+    private final byte[] icebergMetadata;
+    private final long memSize;
+
+    private WrittenFile(long recordCount, long fileSize, String path, byte[] metadata, Integer partitionNumber,
+                        byte[] icebergMetadata, long memSize) {
+      this.recordCount = recordCount;
+      this.fileSize = fileSize;
+      this.path = path;
+      this.metadata = metadata;
+      this.partitionNumber = partitionNumber;
+      this.icebergMetadata = icebergMetadata;
+      this.memSize = memSize;
+    }
+  }
+
   private void logSlowIoWrite(long writeFileStartTimeMillis, long footerWriteAndFlushStartTimeMillis,
                              long writeFileEndTimeMillis, long size, long recordsWritten, Path path) {
 
@@ -636,7 +790,8 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
     }
   }
 
-  private byte[] getIcebergMetaData() throws IOException {
+  private byte[] getIcebergMetaData(ParquetFileWriter parquetFileWriter, Path path, WritePartition partition,
+                                    long recordCount) throws IOException {
     if (!this.isIcebergWriter) {
       return null;
     }
@@ -1079,6 +1234,7 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
   public void close() throws Exception {
     try {
       flushAndClose();
+      completePendingFlush();
       OperatorStats operatorStats = context.getStats();
       OperatorStats.IOStats ioStats = operatorStats.getWriteIOStats();
 
@@ -1095,6 +1251,14 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
           .build());
       }
     } finally {
+      try {
+        if (pendingFlush != null) {
+          // the flush closes its file and store even if it fails
+          Uninterruptibles.getUninterruptibly(pendingFlush);
+        }
+      } catch (ExecutionException e) {
+        logger.debug("Background flush of a parquet file failed", e.getCause());
+      }
       try {
         NoExceptionAutoCloseables.close(store, pageStore, parquetFileWriter);
       } finally {
@@ -1102,6 +1266,9 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
             @Override
             public void close() throws Exception {
               codecFactory.release();
+              if (fileCodecFactory != null) {
+                fileCodecFactory.release();
+              }
             }
           },
           codecAllocator, columnEncoderAllocator);
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.parquet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.dremio.connector.metadata.DatasetSplit;
+import com.dremio.connector.metadata.DatasetSplitAffinity;
+import com.dremio.connector.metadata.PartitionValue;
+import com.dremio.datastore.LegacyProtobufSerializer;
+import com.dremio.exec.physical.base.GroupScan;
+import com.dremio.exec.store.file.proto.FileProtobuf.FileSystemCachedEntity;
+import com.dremio.io.file.FileAttributes;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ColumnValueCount;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ParquetDatasetSplitXAttr;
+import com.dremio.service.namespace.MetadataProtoUtils;
+import com.dremio.service.namespace.PartitionChunkMetadata;
+import com.dremio.service.namespace.dataset.proto.PartitionProtobuf;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+/**
+ * Splits saved by the previous refresh of a parquet dataset for files that were not modified since.<br>
+ * A file is unchanged if it is still part of the selection with the same modification time (and length, when it was
+ * recorded). Its splits can then be saved again as is, without reading its footer.
+ */
+final class ReusableParquetSplits {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ReusableParquetSplits.class);
+
+  /**
+   * Split of an unchanged file.
+   */
+  static final class ReusedSplit {
+    private final List<PartitionValue> partitionValues;
+    private final DatasetSplit split;
+
+    private ReusedSplit(List<PartitionValue> partitionValues, DatasetSplit split) {
+      this.partitionValues = partitionValues;
+      this.split = split;
+    }
+
+    List<PartitionValue> getPartitionValues() {
+      return partitionValues;
+    }
+
+    DatasetSplit getSplit() {
+      return split;
+    }
+  }
+
+  private final List<String> partitionColumns;
+  private final Set<String> implicitColumns;
+  private final Map<String, List<ReusedSplit>> splitsByFile;
+  private final Map<String, Long> droppedColumnValueCounts;
+
+  private ReusableParquetSplits(List<String> partitionColumns, Set<String> implicitColumns,
+      Map<String, List<ReusedSplit>> splitsByFile, Map<String, Long> droppedColumnValueCounts) {
+    this.partitionColumns = partitionColumns;
+    this.implicitColumns = implicitColumns;
+    this.splitsByFile = splitsByFile;
+    this.droppedColumnValueCounts = droppedColumnValueCounts;
+  }
+
+  /**
+   * Finds the splits of unchanged files among the previous partition chunks of a dataset.
+   *
+   * @param previousChunks partition chunks saved by the previous refresh
+   * @param files          files currently in the selection
+   * @return reusable splits, or null if the previous chunks cannot be reused
+   */
+  static ReusableParquetSplits of(Iterable<PartitionChunkMetadata> previousChunks, Collection<FileAttributes> files) {
+    final Map<String, FileAttributes> filesByPath = new HashMap<>();
+    for (FileAttributes file : files) {
+      filesByPath.put(file.getPath().toString(), file);
+    }
+
+    List<String> partitionColumns = null;
+    final Set<String> implicitColumns = new LinkedHashSet<>();
+    final Map<String, List<ReusedSplit>> splitsByFile = new HashMap<>();
+    final Map<String, List<ParquetDatasetSplitXAttr>> reusedXAttrs = new HashMap<>();
+    final Set<String> changedFiles = new HashSet<>();
+    final Map<String, Long> droppedColumnValueCounts = new HashMap<>();
+
+    try {
+      for (PartitionChunkMetadata chunk : previousChunks) {
+        final List<PartitionValue> partitionValues = new ArrayList<>();
+        final List<String> visibleColumns = new ArrayList<>();
+        for (PartitionProtobuf.PartitionValue value : chunk.getPartitionValues()) {
+          final PartitionValue partitionValue = MetadataProtoUtils.fromProtobuf(value);
+          partitionValues.add(partitionValue);
+          if (partitionValue.getPartitionValueType() == PartitionValue.PartitionValueType.IMPLICIT) {
+            implicitColumns.add(partitionValue.getColumn());
+          } else {
+            visibleColumns.add(partitionValue.getColumn());
+          }
+        }
+
+        if (partitionColumns == null) {
+          partitionColumns = visibleColumns;
+        } else if (!partitionColumns.equals(visibleColumns)) {
+          logger.debug("Partition columns differ between partition chunks, splits are not reused");
+          return null;
+        }
+
+        final List<PartitionValue> chunkValues = ImmutableList.copyOf(partitionValues);
+        for (PartitionProtobuf.DatasetSplit split : chunk.getDatasetSplits()) {
+          final ParquetDatasetSplitXAttr xattr = LegacyProtobufSerializer.parseFrom(ParquetDatasetSplitXAttr.PARSER,
+              split.getSplitExtendedProperty());
+          final String path = xattr.getPath();
+
+          // record counts are only saved per split by newer versions
+          final boolean hasRecordCount = split.hasRecordCount() || chunk.getSplitCount() == 1;
+          if (!hasRecordCount || !isUnchanged(xattr.getUpdateKey(), filesByPath.get(path))) {
+            changedFiles.add(path);
+            addColumnValueCounts(droppedColumnValueCounts, xattr);
+            continue;
+          }
+
+          final long recordCount = split.hasRecordCount() ? split.getRecordCount() : chunk.getRowCount();
+          final List<DatasetSplitAffinity> affinities = split.getAffinitiesList().stream()
+              .map(a -> DatasetSplitAffinity.of(a.getHost(), a.getFactor()))
+              .collect(Collectors.toList());
+          final com.google.protobuf.ByteString extendedProperty = split.getSplitExtendedProperty();
+          splitsByFile.computeIfAbsent(path, p -> new ArrayList<>())
+              .add(new ReusedSplit(chunkValues, DatasetSplit.of(affinities, split.getSize(), recordCount, extendedProperty::writeTo)));
+          reusedXAttrs.computeIfAbsent(path, p -> new ArrayList<>()).add(xattr);
+        }
+      }
+    } catch (InvalidProtocolBufferException e) {
+      logger.debug("Unable to read previous splits, splits are not reused", e);
+      return null;
+    }
+
+    // a file is only reused if none of its splits changed
+    for (String path : changedFiles) {
+      if (splitsByFile.remove(path) != null) {
+        for (ParquetDatasetSplitXAttr xattr : reusedXAttrs.get(path)) {
+          addColumnValueCounts(droppedColumnValueCounts, xattr);
+        }
+      }
+    }
+
+    if (splitsByFile.isEmpty()) {
+      return null;
+    }
+    return new ReusableParquetSplits(partitionColumns, implicitColumns, splitsByFile, droppedColumnValueCounts);
+  }
+
+  private static boolean isUnchanged(FileSystemCachedEntity previous, FileAttributes current) {
+    if (current == null || previous.getLastModificationTime() == 0) {
+      // file was deleted, or the file system does not report modification times
+      return false;
+    }
+    return previous.getLastModificationTime() == current.lastModifiedTime().toMillis() &&
+        (!previous.hasLength() || previous.getLength() == current.size());
+  }
+
+  private static void addColumnValueCounts(Map<String, Long> counts, ParquetDatasetSplitXAttr xattr) {
+    for (ColumnValueCount count : xattr.getColumnValueCountsList()) {
+      counts.merge(count.getColumn(), count.getCount(), Long::sum);
+    }
+  }
+
+  /**
+   * Visible partition columns of the previous chunks, in order.
+   */
+  List<String> getPartitionColumns() {
+    return partitionColumns;
+  }
+
+  /**
+   * Implicit partition columns of the previous chunks.
+   */
+  Set<String> getImplicitColumns() {
+    return Collections.unmodifiableSet(implicitColumns);
+  }
+
+  boolean isReused(FileAttributes file) {
+    return splitsByFile.containsKey(file.getPath().toString());
+  }
+
+  Iterable<ReusedSplit> getSplits() {
+    return () -> splitsByFile.values().stream().flatMap(List::stream).iterator();
+  }
+
+  /**
+   * Computes the dataset column value counts from the ones of the previous refresh, by removing the counts of the
+   * files that changed or were deleted.<br>
+   * Counts that were unknown stay unknown, even if the files without stats were removed.
+   */
+  Map<String, Long> getColumnValueCounts(List<ColumnValueCount> previousCounts) {
+    final Map<String, Long> counts = new HashMap<>();
+    for (ColumnValueCount count : previousCounts) {
+      final long value = count.getCount() == GroupScan.NO_COLUMN_STATS
+          ? GroupScan.NO_COLUMN_STATS
+          : count.getCount() - droppedColumnValueCounts.getOrDefault(count.getColumn(), 0L);
+      counts.put(count.getColumn(), value);
+    }
+    return counts;
+  }
+}
@@ -776,6 +776,11 @@ public class UnifiedParquetReader implements RecordReader {
   }
 
   private ExecutionPath getExecutionPath() {
+    if (context.getOptions().getOption(ExecConstants.PARQUET_READER_BLOOM_FILTER_PRUNING)
+        && ParquetBloomFilters.excludes(footer.getFileMetaData(), filterConditions)) {
+      context.getStats().addLongStat(Metric.NUM_ROW_GROUPS_PRUNED, 1);
+      return ExecutionPath.SKIP_ALL;
+    }
     if ((globalDictionaryFieldInfoMap != null && !globalDictionaryFieldInfoMap.isEmpty())) {
       return ExecutionPath.DEPRECATED_VECTORIZED;
     }
@@ -44,6 +44,8 @@ import com.dremio.exec.work.CacheManagerFilesInfo;
 import com.dremio.exec.work.CacheManagerMountPointInfo;
 import com.dremio.exec.work.CacheManagerStoragePluginInfo;
 import com.dremio.exec.work.WorkStats.FragmentInfo;
+import com.dremio.exec.work.WorkStats.OperatorMemoryInfo;
+import com.dremio.exec.work.WorkStats.OperatorTimelineInfo;
 import com.dremio.exec.work.WorkStats.SlicingThreadInfo;
 import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.sabot.task.TaskPool;
@@ -110,6 +112,20 @@ public enum SystemTable implements DatasetHandle, DatasetMetadata, PartitionChun
     }
   },
 
+  OPERATOR_MEMORY(true, OperatorMemoryInfo.class, "operator_memory") {
+    @Override
+    public Iterator<?> getIterator(final SabotContext sContext, final OperatorContext context) {
+      return sContext.getWorkStatsProvider().get().getOperatorMemory();
+    }
+  },
+
+  OPERATOR_TIMELINES(true, OperatorTimelineInfo.class, "operator_timelines") {
+    @Override
+    public Iterator<?> getIterator(final SabotContext sContext, final OperatorContext context) {
+      return sContext.getWorkStatsProvider().get().getOperatorTimelines();
+    }
+  },
+
   REFLECTIONS(false, ReflectionInfo.class, "reflections") {
     @Override
     public Iterator<?> getIterator(final SabotContext sContext, final OperatorContext context) {
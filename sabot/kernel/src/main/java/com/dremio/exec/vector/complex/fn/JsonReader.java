@@ -18,12 +18,18 @@ package com.dremio.exec.vector.complex.fn;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.vector.complex.writer.BaseWriter;
 import org.apache.arrow.vector.complex.writer.BaseWriter.ComplexWriter;
 import org.apache.arrow.vector.complex.writer.BaseWriter.ListWriter;
+import org.apache.arrow.vector.complex.writer.BigIntWriter;
+import org.apache.arrow.vector.complex.writer.BitWriter;
+import org.apache.arrow.vector.complex.writer.Float8Writer;
+import org.apache.arrow.vector.complex.writer.VarCharWriter;
 
 import com.dremio.common.exceptions.FieldSizeLimitExceptionHelper;
 import com.dremio.common.exceptions.UserException;
@@ -74,6 +80,13 @@ public class JsonReader extends BaseJsonProcessor {
 
   private FieldSelection selection;
 
+  /**
+   * Selections and writers of the top level fields, by name. Records of a file usually have the same top level fields
+   * with the same types, so they are looked up once per field instead of once per record.
+   */
+  private final Map<String, RootField> rootFields = new HashMap<>();
+  private BaseWriter.StructWriter rootWriter;
+
   public JsonReader(ArrowBuf managedBuf, int maxFieldSize, int maxLeafLimit, boolean allTextMode, boolean skipOuterList, boolean readNumbersAsDouble) {
     this(managedBuf, GroupScan.ALL_COLUMNS, maxFieldSize, maxLeafLimit, allTextMode, skipOuterList, readNumbersAsDouble);
   }
@@ -293,6 +306,10 @@ public class JsonReader extends BaseJsonProcessor {
   }
 
   private void writeDataSwitch(BaseWriter.StructWriter w) throws IOException {
+    if (w != rootWriter) {
+      rootWriter = w;
+      rootFields.clear();
+    }
     if (this.allTextMode) {
       writeStructDataAllText(w, this.selection, true);
     } else {
@@ -353,7 +370,8 @@ public class JsonReader extends BaseJsonProcessor {
 
         final String fieldName = parser.getText();
         this.currentFieldName = fieldName;
-        FieldSelection childSelection = selection.getChild(fieldName);
+        final RootField rootField = map == rootWriter ? getRootField(fieldName, selection) : null;
+        FieldSelection childSelection = rootField != null ? rootField.selection : selection.getChild(fieldName);
         if (childSelection.isNeverValid()) {
           consumeEntireNextValue();
           continue outside;
@@ -373,12 +391,12 @@ public class JsonReader extends BaseJsonProcessor {
 
         case VALUE_FALSE: {
           incrementLeafCount();
-          map.bit(fieldName).writeBit(0);
+          bit(map, fieldName, rootField).writeBit(0);
           break;
         }
         case VALUE_TRUE: {
           incrementLeafCount();
-          map.bit(fieldName).writeBit(1);
+          bit(map, fieldName, rootField).writeBit(1);
           break;
         }
         case VALUE_NULL:
@@ -386,20 +404,20 @@ public class JsonReader extends BaseJsonProcessor {
           break;
         case VALUE_NUMBER_FLOAT: {
           incrementLeafCount();
-          map.float8(fieldName).writeFloat8(parser.getDoubleValue());
+          float8(map, fieldName, rootField).writeFloat8(parser.getDoubleValue());
           break;
         }
         case VALUE_NUMBER_INT: {
           incrementLeafCount();
           if (this.readNumbersAsDouble) {
-            map.float8(fieldName).writeFloat8(parser.getDoubleValue());
+            float8(map, fieldName, rootField).writeFloat8(parser.getDoubleValue());
           } else {
-            map.bigInt(fieldName).writeBigInt(parser.getLongValue());
+            bigInt(map, fieldName, rootField).writeBigInt(parser.getLongValue());
           }
           break;
         }
         case VALUE_STRING: {
-          handleString(parser, map, fieldName);
+          handleString(parser, map, fieldName, rootField);
           break;
         }
 
@@ -439,7 +457,8 @@ public class JsonReader extends BaseJsonProcessor {
 
         final String fieldName = parser.getText();
         this.currentFieldName = fieldName;
-        FieldSelection childSelection = selection.getChild(fieldName);
+        final RootField rootField = map == rootWriter ? getRootField(fieldName, selection) : null;
+        FieldSelection childSelection = rootField != null ? rootField.selection : selection.getChild(fieldName);
         if (childSelection.isNeverValid()) {
           consumeEntireNextValue();
           continue outside;
@@ -463,7 +482,7 @@ public class JsonReader extends BaseJsonProcessor {
         case VALUE_NUMBER_FLOAT:
         case VALUE_NUMBER_INT:
         case VALUE_STRING:
-          handleString(parser, map, fieldName);
+          handleString(parser, map, fieldName, rootField);
           break;
         case VALUE_NULL:
           // do nothing as we don't have a type.
@@ -513,17 +532,17 @@ public class JsonReader extends BaseJsonProcessor {
     }
   }
 
-  private void handleString(JsonParser parser, BaseWriter.StructWriter writer, String fieldName) throws IOException {
+  private void handleString(JsonParser parser, BaseWriter.StructWriter writer, String fieldName, RootField rootField) throws IOException {
     incrementLeafCount();
-    final int size = workingBuffer.prepareVarCharHolder(parser.getText());
+    final int size = prepareVarChar(parser);
     FieldSizeLimitExceptionHelper.checkSizeLimit(size, maxFieldSize, currentFieldName, logger);
-    writer.varChar(fieldName).writeVarChar(0, size, workingBuffer.getBuf());
+    varChar(writer, fieldName, rootField).writeVarChar(0, size, workingBuffer.getBuf());
     dataSizeReadSoFar += size;
   }
 
   private void handleString(JsonParser parser, ListWriter writer) throws IOException {
     incrementLeafCount();
-    final int size = workingBuffer.prepareVarCharHolder(parser.getText());
+    final int size = prepareVarChar(parser);
     FieldSizeLimitExceptionHelper.checkSizeLimit(size, maxFieldSize, currentFieldName, logger);
     writer.varChar().writeVarChar(0, size, workingBuffer.getBuf());
     dataSizeReadSoFar += size;
@@ -651,6 +670,81 @@ public class JsonReader extends BaseJsonProcessor {
     list.endList();
   }
 
+  /**
+   * Copies the text of the current token to the working buffer, reading the characters of the parser when it has them.
+   */
+  private int prepareVarChar(JsonParser parser) throws IOException {
+    if (parser.hasTextCharacters()) {
+      return workingBuffer.prepareVarCharHolder(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+    return workingBuffer.prepareVarCharHolder(parser.getText());
+  }
+
+  private RootField getRootField(String fieldName, FieldSelection selection) {
+    RootField field = rootFields.get(fieldName);
+    if (field == null) {
+      field = new RootField(selection.getChild(fieldName));
+      rootFields.put(fieldName, field);
+    }
+    return field;
+  }
+
+  private static BitWriter bit(BaseWriter.StructWriter map, String fieldName, RootField rootField) {
+    if (rootField == null) {
+      return map.bit(fieldName);
+    }
+    if (rootField.bit == null) {
+      rootField.bit = map.bit(fieldName);
+    }
+    return rootField.bit;
+  }
+
+  private static BigIntWriter bigInt(BaseWriter.StructWriter map, String fieldName, RootField rootField) {
+    if (rootField == null) {
+      return map.bigInt(fieldName);
+    }
+    if (rootField.bigInt == null) {
+      rootField.bigInt = map.bigInt(fieldName);
+    }
+    return rootField.bigInt;
+  }
+
+  private static Float8Writer float8(BaseWriter.StructWriter map, String fieldName, RootField rootField) {
+    if (rootField == null) {
+      return map.float8(fieldName);
+    }
+    if (rootField.float8 == null) {
+      rootField.float8 = map.float8(fieldName);
+    }
+    return rootField.float8;
+  }
+
+  private static VarCharWriter varChar(BaseWriter.StructWriter map, String fieldName, RootField rootField) {
+    if (rootField == null) {
+      return map.varChar(fieldName);
+    }
+    if (rootField.varChar == null) {
+      rootField.varChar = map.varChar(fieldName);
+    }
+    return rootField.varChar;
+  }
+
+  /**
+   * Selection and writers of a top level field. The writers of a field are promotable, so a writer keeps working when
+   * the field later changes type.
+   */
+  private static final class RootField {
+    private final FieldSelection selection;
+    private BitWriter bit;
+    private BigIntWriter bigInt;
+    private Float8Writer float8;
+    private VarCharWriter varChar;
+
+    private RootField(FieldSelection selection) {
+      this.selection = selection;
+    }
+  }
+
   /**
    * Increment the current leaf count and throw ColumnCountTooLargeException if the max limit is exceeded.
    */
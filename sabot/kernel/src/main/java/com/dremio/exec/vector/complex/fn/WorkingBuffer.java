@@ -58,6 +58,22 @@ public class WorkingBuffer {
     return b.length;
   }
 
+  /**
+   * Encodes characters into the buffer as UTF-8, without creating a string when they are all ASCII.
+   * @return the number of bytes written
+   */
+  public int prepareVarCharHolder(char[] chars, int offset, int length) throws IOException {
+    ensure(length);
+    for (int i = 0; i < length; i++) {
+      final char c = chars[offset + i];
+      if (c >= 0x80) {
+        return prepareVarCharHolder(new String(chars, offset, length));
+      }
+      workBuf.setByte(i, c);
+    }
+    return length;
+  }
+
   public void prepareBinary(byte[] b, VarBinaryHolder h) throws IOException {
     ensure(b.length);
     workBuf.setBytes(0, b);
@@ -27,6 +27,20 @@ public interface WorkStats {
 
   Iterator<FragmentInfo> getRunningFragments();
 
+  /**
+   * @return the intervals of the timelines of the operators of the running fragments, if recorded
+   */
+  default Iterator<OperatorTimelineInfo> getOperatorTimelines() {
+    return Collections.emptyIterator();
+  }
+
+  /**
+   * @return the memory used by the operators of the running fragments
+   */
+  default Iterator<OperatorMemoryInfo> getOperatorMemory() {
+    return Collections.emptyIterator();
+  }
+
   default Iterable<TaskPool.ThreadInfo> getSlicingThreads() {
     return Collections.emptyList();
   }
@@ -124,6 +138,78 @@ public interface WorkStats {
     }
   }
 
+  /**
+   * sys.operator_timelines entry, one per interval of the timeline of an operator
+   */
+  class OperatorTimelineInfo {
+    public final String hostname;
+    public final String queryId;
+    public final int majorFragmentId;
+    public final int minorFragmentId;
+    public final int operatorId;
+    public final String operatorType;
+    public final Timestamp intervalStart;
+    public final long intervalMillis;
+    public final long processingNanos;
+    public final long waitNanos;
+    public final long memoryAllocated;
+
+    public OperatorTimelineInfo(String hostname, String queryId, int majorFragmentId, int minorFragmentId,
+                                int operatorId, String operatorType, Timestamp intervalStart, long intervalMillis,
+                                long processingNanos, long waitNanos, long memoryAllocated) {
+      this.hostname = hostname;
+      this.queryId = queryId;
+      this.majorFragmentId = majorFragmentId;
+      this.minorFragmentId = minorFragmentId;
+      this.operatorId = operatorId;
+      this.operatorType = operatorType;
+      this.intervalStart = intervalStart;
+      this.intervalMillis = intervalMillis;
+      this.processingNanos = processingNanos;
+      this.waitNanos = waitNanos;
+      this.memoryAllocated = memoryAllocated;
+    }
+  }
+
+  /**
+   * sys.operator_memory entry
+   */
+  class OperatorMemoryInfo {
+    public final String hostname;
+    public final String queryId;
+    public final int majorFragmentId;
+    public final int minorFragmentId;
+    public final int operatorId;
+    public final String operatorType;
+    public final long allocatedMemory;
+    public final long peakMemory;
+    public final long memoryLimit;
+    /**
+     * Bytes spilled by the operator, as of the last fragment status, if it spills
+     */
+    public final Long spilledBytes;
+    /**
+     * Entries of the hash table of the operator, as of the last fragment status, if it has one
+     */
+    public final Long hashTableEntries;
+
+    public OperatorMemoryInfo(String hostname, String queryId, int majorFragmentId, int minorFragmentId,
+                              int operatorId, String operatorType, long allocatedMemory, long peakMemory,
+                              long memoryLimit, Long spilledBytes, Long hashTableEntries) {
+      this.hostname = hostname;
+      this.queryId = queryId;
+      this.majorFragmentId = majorFragmentId;
+      this.minorFragmentId = minorFragmentId;
+      this.operatorId = operatorId;
+      this.operatorType = operatorType;
+      this.allocatedMemory = allocatedMemory;
+      this.peakMemory = peakMemory;
+      this.memoryLimit = memoryLimit;
+      this.spilledBytes = spilledBytes;
+      this.hashTableEntries = hashTableEntries;
+    }
+  }
+
   WorkStats NO_OP = new WorkStats(){
 
     @Override
@@ -34,6 +34,7 @@ import com.dremio.exec.planner.sql.handlers.commands.AsyncCommand;
 import com.dremio.exec.planner.sql.handlers.commands.CommandCreator;
 import com.dremio.exec.planner.sql.handlers.commands.CommandRunner;
 import com.dremio.exec.planner.sql.handlers.commands.CommandRunner.CommandType;
+import com.dremio.exec.planner.sql.handlers.commands.PlanCache;
 import com.dremio.exec.planner.sql.handlers.commands.PreparedPlan;
 import com.dremio.exec.proto.CoordExecRPC.RpcType;
 import com.dremio.exec.proto.GeneralRPCProtos.Ack;
@@ -138,6 +139,7 @@ public class AttemptManager implements Runnable {
   private final SabotContext sabotContext;
   private final MaestroService maestroService;
   private final Cache<Long, PreparedPlan> plans;
+  private final PlanCache planCache;
   private volatile QueryState state;
   private volatile boolean clientCancelled;
 
@@ -169,6 +171,7 @@ public class AttemptManager implements Runnable {
       final AttemptObserver observer,
       final OptionProvider options,
       final Cache<Long, PreparedPlan> plans,
+      final PlanCache planCache,
       final QueryContext queryContext,
       final CommandPool commandPool,
       final MaestroService maestroService,
@@ -181,6 +184,7 @@ public class AttemptManager implements Runnable {
     this.queryIdString = QueryIdHelper.getQueryId(queryId);
     this.queryRequest = queryRequest;
     this.plans = plans;
+    this.planCache = planCache;
     this.queryContext = queryContext;
     this.commandPool = commandPool;
     this.maestroService = maestroService;
@@ -465,7 +469,7 @@ public class AttemptManager implements Runnable {
 
   protected CommandCreator newCommandCreator(QueryContext queryContext, AttemptObserver observer, Pointer<QueryId> prepareId) {
     return new CommandCreator(this.sabotContext, queryContext, queryRequest,
-      observer, plans, prepareId, attemptId.getAttemptNum());
+      observer, plans, planCache, prepareId, attemptId.getAttemptNum());
   }
 
   /**
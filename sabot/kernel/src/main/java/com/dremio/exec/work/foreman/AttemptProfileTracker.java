@@ -226,6 +226,11 @@ class AttemptProfileTracker {
       if (serializedPlan != null) {
         builder.setSerializedPlan(ByteString.copyFrom(serializedPlan));
       }
+
+      final UserBitShared.PlanCacheProfile planCacheProfile = capturer.getPlanCacheProfile();
+      if (planCacheProfile != null) {
+        builder.setPlanCacheProfile(planCacheProfile);
+      }
     }
 
     // get stats from schema tree provider
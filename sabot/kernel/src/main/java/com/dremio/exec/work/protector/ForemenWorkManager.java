@@ -43,6 +43,7 @@ import com.dremio.exec.maestro.MaestroForwarder;
 import com.dremio.exec.maestro.MaestroService;
 import com.dremio.exec.planner.observer.OutOfBandQueryObserver;
 import com.dremio.exec.planner.observer.QueryObserver;
+import com.dremio.exec.planner.sql.handlers.commands.PlanCache;
 import com.dremio.exec.planner.sql.handlers.commands.PreparedPlan;
 import com.dremio.exec.proto.GeneralRPCProtos.Ack;
 import com.dremio.exec.proto.UserBitShared.ExternalId;
@@ -100,6 +101,8 @@ public class ForemenWorkManager implements Service, SafeExit {
   // Not making this a system/session option as we initialize this in the beginning of the node start and
   // changing system/session option is not going to have any effect.
   private static final String PREPARE_HANDLE_TIMEOUT_MS = "dremio.prepare.handle.timeout_ms";
+  private static final String PLAN_CACHE_SIZE = "dremio.plan_cache.size";
+  private static final String PLAN_CACHE_TIMEOUT_MS = "dremio.plan_cache.timeout_ms";
 
   // send profile updates to the job-telemetry-service for all active queries at this
   // interval.
@@ -114,6 +117,12 @@ public class ForemenWorkManager implements Service, SafeExit {
           .expireAfterWrite(Long.getLong(PREPARE_HANDLE_TIMEOUT_MS, 60_000L), TimeUnit.MILLISECONDS)
           .build();
 
+  // cache of query plans shared by all sessions, see PlannerSettings.PLAN_CACHE_ENABLED. Entries expire so that
+  // changes not tracked by dataset versions, like permission changes, are eventually picked up.
+  private final PlanCache planCache = new PlanCache(
+          Long.getLong(PLAN_CACHE_SIZE, 1000L),
+          Long.getLong(PLAN_CACHE_TIMEOUT_MS, 300_000L));
+
   // single map of currently running queries, mapped by their external ids.
   private final ConcurrentMap<ExternalId, ManagedForeman> externalIdToForeman = Maps.newConcurrentMap();
   private final Provider<SabotContext> dbContext;
@@ -221,7 +230,7 @@ public class ForemenWorkManager implements Service, SafeExit {
 
     final DelegatingCompletionListener delegate = new DelegatingCompletionListener();
     final Foreman foreman = newForeman(pool, commandPool.get(), delegate, externalId, observer, session, request,
-            config, attemptHandler, preparedHandles);
+            config, attemptHandler, preparedHandles, planCache);
     final ManagedForeman managed = new ManagedForeman(registry, foreman);
     externalIdToForeman.put(foreman.getExternalId(), managed);
     delegate.setListener(managed);
@@ -230,9 +239,9 @@ public class ForemenWorkManager implements Service, SafeExit {
 
   protected Foreman newForeman(Executor executor, CommandPool commandPool, CompletionListener listener, ExternalId externalId,
                                QueryObserver observer, UserSession session, UserRequest request, OptionProvider config,
-                               ReAttemptHandler attemptHandler, Cache<Long, PreparedPlan> plans) {
+                               ReAttemptHandler attemptHandler, Cache<Long, PreparedPlan> plans, PlanCache planCache) {
     return new Foreman(dbContext.get(), executor, commandPool, listener, externalId, observer, session, request, config,
-            attemptHandler, plans, maestroService.get(), jobTelemetryClient.get());
+            attemptHandler, plans, planCache, maestroService.get(), jobTelemetryClient.get());
   }
 
   /**
@@ -16,7 +16,11 @@
 package com.dremio.sabot.exec;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -30,11 +34,15 @@ import com.dremio.common.AutoCloseables;
 import com.dremio.common.concurrent.ExtendedLatch;
 import com.dremio.common.utils.protos.QueryIdHelper;
 import com.dremio.exec.ExecConstants;
+import com.dremio.exec.ops.OperatorMetricRegistry;
 import com.dremio.exec.proto.CoordExecRPC.FragmentStatus;
 import com.dremio.exec.proto.CoordinationProtos.NodeEndpoint;
 import com.dremio.exec.proto.ExecProtos;
+import com.dremio.exec.proto.UserBitShared.CoreOperatorType;
+import com.dremio.exec.proto.UserBitShared.MetricValue;
 import com.dremio.exec.proto.UserBitShared.MinorFragmentProfile;
 import com.dremio.exec.proto.UserBitShared.OperatorProfile;
+import com.dremio.exec.proto.UserBitShared.OperatorTimeline;
 import com.dremio.exec.proto.UserBitShared.StreamProfile;
 import com.dremio.exec.server.BootStrapContext;
 import com.dremio.exec.server.SabotContext;
@@ -43,6 +51,7 @@ import com.dremio.exec.service.executor.ExecutorServiceImpl;
 import com.dremio.exec.store.CatalogService;
 import com.dremio.exec.work.SafeExit;
 import com.dremio.exec.work.WorkStats;
+import com.dremio.exec.work.WorkStats.OperatorMemoryInfo;
 import com.dremio.options.OptionManager;
 import com.dremio.resource.GroupResourceInformation;
 import com.dremio.sabot.exec.context.ContextInformationFactory;
@@ -60,6 +69,7 @@ import com.dremio.service.users.SystemUser;
 import com.dremio.services.fabric.api.FabricRunnerFactory;
 import com.dremio.services.fabric.api.FabricService;
 import com.dremio.telemetry.api.metrics.Metrics;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
@@ -71,6 +81,10 @@ import com.google.common.collect.Sets;
 public class FragmentWorkManager implements Service, SafeExit {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(FragmentWorkManager.class);
 
+  // operator metrics reported in sys.operator_memory
+  private static final String SPILLED_BYTES_METRIC = "TOTAL_SPILLED_DATA_SIZE";
+  private static final String[] HASH_TABLE_ENTRIES_METRICS = {"NUM_ENTRIES", "MAX_HASHTABLE_ENTRIES"};
+
   private final BootStrapContext context;
   private final Provider<NodeEndpoint> identity;
   private final Provider<SabotContext> dbContext;
@@ -247,6 +261,57 @@ public class FragmentWorkManager implements Service, SafeExit {
       return Iterators.transform(fragmentExecutors.iterator(), new FragmentInfoTransformer());
     }
 
+    @Override
+    public Iterator<OperatorTimelineInfo> getOperatorTimelines() {
+      final String hostname = dbContext.get().getEndpoint().getAddress();
+      final List<OperatorTimelineInfo> intervals = new ArrayList<>();
+      for (FragmentExecutor fragmentExecutor : fragmentExecutors) {
+        final FragmentStatus status = fragmentExecutor.getStatus();
+        if (status == null) {
+          continue;
+        }
+        final ExecProtos.FragmentHandle handle = fragmentExecutor.getHandle();
+        final String queryId = QueryIdHelper.getQueryId(handle.getQueryId());
+        for (OperatorProfile operatorProfile : status.getProfile().getOperatorProfileList()) {
+          if (!operatorProfile.hasTimeline()) {
+            continue;
+          }
+          final OperatorTimeline timeline = operatorProfile.getTimeline();
+          final CoreOperatorType type = CoreOperatorType.valueOf(operatorProfile.getOperatorType());
+          final int intervalCount = Math.min(timeline.getProcessingNanosCount(),
+            Math.min(timeline.getWaitNanosCount(), timeline.getMemoryAllocatedCount()));
+          for (int i = 0; i < intervalCount; i++) {
+            intervals.add(new OperatorTimelineInfo(hostname, queryId,
+              handle.getMajorFragmentId(),
+              handle.getMinorFragmentId(),
+              operatorProfile.getOperatorId(),
+              type == null ? String.valueOf(operatorProfile.getOperatorType()) : type.name(),
+              new Timestamp(timeline.getStartTime() + i * timeline.getIntervalMillis()),
+              timeline.getIntervalMillis(),
+              timeline.getProcessingNanos(i),
+              timeline.getWaitNanos(i),
+              timeline.getMemoryAllocated(i)));
+          }
+        }
+      }
+      return intervals.iterator();
+    }
+
+    @Override
+    public Iterator<OperatorMemoryInfo> getOperatorMemory() {
+      final String hostname = dbContext.get().getEndpoint().getAddress();
+      final List<OperatorMemoryInfo> operators = new ArrayList<>();
+      for (FragmentExecutor fragmentExecutor : fragmentExecutors) {
+        final Map<Integer, BufferAllocator> allocators = fragmentExecutor.getOperatorAllocators();
+        if (allocators.isEmpty()) {
+          continue;
+        }
+        operators.addAll(getOperatorMemory(hostname, fragmentExecutor.getHandle(), allocators,
+          fragmentExecutor.getStatus()));
+      }
+      return operators.iterator();
+    }
+
     @Override
     public Integer getCpuTrailingAverage(long id, int seconds) {
       return statsCollectorThread.getCpuTrailingAverage(id, seconds);
@@ -335,7 +400,8 @@ public class FragmentWorkManager implements Service, SafeExit {
         bitContext.getCompiler(),
         ClusterCoordinator.Role.fromEndpointRoles(identity.get().getRoles()),
         jobResultsClientFactoryProvider,
-        identity);
+        identity,
+        new MemoryArbiter(context.getAllocator(), bitContext.getOptionManager()));
 
     executorService = new ExecutorServiceImpl(fragmentExecutors,
             bitContext, builder);
@@ -364,6 +430,62 @@ public class FragmentWorkManager implements Service, SafeExit {
     Metrics.newGauge(Metrics.join(prefix, "bit.data.peak"), allocator::getPeakMemoryAllocation);
   }
 
+  /**
+   * Builds the sys.operator_memory rows of a fragment.
+   *
+   * @param allocators allocators of the operators of the fragment, keyed by operator id
+   * @param status last status of the fragment, if any, for the operator types and metrics
+   */
+  @VisibleForTesting
+  static List<OperatorMemoryInfo> getOperatorMemory(String hostname, ExecProtos.FragmentHandle handle,
+                                                    Map<Integer, BufferAllocator> allocators, FragmentStatus status) {
+    final Map<Integer, OperatorProfile> profiles = new HashMap<>();
+    if (status != null) {
+      for (OperatorProfile operatorProfile : status.getProfile().getOperatorProfileList()) {
+        profiles.put(operatorProfile.getOperatorId(), operatorProfile);
+      }
+    }
+
+    final String queryId = QueryIdHelper.getQueryId(handle.getQueryId());
+    final List<OperatorMemoryInfo> operators = new ArrayList<>();
+    for (Map.Entry<Integer, BufferAllocator> entry : allocators.entrySet()) {
+      final OperatorProfile operatorProfile = profiles.get(entry.getKey());
+      final CoreOperatorType type = operatorProfile == null
+        ? null : CoreOperatorType.valueOf(operatorProfile.getOperatorType());
+      final BufferAllocator operatorAllocator = entry.getValue();
+      operators.add(new OperatorMemoryInfo(hostname, queryId,
+        handle.getMajorFragmentId(),
+        handle.getMinorFragmentId(),
+        entry.getKey(),
+        type == null ? null : type.name(),
+        operatorAllocator.getAllocatedMemory(),
+        operatorAllocator.getPeakMemoryAllocation(),
+        operatorAllocator.getLimit(),
+        getMetric(operatorProfile, SPILLED_BYTES_METRIC),
+        getMetric(operatorProfile, HASH_TABLE_ENTRIES_METRICS)));
+    }
+    return operators;
+  }
+
+  /**
+   * @return the value of the first of the given metrics reported by the operator, or null if it reports none
+   */
+  private static Long getMetric(OperatorProfile operatorProfile, String... metricNames) {
+    if (operatorProfile == null) {
+      return null;
+    }
+    final String[] names = OperatorMetricRegistry.getMetricNames(operatorProfile.getOperatorType());
+    for (String metricName : metricNames) {
+      for (MetricValue metric : operatorProfile.getMetricList()) {
+        if (metric.hasLongValue() && metric.getMetricId() < names.length
+          && metricName.equals(names[metric.getMetricId()])) {
+          return metric.getLongValue();
+        }
+      }
+    }
+    return null;
+  }
+
   public class ExecConnectionCreator {
     private final FabricRunnerFactory factory;
 
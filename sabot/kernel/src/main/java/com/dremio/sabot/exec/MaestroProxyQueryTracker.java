@@ -17,6 +17,7 @@ package com.dremio.sabot.exec;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -47,7 +48,10 @@ import com.dremio.service.coordinator.NodeStatusListener;
 import com.dremio.service.jobtelemetry.client.JobTelemetryExecutorClient;
 import com.dremio.service.maestroservice.MaestroClient;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.Empty;
 
 import io.grpc.stub.StreamObserver;
@@ -67,6 +71,8 @@ class MaestroProxyQueryTracker implements QueryTracker {
   private final ScheduledThreadPoolExecutor retryExecutor;
   private final ClusterCoordinator clusterCoordinator;
   private final Map<FragmentHandle, FragmentStatus> lastFragmentStatuses = new HashMap<>();
+  // fragments whose status changed since the last profile sent
+  private final Set<FragmentHandle> changedFragments = new HashSet<>();
   private final ForemanDeathListener foremanDeathListener = new ForemanDeathListener();
 
   private State state = State.INVALID;
@@ -82,6 +88,8 @@ class MaestroProxyQueryTracker implements QueryTracker {
   private volatile boolean foremanDead;
   private AtomicInteger pendingMessages = new AtomicInteger(0);
   private Set<FragmentHandle> pendingFragments = null;
+  // send all the fragment statuses, instead of the changed ones, in the next profile
+  private boolean sendFullProfile = true;
 
   /**
    * Initialize with the set of fragment handles for the query before
@@ -182,8 +190,13 @@ class MaestroProxyQueryTracker implements QueryTracker {
 
     FragmentStatus fragmentStatusToSave = clearProfileError(fragmentStatus);
     lastFragmentStatuses.put(handle, fragmentStatusToSave);
+    changedFragments.add(handle);
   }
 
+  /**
+   * Sends the statuses of the fragments that changed since the previous profile. All the statuses are sent in the
+   * first profile, and again after a profile fails to be sent.
+   */
   @Override
   public Optional<ListenableFuture<Empty>> sendQueryProfile() {
     ExecutorQueryProfile profile;
@@ -192,24 +205,54 @@ class MaestroProxyQueryTracker implements QueryTracker {
       if (state == State.DONE) {
         return Optional.empty();
       }
-      profile = getExecutorQueryProfile();
+      profile = sendFullProfile ? getExecutorQueryProfile() : getExecutorQueryProfileDelta();
+      sendFullProfile = false;
+      changedFragments.clear();
     }
-    return Optional.of(jobTelemetryClient.putExecutorProfile(profile));
+
+    final ListenableFuture<Empty> future = jobTelemetryClient.putExecutorProfile(profile);
+    Futures.addCallback(future, new FutureCallback<Empty>() {
+      @Override
+      public void onSuccess(Empty result) {
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        synchronized (MaestroProxyQueryTracker.this) {
+          sendFullProfile = true;
+        }
+      }
+    }, MoreExecutors.directExecutor());
+    return Optional.of(future);
   }
 
   private ExecutorQueryProfile getExecutorQueryProfile() {
-    ExecutorQueryProfile profile;
     Preconditions.checkState(queryTicket != null);
 
     List<FragmentStatus> fragmentStatuses = new ArrayList<>(lastFragmentStatuses.values());
-    profile = ExecutorQueryProfile.newBuilder()
+    return newExecutorQueryProfile(fragmentStatuses)
+      .addAllFragments(fragmentStatuses)
+      .build();
+  }
+
+  private ExecutorQueryProfile getExecutorQueryProfileDelta() {
+    Preconditions.checkState(queryTicket != null);
+
+    final ExecutorQueryProfile.Builder builder =
+      newExecutorQueryProfile(new ArrayList<>(lastFragmentStatuses.values()))
+        .setDelta(true);
+    for (FragmentHandle handle : changedFragments) {
+      builder.addFragments(lastFragmentStatuses.get(handle));
+    }
+    return builder.build();
+  }
+
+  private ExecutorQueryProfile.Builder newExecutorQueryProfile(List<FragmentStatus> fragmentStatuses) {
+    return ExecutorQueryProfile.newBuilder()
       .setQueryId(queryId)
       .setEndpoint(selfEndpoint)
       .setProgress(buildProgressMetrics(fragmentStatuses))
-      .setNodeStatus(queryTicket.getStatus())
-      .addAllFragments(fragmentStatuses)
-      .build();
-    return profile;
+      .setNodeStatus(queryTicket.getStatus());
   }
 
   static private QueryProgressMetrics buildProgressMetrics(List<FragmentStatus> fragmentStatuses) {
@@ -278,6 +321,7 @@ class MaestroProxyQueryTracker implements QueryTracker {
         case FINISHED:
           FragmentStatus fragmentStatusToSave = clearProfileError(fragmentStatus);
           lastFragmentStatuses.put(handle, fragmentStatusToSave);
+          changedFragments.add(handle);
           pendingFragments.remove(fragmentStatus.getHandle());
           if (handle.getMajorFragmentId() == 0 && profile.getState() == FragmentState.FINISHED) {
             // operator with screen finished.
@@ -345,6 +389,7 @@ class MaestroProxyQueryTracker implements QueryTracker {
   public void sendNodeCompletion(ExecutorQueryProfile finalQueryProfile) {
     state = State.DONE;
     lastFragmentStatuses.clear(); // not required any more.
+    changedFragments.clear();
     queryTicket = null;
     sendCompletionMessage(finalQueryProfile);
     firstErrorInQuery = null;
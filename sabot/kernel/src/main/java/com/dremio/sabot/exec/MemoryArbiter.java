@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.exec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.memory.BufferAllocator;
+
+import com.dremio.exec.ExecConstants;
+import com.dremio.options.OptionManager;
+
+/**
+ * Redistributes the direct memory of an executor between its running spillable operators.<br>
+ * Spillable operators register with the arbiter. When an operator reaches the memory limit set at planning time, it
+ * asks the arbiter for more memory before spilling: if the executor has unused memory, beyond a reserve, the limit of
+ * the operator allocator is raised. Otherwise the largest operators using more memory than the requester are asked to
+ * spill, and the requester spills as it would without the arbiter.<br>
+ * An operator is granted at most its planned limit, and the memory granted is returned when it spills or closes.
+ */
+public class MemoryArbiter {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MemoryArbiter.class);
+
+  /**
+   * Arbiter that never grants memory.
+   */
+  public static final MemoryArbiter NO_OP = new MemoryArbiter(null, null) {
+    @Override
+    public void register(Consumer consumer) {
+    }
+
+    @Override
+    public boolean tryGrow(Consumer consumer) {
+      return false;
+    }
+
+    @Override
+    public void release(Consumer consumer) {
+    }
+
+    @Override
+    public void unregister(Consumer consumer) {
+    }
+  };
+
+  /**
+   * An operator that can spill to free memory.
+   */
+  public interface Consumer {
+    /**
+     * @return the allocator of the operator
+     */
+    BufferAllocator getAllocator();
+
+    /**
+     * Asks the operator to spill the next time it runs. Called from any thread.
+     *
+     * @return true if the operator will spill
+     */
+    boolean requestSpill();
+  }
+
+  private final BufferAllocator rootAllocator;
+  private final OptionManager options;
+  private final Map<Consumer, Grant> grants = new IdentityHashMap<>();
+
+  public MemoryArbiter(BufferAllocator rootAllocator, OptionManager options) {
+    this.rootAllocator = rootAllocator;
+    this.options = options;
+  }
+
+  public synchronized void register(Consumer consumer) {
+    grants.put(consumer, new Grant(consumer.getAllocator().getLimit()));
+  }
+
+  /**
+   * Asks for more memory for an operator that reached its memory limit.
+   *
+   * @return true if the limit of the operator allocator was raised, false if the operator should spill
+   */
+  public synchronized boolean tryGrow(Consumer consumer) {
+    final Grant grant = grants.get(consumer);
+    if (grant == null || !options.getOption(ExecConstants.MEMORY_ARBITER_ENABLED)
+      || grant.plannedLimit >= rootAllocator.getLimit()) {
+      return false;
+    }
+
+    final BufferAllocator allocator = consumer.getAllocator();
+    final long bytes = Math.min((long) (grant.plannedLimit * options.getOption(ExecConstants.MEMORY_ARBITER_GROWTH_FACTOR)),
+      grant.plannedLimit - grant.granted);
+    final long reserve = (long) (rootAllocator.getLimit() * options.getOption(ExecConstants.MEMORY_ARBITER_RESERVE_FACTOR));
+    final BufferAllocator parent = allocator.getParentAllocator();
+    if (bytes > 0
+      && rootAllocator.getHeadroom() - reserve >= bytes
+      && (parent == null || parent.getHeadroom() >= bytes)) {
+      allocator.setLimit(allocator.getLimit() + bytes);
+      grant.granted += bytes;
+      logger.debug("Granted {} bytes to {}, limit is now {}", bytes, allocator.getName(), allocator.getLimit());
+      return true;
+    }
+
+    requestSpills(consumer);
+    return false;
+  }
+
+  /**
+   * Asks the largest operators using more memory than the requester to spill, until one accepts.
+   */
+  private void requestSpills(Consumer requester) {
+    final long requesterMemory = requester.getAllocator().getAllocatedMemory();
+    final List<Consumer> candidates = new ArrayList<>();
+    for (Consumer consumer : grants.keySet()) {
+      if (consumer != requester && consumer.getAllocator().getAllocatedMemory() > requesterMemory) {
+        candidates.add(consumer);
+      }
+    }
+    candidates.sort(Comparator.comparingLong((Consumer c) -> c.getAllocator().getAllocatedMemory()).reversed());
+    for (Consumer candidate : candidates) {
+      if (candidate.requestSpill()) {
+        logger.debug("Asked {} to spill for {}", candidate.getAllocator().getName(), requester.getAllocator().getName());
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns the memory granted to an operator, once it spilled.
+   */
+  public synchronized void release(Consumer consumer) {
+    final Grant grant = grants.get(consumer);
+    if (grant == null || grant.granted == 0) {
+      return;
+    }
+
+    final BufferAllocator allocator = consumer.getAllocator();
+    allocator.setLimit(allocator.getLimit() - grant.granted);
+    grant.granted = 0;
+  }
+
+  public synchronized void unregister(Consumer consumer) {
+    release(consumer);
+    grants.remove(consumer);
+  }
+
+  private static final class Grant {
+    private final long plannedLimit;
+    private long granted;
+
+    private Grant(long plannedLimit) {
+      this.plannedLimit = plannedLimit;
+    }
+  }
+}
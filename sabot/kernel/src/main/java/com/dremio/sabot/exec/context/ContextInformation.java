@@ -48,6 +48,12 @@ public interface ContextInformation {
    */
   QueryId getLastQueryId();
 
+  /**
+   * @return true if the query start time or the last query id were read, making values derived from this context
+   * specific to the current query.
+   */
+  boolean isQuerySpecific();
+
   void registerAdditionalInfo(AdditionalContext object);
 
   <T extends AdditionalContext> T getAdditionalInfo(Class<T> clazz);
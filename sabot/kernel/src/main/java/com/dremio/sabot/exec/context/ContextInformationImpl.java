@@ -33,6 +33,7 @@ public class ContextInformationImpl implements ContextInformation {
   private final int rootFragmentTimeZone;
   private final QueryId lastQueryId;
   private final Map<Class<? extends AdditionalContext>, AdditionalContext> additionalInfo = new ConcurrentHashMap<>(1);
+  private volatile boolean querySpecific;
 
   public ContextInformationImpl(final UserCredentials userCredentials, final QueryContextInformation queryContextInfo) {
     this.queryUser = userCredentials.getUserName();
@@ -54,6 +55,7 @@ public class ContextInformationImpl implements ContextInformation {
 
   @Override
   public long getQueryStartTime() {
+    querySpecific = true;
     return queryStartTime;
   }
 
@@ -64,9 +66,15 @@ public class ContextInformationImpl implements ContextInformation {
 
   @Override
   public QueryId getLastQueryId() {
+    querySpecific = true;
     return lastQueryId;
   }
 
+  @Override
+  public boolean isQuerySpecific() {
+    return querySpecific;
+  }
+
   @Override
   public void registerAdditionalInfo(AdditionalContext object) {
     // this event is rare and mostly once in the ContextInformation lifetime
@@ -57,16 +57,26 @@ public class FragmentStats {
   private final Stopwatch finishWatch = Stopwatch.createUnstarted();
   private Map<SharedResourceType, Long> perResourceBlockedDurations;
   private final long warnIOTimeThreshold;
+  private final long timelineIntervalMillis;
 
   private boolean notStartedYet = true;
 
   public FragmentStats(BufferAllocator allocator, FragmentHandle handle, NodeEndpoint endpoint, long warnIOTimeThreshold) {
+    this(allocator, handle, endpoint, warnIOTimeThreshold, 0);
+  }
+
+  /**
+   * @param timelineIntervalMillis interval of the operator timelines, 0 to not record them
+   */
+  public FragmentStats(BufferAllocator allocator, FragmentHandle handle, NodeEndpoint endpoint, long warnIOTimeThreshold,
+                       long timelineIntervalMillis) {
     this.startTime = System.currentTimeMillis();
     this.handle = handle;
     this.endpoint = endpoint;
     this.allocator = allocator;
     this.perResourceBlockedDurations = Collections.synchronizedMap(new EnumMap<SharedResourceType, Long>(SharedResourceType.class));
     this.warnIOTimeThreshold = warnIOTimeThreshold;
+    this.timelineIntervalMillis = timelineIntervalMillis;
   }
 
   public void addMetricsToStatus(MinorFragmentProfile.Builder prfB) {
@@ -118,6 +128,9 @@ public class FragmentStats {
     final OperatorStats stats = new OperatorStats(profileDef, allocator, warnIOTimeThreshold);
     if(profileDef.operatorType != -1) {
       operators.add(stats);
+      if (timelineIntervalMillis > 0) {
+        stats.enableTimeline(timelineIntervalMillis);
+      }
     }
     return stats;
   }
@@ -42,6 +42,7 @@ import com.dremio.exec.record.selection.SelectionVector2;
 import com.dremio.exec.server.NodeDebugContextProvider;
 import com.dremio.exec.testing.ExecutionControls;
 import com.dremio.options.OptionManager;
+import com.dremio.sabot.exec.MemoryArbiter;
 import com.dremio.sabot.exec.rpc.TunnelProvider;
 import com.dremio.sabot.op.filter.VectorContainerWithSV;
 import com.dremio.service.spill.SpillService;
@@ -115,6 +116,8 @@ public abstract class OperatorContext {
 
   public abstract SpillService getSpillService();
 
+  public abstract MemoryArbiter getMemoryArbiter();
+
   public abstract TunnelProvider getTunnelProvider();
 
   public abstract List<FragmentAssignment> getAssignments();
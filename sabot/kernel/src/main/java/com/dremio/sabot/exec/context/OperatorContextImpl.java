@@ -51,6 +51,7 @@ import com.dremio.exec.record.selection.SelectionVector2;
 import com.dremio.exec.server.NodeDebugContextProvider;
 import com.dremio.exec.testing.ExecutionControls;
 import com.dremio.options.OptionManager;
+import com.dremio.sabot.exec.MemoryArbiter;
 import com.dremio.sabot.exec.fragment.FragmentExecutorBuilder;
 import com.dremio.sabot.exec.rpc.TunnelProvider;
 import com.dremio.sabot.op.filter.VectorContainerWithSV;
@@ -324,4 +325,9 @@ public class OperatorContextImpl extends OperatorContext implements AutoCloseabl
   public SpillService getSpillService() {
     return spillService;
   }
+
+  @Override
+  public MemoryArbiter getMemoryArbiter() {
+    return fragmentExecutorBuilder == null ? MemoryArbiter.NO_OP : fragmentExecutorBuilder.getMemoryArbiter();
+  }
 }
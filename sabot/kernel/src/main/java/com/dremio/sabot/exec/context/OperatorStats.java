@@ -82,6 +82,9 @@ public class OperatorStats {
   // misc operator details that are saved in the profile.
   private OperatorProfileDetails profileDetails;
 
+  // timeline of the operator, if enabled.
+  private OperatorTimelineRecorder timeline;
+
 
   // Need this wrapper so that the caller don't have to handle exception from close().
   public interface WaitRecorder extends AutoCloseable {
@@ -259,11 +262,25 @@ public class OperatorStats {
   private void stopState() {
     if (currentState != State.NONE) {
       int idx = currentState.ordinal();
-      stateNanos[idx] += System.nanoTime() - stateMark[idx];
+      final long now = System.nanoTime();
+      stateNanos[idx] += now - stateMark[idx];
       currentState = State.NONE;
+      if (timeline != null && timeline.isSampleDue(now)) {
+        timeline.sample(now, getSetupNanos() + getProcessingNanos(), getWaitNanos(),
+          allocator == null ? 0 : allocator.getAllocatedMemory());
+      }
     }
   }
 
+  /**
+   * Records the timeline of the operator in its profile.
+   *
+   * @param intervalMillis initial length of the intervals of the timeline
+   */
+  public void enableTimeline(long intervalMillis) {
+    this.timeline = new OperatorTimelineRecorder(intervalMillis);
+  }
+
   public void startSetup() {
     assert currentState == State.PROCESSING : assertionError("starting setup");
     stopState();
@@ -346,6 +363,9 @@ public class OperatorStats {
     if (withDetails && (profileDetails != null)) {
       b.setDetails(profileDetails);
     }
+    if (timeline != null) {
+      b.setTimeline(timeline.toProto());
+    }
     addAllMetrics(b);
     return b.build();
   }
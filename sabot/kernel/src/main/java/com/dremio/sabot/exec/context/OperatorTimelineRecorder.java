@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.exec.context;
+
+import java.util.concurrent.TimeUnit;
+
+import com.dremio.exec.proto.UserBitShared.OperatorTimeline;
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Longs;
+
+/**
+ * Records the timeline of an operator: the processing and wait time, and the allocated memory, per fixed interval.<br>
+ * The operator is sampled at most once per interval, when it changes state, so time spent in a state is accounted to
+ * the interval in which the state ends. Once the timeline is full, adjacent intervals are merged and the interval is
+ * doubled, which bounds its size for queries of any length.<br>
+ * The operator samples its timeline from the fragment thread while profiles are built from other threads, so samples
+ * and snapshots are made under the lock of the recorder.
+ */
+class OperatorTimelineRecorder {
+
+  static final int MAX_INTERVALS = 128;
+
+  private final long startMillis;
+  private final long startNanos;
+  private long intervalNanos;
+  private long nextSampleNanos;
+  private int count;
+
+  private final long[] processingNanos = new long[MAX_INTERVALS];
+  private final long[] waitNanos = new long[MAX_INTERVALS];
+  private final long[] memoryAllocated = new long[MAX_INTERVALS];
+  private long lastProcessingNanos;
+  private long lastWaitNanos;
+
+  OperatorTimelineRecorder(long intervalMillis) {
+    this(intervalMillis, System.currentTimeMillis(), System.nanoTime());
+  }
+
+  OperatorTimelineRecorder(long intervalMillis, long startMillis, long startNanos) {
+    Preconditions.checkArgument(intervalMillis > 0, "Timeline interval must be positive");
+    this.startMillis = startMillis;
+    this.startNanos = startNanos;
+    this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    this.nextSampleNanos = startNanos;
+  }
+
+  /**
+   * @return true if the operator should be sampled at the given time
+   */
+  boolean isSampleDue(long nanos) {
+    return nanos >= nextSampleNanos;
+  }
+
+  /**
+   * Samples the operator.
+   *
+   * @param nanos time of the sample, from {@link System#nanoTime()}
+   * @param totalProcessingNanos setup and processing time of the operator so far
+   * @param totalWaitNanos wait time of the operator so far
+   * @param allocatedMemory memory currently allocated by the operator
+   */
+  synchronized void sample(long nanos, long totalProcessingNanos, long totalWaitNanos, long allocatedMemory) {
+    int index = (int) ((nanos - startNanos) / intervalNanos);
+    while (index >= MAX_INTERVALS) {
+      downsample();
+      index = (int) ((nanos - startNanos) / intervalNanos);
+    }
+
+    // intervals without samples keep the memory of the previous one
+    for (int i = Math.max(count, 1); i < index; i++) {
+      memoryAllocated[i] = memoryAllocated[i - 1];
+    }
+    processingNanos[index] += totalProcessingNanos - lastProcessingNanos;
+    waitNanos[index] += totalWaitNanos - lastWaitNanos;
+    memoryAllocated[index] = allocatedMemory;
+    lastProcessingNanos = totalProcessingNanos;
+    lastWaitNanos = totalWaitNanos;
+    count = index + 1;
+    nextSampleNanos = startNanos + count * intervalNanos;
+  }
+
+  // called from sample(), under the lock
+  private void downsample() {
+    for (int i = 0; i < MAX_INTERVALS / 2; i++) {
+      processingNanos[i] = processingNanos[2 * i] + processingNanos[2 * i + 1];
+      waitNanos[i] = waitNanos[2 * i] + waitNanos[2 * i + 1];
+      memoryAllocated[i] = 2 * i + 1 < count ? memoryAllocated[2 * i + 1] : memoryAllocated[2 * i];
+    }
+    for (int i = MAX_INTERVALS / 2; i < MAX_INTERVALS; i++) {
+      processingNanos[i] = 0;
+      waitNanos[i] = 0;
+      memoryAllocated[i] = 0;
+    }
+    count = (count + 1) / 2;
+    intervalNanos *= 2;
+  }
+
+  synchronized OperatorTimeline toProto() {
+    return OperatorTimeline.newBuilder()
+      .setStartTime(startMillis)
+      .setIntervalMillis(TimeUnit.NANOSECONDS.toMillis(intervalNanos))
+      .addAllProcessingNanos(Longs.asList(processingNanos).subList(0, count))
+      .addAllWaitNanos(Longs.asList(waitNanos).subList(0, count))
+      .addAllMemoryAllocated(Longs.asList(memoryAllocated).subList(0, count))
+      .build();
+  }
+}
@@ -19,6 +19,8 @@ import static com.dremio.sabot.exec.fragment.FragmentExecutorBuilder.PIPELINE_RE
 import static com.dremio.sabot.exec.fragment.FragmentExecutorBuilder.WORK_QUEUE_RES_GRP;
 
 import java.security.PrivilegedExceptionAction;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -612,6 +614,26 @@ public class FragmentExecutor {
     return fragment.getMajor().getForeman();
   }
 
+  /**
+   * Returns the allocators of the operators of the fragment, if the fragment is running.
+   *
+   * @return allocators keyed by operator id
+   */
+  public Map<Integer, BufferAllocator> getOperatorAllocators() {
+    final Map<Integer, BufferAllocator> allocators = new HashMap<>();
+    if (state != FragmentState.RUNNING) {
+      return allocators;
+    }
+
+    for (BufferAllocator child : allocator.getChildren()) {
+      final int operatorId = OperatorContextCreator.getOperatorId(child.getName());
+      if (operatorId >= 0) {
+        allocators.put(operatorId, child);
+      }
+    }
+    return allocators;
+  }
+
   public String getBlockingStatus(){
     return sharedResources.toString();
   }
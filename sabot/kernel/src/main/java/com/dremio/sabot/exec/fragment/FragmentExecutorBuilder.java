@@ -63,6 +63,7 @@ import com.dremio.sabot.exec.FragmentExecutors;
 import com.dremio.sabot.exec.FragmentTicket;
 import com.dremio.sabot.exec.FragmentWorkManager.ExecConnectionCreator;
 import com.dremio.sabot.exec.MaestroProxy;
+import com.dremio.sabot.exec.MemoryArbiter;
 import com.dremio.sabot.exec.QueriesClerk;
 import com.dremio.sabot.exec.QueryStarter;
 import com.dremio.sabot.exec.QueryTicket;
@@ -120,6 +121,7 @@ public class FragmentExecutorBuilder {
   private final SpillService spillService;
   private final Provider<JobResultsClientFactory> jobResultsClientFactoryProvider;
   private Provider<CoordinationProtos.NodeEndpoint> nodeEndpointProvider;
+  private final MemoryArbiter memoryArbiter;
 
   public FragmentExecutorBuilder(
     QueriesClerk clerk,
@@ -143,7 +145,8 @@ public class FragmentExecutorBuilder {
     CodeCompiler codeCompiler,
     Set<ClusterCoordinator.Role> roles,
     Provider<JobResultsClientFactory> jobResultsClientFactoryProvider,
-    Provider<CoordinationProtos.NodeEndpoint> nodeEndpointProvider) {
+    Provider<CoordinationProtos.NodeEndpoint> nodeEndpointProvider,
+    MemoryArbiter memoryArbiter) {
     this.clerk = clerk;
     this.fragmentExecutors = fragmentExecutors;
     this.nodeEndpoint = nodeEndpoint;
@@ -166,6 +169,7 @@ public class FragmentExecutorBuilder {
     this.nodeDebugContextProvider = nodeDebugContextProvider;
     this.spillService = spillService;
     this.jobResultsClientFactoryProvider = jobResultsClientFactoryProvider;
+    this.memoryArbiter = memoryArbiter;
   }
 
   public FragmentExecutors getFragmentExecutors() { return fragmentExecutors; }
@@ -180,6 +184,10 @@ public class FragmentExecutorBuilder {
 
   public QueriesClerk getClerk() { return clerk; }
 
+  public MemoryArbiter getMemoryArbiter() {
+    return memoryArbiter;
+  }
+
   /**
    * Obtains a query ticket, then starts the query with this query ticket
    *
@@ -222,7 +230,6 @@ public class FragmentExecutorBuilder {
       }
 
       try {
-        final FragmentStats stats = new FragmentStats(allocator, handle, fragment.getAssignment(), optionManager.getOption(ExecConstants.STORE_IO_TIME_WARN_THRESH_MILLIS));
         final SharedResourceManager sharedResources = SharedResourceManager.newBuilder()
             .addGroup(PIPELINE_RES_GRP)
             .addGroup(WORK_QUEUE_RES_GRP)
@@ -262,6 +269,9 @@ public class FragmentExecutorBuilder {
             .withOptionManager(new DefaultOptionManager(optionManager.getOptionValidatorListing()))
             .withOptionManager(fragmentOptionManager)
             .build();
+        // timelines are enabled per query or session, so read from the options of the fragment
+        final FragmentStats stats = new FragmentStats(allocator, handle, fragment.getAssignment(), optionManager.getOption(ExecConstants.STORE_IO_TIME_WARN_THRESH_MILLIS),
+          fragmentOptions.getOption(ExecConstants.OPERATOR_TIMELINE_INTERVAL_MILLIS));
 
         final FlushableSendingAccountor flushable = new FlushableSendingAccountor(sharedResources.getGroup(PIPELINE_RES_GRP));
         final ExecutionControls controls = new ExecutionControls(fragmentOptions, fragment.getAssignment());
@@ -274,7 +284,9 @@ public class FragmentExecutorBuilder {
             .getJobResultsClient(major.getForeman(), allocator, QueryIdHelper.getFragmentId(fragment.getHandle())).getTunnel();
         final DeferredException exception = new DeferredException();
         final StatusHandler handler = new StatusHandler(exception);
-        final TunnelProvider tunnelProvider = new TunnelProviderImpl(flushable.getAccountor(), jobResultsTunnel, dataCreator, handler, sharedResources.getGroup(PIPELINE_RES_GRP));
+        final TunnelProvider tunnelProvider = new TunnelProviderImpl(flushable.getAccountor(), jobResultsTunnel, dataCreator, handler,
+          sharedResources.getGroup(PIPELINE_RES_GRP),
+          (int) fragmentOptions.getOption(ExecConstants.SCREEN_MAX_IN_FLIGHT_BATCHES));
 
         final OperatorContextCreator creator = new OperatorContextCreator(
             stats,
@@ -52,6 +52,7 @@ import com.dremio.service.spill.SpillService;
 import com.google.common.base.Preconditions;
 
 class OperatorContextCreator implements OperatorContext.Creator, AutoCloseable {
+  private static final String OPERATOR_ALLOCATOR_PREFIX = "op";
 
   private final List<AutoCloseable> operatorContexts = new ArrayList<>();
   private final FragmentStats stats;
@@ -114,11 +115,27 @@ class OperatorContextCreator implements OperatorContext.Creator, AutoCloseable {
     this.fragmentOutputAllocator = fragmentOutputAllocator;
   }
 
+  /**
+   * @param allocatorName name of a child allocator of a fragment
+   * @return the id of the operator owning the allocator, or -1 if it is not the allocator of an operator
+   */
+  static int getOperatorId(String allocatorName) {
+    final String[] parts = allocatorName.split(":");
+    if (parts.length < 3 || !OPERATOR_ALLOCATOR_PREFIX.equals(parts[0])) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(parts[parts.length - 2]);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
   @Override
   public OperatorContext newOperatorContext(PhysicalOperator popConfig) throws Exception {
     Preconditions.checkState(this.fragmentOutputAllocator != null);
 
-    final String allocatorName = String.format("op:%s:%d:%s",
+    final String allocatorName = String.format(OPERATOR_ALLOCATOR_PREFIX + ":%s:%d:%s",
       QueryIdHelper.getFragmentId(handle),
       popConfig.getProps().getLocalOperatorId(),
       popConfig.getClass().getSimpleName());
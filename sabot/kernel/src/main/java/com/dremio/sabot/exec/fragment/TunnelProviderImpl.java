@@ -50,12 +50,13 @@ class TunnelProviderImpl implements TunnelProvider {
       JobResultsTunnel tunnel,
       ExecConnectionCreator connectionCreator,
       RpcOutcomeListener<Ack> statusHandler,
-      SharedResourceGroup resourceGroup) {
+      SharedResourceGroup resourceGroup,
+      int maxInFlightResults) {
     super();
     this.accountor = accountor;
     this.statusHandler = statusHandler;
     final SharedResource resource = resourceGroup.createResource("user", SharedResourceType.SEND_MSG_COORDINATOR);
-    final SendingMonitor monitor = new SendingMonitor(resource, accountor);
+    final SendingMonitor monitor = new SendingMonitor(resource, accountor, maxInFlightResults);
     this.coordTunnel = new AccountingExecToCoordTunnel(tunnel, monitor, monitor.wrap(statusHandler));
 
     this.connectionCreator = connectionCreator;
@@ -54,6 +54,7 @@ import com.dremio.options.TypeValidators.DoubleValidator;
 import com.dremio.options.TypeValidators.PositiveLongValidator;
 import com.dremio.options.TypeValidators.PowerOfTwoLongValidator;
 import com.dremio.options.TypeValidators.RangeDoubleValidator;
+import com.dremio.sabot.exec.MemoryArbiter;
 import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.sabot.exec.context.OperatorStats;
 import com.dremio.sabot.exec.fragment.OutOfBandMessage;
@@ -293,7 +294,7 @@ import io.netty.util.internal.PlatformDependent;
  ************************************************************************************************/
 
 @Options
-public class VectorizedHashAggOperator implements SingleInputOperator {
+public class VectorizedHashAggOperator implements SingleInputOperator, MemoryArbiter.Consumer {
   private static final ControlsInjector injector =
     ControlsInjectorFactory.getInjector(VectorizedHashAggOperator.class);
 
@@ -491,6 +492,8 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
      * to stress test the spilling functionality, we allow the operator's
      * allocator limit to be same as preallocation.
      */
+    /* register with the planned limit, the arbiter never grants more than it */
+    context.getMemoryArbiter().register(this);
     if (setLimitToMinReservation) {
       allocator.setLimit(allocator.getAllocatedMemory());
     }
@@ -996,6 +999,10 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
             debug.recordOOMEvent(iterations, ooms, allocator.getAllocatedMemory(), hashAggPartitions, partitionSpillHandler);
             logger.debug("Error: ran out of memory while inserting in hashtable, records to insert:{}, current record index:{}, absolute record index:{}, error: {}",
                          recordsPivoted, keyIndex, keyIndex + recordsConsumed, e);
+            /* retry the insertion if the memory arbiter raised our limit */
+            if (context.getMemoryArbiter().tryGrow(this)) {
+              continue;
+            }
             /* handle out of memory condition */
             final boolean oomHandled = handleOutOfMemory(hashPartitionIndex);
             if (!oomHandled) {
@@ -1112,6 +1119,10 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
       spillPartitionWatch.stop();
     }
 
+    if (done) {
+      /* return the memory granted by the arbiter, now that the partition is out of memory */
+      context.getMemoryArbiter().release(this);
+    }
     return done;
   }
 
@@ -2466,11 +2477,25 @@ public class VectorizedHashAggOperator implements SingleInputOperator {
     return visitor.visitSingleInput(this, value);
   }
 
+  @Override
+  public BufferAllocator getAllocator() {
+    return allocator;
+  }
+
+  /**
+   * Hash aggregation spills only when it runs out of memory, so the arbiter can't ask it to spill.
+   */
+  @Override
+  public boolean requestSpill() {
+    return false;
+  }
+
   @Override
   public void close() throws Exception {
     /* BaseTestOperator calls operator.close() twice on each operator it creates */
     if (!closed) {
       updateStats();
+      context.getMemoryArbiter().unregister(this);
       try {
         AutoCloseables.close(Iterables.concat(
           partitionToLoadSpilledData != null ? Collections.singletonList(partitionToLoadSpilledData) : new ArrayList<>(0),
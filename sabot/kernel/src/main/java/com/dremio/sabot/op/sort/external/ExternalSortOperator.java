@@ -48,6 +48,7 @@ import com.dremio.options.Options;
 import com.dremio.options.TypeValidators.BooleanValidator;
 import com.dremio.options.TypeValidators.DoubleValidator;
 import com.dremio.options.TypeValidators.RangeDoubleValidator;
+import com.dremio.sabot.exec.MemoryArbiter;
 import com.dremio.sabot.exec.context.MetricDef;
 import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.sabot.exec.context.OperatorStats;
@@ -95,7 +96,7 @@ import com.sun.codemodel.JExpr;
  *
  */
 @Options
-public class ExternalSortOperator implements SingleInputOperator {
+public class ExternalSortOperator implements SingleInputOperator, MemoryArbiter.Consumer {
   public static final BooleanValidator OOB_SORT_TRIGGER_ENABLED = new BooleanValidator("exec.operator.sort.oob_trigger_enabled", true);
   public static final DoubleValidator OOB_SORT_SPILL_TRIGGER_FACTOR = new RangeDoubleValidator("exec.operator.sort.oob_trigger_factor", 0.0d, 10.0d, .75d);
   public static final DoubleValidator OOB_SORT_SPILL_TRIGGER_HEADROOM_FACTOR = new RangeDoubleValidator("exec.operator.sort.oob_trigger_headroom_factor", 0.0d, 10.0d, .2d);
@@ -140,6 +141,11 @@ public class ExternalSortOperator implements SingleInputOperator {
   private int oobDropUnderThreshold;
   private int oobSpills;
 
+  /**
+   * Set when the memory arbiter asks this sort to spill so that another operator can use the memory.
+   */
+  private volatile boolean spillRequested;
+
   private State state = State.NEEDS_SETUP;
 
   private SortState sortState = SortState.CONSUME;
@@ -244,6 +250,7 @@ public class ExternalSortOperator implements SingleInputOperator {
       tracer.setTargetBatchSize(targetBatchSize);
       tracer.setTargetBatchSizeInBytes(targetBatchSizeInBytes);
 
+      context.getMemoryArbiter().register(this);
       rollback.commit();
     } catch(Exception e) {
       Throwables.propagate(e);
@@ -260,6 +267,7 @@ public class ExternalSortOperator implements SingleInputOperator {
      * referred in the VectorContainer etc. are released first.
      * Otherwise 'memoryRun' close would fail reporting memory leak.
      */
+    context.getMemoryArbiter().unregister(this);
     AutoCloseables.close(copier, output, diskRuns, memoryRun, unconsumedRef);
     updateStats(true);
   }
@@ -271,7 +279,13 @@ public class ExternalSortOperator implements SingleInputOperator {
     Preconditions.checkState(sortState != SortState.SPILL_IN_PROGRESS);
 
     while(true){
-      boolean added = memoryRun.addBatch(incoming);
+      boolean added;
+      if (spillRequested && !memoryRun.isEmpty()) {
+        spillRequested = false;
+        added = false;
+      } else {
+        added = memoryRun.addBatch(incoming) || (context.getMemoryArbiter().tryGrow(this) && memoryRun.addBatch(incoming));
+      }
       if(!added){
         notifyOthersOfSpill();
         if (!this.enableMicroSpill) {
@@ -434,6 +448,7 @@ public class ExternalSortOperator implements SingleInputOperator {
 
     try {
       memoryRun.closeToDisk(diskRuns);
+      context.getMemoryArbiter().release(this);
       memoryRun = new MemoryRun(config, producer, allocator, incoming.getSchema(), tracer,
         batchsizeMultiplier, enableSplaySort, targetBatchSize, context.getExecutionControls());
     } catch (Exception e) {
@@ -463,6 +478,7 @@ public class ExternalSortOperator implements SingleInputOperator {
   }
 
   private void finishMicroSpilling() throws Exception {
+    context.getMemoryArbiter().release(this);
     memoryRun = new MemoryRun(config, producer, allocator, incoming.getSchema(), tracer,
       batchsizeMultiplier, enableSplaySort, targetBatchSize, context.getExecutionControls());
 
@@ -599,6 +615,20 @@ public class ExternalSortOperator implements SingleInputOperator {
     }
   }
 
+  @Override
+  public BufferAllocator getAllocator() {
+    return allocator;
+  }
+
+  @Override
+  public boolean requestSpill() {
+    if (state != State.CAN_CONSUME || sortState != SortState.CONSUME) {
+      return false;
+    }
+    spillRequested = true;
+    return true;
+  }
+
   @Override
   public <OUT, IN, EXCEP extends Throwable> OUT accept(OperatorVisitor<OUT, IN, EXCEP> visitor, IN value) throws EXCEP {
     return visitor.visitSingleInput(this, value);
@@ -22,6 +22,7 @@ import com.dremio.exec.rpc.RpcException;
 import com.dremio.exec.rpc.RpcOutcomeListener;
 import com.dremio.sabot.threads.sharedres.SharedResource;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 
 import io.netty.buffer.ByteBuf;
 
@@ -36,15 +37,26 @@ public class SendingMonitor {
   @VisibleForTesting
   public static final int LIMIT = 3;
 
-  private static final int RESTART = LIMIT - 1;
+  private final int limit;
+  private final int restart;
   private final AtomicInteger outsandingMessages = new AtomicInteger(0);
   private final SharedResource resource;
   private final SendingAccountor accountor;
 
   public SendingMonitor(SharedResource resource, SendingAccountor accountor) {
+    this(resource, accountor, LIMIT);
+  }
+
+  /**
+   * @param limit number of messages in flight at which execution is blocked, until one of them is acknowledged
+   */
+  public SendingMonitor(SharedResource resource, SendingAccountor accountor, int limit) {
     super();
+    Preconditions.checkArgument(limit > 0, "Invalid limit of messages in flight %s", limit);
     this.resource = resource;
     this.accountor = accountor;
+    this.limit = limit;
+    this.restart = limit - 1;
     resource.markAvailable();
   }
 
@@ -52,7 +64,7 @@ public class SendingMonitor {
     accountor.increment();
     synchronized(resource){
       final int outcome = outsandingMessages.incrementAndGet();
-      if (outcome == LIMIT) {
+      if (outcome == limit) {
         resource.markBlocked();
       }
     }
@@ -62,7 +74,7 @@ public class SendingMonitor {
     accountor.decrement();
     synchronized(resource) {
       final int outcome = outsandingMessages.decrementAndGet();
-      if(outcome == RESTART){
+      if(outcome == restart){
         resource.markAvailable();
       }
     }
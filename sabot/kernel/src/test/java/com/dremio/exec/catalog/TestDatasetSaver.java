@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.catalog;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import com.dremio.connector.metadata.BytesOutput;
+import com.dremio.connector.metadata.DatasetHandle;
+import com.dremio.connector.metadata.DatasetMetadata;
+import com.dremio.connector.metadata.DatasetStats;
+import com.dremio.connector.metadata.EntityPath;
+import com.dremio.connector.metadata.PartitionChunkListing;
+import com.dremio.datastore.api.LegacyKVStore.LegacyFindByRange;
+import com.dremio.exec.planner.cost.ScanCostFactor;
+import com.dremio.exec.store.DatasetRetrievalOptions;
+import com.dremio.options.OptionManager;
+import com.dremio.service.namespace.DatasetMetadataSaver;
+import com.dremio.service.namespace.NamespaceService;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.service.namespace.dataset.proto.ReadDefinition;
+import com.dremio.service.namespace.proto.EntityId;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests for {@link DatasetSaver}
+ */
+public class TestDatasetSaver {
+  private static final DatasetHandle HANDLE = () -> new EntityPath(ImmutableList.of("source", "dataset"));
+
+  private NamespaceService ns;
+  private OptionManager optionManager;
+  private ExtendedStoragePlugin sp;
+  private final AtomicBoolean previousChunksListed = new AtomicBoolean();
+
+  @Before
+  public void setup() throws Exception {
+    ns = mock(NamespaceService.class);
+    when(ns.newDatasetMetadataSaver(any(), any(), any(), anyLong())).thenReturn(mock(DatasetMetadataSaver.class));
+    when(ns.findSplits(any(LegacyFindByRange.class))).thenReturn(Collections.emptyList());
+
+    optionManager = mock(OptionManager.class);
+    when(optionManager.getOption(eq(CatalogOptions.SPLIT_COMPRESSION_TYPE)))
+      .thenAnswer((Answer) invocation -> NamespaceService.SplitCompression.SNAPPY.toString());
+    when(optionManager.getOption(eq(CatalogOptions.REUSE_UNCHANGED_SPLITS))).thenReturn(true);
+
+    sp = mock(ExtendedStoragePlugin.class);
+    when(sp.listPartitionChunks(any(), anyVararg())).thenAnswer(invocation -> {
+      previousChunksListed.set(Stream.of(invocation.getArguments())
+        .flatMap(arg -> arg instanceof Object[] ? Stream.of((Object[]) arg) : Stream.of(arg))
+        .anyMatch(arg -> arg instanceof PreviousPartitionChunksOption));
+      return (PartitionChunkListing) Collections::emptyIterator;
+    });
+    when(sp.getDatasetMetadata(any(DatasetHandle.class), any(PartitionChunkListing.class), anyVararg()))
+      .thenReturn(DatasetMetadata.of(DatasetStats.of(0, ScanCostFactor.OTHER.getFactor()), new Schema(new ArrayList<>())));
+    when(sp.provideSignature(any(), any())).thenReturn(BytesOutput.NONE);
+  }
+
+  private void save(boolean forceUpdate) {
+    final DatasetConfig config = new DatasetConfig()
+      .setId(new EntityId("dataset-id"))
+      .setFullPathList(HANDLE.getDatasetPath().getComponents())
+      .setReadDefinition(new ReadDefinition().setSplitVersion(1L));
+    new DatasetSaver(ns, key -> { }, optionManager).save(config, HANDLE, sp, false,
+      DatasetRetrievalOptions.DEFAULT.toBuilder()
+        .setForceUpdate(forceUpdate)
+        .build());
+  }
+
+  @Test
+  public void previousSplitsAreListedOnRefresh() {
+    save(false);
+    assertTrue(previousChunksListed.get());
+  }
+
+  @Test
+  public void previousSplitsAreNotListedOnForcedUpdate() {
+    save(true);
+    assertFalse(previousChunksListed.get());
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.dremio.connector.metadata.DatasetHandle;
+import com.dremio.connector.metadata.DatasetHandleListing;
+import com.dremio.connector.metadata.EntityPath;
+import com.dremio.connector.metadata.extensions.SupportsReadSignature;
+import com.dremio.exec.store.DatasetRetrievalOptions;
+import com.dremio.options.OptionManager;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.NamespaceService;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.service.namespace.dataset.proto.ReadDefinition;
+import com.dremio.service.namespace.source.proto.MetadataPolicy;
+import com.dremio.service.namespace.source.proto.UpdateMode;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests for {@link MetadataSynchronizer}
+ */
+public class TestMetadataSynchronizer {
+  private static final NamespaceKey SOURCE = new NamespaceKey("source");
+  private static final int NUM_DATASETS = 20;
+
+  @Test
+  public void parallelRefreshOfExistingDatasets() throws Exception {
+    final List<DatasetHandle> handles = IntStream.range(0, NUM_DATASETS)
+      .mapToObj(i -> new EntityPath(ImmutableList.of("source", "dataset" + i)))
+      .map(path -> (DatasetHandle) () -> path)
+      .collect(Collectors.toList());
+    final List<NamespaceKey> keys = handles.stream()
+      .map(handle -> new NamespaceKey(handle.getDatasetPath().getComponents()))
+      .collect(Collectors.toList());
+
+    final NamespaceService ns = mock(NamespaceService.class);
+    when(ns.getAllDatasets(SOURCE)).thenReturn(keys);
+    when(ns.getDataset(any())).thenAnswer(invocation -> new DatasetConfig()
+      .setTag("0")
+      .setReadDefinition(new ReadDefinition()));
+
+    final AtomicBoolean listingClosed = new AtomicBoolean();
+    final AtomicBoolean usedAfterClose = new AtomicBoolean();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+    final Set<DatasetHandle> validated = ConcurrentHashMap.newKeySet();
+
+    final ExtendedStoragePlugin sp = mock(ExtendedStoragePlugin.class);
+    when(sp.listDatasetHandles(anyVararg())).thenReturn(new DatasetHandleListing() {
+      @Override
+      public Iterator<? extends DatasetHandle> iterator() {
+        return handles.iterator();
+      }
+
+      @Override
+      public void close() {
+        listingClosed.set(true);
+      }
+    });
+    when(sp.validateMetadata(any(), any(), any())).thenAnswer(invocation -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      // slow refresh, so the listing is consumed while datasets are still being refreshed
+      Thread.sleep(50);
+      if (listingClosed.get()) {
+        usedAfterClose.set(true);
+      }
+      validated.add(invocation.getArgumentAt(1, DatasetHandle.class));
+      inFlight.decrementAndGet();
+      return SupportsReadSignature.MetadataValidity.VALID;
+    });
+
+    final ManagedStoragePlugin.MetadataBridge bridge = mock(ManagedStoragePlugin.MetadataBridge.class);
+    when(bridge.getMetadata()).thenReturn(sp);
+
+    final MetadataSynchronizer synchronizer = new MetadataSynchronizer(ns, SOURCE, bridge,
+      new MetadataPolicy().setDatasetUpdateMode(UpdateMode.PREFETCH_QUERIED),
+      new DatasetSaver(ns, key -> { }, mock(OptionManager.class)),
+      DatasetRetrievalOptions.DEFAULT, 4);
+    synchronizer.setup();
+    final SyncStatus status = synchronizer.go();
+
+    assertFalse(status.isInterrupted());
+    assertEquals(NUM_DATASETS, validated.size());
+    assertTrue("datasets were not refreshed concurrently", maxInFlight.get() > 1);
+    assertTrue("at most 4 datasets are refreshed at once", maxInFlight.get() <= 4);
+    assertTrue(listingClosed.get());
+    assertFalse("a dataset handle was used after its listing was closed", usedAfterClose.get());
+  }
+}
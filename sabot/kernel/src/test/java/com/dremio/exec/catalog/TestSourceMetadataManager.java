@@ -77,6 +77,8 @@ public class TestSourceMetadataManager {
     optionManager = mock(OptionManager.class);
     when(optionManager.getOption(eq(CatalogOptions.SPLIT_COMPRESSION_TYPE)))
       .thenAnswer((Answer) invocation -> NamespaceService.SplitCompression.SNAPPY.toString());
+    when(optionManager.getOption(eq(CatalogOptions.METADATA_REFRESH_PARALLELISM)))
+      .thenReturn(CatalogOptions.METADATA_REFRESH_PARALLELISM.getDefault().getNumVal());
     doNothing().when(broadcaster).communicateChange(any());
   }
 
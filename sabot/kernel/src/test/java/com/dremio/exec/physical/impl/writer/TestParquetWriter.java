@@ -16,8 +16,11 @@
 package com.dremio.exec.physical.impl.writer;
 
 import static com.dremio.exec.store.parquet.ParquetRecordWriter.DREMIO_VERSION_PROPERTY;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
 import static org.apache.parquet.format.converter.ParquetMetadataConverter.SKIP_ROW_GROUPS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.notNull;
@@ -41,6 +44,8 @@ import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.hadoop.util.PageHeaderUtil;
 import org.joda.time.Period;
@@ -67,6 +72,7 @@ import com.dremio.exec.record.VectorContainer;
 import com.dremio.exec.store.RecordWriter;
 import com.dremio.exec.store.WritePartition;
 import com.dremio.exec.store.dfs.FileSystemPlugin;
+import com.dremio.exec.store.parquet.ParquetBloomFilters;
 import com.dremio.exec.store.parquet.ParquetFormatConfig;
 import com.dremio.exec.store.parquet.ParquetFormatPlugin;
 import com.dremio.exec.store.parquet.ParquetRecordWriter;
@@ -324,6 +330,63 @@ public class TestParquetWriter extends BaseTestQuery {
     }
   }
 
+  @Test
+  public void testTPCHReadWriteAsyncFlush() throws Exception {
+    try {
+      // write many small files, each one flushed while the next one is filled
+      test("alter session set \"%s\" = true", ExecConstants.PARQUET_WRITER_ASYNC_FLUSH.getOptionName());
+      test("alter session set \"%s\" = %d", ExecConstants.PARQUET_BLOCK_SIZE, 64 * 1024);
+      test("alter session set \"%s\" = %d", ExecConstants.PARQUET_MIN_RECORDS_FOR_FLUSH_VALIDATOR.getOptionName(), 1000);
+      String inputTable = "cp.\"tpch/lineitem.parquet\"";
+      runTestAndValidate("*", "*", inputTable, "lineitem_parquet_async_flush", false);
+    } finally {
+      test("alter session reset all");
+    }
+  }
+
+  @Test
+  public void testBloomFiltersAndPageIndexes() throws Exception {
+    final String outputFile = "nation_bloom_filters";
+    try {
+      deleteTableIfExists(outputFile);
+      test("use dfs_test");
+      test("CREATE TABLE %s STORE AS (type => 'parquet', bloomFilterColumns => 'n_nationkey, n_name') " +
+        "AS SELECT * FROM cp.\"tpch/nation.parquet\"", outputFile);
+
+      Configuration hadoopConf = new Configuration();
+      Path output = new Path(getDfsTestTmpSchemaLocation(), outputFile);
+      FileSystem fs = output.getFileSystem(hadoopConf);
+      for (FileStatus file : fs.listStatus(output)) {
+        ParquetMetadata footer = ParquetFileReader.readFooter(hadoopConf, file, NO_FILTER);
+        Map<String, String> keyValueMetaData = footer.getFileMetaData().getKeyValueMetaData();
+        assertTrue(keyValueMetaData.containsKey(ParquetBloomFilters.BLOOM_FILTER_PROPERTY_PREFIX + "n_nationkey"));
+        assertTrue(keyValueMetaData.containsKey(ParquetBloomFilters.BLOOM_FILTER_PROPERTY_PREFIX + "n_name"));
+        assertFalse(keyValueMetaData.containsKey(ParquetBloomFilters.BLOOM_FILTER_PROPERTY_PREFIX + "n_regionkey"));
+        for (BlockMetaData block : footer.getBlocks()) {
+          for (ColumnChunkMetaData column : block.getColumns()) {
+            assertNotNull(column.getColumnIndexReference());
+            assertNotNull(column.getOffsetIndexReference());
+          }
+        }
+      }
+
+      testBuilder()
+        .sqlQuery("SELECT n_name FROM %s WHERE n_nationkey = 3", outputFile)
+        .unOrdered()
+        .baselineColumns("n_name")
+        .baselineValues("CANADA")
+        .go();
+      testBuilder()
+        .sqlQuery("SELECT count(*) AS c FROM %s WHERE n_name = 'ATLANTIS'", outputFile)
+        .unOrdered()
+        .baselineColumns("c")
+        .baselineValues(0L)
+        .go();
+    } finally {
+      deleteTableIfExists(outputFile);
+    }
+  }
+
   @Test
   public void testTPCHReadWrite2() throws Exception {
     String inputTable = "cp.\"tpch/customer.parquet\"";
@@ -23,6 +23,8 @@ import org.junit.Test;
 
 import com.dremio.BaseTestQuery;
 import com.dremio.exec.ExecConstants;
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.store.dfs.implicit.ImplicitFilesystemColumnFinder;
 import com.dremio.sabot.rpc.user.QueryDataBatch;
 
 public class TestPartitionCreation extends BaseTestQuery {
@@ -179,6 +181,67 @@ public class TestPartitionCreation extends BaseTestQuery {
     test("create table dfs_test.mypart3 PARTITION BY (kind) STORE AS (type => 'TEXT', fieldDelimiter => ',') as select * from sys.options");
   }
 
+  @Test
+  public void testZOrderLocalSort() throws Exception {
+    try {
+      test("alter session set \"%s\" = true", PlannerSettings.WRITER_LOCALSORT_ZORDER.getOptionName());
+      test("create table dfs_test.nation_zorder LOCALSORT BY (n_regionkey, n_name) as select * from cp.\"tpch/nation.parquet\"");
+      test("create table dfs_test.nation_zorder_part PARTITION BY (n_regionkey) LOCALSORT BY (n_nationkey, n_name) as select * from cp.\"tpch/nation.parquet\"");
+
+      // the Z-order key is only used to sort, not written
+      testBuilder()
+        .unOrdered()
+        .sqlQuery("select * from dfs_test.nation_zorder")
+        .sqlBaselineQuery("select * from cp.\"tpch/nation.parquet\"")
+        .go();
+      testBuilder()
+        .unOrdered()
+        .sqlQuery("select n_nationkey, n_name, n_regionkey, n_comment from dfs_test.nation_zorder_part")
+        .sqlBaselineQuery("select n_nationkey, n_name, n_regionkey, n_comment from cp.\"tpch/nation.parquet\"")
+        .go();
+
+      // 1 in [0, 1] and 2 in [0, 3] are both scaled to 0x8000000000000000
+      final byte[] key = new byte[16];
+      key[0] = (byte) 0xC0;
+      testBuilder()
+        .unOrdered()
+        .sqlQuery("select zorder_interleave(zorder_scale(zorder_normalize(cast(1 as bigint)), 0, 1), "
+          + "zorder_scale(zorder_normalize(cast(2 as bigint)), 0, 3)) k from (values(1))")
+        .baselineColumns("k")
+        .baselineValues(key)
+        .go();
+    } finally {
+      test("alter session reset all");
+    }
+  }
+
+  @Test
+  public void testZOrderLocalSortClustering() throws Exception {
+    try {
+      test("alter session set \"%s\" = true", PlannerSettings.WRITER_LOCALSORT_ZORDER.getOptionName());
+      test("alter session set \"%s\" = true", ImplicitFilesystemColumnFinder.IMPLICIT_FILE_FIELD_ENABLE.getOptionName());
+      // write many small files
+      test("alter session set \"%s\" = 2048", ExecConstants.PARQUET_BLOCK_SIZE);
+      test("alter session set \"%s\" = 1000", ExecConstants.PARQUET_MIN_RECORDS_FOR_FLUSH_VALIDATOR.getOptionName());
+
+      // a 25 x 25 grid of points repeated 25 times, without statistics so that both columns are scaled to the domain of int
+      test("create table dfs_test.grid_zorder LOCALSORT BY (x, y) as "
+        + "select n1.n_nationkey x, n2.n_nationkey y, n1.n_nationkey * 625 + n2.n_nationkey * 25 + n3.n_nationkey id "
+        + "from cp.\"tpch/nation.parquet\" n1, cp.\"tpch/nation.parquet\" n2, cp.\"tpch/nation.parquet\" n3");
+
+      // sorting on x then y would have every file span all of y
+      testBuilder()
+        .unOrdered()
+        .sqlQuery("select count(*) > 2 and 2 * sum(case when lo = 0 and hi = 24 then 1 else 0 end) < count(*) clustered "
+          + "from (select \"$file\", min(y) lo, max(y) hi from dfs_test.grid_zorder group by \"$file\")")
+        .baselineColumns("clustered")
+        .baselineValues(true)
+        .go();
+    } finally {
+      test("alter session reset all");
+    }
+  }
+
   @Test
   public void testDistributionBuckets() throws Exception {
     List<QueryDataBatch> result = testSqlWithResults("create table dfs_test.options_name DISTRIBUTE BY (name) STORE AS (type => 'TEXT', fieldDelimiter => ',') as select * from sys.options");
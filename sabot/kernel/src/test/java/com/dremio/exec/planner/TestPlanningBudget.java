@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.dremio.exec.proto.UserBitShared.PlanPhaseProfile;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests for {@link PlanningBudget}
+ */
+public class TestPlanningBudget {
+
+  private static final class FakeTicker extends Ticker {
+    private long nanos;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    private void advance(long millis) {
+      nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+  }
+
+  @Test
+  public void testExhausted() {
+    final FakeTicker ticker = new FakeTicker();
+    final PlanningBudget budget = new PlanningBudget(ticker);
+    assertFalse(budget.isExhausted());
+
+    budget.start(100);
+    ticker.advance(100);
+    assertFalse(budget.isExhausted());
+    ticker.advance(1);
+    assertTrue(budget.isExhausted());
+
+    // restarting keeps the original start time
+    budget.start(1_000);
+    assertTrue(budget.isExhausted());
+  }
+
+  @Test
+  public void testNoBudget() {
+    final FakeTicker ticker = new FakeTicker();
+    final PlanningBudget budget = new PlanningBudget(ticker);
+    budget.start(0);
+    ticker.advance(1_000_000);
+    assertFalse(budget.isExhausted());
+  }
+
+  @Test
+  public void testStop() {
+    final FakeTicker ticker = new FakeTicker();
+    final PlanningBudget budget = new PlanningBudget(ticker);
+    budget.start(100);
+    ticker.advance(50);
+    budget.stop();
+    ticker.advance(100);
+    assertFalse(budget.isExhausted());
+  }
+
+  @Test
+  public void testProfile() {
+    final FakeTicker ticker = new FakeTicker();
+    final PlanningBudget budget = new PlanningBudget(ticker);
+    assertTrue(budget.getPlanPhaseProfiles().isEmpty());
+
+    budget.start(100);
+    budget.phaseCompleted("Logical Planning", 20);
+    budget.phaseCompleted("Physical Planning", 30);
+    budget.phaseCompleted("Logical Planning", 10);
+    budget.fallback("join reordering skipped");
+    budget.fallback("join reordering skipped");
+    ticker.advance(60);
+    budget.stop();
+
+    assertEquals(ImmutableList.of("join reordering skipped"), budget.getFallbacks());
+    final List<PlanPhaseProfile> profiles = budget.getPlanPhaseProfiles();
+    assertEquals(1, profiles.size());
+    assertEquals(PlanningBudget.PHASE_NAME, profiles.get(0).getPhaseName());
+    assertEquals(60, profiles.get(0).getDurationMillis());
+    assertTrue(profiles.get(0).getPlan().contains("Logical Planning (30 ms)"));
+    assertTrue(profiles.get(0).getPlan().contains("Physical Planning (30 ms)"));
+    assertTrue(profiles.get(0).getPlan().contains("fallback      : join reordering skipped"));
+    assertTrue(profiles.get(0).getPlan().startsWith("WARNING: planning budget exhausted"));
+  }
+
+  @Test
+  public void testProfileWithoutFallback() {
+    final FakeTicker ticker = new FakeTicker();
+    final PlanningBudget budget = new PlanningBudget(ticker);
+    budget.start(100);
+    budget.phaseCompleted("Logical Planning", 20);
+    ticker.advance(20);
+    budget.stop();
+
+    final List<PlanPhaseProfile> profiles = budget.getPlanPhaseProfiles();
+    assertEquals(1, profiles.size());
+    assertFalse(profiles.get(0).getPlan().contains("WARNING"));
+  }
+}
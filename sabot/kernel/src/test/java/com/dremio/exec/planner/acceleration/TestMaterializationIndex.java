@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.acceleration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.dremio.exec.planner.acceleration.MaterializationIndex.SourceKey;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Tests for {@link MaterializationIndex}
+ */
+public class TestMaterializationIndex {
+
+  private static final SourceKey T1 = SourceKey.table(ImmutableList.of("src", "t1"));
+  private static final SourceKey T2 = SourceKey.table(ImmutableList.of("src", "t2"));
+  private static final SourceKey V1 = SourceKey.view(ImmutableList.of("space", "v1"));
+  private static final SourceKey EQ = SourceKey.externalQuery("pg", "select 1");
+
+  private final Map<String, Set<SourceKey>> keys = ImmutableMap.<String, Set<SourceKey>>builder()
+    .put("r1", ImmutableSet.of(T1))
+    .put("r2", ImmutableSet.of(T1, T2))
+    .put("r3", ImmutableSet.of(V1))
+    .put("r4", ImmutableSet.of(EQ))
+    .build();
+
+  @Test
+  public void testFindByTable() {
+    final MaterializationIndex<String> index = MaterializationIndex.of(ImmutableList.of("r1", "r2", "r3", "r4"), keys::get);
+
+    assertEquals(ImmutableList.of("r1", "r2"), index.find(ImmutableSet.of(T1)));
+    assertEquals(ImmutableList.of("r2"), index.find(ImmutableSet.of(T2)));
+    assertEquals(ImmutableList.of("r2", "r3"), index.find(ImmutableSet.of(T2, V1)));
+    assertEquals(ImmutableList.of("r4"), index.find(ImmutableSet.of(EQ)));
+    assertEquals(ImmutableList.of(), index.find(ImmutableSet.of(SourceKey.table(ImmutableList.of("src", "t3")))));
+  }
+
+  @Test
+  public void testSourceTypesAreDistinct() {
+    final MaterializationIndex<String> index = MaterializationIndex.of(ImmutableList.of("r1", "r3"), keys::get);
+
+    // a view sharing the path of a table must not match the table
+    assertEquals(ImmutableList.of(), index.find(ImmutableSet.of(SourceKey.view(ImmutableList.of("src", "t1")))));
+    assertEquals(ImmutableList.of("r3"), index.find(ImmutableSet.of(SourceKey.view(ImmutableList.of("space", "v1")))));
+  }
+
+  @Test
+  public void testUnindexedEntriesAlwaysReturned() {
+    final MaterializationIndex<String> index = MaterializationIndex.of(ImmutableList.of("r1", "unknown", "r3"), keys::get);
+
+    assertEquals(3, index.size());
+    assertEquals(ImmutableList.of("unknown"), index.find(ImmutableSet.of()));
+    assertEquals(ImmutableList.of("r1", "unknown"), index.find(ImmutableSet.of(T1)));
+  }
+}
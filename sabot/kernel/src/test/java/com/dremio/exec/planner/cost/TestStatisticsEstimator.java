@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.cost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.Pair;
+import org.junit.Test;
+
+import com.dremio.exec.planner.RexBuilderTestBase;
+import com.dremio.service.namespace.dataset.proto.ColumnStatistics;
+import com.dremio.service.namespace.dataset.proto.TableStatistics;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests for {@link StatisticsEstimator}
+ */
+public class TestStatisticsEstimator extends RexBuilderTestBase {
+  private static final double DELTA = 1e-9;
+  private static final List<Double> BOUNDS = ImmutableList.of(0d, 10d, 20d, 30d, 40d, 50d, 60d, 70d, 80d, 90d, 100d);
+
+  private final TableStatistics stats = new TableStatistics()
+    .setRowCount(1000L)
+    .setColumnsList(ImmutableList.of(
+      new ColumnStatistics()
+        .setName("INTC")
+        .setNdv(100L)
+        .setNullCount(100L)
+        .setHistogramBoundsList(BOUNDS)));
+
+  @Test
+  public void testFractionBelow() {
+    assertEquals(0d, StatisticsEstimator.fractionBelow(BOUNDS, -5), DELTA);
+    assertEquals(0d, StatisticsEstimator.fractionBelow(BOUNDS, 0), DELTA);
+    assertEquals(0.25d, StatisticsEstimator.fractionBelow(BOUNDS, 25), DELTA);
+    assertEquals(0.5d, StatisticsEstimator.fractionBelow(BOUNDS, 50), DELTA);
+    assertEquals(1d, StatisticsEstimator.fractionBelow(BOUNDS, 100), DELTA);
+    assertEquals(1d, StatisticsEstimator.fractionBelow(BOUNDS, 150), DELTA);
+  }
+
+  @Test
+  public void testRange() {
+    assertEquals(Pair.of(0d, 100d), StatisticsEstimator.getRange(stats, "intc"));
+    assertNull(StatisticsEstimator.getRange(stats, "other"));
+    final TableStatistics withoutHistogram = new TableStatistics()
+      .setRowCount(1000L)
+      .setColumnsList(ImmutableList.of(new ColumnStatistics().setName("VARCHARC").setNdv(10L)));
+    assertNull(StatisticsEstimator.getRange(withoutHistogram, "VARCHARC"));
+  }
+
+  @Test
+  public void testEquals() {
+    assertEquals(0.9d / 100, selectivity(compare(SqlStdOperatorTable.EQUALS, 5)), DELTA);
+    assertEquals(0.9d * 99 / 100, selectivity(compare(SqlStdOperatorTable.NOT_EQUALS, 5)), DELTA);
+    // outside of the histogram
+    assertEquals(0d, selectivity(compare(SqlStdOperatorTable.EQUALS, 500)), DELTA);
+  }
+
+  @Test
+  public void testRanges() {
+    assertEquals(0.9d * 0.25, selectivity(compare(SqlStdOperatorTable.LESS_THAN, 25)), DELTA);
+    assertEquals(0.9d * 0.75, selectivity(compare(SqlStdOperatorTable.GREATER_THAN, 25)), DELTA);
+    // literal on the left
+    assertEquals(0.9d * 0.75, selectivity(builder.makeCall(SqlStdOperatorTable.LESS_THAN, intLit(25), input(0))), DELTA);
+  }
+
+  @Test
+  public void testNulls() {
+    assertEquals(0.1d, selectivity(builder.makeCall(SqlStdOperatorTable.IS_NULL, input(0))), DELTA);
+    assertEquals(0.9d, selectivity(builder.makeCall(SqlStdOperatorTable.IS_NOT_NULL, input(0))), DELTA);
+  }
+
+  @Test
+  public void testConjunctions() {
+    final RexNode lessThan = compare(SqlStdOperatorTable.LESS_THAN, 25);
+    final RexNode greaterThan = compare(SqlStdOperatorTable.GREATER_THAN, 75);
+    assertEquals(0.9d * 0.25 * 0.9d * 0.25,
+      selectivity(builder.makeCall(SqlStdOperatorTable.AND, lessThan, greaterThan)), DELTA);
+
+    final double or = 0.9d * 0.25 + 0.9d * 0.25 - (0.9d * 0.25) * (0.9d * 0.25);
+    assertEquals(or, selectivity(builder.makeCall(SqlStdOperatorTable.OR, lessThan, greaterThan)), DELTA);
+    assertEquals(1d - 0.9d * 0.25, selectivity(builder.makeCall(SqlStdOperatorTable.NOT, lessThan)), DELTA);
+  }
+
+  @Test
+  public void testColumnWithoutStatistics() {
+    final RexNode equals = builder.makeCall(SqlStdOperatorTable.EQUALS, input(1), bigIntLit(5));
+    assertEquals(0.15d, selectivity(equals), DELTA);
+  }
+
+  @Test
+  public void testDistinctRowCount() {
+    final List<String> fieldNames = rowType.getFieldNames();
+    assertEquals(100d, StatisticsEstimator.getDistinctRowCount(stats, fieldNames, ImmutableBitSet.of(0), 1000d), DELTA);
+    assertEquals(50d, StatisticsEstimator.getDistinctRowCount(stats, fieldNames, ImmutableBitSet.of(0), 50d), DELTA);
+    assertNull(StatisticsEstimator.getDistinctRowCount(stats, fieldNames, ImmutableBitSet.of(0, 1), 1000d));
+  }
+
+  private RexNode compare(SqlOperator operator, int value) {
+    return builder.makeCall(operator, input(0), intLit(value));
+  }
+
+  private double selectivity(RexNode predicate) {
+    return StatisticsEstimator.getSelectivity(stats, rowType.getFieldNames(), predicate);
+  }
+}
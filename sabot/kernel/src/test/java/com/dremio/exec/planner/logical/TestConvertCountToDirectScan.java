@@ -99,4 +99,42 @@ public class TestConvertCountToDirectScan extends PlanTestBase {
         .go();
   }
 
+  @Test
+  public void ensureConvertPartitionMinMaxToDirectScan() throws Exception {
+    test("create table dfs_test.nation_minmax PARTITION BY (n_regionkey) as select * from cp.\"tpch/nation.parquet\"");
+
+    final String sql = "select min(n_regionkey) as min_key, max(n_regionkey) as max_key, count(*) as cnt from dfs_test.nation_minmax";
+    testPlanMatchingPatterns(
+        sql,
+        new String[] { "Values" },
+        new String[]{});
+
+    testBuilder()
+        .sqlQuery(sql)
+        .unOrdered()
+        .sqlBaselineQuery("select min(n_regionkey) as min_key, max(n_regionkey) as max_key, count(*) as cnt from cp.\"tpch/nation.parquet\"")
+        .go();
+
+    // filter on the partition column only
+    final String filteredSql = "select max(n_regionkey) as max_key from dfs_test.nation_minmax where n_regionkey < 3";
+    testPlanMatchingPatterns(
+        filteredSql,
+        new String[] { "Values" },
+        new String[]{});
+
+    testBuilder()
+        .sqlQuery(filteredSql)
+        .unOrdered()
+        .sqlBaselineQuery("select max(n_regionkey) as max_key from cp.\"tpch/nation.parquet\" where n_regionkey < 3")
+        .go();
+  }
+
+  @Test
+  public void ensureMinMaxOfNonPartitionColumnDoesntConvertToDirectScan() throws Exception {
+    testPlanMatchingPatterns(
+        "select max(n_nationkey) as max_key from cp.\"tpch/nation.parquet\"",
+        new String[]{},
+        new String[] { "Values" });
+  }
+
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.logical;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptListener;
+import org.apache.calcite.plan.RelOptRule;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.hep.HepMatchOrder;
+import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgramBuilder;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.core.RelFactories;
+import org.apache.calcite.rel.rules.JoinToMultiJoinRule;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.tools.RelBuilder;
+import org.junit.After;
+import org.junit.Test;
+
+import com.dremio.PlanTestBase;
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.planner.types.SqlTypeFactoryImpl;
+import com.dremio.options.OptionManager;
+import com.dremio.options.OptionValue;
+import com.dremio.options.OptionValue.OptionType;
+import com.dremio.test.DremioTest;
+import com.google.common.collect.Lists;
+
+/**
+ * Tests for {@link DPJoinOptimizeRule}
+ */
+public class TestDPJoinOptimizeRule extends PlanTestBase {
+
+  private static final String ENABLE_DP = "alter session set \"" + PlannerSettings.ENABLE_DP_JOIN_ENUMERATOR.getOptionName() + "\" = true";
+  private static final String DISABLE_DP = "alter session set \"" + PlannerSettings.ENABLE_DP_JOIN_ENUMERATOR.getOptionName() + "\" = false";
+
+  // TPC-H Q5: six inputs joined on their keys
+  private static final String Q5 = "select n.n_name, sum(l.l_extendedprice * (1 - l.l_discount)) as revenue\n"
+    + "from cp.\"tpch/customer.parquet\" c, cp.\"tpch/orders.parquet\" o, cp.\"tpch/lineitem.parquet\" l,\n"
+    + "  cp.\"tpch/supplier.parquet\" s, cp.\"tpch/nation.parquet\" n, cp.\"tpch/region.parquet\" r\n"
+    + "where c.c_custkey = o.o_custkey and l.l_orderkey = o.o_orderkey and l.l_suppkey = s.s_suppkey\n"
+    + "  and c.c_nationkey = s.s_nationkey and s.s_nationkey = n.n_nationkey and n.n_regionkey = r.r_regionkey\n"
+    + "  and r.r_name = 'EUROPE'\n"
+    + "group by n.n_name";
+
+  // same joins mixed with an outer join, which leaves the multi join to the LOPT rule
+  private static final String Q5_OUTER = "select n.n_name, count(*) as cnt\n"
+    + "from cp.\"tpch/customer.parquet\" c join cp.\"tpch/orders.parquet\" o on c.c_custkey = o.o_custkey\n"
+    + "  join cp.\"tpch/nation.parquet\" n on c.c_nationkey = n.n_nationkey\n"
+    + "  left join cp.\"tpch/region.parquet\" r on n.n_regionkey = r.r_regionkey and r.r_name = 'EUROPE'\n"
+    + "group by n.n_name";
+
+  @After
+  public void resetOption() {
+    resetSessionOption(PlannerSettings.ENABLE_DP_JOIN_ENUMERATOR);
+  }
+
+  @Test
+  public void testPlanWithoutCrossProducts() throws Exception {
+    try (AutoCloseable c = withOption(PlannerSettings.ENABLE_DP_JOIN_ENUMERATOR, true)) {
+      final String plan = getPlanInString("EXPLAIN PLAN for " + Q5, OPTIQ_FORMAT);
+      // every join is done on a join condition: five hash joins and no nested loop join
+      assertEquals(plan, 5, count(plan, "HashJoin("));
+      assertEquals(plan, 0, count(plan, "NestedLoopJoin("));
+      testPlanMatchingPatterns(Q5, new String[] {"tpch/region.parquet", "tpch/lineitem.parquet"}, "NestedLoopJoin");
+    }
+  }
+
+  @Test
+  public void testResults() throws Exception {
+    testBuilder()
+      .optionSettingQueriesForTestQuery(ENABLE_DP)
+      .optionSettingQueriesForBaseline(DISABLE_DP)
+      .unOrdered()
+      .sqlQuery(Q5)
+      .sqlBaselineQuery(Q5)
+      .go();
+  }
+
+  @Test
+  public void testResultsWithOuterJoin() throws Exception {
+    testBuilder()
+      .optionSettingQueriesForTestQuery(ENABLE_DP)
+      .optionSettingQueriesForBaseline(DISABLE_DP)
+      .unOrdered()
+      .sqlQuery(Q5_OUTER)
+      .sqlBaselineQuery(Q5_OUTER)
+      .go();
+  }
+
+  @Test
+  public void testRuleBuildsBushyPlan() {
+    final OptionManager options = mock(OptionManager.class);
+    final String maxFactors = PlannerSettings.DP_JOIN_ENUMERATOR_MAX_FACTORS.getOptionName();
+    when(options.getOption(maxFactors)).thenReturn(OptionValue.createLong(OptionType.QUERY, maxFactors, 12));
+    final PlannerSettings settings = new PlannerSettings(DremioTest.DEFAULT_SABOT_CONFIG, options, null);
+
+    final DPJoinOptimizeRule rule = new DPJoinOptimizeRule(DremioRelFactories.CALCITE_LOGICAL_BUILDER);
+    final HepPlanner planner = new HepPlanner(new HepProgramBuilder()
+      .addMatchOrder(HepMatchOrder.BOTTOM_UP)
+      .addRuleInstance(JoinToMultiJoinRule.INSTANCE)
+      .addRuleInstance(rule)
+      .build(), settings);
+    final List<RelNode> produced = Lists.newArrayList();
+    planner.addListener(new RuleProductionListener(rule, produced));
+
+    // a chain n1 - c1 - c2 - n2 of two small and two large inputs, joined left deep
+    final RelOptCluster cluster = RelOptCluster.create(planner, new RexBuilder(SqlTypeFactoryImpl.INSTANCE));
+    final RelBuilder builder = RelFactories.LOGICAL_BUILDER.create(cluster, null);
+    builder.push(values(builder, "n1", 2))
+      .push(values(builder, "c1", 1000))
+      .join(JoinRelType.INNER, builder.equals(builder.field(2, 0, "n1_key"), builder.field(2, 1, "c1_key")))
+      .push(values(builder, "c2", 1000))
+      .join(JoinRelType.INNER, builder.equals(builder.field(2, 0, "c1_value"), builder.field(2, 1, "c2_value")))
+      .push(values(builder, "n2", 2))
+      .join(JoinRelType.INNER, builder.equals(builder.field(2, 0, "c2_key"), builder.field(2, 1, "n2_key")));
+    planner.setRoot(builder.build());
+    final RelNode plan = planner.findBestExp();
+
+    // the enumerator joins the two small inputs to their neighbours first, and then the two results together
+    assertEquals(1, produced.size());
+    final Join top = findJoin(plan);
+    assertTrue(RelOptUtil.toString(plan), findJoin(top.getLeft()) != null && findJoin(top.getRight()) != null);
+  }
+
+  private static RelNode values(RelBuilder builder, String name, int rowCount) {
+    final Object[] values = new Object[rowCount * 2];
+    for (int i = 0; i < rowCount; i++) {
+      values[2 * i] = i % 25;
+      values[2 * i + 1] = i;
+    }
+    return builder.values(new String[] {name + "_key", name + "_value"}, values).build();
+  }
+
+  /**
+   * @return the topmost join of a plan, looking through the operators with a single input
+   */
+  private static Join findJoin(RelNode rel) {
+    if (rel instanceof Join) {
+      return (Join) rel;
+    }
+    return rel.getInputs().size() == 1 ? findJoin(rel.getInput(0)) : null;
+  }
+
+  /**
+   * Records the plans produced by a rule.
+   */
+  private static final class RuleProductionListener implements RelOptListener {
+    private final RelOptRule rule;
+    private final List<RelNode> produced;
+
+    private RuleProductionListener(RelOptRule rule, List<RelNode> produced) {
+      this.rule = rule;
+      this.produced = produced;
+    }
+
+    @Override
+    public void relEquivalenceFound(RelEquivalenceEvent event) {
+    }
+
+    @Override
+    public void ruleAttempted(RuleAttemptedEvent event) {
+    }
+
+    @Override
+    public void ruleProductionSucceeded(RuleProductionEvent event) {
+      if (!event.isBefore() && event.getRuleCall().getRule() == rule) {
+        produced.add(event.getRel());
+      }
+    }
+
+    @Override
+    public void relDiscarded(RelDiscardedEvent event) {
+    }
+
+    @Override
+    public void relChosen(RelChosenEvent event) {
+    }
+  }
+
+  private static int count(String plan, String operator) {
+    final Matcher matcher = Pattern.compile(Pattern.quote(operator)).matcher(plan);
+    int count = 0;
+    while (matcher.find()) {
+      count++;
+    }
+    return count;
+  }
+}
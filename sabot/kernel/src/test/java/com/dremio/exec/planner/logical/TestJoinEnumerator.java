@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.logical;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link JoinEnumerator}
+ */
+public class TestJoinEnumerator {
+
+  /**
+   * A fact table joined to dimensions, each dimension join keeping the given fraction of the facts.
+   */
+  private static JoinEnumerator star(double facts, double[] dimensions, double[] kept) {
+    final double[] rowCounts = new double[dimensions.length + 1];
+    final long[] edges = new long[dimensions.length];
+    final double[] selectivities = new double[dimensions.length];
+    rowCounts[0] = facts;
+    for (int i = 0; i < dimensions.length; i++) {
+      rowCounts[i + 1] = dimensions[i];
+      edges[i] = 1L | (1L << (i + 1));
+      selectivities[i] = kept[i] / dimensions[i];
+    }
+    return new JoinEnumerator(rowCounts, edges, selectivities);
+  }
+
+  @Test
+  public void testStarJoinsMostSelectiveDimensionFirst() {
+    final JoinEnumerator enumerator = star(1_000_000, new double[]{100, 1_000, 10}, new double[]{0.5, 0.01, 1});
+    final JoinEnumerator.Plan plan = enumerator.optimize(12);
+
+    assertEquals("(((0 x 2) x 1) x 3)", plan.toString());
+    assertEquals(5_000, plan.getRowCount(), 0.1);
+  }
+
+  @Test
+  public void testBiggerSideOnTheLeft() {
+    final JoinEnumerator.Plan plan = star(10, new double[]{1_000}, new double[]{1}).optimize(12);
+
+    assertEquals(1, plan.getLeft().getFactor());
+    assertEquals(0, plan.getRight().getFactor());
+    assertEquals(1, plan.getEdges().size());
+  }
+
+  @Test
+  public void testGreedyMatchesDpOnStar() {
+    final JoinEnumerator enumerator = star(1_000_000, new double[]{100, 1_000, 10}, new double[]{0.5, 0.01, 1});
+
+    assertEquals(enumerator.dp().toString(), enumerator.greedy().toString());
+    assertEquals(enumerator.greedy().toString(), enumerator.optimize(2).toString());
+  }
+
+  @Test
+  public void testDpNeverBeatenByGreedy() {
+    // chain 0 - 1 - 2 - 3 where greedy picks the locally smallest join first
+    final JoinEnumerator enumerator = new JoinEnumerator(
+      new double[]{1_000, 10, 1_000, 100_000},
+      new long[]{0b0011, 0b0110, 0b1100},
+      new double[]{0.1, 0.001, 0.0001});
+
+    assertTrue(enumerator.dp().getCost() <= enumerator.greedy().getCost());
+  }
+
+  @Test
+  public void testHyperedge() {
+    // the only condition references the three factors, so two of them are joined by a cross product
+    final JoinEnumerator enumerator = new JoinEnumerator(
+      new double[]{100, 10, 1},
+      new long[]{0b111},
+      new double[]{0.01});
+
+    assertNull(enumerator.dp());
+    final JoinEnumerator.Plan plan = enumerator.optimize(12);
+    assertEquals(1, plan.getEdges().size());
+    assertTrue(plan.getLeft().getEdges().isEmpty() && plan.getRight().getEdges().isEmpty());
+  }
+
+  @Test
+  public void testDisconnectedFallsBackToCrossProduct() {
+    final JoinEnumerator enumerator = new JoinEnumerator(
+      new double[]{100, 10, 5},
+      new long[]{0b011},
+      new double[]{0.1});
+
+    final JoinEnumerator.Plan plan = enumerator.optimize(12);
+    assertEquals("((0 x 1) x 2)", plan.toString());
+    assertEquals(500, plan.getRowCount(), 0.1);
+  }
+}
@@ -229,6 +229,7 @@ public class CommandCreatorTest {
       request,
       attemptObserver,
       plans,
+      new PlanCache(10, 60_000L),
       new Pointer<>(prepareId),
       attemptNumber
     );
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql.handlers.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dremio.common.exceptions.UserException;
+import com.dremio.exec.catalog.Catalog;
+import com.dremio.exec.catalog.DremioTable;
+import com.dremio.exec.proto.UserBitShared.PlanCacheProfile;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests for {@link PlanCache}
+ */
+public class TestPlanCache {
+
+  private static final NamespaceKey T1 = new NamespaceKey(ImmutableList.of("src", "t1"));
+  private static final NamespaceKey T2 = new NamespaceKey(ImmutableList.of("src", "t2"));
+
+  private Catalog catalog;
+  private PlanCache cache;
+
+  @Before
+  public void setup() {
+    catalog = mock(Catalog.class);
+    // tables are built before stubbing the catalog, as building one stubs the table mock.
+    final DremioTable t1 = table(T1, "1");
+    final DremioTable t2 = table(T2, "1");
+    when(catalog.getTableNoResolve(T1)).thenReturn(t1);
+    when(catalog.getTableNoResolve(T2)).thenReturn(t2);
+    cache = new PlanCache(10, 60_000L);
+  }
+
+  private static PlanCache.Key key(String sql, String user) {
+    return new PlanCache.Key(sql, user, "null", "", "[];[]", "reflections");
+  }
+
+  private static PreparedPlan plan(String sql) {
+    return new PreparedPlan(null, "user", sql, null, null);
+  }
+
+  private static DremioTable table(NamespaceKey path, String tag) {
+    final DremioTable table = mock(DremioTable.class);
+    when(table.getPath()).thenReturn(path);
+    when(table.getDatasetConfig()).thenReturn(new DatasetConfig().setTag(tag));
+    return table;
+  }
+
+  @Test
+  public void testHit() {
+    final PreparedPlan plan = plan("select * from src.t1");
+    cache.put(key("select * from src.t1", "user"), plan, ImmutableList.of(table(T1, "1")));
+
+    assertSame(plan, cache.get(key("select * from src.t1", "user"), catalog));
+    assertNull(cache.get(key("select * from src.t1", "other"), catalog));
+    assertNull(cache.get(key("select * from src.t2", "user"), catalog));
+  }
+
+  @Test
+  public void testDatasetChangeInvalidates() {
+    final PlanCache.Key key = key("select * from src.t1, src.t2", "user");
+    cache.put(key, plan("select * from src.t1, src.t2"), ImmutableList.of(table(T1, "1"), table(T2, "1")));
+    assertEquals(1, cache.size());
+
+    final DremioTable changed = table(T2, "2");
+    when(catalog.getTableNoResolve(T2)).thenReturn(changed);
+    assertNull(cache.get(key, catalog));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testDroppedDatasetInvalidates() {
+    final PlanCache.Key key = key("select * from src.t1", "user");
+    cache.put(key, plan("select * from src.t1"), ImmutableList.of(table(T1, "1")));
+
+    when(catalog.getTableNoResolve(T1)).thenReturn(null);
+    assertNull(cache.get(key, catalog));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testRevokedAccessInvalidates() {
+    final PlanCache.Key key = key("select * from src.t1", "user");
+    cache.put(key, plan("select * from src.t1"), ImmutableList.of(table(T1, "1")));
+
+    when(catalog.getTableNoResolve(T1)).thenThrow(UserException.permissionError().message("denied").buildSilently());
+    assertNull(cache.get(key, catalog));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testUnversionedDatasetIsNotCached() {
+    final PlanCache.Key key = key("select * from src.t1, src.t2", "user");
+    cache.put(key, plan("select * from src.t1, src.t2"), ImmutableList.of(table(T1, "1"), table(T2, null)));
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testProfile() {
+    final PlanCache.Key key = key("select * from src.t1", "user");
+    cache.get(key, catalog);
+    cache.put(key, plan("select * from src.t1"), ImmutableList.of(table(T1, "1")));
+    cache.get(key, catalog);
+    cache.get(key, catalog);
+
+    final PlanCacheProfile profile = cache.getProfile(true);
+    assertTrue(profile.getHit());
+    assertEquals(1, profile.getCachedPlans());
+    assertEquals(2, profile.getHits());
+    assertEquals(1, profile.getMisses());
+    assertFalse(cache.getProfile(false).getHit());
+  }
+}
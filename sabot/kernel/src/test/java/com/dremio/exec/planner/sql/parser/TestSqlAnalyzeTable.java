@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.planner.sql.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.dialect.CalciteSqlDialect;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.junit.Test;
+
+import com.dremio.exec.planner.physical.PlannerSettings;
+import com.dremio.exec.planner.sql.ParserConfig;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests for the parsing of {@link SqlAnalyzeTable}
+ */
+public class TestSqlAnalyzeTable {
+
+  private static SqlNode parse(String toParse) throws SqlParseException {
+    ParserConfig config = new ParserConfig(Quoting.DOUBLE_QUOTE, 255, PlannerSettings.FULL_NESTED_SCHEMA_SUPPORT.getDefault().getBoolVal());
+    SqlParser parser = SqlParser.create(toParse, config);
+    return parser.parseStmt();
+  }
+
+  @Test
+  public void testAllColumns() throws SqlParseException {
+    final SqlNode node = parse("ANALYZE TABLE a.b.c COMPUTE STATISTICS");
+    assertTrue(node instanceof SqlAnalyzeTable);
+    final SqlAnalyzeTable analyze = (SqlAnalyzeTable) node;
+    assertEquals(ImmutableList.of("a", "b", "c"), analyze.getTable().names);
+    assertTrue(analyze.getColumns().isEmpty());
+  }
+
+  @Test
+  public void testColumns() throws SqlParseException {
+    final SqlAnalyzeTable analyze = (SqlAnalyzeTable) parse("analyze table \"a.b\".c compute statistics for columns (x, \"Y\")");
+    assertEquals(ImmutableList.of("a.b", "c"), analyze.getTable().names);
+    assertEquals(ImmutableList.of("x", "Y"), analyze.getColumns());
+  }
+
+  @Test
+  public void testUnparse() throws SqlParseException {
+    final SqlNode node = parse("ANALYZE TABLE a.b COMPUTE STATISTICS FOR COLUMNS (x, y)");
+    final String sql = node.toSqlString(CalciteSqlDialect.DEFAULT).getSql();
+    assertTrue(sql, sql.startsWith("ANALYZE TABLE \"a\".\"b\" COMPUTE STATISTICS FOR COLUMNS"));
+    final SqlAnalyzeTable reparsed = (SqlAnalyzeTable) parse(sql);
+    assertEquals(ImmutableList.of("a", "b"), reparsed.getTable().names);
+    assertEquals(ImmutableList.of("x", "y"), reparsed.getColumns());
+  }
+
+  @Test(expected = SqlParseException.class)
+  public void testMissingComputeStatistics() throws SqlParseException {
+    parse("ANALYZE TABLE a.b");
+  }
+
+  @Test(expected = SqlParseException.class)
+  public void testEmptyColumns() throws SqlParseException {
+    parse("ANALYZE TABLE a.b COMPUTE STATISTICS FOR COLUMNS ()");
+  }
+}
@@ -68,4 +68,26 @@ public class TestBitRpc extends ExecTest {
 
   }
 
+  @Test
+  public void testSendingMonitorWindow() throws Exception {
+    SharedResourceManager resourceManager = SharedResourceManager.newBuilder()
+      .addGroup("test")
+      .build();
+    SharedResource resource = resourceManager.getGroup("test").createResource("test-window", SharedResourceType.TEST);
+
+    final int window = 8;
+    SendingMonitor sendingMonitor = new SendingMonitor(resource, new SendingAccountor(), window);
+    RpcOutcomeListener<Ack> wrappedListener = sendingMonitor.wrap(Mockito.mock(RpcOutcomeListener.class));
+
+    for (int i = 0; i < window - 1; i++) {
+      sendingMonitor.increment();
+      assertTrue(resource.isAvailable());
+    }
+
+    sendingMonitor.increment();
+    assertFalse(resource.isAvailable());
+    wrappedListener.success(null, null);
+    assertTrue(resource.isAvailable());
+  }
+
 }
@@ -69,6 +69,11 @@ public class TestSqlBracketlessSyntax {
           @Override
           public QueryId getLastQueryId() { return null; }
 
+          @Override
+          public boolean isQuerySpecific() {
+            return false;
+          }
+
           @Override
           public void registerAdditionalInfo(AdditionalContext object) {
 
@@ -16,18 +16,42 @@
 package com.dremio.exec.store.arrow;
 
 import static com.dremio.TestBuilder.mapOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.ValueVector;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import com.dremio.PlanTestBase;
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.exec.ExecConstants;
+import com.dremio.exec.store.SampleMutator;
+import com.dremio.exec.store.easy.arrow.ArrowFileFormat.ArrowFileFooter;
+import com.dremio.exec.store.easy.arrow.ArrowFileFormat.ArrowRecordBatchSummary;
 import com.dremio.exec.store.easy.arrow.ArrowFormatPlugin;
+import com.dremio.exec.store.easy.arrow.ArrowRecordReader;
+import com.dremio.io.file.FileAttributes;
+import com.dremio.io.file.Path;
+import com.dremio.io.file.PathFilters;
+import com.dremio.sabot.exec.context.OperatorContextImpl;
 
 /**
  * Tests for {@link ArrowFormatPlugin}
@@ -168,4 +192,122 @@ public class TestArrowFormatPlugin extends PlanTestBase {
         .baselineValues(1L)
         .go();
   }
+
+  @Test
+  public void splits() throws Exception {
+    // small batches so that the file has many record batches to split
+    try (AutoCloseable op = withOption(ExecConstants.TARGET_BATCH_RECORDS_MAX, 1024L)) {
+      test("CREATE TABLE dfs_test.lineitemSplits STORE AS (type => 'arrow') WITH SINGLE WRITER AS " +
+          "SELECT * FROM cp.\"tpch/lineitem.parquet\"");
+    }
+
+    testBuilder()
+        .unOrdered()
+        .sqlQuery("SELECT * FROM TABLE(dfs_test.lineitemSplits(type => 'arrow'))")
+        .sqlBaselineQuery("SELECT * FROM cp.\"tpch/lineitem.parquet\"")
+        .go();
+
+    // the local file system has a single block per file, so read the splits the way the scan of a split does
+    final List<List<Long>> splits = readSplits(getArrowFile("lineitemSplits"), 4);
+    int splitsWithRecords = 0;
+    for (List<Long> split : splits) {
+      if (!split.isEmpty()) {
+        splitsWithRecords++;
+      }
+    }
+    assertTrue("records were read by a single split", splitsWithRecords > 1);
+    verifyOrderKeys(splits);
+  }
+
+  @Test
+  public void emptyBatches() throws Exception {
+    test("CREATE TABLE dfs_test.lineitemWithoutEmptyBatches STORE AS (type => 'arrow') WITH SINGLE WRITER AS " +
+        "SELECT * FROM cp.\"tpch/lineitem.parquet\"");
+
+    // the writer never writes empty batches, so add empty batches before, between and after the batches of the file
+    final byte[] bytes = Files.readAllBytes(Paths.get(
+        Path.withoutSchemeAndAuthority(getArrowFile("lineitemWithoutEmptyBatches")).toString()));
+    final int footerOffset = (int) ByteBuffer.wrap(bytes,
+        bytes.length - ArrowFormatPlugin.MAGIC_STRING_LENGTH - ArrowFormatPlugin.FOOTER_OFFSET_SIZE,
+        ArrowFormatPlugin.FOOTER_OFFSET_SIZE).getLong();
+    final ArrowFileFooter footer = ArrowFileFooter.parseDelimitedFrom(
+        new ByteArrayInputStream(bytes, footerOffset, bytes.length - footerOffset));
+    final ArrowFileFooter.Builder withEmptyBatches = footer.toBuilder().clearBatch();
+    for (ArrowRecordBatchSummary batch : footer.getBatchList()) {
+      withEmptyBatches.addBatch(batch.toBuilder().setRecordCount(0));
+      withEmptyBatches.addBatch(batch);
+    }
+    withEmptyBatches.addBatch(ArrowRecordBatchSummary.newBuilder().setOffset(footerOffset).setRecordCount(0));
+
+    final File tableDir = new File(getDfsTestTmpSchemaLocation(), "lineitemEmptyBatches");
+    assertTrue(tableDir.mkdir());
+    try (DataOutputStream output = new DataOutputStream(new FileOutputStream(new File(tableDir, "0_0_0.dremarrow1")))) {
+      output.write(bytes, 0, footerOffset);
+      withEmptyBatches.build().writeDelimitedTo(output);
+      output.writeLong(footerOffset);
+      output.write(ArrowFormatPlugin.MAGIC_STRING.getBytes());
+    }
+
+    testBuilder()
+        .unOrdered()
+        .sqlQuery("SELECT * FROM TABLE(dfs_test.lineitemEmptyBatches(type => 'arrow'))")
+        .sqlBaselineQuery("SELECT * FROM cp.\"tpch/lineitem.parquet\"")
+        .go();
+
+    verifyOrderKeys(readSplits(getArrowFile("lineitemEmptyBatches"), 4));
+  }
+
+  private static Path getArrowFile(String table) throws Exception {
+    final Path tableDir = Path.of(getDfsTestTmpSchemaLocation()).resolve(table);
+    try (DirectoryStream<FileAttributes> files = localFs.list(tableDir, PathFilters.endsWith(".dremarrow1"))) {
+      return files.iterator().next().getPath();
+    }
+  }
+
+  /**
+   * Reads the order keys of the given file, split in byte ranges of equal size.
+   */
+  private List<List<Long>> readSplits(Path file, int splitCount) throws Exception {
+    final long size = localFs.getFileAttributes(file).size();
+    final long splitSize = (size + splitCount - 1) / splitCount;
+    final List<List<Long>> splits = new ArrayList<>();
+    for (long start = 0; start < size; start += splitSize) {
+      final List<Long> orderKeys = new ArrayList<>();
+      try (BufferAllocator splitAllocator = allocator.newChildAllocator("arrow-split", 0, Long.MAX_VALUE);
+           OperatorContextImpl context = new OperatorContextImpl(getSabotContext().getConfig(), splitAllocator,
+               getSabotContext().getOptionManager(), 1000);
+           SampleMutator mutator = new SampleMutator(splitAllocator);
+           ArrowRecordReader reader = new ArrowRecordReader(context, localFs, file, start, splitSize,
+               Collections.singletonList(SchemaPath.getSimplePath("l_orderkey")))) {
+        reader.setup(mutator);
+        final ValueVector orderKey = mutator.getVector("l_orderkey");
+        int records;
+        while ((records = reader.next()) > 0) {
+          for (int i = 0; i < records; i++) {
+            orderKeys.add(((Number) orderKey.getObject(i)).longValue());
+          }
+        }
+      }
+      splits.add(orderKeys);
+    }
+    return splits;
+  }
+
+  private void verifyOrderKeys(List<List<Long>> splits) throws Exception {
+    long count = 0;
+    long sum = 0;
+    for (List<Long> split : splits) {
+      for (long orderKey : split) {
+        count++;
+        sum += orderKey;
+      }
+    }
+
+    testBuilder()
+        .unOrdered()
+        .sqlQuery("SELECT count(*) AS c, sum(l_orderkey) AS s FROM cp.\"tpch/lineitem.parquet\"")
+        .baselineColumns("c", "s")
+        .baselineValues(count, sum)
+        .go();
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.easy.arrow;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.dremio.exec.store.easy.arrow.ArrowFileFormat.ArrowFileFooter;
+import com.dremio.exec.store.easy.arrow.ArrowFileFormat.ArrowRecordBatchSummary;
+
+/**
+ * Tests for {@link ArrowRecordReader}
+ */
+public class TestArrowRecordReader {
+  // batches starting after the magic word, at offsets 10, 110, 250 and 400 of a 600 bytes file
+  private static final long[] OFFSETS = {10, 110, 250, 400};
+  private static final long FILE_SIZE = 600;
+
+  private static ArrowFileFooter footer() {
+    final ArrowFileFooter.Builder footer = ArrowFileFooter.newBuilder();
+    for (long offset : OFFSETS) {
+      footer.addBatch(ArrowRecordBatchSummary.newBuilder().setOffset(offset).setRecordCount(1));
+    }
+    return footer.build();
+  }
+
+  @Test
+  public void batchIndexes() {
+    final ArrowFileFooter footer = footer();
+    assertEquals(0, ArrowRecordReader.getFirstBatchIndex(footer, 0));
+    assertEquals(0, ArrowRecordReader.getFirstBatchIndex(footer, 10));
+    assertEquals(1, ArrowRecordReader.getFirstBatchIndex(footer, 11));
+    assertEquals(3, ArrowRecordReader.getFirstBatchIndex(footer, 400));
+    assertEquals(4, ArrowRecordReader.getFirstBatchIndex(footer, 401));
+    assertEquals(4, ArrowRecordReader.getFirstBatchIndex(footer, Long.MAX_VALUE));
+  }
+
+  @Test
+  public void everyBatchReadOnce() {
+    final ArrowFileFooter footer = footer();
+    for (long split = 1; split <= FILE_SIZE; split++) {
+      int batches = 0;
+      int expectedStart = 0;
+      for (long start = 0; start < FILE_SIZE; start += split) {
+        final int first = ArrowRecordReader.getFirstBatchIndex(footer, start);
+        final int end = ArrowRecordReader.getFirstBatchIndex(footer, start + split);
+        assertEquals("split size " + split, expectedStart, first);
+        batches += end - first;
+        expectedStart = end;
+      }
+      assertEquals("split size " + split, OFFSETS.length, batches);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.easy.excel;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.dremio.test.AllocatorRule;
+
+/**
+ * Tests for {@link SharedStringsDictionary}
+ */
+public class TestSharedStringsDictionary {
+  private static final String HEADER =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+      "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">";
+  private static final String FOOTER = "</sst>";
+
+  @Rule
+  public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void setup() {
+    allocator = allocatorRule.newAllocator("test-shared-strings", 0, Long.MAX_VALUE);
+  }
+
+  @After
+  public void cleanup() {
+    allocator.close();
+  }
+
+  private SharedStringsDictionary read(String items) throws Exception {
+    final InputStream stream = new ByteArrayInputStream((HEADER + items + FOOTER).getBytes(StandardCharsets.UTF_8));
+    return SharedStringsDictionary.read(allocator, stream);
+  }
+
+  @Test
+  public void strings() throws Exception {
+    try (SharedStringsDictionary dictionary = read(
+        "<si><t>plain</t></si>" +
+        "<si><t/></si>" +
+        "<si><r><rPr><b/></rPr><t>rich </t></r><r><t>text</t></r></si>" +
+        "<si><t>kanji</t><rPh sb=\"0\" eb=\"1\"><t>phonetic</t></rPh></si>" +
+        "<si><t>_x0041_ &amp; éè</t></si>")) {
+      assertEquals(5, dictionary.size());
+      assertEquals("plain", dictionary.getString(0));
+      assertEquals("", dictionary.getString(1));
+      assertEquals("rich text", dictionary.getString(2));
+      assertEquals("kanji", dictionary.getString(3));
+      assertEquals("A & éè", dictionary.getString(4));
+
+      final byte[] bytes = "éè".getBytes(StandardCharsets.UTF_8);
+      final int end = dictionary.getEnd(4);
+      assertEquals(dictionary.getStart(4) + 4 + bytes.length, end);
+      final byte[] written = new byte[bytes.length];
+      dictionary.getBuffer().getBytes(end - bytes.length, written);
+      assertEquals(new String(bytes, StandardCharsets.UTF_8), new String(written, StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void largeTable() throws Exception {
+    final StringBuilder items = new StringBuilder();
+    for (int i = 0; i < 10_000; i++) {
+      items.append("<si><t>value of string ").append(i).append("</t></si>");
+    }
+
+    try (SharedStringsDictionary dictionary = read(items.toString())) {
+      assertEquals(10_000, dictionary.size());
+      for (int i = 0; i < 10_000; i++) {
+        assertEquals("value of string " + i, dictionary.getString(i));
+      }
+    }
+  }
+
+  @Test
+  public void noTable() throws Exception {
+    try (SharedStringsDictionary dictionary = SharedStringsDictionary.read(allocator, null)) {
+      assertEquals(0, dictionary.size());
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void invalidIndex() throws Exception {
+    try (SharedStringsDictionary dictionary = read("<si><t>plain</t></si>")) {
+      dictionary.getString(1);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.easy.json;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.dremio.exec.hadoop.HadoopFileSystem;
+import com.dremio.io.file.FileSystem;
+import com.dremio.io.file.Path;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Tests for {@link LineRangeInputStream}
+ */
+public class TestLineRangeInputStream {
+  private static final String CONTENT = "{\"a\": 1}\n{\"a\": 22}\n{\"a\": 333}\n{\"a\": 4444}\n";
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private FileSystem fs;
+  private Path path;
+
+  @Before
+  public void setup() throws IOException {
+    final File file = folder.newFile("lines.json");
+    Files.write(file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+    fs = HadoopFileSystem.getLocal(new Configuration());
+    path = Path.of(file.toURI());
+  }
+
+  private String read(long start, long end) throws IOException {
+    try (InputStream stream = new LineRangeInputStream(fs.open(path), start, end)) {
+      return new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8);
+    }
+  }
+
+  @Test
+  public void wholeFile() throws Exception {
+    assertEquals(CONTENT, read(0, CONTENT.length()));
+  }
+
+  @Test
+  public void rangeStartingAtLine() throws Exception {
+    // the second line starts at offset 9
+    assertEquals("{\"a\": 22}\n", read(9, 10));
+    assertEquals("", read(8, 9));
+  }
+
+  @Test
+  public void rangeStartingWithinLine() throws Exception {
+    assertEquals("{\"a\": 333}\n", read(10, 25));
+    assertEquals("{\"a\": 4444}\n", read(25, 31));
+    assertEquals("", read(25, 26));
+  }
+
+  @Test
+  public void everyLineReadOnce() throws Exception {
+    for (int split = 1; split < CONTENT.length(); split++) {
+      final StringBuilder sb = new StringBuilder();
+      for (int start = 0; start < CONTENT.length(); start += split) {
+        sb.append(read(start, Math.min(start + split, CONTENT.length())));
+      }
+      assertEquals("split size " + split, CONTENT, sb.toString());
+    }
+  }
+
+  @Test
+  public void lastLineWithoutNewline() throws Exception {
+    final File file = folder.newFile("nonewline.json");
+    Files.write(file.toPath(), "{\"a\": 1}\n{\"a\": 2}".getBytes(StandardCharsets.UTF_8));
+    path = Path.of(file.toURI());
+    assertEquals("{\"a\": 1}\n", read(0, 5));
+    assertEquals("{\"a\": 2}", read(5, 17));
+  }
+
+  @Test
+  public void wholeRangeOfMultiLineFile() throws Exception {
+    // whole-file splits go through the range too, and must not cut multi-line documents
+    final String pretty = "{\n  \"a\": 1,\n  \"b\": [\n    2\n  ]\n}\n";
+    final File file = folder.newFile("pretty.json");
+    Files.write(file.toPath(), pretty.getBytes(StandardCharsets.UTF_8));
+    path = Path.of(file.toURI());
+    assertEquals(pretty, read(0, pretty.length()));
+    assertEquals(pretty, read(0, Long.MAX_VALUE));
+  }
+}
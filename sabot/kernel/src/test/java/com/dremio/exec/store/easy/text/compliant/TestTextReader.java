@@ -45,9 +45,12 @@ public class TestTextReader extends BaseTestQuery {
   private static String TMP_CSV_FILE_TWO_ROWS = "my_two_rows.csv";
   // Multiple 8K chunks ending at newline
   private static String TMP_CSV_MULTIPLE_8K_CHUNKS = "multiple_8k_chunks.csv";
+  // values spanning several chunks of the input
+  private static String TMP_CSV_LONG_VALUES = "long_values.csv";
   // row count in count star file
   private static long ROW_COUNT = 1023;
   private static long ROW_COUNT_8K_CHUNKS = 1442;
+  private static int ROW_COUNT_LONG_VALUES = 500;
 
   // normal query
   private static String QUERY = "select * from table(" + TEMP_SCHEMA + ".\"" + TMP_CSV_FILE_SMALL + "\"" +
@@ -133,11 +136,20 @@ public class TestTextReader extends BaseTestQuery {
     "lineDelimiter => '\r\n'" +
     ", extractHeader => true, skipFirstLine => false, autoGenerateColumnNames => false))";
 
+  private static String QUERY_LONG_VALUES = "select count(*) as cnt, sum(char_length(a)) as a_length, " +
+    "sum(char_length(b)) as b_length, sum(case when b like 'x,\"y%' then 1 else 0 end) as b_escaped from table(" +
+    TEMP_SCHEMA + ".\"" + TMP_CSV_LONG_VALUES + "\"" +
+    " (type => 'text', fieldDelimiter => ',', " +
+    "comment => '#', quote => '\"', " +
+    "lineDelimiter => '\r\n'" +
+    ", extractHeader => true, skipFirstLine => false, autoGenerateColumnNames => false))";
+
   private static File tblPathSmall = null;
   private static File tblPathLarge = null;
   private static File tblPathCountStar = null;
   private static File tblPathTwoRows = null;
   private static File tblPathMultiple8kChunks = null;
+  private static File tblPathLongValues = null;
 
   @BeforeClass
   public static void beforeClass() throws Exception {
@@ -147,12 +159,14 @@ public class TestTextReader extends BaseTestQuery {
     tblPathCountStar = new File(getDfsTestTmpSchemaLocation(), TMP_CSV_FILE_COUNT_STAR);
     tblPathTwoRows = new File(getDfsTestTmpSchemaLocation(), TMP_CSV_FILE_TWO_ROWS);
     tblPathMultiple8kChunks = new File(getDfsTestTmpSchemaLocation(), TMP_CSV_MULTIPLE_8K_CHUNKS);
+    tblPathLongValues = new File(getDfsTestTmpSchemaLocation(), TMP_CSV_LONG_VALUES);
 
     FileUtils.deleteQuietly(tblPathSmall);
     FileUtils.deleteQuietly(tblPathLarge);
     FileUtils.deleteQuietly(tblPathCountStar);
     FileUtils.deleteQuietly(tblPathTwoRows);
     FileUtils.deleteQuietly(tblPathMultiple8kChunks);
+    FileUtils.deleteQuietly(tblPathLongValues);
     startTest();
   }
 
@@ -163,6 +177,7 @@ public class TestTextReader extends BaseTestQuery {
     FileUtils.deleteQuietly(tblPathCountStar);
     FileUtils.deleteQuietly(tblPathTwoRows);
     FileUtils.deleteQuietly(tblPathMultiple8kChunks);
+    FileUtils.deleteQuietly(tblPathLongValues);
   }
 
   private static void startTest() throws Exception {
@@ -217,6 +232,23 @@ public class TestTextReader extends BaseTestQuery {
 
     FileUtils.copyFile(com.dremio.common.util.FileUtils.getResourceAsFile("/store/text/data/multiple_8k_chunks.csv"),
       tblPathMultiple8kChunks);
+
+    try (FileWriter fwriter = new FileWriter(tblPathLongValues)) {
+      fwriter.append("a,b\r\n");
+      for (int i = 0; i < ROW_COUNT_LONG_VALUES; i++) {
+        fwriter.append(longValue(i));
+        // quoted value with an escaped quote, unquoted as x,"y followed by the long value
+        fwriter.append(",\"x,\"\"y").append(longValue(i + 1)).append("\"\r\n");
+      }
+    }
+  }
+
+  private static String longValue(int i) {
+    final StringBuilder sb = new StringBuilder();
+    for (int j = 0; j < (i * 37) % 300 + 1; j++) {
+      sb.append((char) ('a' + j % 26));
+    }
+    return sb.toString();
   }
 
   @Test
@@ -327,4 +359,21 @@ public class TestTextReader extends BaseTestQuery {
       .baselineValues(ROW_COUNT_8K_CHUNKS)
       .go();
   }
+
+  @Test
+  public void testLongValues() throws Exception {
+    long aLength = 0;
+    long bLength = 0;
+    for (int i = 0; i < ROW_COUNT_LONG_VALUES; i++) {
+      aLength += longValue(i).length();
+      bLength += 4 + longValue(i + 1).length();
+    }
+
+    testBuilder()
+      .sqlQuery(QUERY_LONG_VALUES)
+      .unOrdered()
+      .baselineColumns("cnt", "a_length", "b_length", "b_escaped")
+      .baselineValues((long) ROW_COUNT_LONG_VALUES, aLength, bLength, (long) ROW_COUNT_LONG_VALUES)
+      .go();
+  }
 }
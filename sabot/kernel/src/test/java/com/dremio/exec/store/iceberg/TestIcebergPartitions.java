@@ -160,6 +160,37 @@ public class TestIcebergPartitions extends BaseTestQuery {
     assertEquals(1200, recordCount.intValue());
   }
 
+  @Test
+  public void testMultipleManifests() throws Exception {
+    File root = tempDir.newFolder();
+    HadoopTables tables = new HadoopTables(conf);
+    Table table = tables.create(schema, spec, root.getAbsolutePath());
+
+    // each append adds a manifest
+    table.newAppend().appendFile(createDataFile(root, "d1", 1, "jack", 100)).commit();
+    table.newAppend().appendFile(createDataFile(root, "d2", 2, "jill", 200)).commit();
+    table.newAppend().appendFile(createDataFile(root, "d3", 2, "jill", 300)).commit();
+
+    IcebergTableInfo tableInfo = new IcebergTableWrapper(getSabotContext(),
+      HadoopFileSystem.get(fs), conf, root.getAbsolutePath()).getTableInfo();
+    assertEquals(600, tableInfo.getRecordCount());
+    assertEquals(2, ImmutableList.copyOf(tableInfo.getPartitionChunkListing().iterator()).size());
+
+    // the manifests already read are not read again, and deleted files are not listed
+    table.newDelete().deleteFile(root.getAbsolutePath() + "/d1").commit();
+    table.newAppend().appendFile(createDataFile(root, "d4", 2, "jill", 400)).commit();
+
+    final long hits = IcebergTableWrapper.getManifestCacheStats().hitCount();
+    tableInfo = new IcebergTableWrapper(getSabotContext(),
+      HadoopFileSystem.get(fs), conf, root.getAbsolutePath()).getTableInfo();
+    // the manifests of d2 and d3 are unchanged
+    assertEquals(2, IcebergTableWrapper.getManifestCacheStats().hitCount() - hits);
+    assertEquals(900, tableInfo.getRecordCount());
+    List<PartitionChunk> chunks = ImmutableList.copyOf(tableInfo.getPartitionChunkListing().iterator());
+    assertEquals(1, chunks.size());
+    assertEquals(3, findPartition(chunks, 2, "jill").getSplitCount());
+  }
+
   @Test
   public void testNonIdentityPartitions() throws Exception {
     File root = tempDir.newFolder();
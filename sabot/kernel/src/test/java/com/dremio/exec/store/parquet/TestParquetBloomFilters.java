@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.parquet;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.apache.parquet.schema.Type.Repetition.OPTIONAL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.junit.Test;
+
+import com.dremio.common.expression.FunctionCall;
+import com.dremio.common.expression.LogicalExpression;
+import com.dremio.common.expression.SchemaPath;
+import com.dremio.common.expression.ValueExpressions;
+
+/**
+ * Tests for {@link ParquetBloomFilters}
+ */
+public class TestParquetBloomFilters {
+  private static final MessageType SCHEMA = new MessageType("root",
+    new PrimitiveType(OPTIONAL, INT64, "id"),
+    new PrimitiveType(OPTIONAL, BINARY, "name", OriginalType.UTF8),
+    new PrimitiveType(OPTIONAL, INT32, "other"));
+
+  private static Map<String, String> write(long maxDistinctValues) {
+    final RecordConsumer delegate = mock(RecordConsumer.class);
+    final ParquetBloomFilters.Collector collector = ParquetBloomFilters.Collector.create(delegate, SCHEMA,
+      Arrays.asList("ID", "name"), maxDistinctValues);
+    for (int i = 0; i < 100; i++) {
+      collector.startMessage();
+      collector.startField("id", 0);
+      collector.addLong(i * 2);
+      collector.endField("id", 0);
+      collector.startField("name", 1);
+      collector.addBinary(Binary.fromString("name" + i));
+      collector.endField("name", 1);
+      collector.startField("other", 2);
+      collector.addInteger(i);
+      collector.endField("other", 2);
+      collector.endMessage();
+    }
+    verify(delegate).addLong(198);
+    return collector.getBloomFilters(0.001);
+  }
+
+  private static boolean excludes(Map<String, String> filters, String column, LogicalExpression literal) {
+    return excludes(new FileMetaData(SCHEMA, filters, "test"), column, literal);
+  }
+
+  private static boolean excludes(FileMetaData fileMetaData, String column, LogicalExpression literal) {
+    final LogicalExpression expr = new FunctionCall("equal",
+      Arrays.asList(SchemaPath.getSimplePath(column), literal));
+    return ParquetBloomFilters.excludes(fileMetaData,
+      Collections.singletonList(new ParquetFilterCondition(SchemaPath.getSimplePath(column), null, expr, 0)));
+  }
+
+  @Test
+  public void equalityPruning() {
+    final Map<String, String> filters = write(1000);
+    assertEquals(2, filters.size());
+
+    assertFalse(excludes(filters, "id", ValueExpressions.getBigInt(10)));
+    assertFalse(excludes(filters, "id", ValueExpressions.getInt(10)));
+    assertTrue(excludes(filters, "id", ValueExpressions.getBigInt(11)));
+    assertFalse(excludes(filters, "name", ValueExpressions.getChar("name42")));
+    assertTrue(excludes(filters, "name", ValueExpressions.getChar("name420")));
+    // no filter for the column
+    assertFalse(excludes(filters, "other", ValueExpressions.getInt(1000)));
+    // literal of a type that is not compared with the filter
+    assertFalse(excludes(filters, "id", ValueExpressions.getFloat8(11)));
+  }
+
+  @Test
+  public void tooManyDistinctValues() {
+    final Map<String, String> filters = write(10);
+    assertTrue(filters.isEmpty());
+    assertFalse(excludes(filters, "id", ValueExpressions.getBigInt(11)));
+  }
+
+  @Test
+  public void decodedFiltersOfEachFile() {
+    final FileMetaData withFilters = new FileMetaData(SCHEMA, write(1000), "test");
+    final FileMetaData withoutFilters = new FileMetaData(SCHEMA, write(10), "test");
+
+    // the filters decoded for a file are reused for the next row groups, and never for another file
+    assertTrue(excludes(withFilters, "id", ValueExpressions.getBigInt(11)));
+    assertFalse(excludes(withoutFilters, "id", ValueExpressions.getBigInt(11)));
+    assertTrue(excludes(withFilters, "ID", ValueExpressions.getBigInt(11)));
+    assertFalse(excludes(withFilters, "id", ValueExpressions.getBigInt(10)));
+  }
+
+  @Test
+  public void noColumn() {
+    assertNull(ParquetBloomFilters.Collector.create(mock(RecordConsumer.class), SCHEMA,
+      Collections.singletonList("missing"), 1000));
+  }
+}
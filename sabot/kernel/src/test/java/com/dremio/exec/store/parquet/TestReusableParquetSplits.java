@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.exec.store.parquet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.dremio.exec.physical.base.GroupScan;
+import com.dremio.exec.store.file.proto.FileProtobuf.FileSystemCachedEntity;
+import com.dremio.io.file.FileAttributes;
+import com.dremio.io.file.Path;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ColumnValueCount;
+import com.dremio.sabot.exec.store.parquet.proto.ParquetProtobuf.ParquetDatasetSplitXAttr;
+import com.dremio.service.namespace.PartitionChunkMetadata;
+import com.dremio.service.namespace.dataset.proto.PartitionProtobuf;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+
+/**
+ * Tests for {@link ReusableParquetSplits}
+ */
+public class TestReusableParquetSplits {
+
+  private static FileAttributes file(String path, long modificationTime, long length) {
+    final FileAttributes attributes = mock(FileAttributes.class);
+    when(attributes.getPath()).thenReturn(Path.of(path));
+    when(attributes.lastModifiedTime()).thenReturn(FileTime.fromMillis(modificationTime));
+    when(attributes.size()).thenReturn(length);
+    return attributes;
+  }
+
+  private static PartitionProtobuf.DatasetSplit split(String path, long modificationTime, long length, long valueCount,
+      Long recordCount) {
+    final PartitionProtobuf.DatasetSplit.Builder builder = PartitionProtobuf.DatasetSplit.newBuilder()
+        .setSize(length)
+        .setSplitExtendedProperty(ParquetDatasetSplitXAttr.newBuilder()
+            .setPath(path)
+            .setUpdateKey(FileSystemCachedEntity.newBuilder()
+                .setPath(path)
+                .setLastModificationTime(modificationTime)
+                .setLength(length))
+            .addColumnValueCounts(ColumnValueCount.newBuilder().setColumn("a").setCount(valueCount))
+            .build()
+            .toByteString());
+    if (recordCount != null) {
+      builder.setRecordCount(recordCount);
+    }
+    return builder.build();
+  }
+
+  private static PartitionChunkMetadata chunk(String dir0, long rowCount, PartitionProtobuf.DatasetSplit... splits) {
+    final PartitionChunkMetadata chunk = mock(PartitionChunkMetadata.class);
+    when(chunk.getPartitionValues()).thenReturn(ImmutableList.of(
+        PartitionProtobuf.PartitionValue.newBuilder()
+            .setColumn("p")
+            .setType(PartitionProtobuf.PartitionValueType.VISIBLE)
+            .setLongValue(1)
+            .build(),
+        PartitionProtobuf.PartitionValue.newBuilder()
+            .setColumn("dir0")
+            .setType(PartitionProtobuf.PartitionValueType.IMPLICIT)
+            .setStringValue(dir0)
+            .build()));
+    when(chunk.getSplitCount()).thenReturn(splits.length);
+    when(chunk.getRowCount()).thenReturn(rowCount);
+    when(chunk.getDatasetSplits()).thenReturn(ImmutableList.copyOf(splits));
+    return chunk;
+  }
+
+  @Test
+  public void testUnchangedFilesAreReused() {
+    final List<PartitionChunkMetadata> previous = ImmutableList.of(
+        chunk("d1", 10, split("/t/d1/f1", 100, 1000, 10, null)),
+        chunk("d2", 30, split("/t/d2/f2", 100, 1000, 10, 10L), split("/t/d2/f3", 100, 1000, 20, 20L)));
+
+    final FileAttributes f1 = file("/t/d1/f1", 100, 1000);
+    final FileAttributes f2 = file("/t/d2/f2", 200, 1000);
+    final FileAttributes f3 = file("/t/d2/f3", 100, 1000);
+    final FileAttributes f4 = file("/t/d3/f4", 100, 1000);
+    final ReusableParquetSplits reusable = ReusableParquetSplits.of(previous, ImmutableList.of(f1, f2, f3, f4));
+
+    assertTrue(reusable.isReused(f1));
+    assertFalse(reusable.isReused(f2));
+    assertTrue(reusable.isReused(f3));
+    assertFalse(reusable.isReused(f4));
+    assertEquals(ImmutableList.of("p"), reusable.getPartitionColumns());
+    assertEquals(ImmutableList.of("dir0"), ImmutableList.copyOf(reusable.getImplicitColumns()));
+
+    long recordCount = 0;
+    for (ReusableParquetSplits.ReusedSplit split : reusable.getSplits()) {
+      recordCount += split.getSplit().getRecordCount();
+    }
+    assertEquals(2, Iterables.size(reusable.getSplits()));
+    assertEquals(30, recordCount);
+
+    // the counts of the modified file are removed
+    final Map<String, Long> counts = reusable.getColumnValueCounts(ImmutableList.of(
+        ColumnValueCount.newBuilder().setColumn("a").setCount(40).build(),
+        ColumnValueCount.newBuilder().setColumn("b").setCount(GroupScan.NO_COLUMN_STATS).build()));
+    assertEquals(30L, (long) counts.get("a"));
+    assertEquals(GroupScan.NO_COLUMN_STATS, (long) counts.get("b"));
+  }
+
+  @Test
+  public void testDeletedFilesAreDropped() {
+    final List<PartitionChunkMetadata> previous = ImmutableList.of(
+        chunk("d1", 10, split("/t/d1/f1", 100, 1000, 10, null)),
+        chunk("d2", 20, split("/t/d2/f2", 100, 1000, 20, null)));
+
+    final ReusableParquetSplits reusable = ReusableParquetSplits.of(previous, ImmutableList.of(file("/t/d2/f2", 100, 1000)));
+
+    assertEquals(1, Iterables.size(reusable.getSplits()));
+    assertEquals(20L, (long) reusable.getColumnValueCounts(ImmutableList.of(
+        ColumnValueCount.newBuilder().setColumn("a").setCount(30).build())).get("a"));
+  }
+
+  @Test
+  public void testSplitsWithoutRecordCountAreNotReused() {
+    // multi-split chunk saved before record counts were stored per split
+    final List<PartitionChunkMetadata> previous = ImmutableList.of(
+        chunk("d1", 30, split("/t/d1/f1", 100, 1000, 10, null), split("/t/d1/f2", 100, 1000, 20, null)));
+
+    assertNull(ReusableParquetSplits.of(previous,
+        ImmutableList.of(file("/t/d1/f1", 100, 1000), file("/t/d1/f2", 100, 1000))));
+  }
+
+  @Test
+  public void testMissingModificationTimeIsNotReused() {
+    final List<PartitionChunkMetadata> previous = ImmutableList.of(
+        chunk("d1", 10, split("/t/d1/f1", 0, 1000, 10, null)));
+
+    assertNull(ReusableParquetSplits.of(previous, ImmutableList.of(file("/t/d1/f1", 0, 1000))));
+  }
+}
@@ -81,6 +81,16 @@ public class TestSystemTable extends BaseTestQuery {
     test("select * from sys.fragments");
   }
 
+  @Test
+  public void operatorMemoryTable() throws Exception {
+    test("select * from sys.operator_memory");
+  }
+
+  @Test
+  public void operatorTimelinesTable() throws Exception {
+    test("select * from sys.operator_timelines");
+  }
+
   @Test
   public void verifyNumNodes() throws Exception {
     testBuilder()
@@ -207,6 +207,30 @@ public class TestJsonReader extends PlanTestBase {
         .build().run();
   }
 
+  @Test
+  public void testTopLevelFieldsAcrossBatches() throws Exception {
+    final int records = 10_000;
+    File f = folder.newFile("top_level_fields.json");
+    try (PrintWriter out = new PrintWriter(f, "UTF-8")) {
+      for (int i = 0; i < records; i++) {
+        // fields in a different order, and missing, in some records
+        if (i % 3 == 0) {
+          out.println("{\"s\": \"h\u00e9llo\", \"a\": " + i + ", \"b\": true}");
+        } else {
+          out.println("{\"a\": " + i + ", \"s\": \"hello\", \"d\": 0.5}");
+        }
+      }
+    }
+
+    testBuilder()
+        .sqlQuery("select count(*) as cnt, sum(a) as a_sum, count(b) as b_count, sum(d) as d_sum, "
+          + "sum(case when s = 'h\u00e9llo' then 1 else 0 end) as accented from dfs.\"" + f.getPath() + "\"")
+        .unOrdered()
+        .baselineColumns("cnt", "a_sum", "b_count", "d_sum", "accented")
+        .baselineValues((long) records, (long) records * (records - 1) / 2, 3334L, 3333.0, 3334L)
+        .go();
+  }
+
   public static void gzipIt(File sourceFile) throws IOException {
 
     // modified from: http://www.mkyong.com/java/how-to-compress-a-file-in-gzip-format/
@@ -189,7 +189,7 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(25, tables.size());
+    assertEquals(27, tables.size());
 
     Iterator<TableMetadata> iterator = tables.iterator();
     verifyTable("INFORMATION_SCHEMA", "CATALOGS", iterator.next());
@@ -203,6 +203,8 @@ public class TestMetadataProvider extends BaseTestQuery {
     verifyTable("sys", "materializations", iterator.next());
     verifyTable("sys", "memory", iterator.next());
     verifyTable("sys", "nodes", iterator.next());
+    verifyTable("sys", "operator_memory", iterator.next());
+    verifyTable("sys", "operator_timelines", iterator.next());
     verifyTable("sys", "options", iterator.next());
     verifyTable("sys", "reflections", iterator.next());
     verifyTable("sys", "refreshes", iterator.next());
@@ -240,7 +242,7 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(24, tables.size());
+    assertEquals(26, tables.size());
 
     Iterator<TableMetadata> iterator = tables.iterator();
     verifyTable("INFORMATION_SCHEMA", "CATALOGS", iterator.next());
@@ -254,6 +256,8 @@ public class TestMetadataProvider extends BaseTestQuery {
     verifyTable("sys", "materializations", iterator.next());
     verifyTable("sys", "memory", iterator.next());
     verifyTable("sys", "nodes", iterator.next());
+    verifyTable("sys", "operator_memory", iterator.next());
+    verifyTable("sys", "operator_timelines", iterator.next());
     verifyTable("sys", "options", iterator.next());
     verifyTable("sys", "reflections", iterator.next());
     verifyTable("sys", "refreshes", iterator.next());
@@ -278,7 +282,7 @@ public class TestMetadataProvider extends BaseTestQuery {
 
     assertEquals(RequestStatus.OK, resp.getStatus());
     List<TableMetadata> tables = resp.getTablesList();
-    assertEquals(15, tables.size());
+    assertEquals(17, tables.size());
 
     Iterator<TableMetadata> iterator = tables.iterator();
     verifyTable("INFORMATION_SCHEMA", "CATALOGS", iterator.next());
@@ -288,6 +292,8 @@ public class TestMetadataProvider extends BaseTestQuery {
     verifyTable("sys", "materializations", iterator.next());
     verifyTable("sys", "memory", iterator.next());
     verifyTable("sys", "nodes", iterator.next());
+    verifyTable("sys", "operator_memory", iterator.next());
+    verifyTable("sys", "operator_timelines", iterator.next());
     verifyTable("sys", "options", iterator.next());
     verifyTable("sys", "reflections", iterator.next());
     verifyTable("sys", "timezone_abbrevs", iterator.next());
@@ -17,7 +17,9 @@ package com.dremio.sabot.aggregate.hash;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -26,11 +28,13 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
 
+import com.dremio.common.AutoCloseables;
 import com.dremio.common.logical.data.NamedExpression;
 import com.dremio.common.util.TestTools;
 import com.dremio.exec.ExecConstants;
@@ -46,9 +50,11 @@ import com.dremio.sabot.CustomHashAggDataGenerator;
 import com.dremio.sabot.CustomHashAggDataGeneratorDecimal;
 import com.dremio.sabot.CustomHashAggDataGeneratorLargeAccum;
 import com.dremio.sabot.Fixtures;
+import com.dremio.sabot.exec.MemoryArbiter;
 import com.dremio.sabot.exec.context.OperatorContextImpl;
 import com.dremio.sabot.op.aggregate.vectorized.VectorizedHashAggOperator;
 import com.dremio.sabot.op.aggregate.vectorized.VectorizedHashAggSpillStats;
+import com.dremio.sabot.op.spi.SingleInputOperator.State;
 import com.dremio.test.AllocatorRule;
 import com.dremio.test.UserExceptionMatcher;
 
@@ -594,6 +600,81 @@ public class TestSpillingHashAgg extends BaseTestOperator {
     }
   }
 
+  /**
+   * Test that the memory granted by the arbiter when the operator runs out of memory
+   * is used, and returned when the operator spills
+   */
+  @Test
+  public void testSpillReturnsArbiterGrant() throws Exception {
+    final HashAggregate agg = getHashAggregate(1_000_000, 4_000_000, 990);
+    try (AutoCloseable useSpillingAgg = with(VectorizedHashAggOperator.VECTORIZED_HASHAGG_USE_SPILLING_OPERATOR, true);
+         AutoCloseable maxHashTableBatchSizeBytes = with(VectorizedHashAggOperator.VECTORIZED_HASHAGG_MAX_BATCHSIZE_BYTES, 128 * 1024);
+         AutoCloseable arbiterEnabled = with(ExecConstants.MEMORY_ARBITER_ENABLED, true);
+         BufferAllocator executorAllocator = new RootAllocator(64 * 1024 * 1024);
+         CustomHashAggDataGenerator generator = new CustomHashAggDataGenerator(100000, getTestAllocator(), false)) {
+      final RecordingArbiter arbiter = new RecordingArbiter(executorAllocator, testContext.getOptions());
+      final BufferAllocator allocator = getTestAllocator().newChildAllocator("agg", 1_000_000, 4_000_000);
+      final OperatorContextImpl context = spy(testContext.getNewOperatorContext(allocator, agg, 2000));
+      doReturn(arbiter).when(context).getMemoryArbiter();
+      final VectorizedHashAggOperator op = new VectorizedHashAggOperator(agg, context);
+      try {
+        op.setup(generator.getOutput());
+        int count;
+        while (op.getState() != State.DONE && (count = generator.next(2000)) != 0) {
+          op.consumeData(count);
+          while (op.getState() == State.CAN_PRODUCE) {
+            op.outputData();
+          }
+        }
+        if (op.getState() == State.CAN_CONSUME) {
+          op.noMoreToConsume();
+        }
+        while (op.getState() == State.CAN_PRODUCE) {
+          op.outputData();
+        }
+
+        /* memory was granted, and returned by the spills rather than when the operator closed */
+        assertTrue(arbiter.granted > 0);
+        assertTrue(arbiter.returned > 0);
+        op.close();
+        assertTrue(agg.getSpillStats().getSpills() > 0);
+        assertEquals(4_000_000, allocator.getLimit());
+      } finally {
+        AutoCloseables.close(op, context);
+      }
+    }
+  }
+
+  /**
+   * Arbiter counting the grants and the releases that returned memory
+   */
+  private static final class RecordingArbiter extends MemoryArbiter {
+    private int granted;
+    private int returned;
+
+    private RecordingArbiter(BufferAllocator rootAllocator, OptionManager options) {
+      super(rootAllocator, options);
+    }
+
+    @Override
+    public synchronized boolean tryGrow(Consumer consumer) {
+      final boolean grown = super.tryGrow(consumer);
+      if (grown) {
+        granted++;
+      }
+      return grown;
+    }
+
+    @Override
+    public synchronized void release(Consumer consumer) {
+      final long limit = consumer.getAllocator().getLimit();
+      super.release(consumer);
+      if (consumer.getAllocator().getLimit() < limit) {
+        returned++;
+      }
+    }
+  }
+
   /**
    * Test spill of 1million rows with slightly more memory and no recursive
    * spilling
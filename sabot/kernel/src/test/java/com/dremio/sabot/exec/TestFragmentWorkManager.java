@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.exec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.dremio.common.utils.protos.QueryIdHelper;
+import com.dremio.exec.proto.CoordExecRPC.FragmentStatus;
+import com.dremio.exec.proto.ExecProtos.FragmentHandle;
+import com.dremio.exec.proto.UserBitShared.CoreOperatorType;
+import com.dremio.exec.proto.UserBitShared.MetricValue;
+import com.dremio.exec.proto.UserBitShared.MinorFragmentProfile;
+import com.dremio.exec.proto.UserBitShared.OperatorProfile;
+import com.dremio.exec.proto.UserBitShared.QueryId;
+import com.dremio.exec.work.WorkStats.OperatorMemoryInfo;
+import com.dremio.sabot.op.aggregate.vectorized.HashAggStats;
+import com.dremio.sabot.op.sort.external.ExternalSortOperator;
+import com.dremio.test.AllocatorRule;
+
+/**
+ * Tests for {@link FragmentWorkManager}
+ */
+public class TestFragmentWorkManager {
+  private static final QueryId QUERY_ID = QueryId.newBuilder().setPart1(12).setPart2(34).build();
+  private static final FragmentHandle HANDLE = FragmentHandle.newBuilder()
+    .setQueryId(QUERY_ID)
+    .setMajorFragmentId(1)
+    .setMinorFragmentId(2)
+    .build();
+
+  @Rule
+  public final AllocatorRule allocatorRule = AllocatorRule.defaultAllocator();
+
+  @Test
+  public void operatorMemoryRows() {
+    try (BufferAllocator fragmentAllocator = allocatorRule.newAllocator("test-operator-memory", 0, Long.MAX_VALUE);
+         BufferAllocator aggAllocator = fragmentAllocator.newChildAllocator("op:1:2:3:VectorizedHashAggPOP", 0, 1024 * 1024);
+         BufferAllocator sortAllocator = fragmentAllocator.newChildAllocator("op:1:2:4:ExternalSort", 0, 2048 * 1024);
+         BufferAllocator screenAllocator = fragmentAllocator.newChildAllocator("op:1:2:5:Screen", 0, 512 * 1024)) {
+      // the peak stays above the current allocation once this buffer is released
+      aggAllocator.buffer(4096).close();
+      try (ArrowBuf second = aggAllocator.buffer(1024);
+           ArrowBuf sortBuffer = sortAllocator.buffer(2048)) {
+        final Map<Integer, BufferAllocator> allocators = new HashMap<>();
+        allocators.put(3, aggAllocator);
+        allocators.put(4, sortAllocator);
+        allocators.put(5, screenAllocator);
+
+        final FragmentStatus status = FragmentStatus.newBuilder()
+          .setHandle(HANDLE)
+          .setProfile(MinorFragmentProfile.newBuilder()
+            .addOperatorProfile(OperatorProfile.newBuilder()
+              .setOperatorId(3)
+              .setOperatorType(CoreOperatorType.HASH_AGGREGATE_VALUE)
+              .addMetric(MetricValue.newBuilder()
+                .setMetricId(HashAggStats.Metric.TOTAL_SPILLED_DATA_SIZE.metricId())
+                .setLongValue(100))
+              .addMetric(MetricValue.newBuilder()
+                .setMetricId(HashAggStats.Metric.MAX_HASHTABLE_ENTRIES.metricId())
+                .setLongValue(42)))
+            .addOperatorProfile(OperatorProfile.newBuilder()
+              .setOperatorId(4)
+              .setOperatorType(CoreOperatorType.EXTERNAL_SORT_VALUE)
+              .addMetric(MetricValue.newBuilder()
+                .setMetricId(ExternalSortOperator.Metric.TOTAL_SPILLED_DATA_SIZE.metricId())
+                .setLongValue(200))))
+          .build();
+
+        final List<OperatorMemoryInfo> rows = FragmentWorkManager.getOperatorMemory("host", HANDLE, allocators, status);
+        rows.sort(Comparator.comparingInt(row -> row.operatorId));
+        assertEquals(3, rows.size());
+
+        final OperatorMemoryInfo agg = rows.get(0);
+        assertEquals("host", agg.hostname);
+        assertEquals(QueryIdHelper.getQueryId(QUERY_ID), agg.queryId);
+        assertEquals(1, agg.majorFragmentId);
+        assertEquals(2, agg.minorFragmentId);
+        assertEquals(3, agg.operatorId);
+        assertEquals("HASH_AGGREGATE", agg.operatorType);
+        assertEquals(aggAllocator.getAllocatedMemory(), agg.allocatedMemory);
+        assertEquals(aggAllocator.getPeakMemoryAllocation(), agg.peakMemory);
+        assertTrue(agg.peakMemory > agg.allocatedMemory);
+        assertEquals(1024 * 1024, agg.memoryLimit);
+        assertEquals(Long.valueOf(100), agg.spilledBytes);
+        assertEquals(Long.valueOf(42), agg.hashTableEntries);
+
+        final OperatorMemoryInfo sort = rows.get(1);
+        assertEquals("EXTERNAL_SORT", sort.operatorType);
+        assertEquals(sortAllocator.getAllocatedMemory(), sort.allocatedMemory);
+        assertEquals(2048 * 1024, sort.memoryLimit);
+        assertEquals(Long.valueOf(200), sort.spilledBytes);
+        assertNull(sort.hashTableEntries);
+
+        // operators without a reported status have no type nor metrics
+        final OperatorMemoryInfo screen = rows.get(2);
+        assertNull(screen.operatorType);
+        assertEquals(0, screen.allocatedMemory);
+        assertEquals(512 * 1024, screen.memoryLimit);
+        assertNull(screen.spilledBytes);
+        assertNull(screen.hashTableEntries);
+      }
+    }
+  }
+
+  @Test
+  public void operatorMemoryRowsWithoutStatus() {
+    try (BufferAllocator fragmentAllocator = allocatorRule.newAllocator("test-operator-memory", 0, Long.MAX_VALUE);
+         BufferAllocator operatorAllocator = fragmentAllocator.newChildAllocator("op:1:2:3:Screen", 0, 1024)) {
+      final Map<Integer, BufferAllocator> allocators = new HashMap<>();
+      allocators.put(3, operatorAllocator);
+
+      final List<OperatorMemoryInfo> rows = FragmentWorkManager.getOperatorMemory("host", HANDLE, allocators, null);
+      assertEquals(1, rows.size());
+      assertEquals(3, rows.get(0).operatorId);
+      assertNull(rows.get(0).operatorType);
+      assertNull(rows.get(0).spilledBytes);
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.exec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dremio.exec.ExecConstants;
+import com.dremio.options.OptionManager;
+
+/**
+ * Tests for {@link MemoryArbiter}
+ */
+public class TestMemoryArbiter {
+  private static final long ROOT_LIMIT = 1000 * 1024;
+  private static final long OPERATOR_LIMIT = 100 * 1024;
+
+  private BufferAllocator root;
+  private OptionManager options;
+
+  @Before
+  public void setup() {
+    root = new RootAllocator(ROOT_LIMIT);
+    options = mock(OptionManager.class);
+    when(options.getOption(ExecConstants.MEMORY_ARBITER_ENABLED)).thenReturn(true);
+    when(options.getOption(ExecConstants.MEMORY_ARBITER_RESERVE_FACTOR)).thenReturn(0.2);
+    when(options.getOption(ExecConstants.MEMORY_ARBITER_GROWTH_FACTOR)).thenReturn(0.5);
+  }
+
+  @After
+  public void tearDown() {
+    root.close();
+  }
+
+  @Test
+  public void growsUpToPlannedLimit() {
+    final MemoryArbiter arbiter = new MemoryArbiter(root, options);
+    try (TestConsumer consumer = new TestConsumer("op1")) {
+      arbiter.register(consumer);
+
+      assertTrue(arbiter.tryGrow(consumer));
+      assertEquals(OPERATOR_LIMIT * 3 / 2, consumer.allocator.getLimit());
+      assertTrue(arbiter.tryGrow(consumer));
+      assertEquals(OPERATOR_LIMIT * 2, consumer.allocator.getLimit());
+      // an operator is never granted more than its planned limit
+      assertFalse(arbiter.tryGrow(consumer));
+
+      arbiter.release(consumer);
+      assertEquals(OPERATOR_LIMIT, consumer.allocator.getLimit());
+      arbiter.unregister(consumer);
+    }
+  }
+
+  @Test
+  public void disabled() {
+    when(options.getOption(ExecConstants.MEMORY_ARBITER_ENABLED)).thenReturn(false);
+    final MemoryArbiter arbiter = new MemoryArbiter(root, options);
+    try (TestConsumer consumer = new TestConsumer("op1")) {
+      arbiter.register(consumer);
+      assertFalse(arbiter.tryGrow(consumer));
+      assertEquals(OPERATOR_LIMIT, consumer.allocator.getLimit());
+      arbiter.unregister(consumer);
+    }
+  }
+
+  @Test
+  public void keepsReserve() {
+    final MemoryArbiter arbiter = new MemoryArbiter(root, options);
+    try (TestConsumer consumer = new TestConsumer("op1");
+         ArrowBuf buf = root.buffer(ROOT_LIMIT - OPERATOR_LIMIT)) {
+      arbiter.register(consumer);
+      // the headroom left is below the reserve
+      assertFalse(arbiter.tryGrow(consumer));
+      assertEquals(OPERATOR_LIMIT, consumer.allocator.getLimit());
+      arbiter.unregister(consumer);
+    }
+  }
+
+  @Test
+  public void asksLargerOperatorToSpill() {
+    final MemoryArbiter arbiter = new MemoryArbiter(root, options);
+    try (TestConsumer small = new TestConsumer("small");
+         TestConsumer large = new TestConsumer("large");
+         ArrowBuf largeBuf = large.allocator.buffer(OPERATOR_LIMIT / 2);
+         ArrowBuf rootBuf = root.buffer(ROOT_LIMIT - 2 * OPERATOR_LIMIT)) {
+      arbiter.register(small);
+      arbiter.register(large);
+
+      assertFalse(arbiter.tryGrow(small));
+      assertTrue(large.spillRequested);
+      assertFalse(small.spillRequested);
+
+      arbiter.unregister(small);
+      arbiter.unregister(large);
+    }
+  }
+
+  private final class TestConsumer implements MemoryArbiter.Consumer, AutoCloseable {
+    private final BufferAllocator allocator;
+    private boolean spillRequested;
+
+    private TestConsumer(String name) {
+      this.allocator = root.newChildAllocator(name, 0, OPERATOR_LIMIT);
+    }
+
+    @Override
+    public BufferAllocator getAllocator() {
+      return allocator;
+    }
+
+    @Override
+    public boolean requestSpill() {
+      spillRequested = true;
+      return true;
+    }
+
+    @Override
+    public void close() {
+      allocator.close();
+    }
+  }
+}
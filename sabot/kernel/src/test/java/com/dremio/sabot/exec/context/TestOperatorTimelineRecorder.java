@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.exec.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.dremio.exec.proto.UserBitShared.OperatorTimeline;
+
+/**
+ * Tests for {@link OperatorTimelineRecorder}
+ */
+public class TestOperatorTimelineRecorder {
+  private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  @Test
+  public void testSamplesPerInterval() {
+    final OperatorTimelineRecorder recorder = new OperatorTimelineRecorder(10, 1000, 0);
+
+    assertTrue(recorder.isSampleDue(0));
+    recorder.sample(1, 5, 0, 100);
+    assertFalse(recorder.isSampleDue(INTERVAL_NANOS - 1));
+    assertTrue(recorder.isSampleDue(INTERVAL_NANOS));
+
+    // nothing sampled in the second interval
+    recorder.sample(2 * INTERVAL_NANOS, 20, 7, 300);
+
+    final OperatorTimeline timeline = recorder.toProto();
+    assertEquals(1000, timeline.getStartTime());
+    assertEquals(10, timeline.getIntervalMillis());
+    assertEquals(Arrays.asList(5L, 0L, 15L), timeline.getProcessingNanosList());
+    assertEquals(Arrays.asList(0L, 0L, 7L), timeline.getWaitNanosList());
+    assertEquals(Arrays.asList(100L, 100L, 300L), timeline.getMemoryAllocatedList());
+  }
+
+  @Test
+  public void testDownsample() {
+    final OperatorTimelineRecorder recorder = new OperatorTimelineRecorder(10, 0, 0);
+    for (int i = 0; i < OperatorTimelineRecorder.MAX_INTERVALS; i++) {
+      recorder.sample(i * INTERVAL_NANOS, i + 1, 0, i);
+    }
+    assertEquals(OperatorTimelineRecorder.MAX_INTERVALS, recorder.toProto().getProcessingNanosCount());
+
+    // one more interval merges the intervals by pairs
+    recorder.sample(OperatorTimelineRecorder.MAX_INTERVALS * INTERVAL_NANOS, OperatorTimelineRecorder.MAX_INTERVALS + 1,
+      0, OperatorTimelineRecorder.MAX_INTERVALS);
+
+    final OperatorTimeline timeline = recorder.toProto();
+    assertEquals(20, timeline.getIntervalMillis());
+    assertEquals(OperatorTimelineRecorder.MAX_INTERVALS / 2 + 1, timeline.getProcessingNanosCount());
+    assertEquals(2L, timeline.getProcessingNanos(0));
+    assertEquals(1L, timeline.getMemoryAllocated(0));
+    assertEquals(1L, timeline.getProcessingNanos(OperatorTimelineRecorder.MAX_INTERVALS / 2));
+    assertEquals(OperatorTimelineRecorder.MAX_INTERVALS, timeline.getMemoryAllocated(
+      OperatorTimelineRecorder.MAX_INTERVALS / 2));
+  }
+
+  @Test
+  public void testConsistentSnapshotWhileSampling() throws Exception {
+    final OperatorTimelineRecorder recorder = new OperatorTimelineRecorder(10, 0, 0);
+    final int samples = 100 * OperatorTimelineRecorder.MAX_INTERVALS;
+    final Thread sampler = new Thread(() -> {
+      for (int i = 0; i < samples; i++) {
+        recorder.sample(i * INTERVAL_NANOS, i + 1, i, i);
+      }
+    });
+    sampler.start();
+    try {
+      // profiles are built from other threads while the operator is sampled, and downsampled
+      while (sampler.isAlive()) {
+        final OperatorTimeline timeline = recorder.toProto();
+        assertEquals(timeline.getProcessingNanosCount(), timeline.getWaitNanosCount());
+        assertEquals(timeline.getProcessingNanosCount(), timeline.getMemoryAllocatedCount());
+        assertTrue(timeline.getProcessingNanosCount() <= OperatorTimelineRecorder.MAX_INTERVALS);
+      }
+    } finally {
+      sampler.join();
+    }
+
+    long processingNanos = 0;
+    for (long nanos : recorder.toProto().getProcessingNanosList()) {
+      processingNanos += nanos;
+    }
+    assertEquals(samples, processingNanos);
+  }
+}
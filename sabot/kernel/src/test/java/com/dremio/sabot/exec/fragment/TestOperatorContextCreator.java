@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.sabot.exec.fragment;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link OperatorContextCreator}
+ */
+public class TestOperatorContextCreator {
+
+  @Test
+  public void operatorIdOfOperatorAllocator() {
+    // op:<major fragment id>:<minor fragment id>:<operator id>:<operator class>
+    assertEquals(3, OperatorContextCreator.getOperatorId("op:1:2:3:VectorizedHashAggPOP"));
+    assertEquals(0, OperatorContextCreator.getOperatorId("op:0:0:0:Screen"));
+    assertEquals(65536, OperatorContextCreator.getOperatorId("op:2:5:65536:WriterCommitterPOP"));
+  }
+
+  @Test
+  public void operatorIdOfOtherAllocators() {
+    assertEquals(-1, OperatorContextCreator.getOperatorId("frag:1:2"));
+    assertEquals(-1, OperatorContextCreator.getOperatorId("op:Screen"));
+    assertEquals(-1, OperatorContextCreator.getOperatorId("op:1:2:notanid:VectorizedHashAggPOP"));
+    assertEquals(-1, OperatorContextCreator.getOperatorId("output:1:2:3:VectorizedHashAggPOP"));
+  }
+}
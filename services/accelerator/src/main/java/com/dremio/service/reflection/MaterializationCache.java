@@ -18,6 +18,8 @@ package com.dremio.service.reflection;
 import static com.dremio.service.reflection.ExternalReflectionStatus.STATUS.OUT_OF_SYNC;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.calcite.rel.RelNode;
@@ -42,6 +44,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import io.protostuff.ByteString;
 
@@ -56,6 +59,12 @@ class MaterializationCache {
 
   private final AtomicReference<Map<String, CachedMaterializationDescriptor>> cached = new AtomicReference<>(EMPTY_MAP);
 
+  /**
+   * tag of the materialization dataset whose schema was last found to match the cached descriptor. Lets refresh skip
+   * deserializing and comparing the schema of materializations whose dataset didn't change
+   */
+  private final ConcurrentMap<String, String> validatedSchemaTags = Maps.newConcurrentMap();
+
   interface CacheHelper {
     Iterable<Materialization> getValidMaterializations();
     Iterable<ExternalReflection> getExternalReflections();
@@ -103,8 +112,18 @@ class MaterializationCache {
     boolean exchanged;
     do {
       Map<String, CachedMaterializationDescriptor> old = cached.get();
-      Map<String, CachedMaterializationDescriptor> updated = updateCache(old);
-      exchanged = cached.compareAndSet(old, updated);
+      // schema tags validated against the descriptors of this version of the cache
+      Map<String, String> validated = Maps.newHashMap();
+      Map<String, CachedMaterializationDescriptor> updated = updateCache(old, validated);
+      // nothing changed, no need to swap the cache as long as it wasn't swapped concurrently
+      exchanged = updated == old ? cached.get() == old : cached.compareAndSet(old, updated);
+      if (exchanged) {
+        if (updated != old) {
+          // forget the tags of descriptors that were removed or replaced
+          validatedSchemaTags.keySet().removeIf(id -> updated.get(id) == null || updated.get(id) != old.get(id));
+        }
+        validatedSchemaTags.putAll(validated);
+      }
     } while(!exchanged);
   }
 
@@ -114,35 +133,47 @@ class MaterializationCache {
       Map<String, CachedMaterializationDescriptor> old = cached.get();
       exchanged = cached.compareAndSet(old, EMPTY_MAP);
     } while(!exchanged);
+    validatedSchemaTags.clear();
   }
 
   /**
    * Updates the cache map taking into account the existing cache.<br>
-   * Will only "expand" descriptors that are new in the cache.<br>
+   * Will only "expand" descriptors that are new in the cache, and only copies the cache if at least one entry was
+   * added, updated or removed.<br>
+   * A refresh still visits every valid materialization and external reflection: the reflection stores have no change
+   * feed, and removed entries are only found by listing the current ones. For an unchanged materialization the visit
+   * is a tag comparison and one namespace lookup, the plans are not expanded again.<br>
    * Because, in debug mode, this can be called from multiple threads, it must be thread-safe
    *
    * @param old existing cache
-   * @return updated cache
+   * @param validated filled with the dataset tags of the reused descriptors whose schema was compared
+   * @return updated cache, or old if nothing changed
    */
-  private Map<String, CachedMaterializationDescriptor> updateCache(Map<String, CachedMaterializationDescriptor> old) {
+  private Map<String, CachedMaterializationDescriptor> updateCache(Map<String, CachedMaterializationDescriptor> old,
+                                                                   Map<String, String> validated) {
     // new list of descriptors
     final Iterable<Materialization> provided = provider.getValidMaterializations();
-    // this will hold the updated cache
-    final Map<String, CachedMaterializationDescriptor> updated = Maps.newHashMap();
+    // entries that need to be added or replaced in the cache
+    final Map<String, CachedMaterializationDescriptor> changed = Maps.newHashMap();
+    // all entries that should still be in the cache, changed or not
+    final Set<String> retained = Sets.newHashSet();
 
     // cache is enabled so we want to reuse as much of the existing cache as possible. Make sure to:
     // remove all cached descriptors that no longer exist
     // reuse all descriptors that are already in the cache
     // add any descriptor that are not already cached
     for (Materialization materialization : provided) {
-      final CachedMaterializationDescriptor cachedDescriptor = old.get(materialization.getId().getId());
+      final String id = materialization.getId().getId();
+      final CachedMaterializationDescriptor cachedDescriptor = old.get(id);
       if (cachedDescriptor == null ||
           !materialization.getTag().equals(cachedDescriptor.getVersion()) ||
-          schemaChanged(cachedDescriptor, materialization)) {
-        safeUpdateEntry(updated, materialization);
+          schemaChanged(cachedDescriptor, materialization, validated)) {
+        if (safeUpdateEntry(changed, materialization)) {
+          retained.add(id);
+        }
       } else {
         // descriptor already in the cache, we can just reuse it
-        updated.put(materialization.getId().getId(), cachedDescriptor);
+        retained.add(id);
       }
     }
 
@@ -151,12 +182,26 @@ class MaterializationCache {
       if (cachedDescriptor == null
           || isExternalReflectionOutOfSync(externalReflection.getId())
           || isExternalReflectionMetadataUpdated(cachedDescriptor)) {
-        updateEntry(updated, externalReflection);
+        if (updateEntry(changed, externalReflection)) {
+          retained.add(externalReflection.getId());
+        }
       } else {
         // descriptor already in the cache, we can just reuse it
-        updated.put(externalReflection.getId(), cachedDescriptor);
+        retained.add(externalReflection.getId());
       }
     }
+
+    if (changed.isEmpty() && retained.containsAll(old.keySet())) {
+      return old;
+    }
+
+    final Map<String, CachedMaterializationDescriptor> updated = Maps.newHashMapWithExpectedSize(retained.size());
+    for (String id : retained) {
+      final CachedMaterializationDescriptor descriptor = changed.get(id);
+      updated.put(id, descriptor != null ? descriptor : old.get(id));
+    }
+    logger.debug("materialization cache refreshed: {} entries, {} added or updated, {} removed",
+      updated.size(), changed.size(), Sets.difference(old.keySet(), retained).size());
     return updated;
   }
 
@@ -190,47 +235,71 @@ class MaterializationCache {
     return reflectionStatusService.getExternalReflectionStatus(new ReflectionId(id)).getConfigStatus() == OUT_OF_SYNC;
   }
 
-  private void updateEntry(Map<String, CachedMaterializationDescriptor> cache, ExternalReflection entry) {
+  /**
+   * @return true if the entry was expanded and added to the cache
+   */
+  private boolean updateEntry(Map<String, CachedMaterializationDescriptor> cache, ExternalReflection entry) {
     try {
       final MaterializationDescriptor descriptor = provider.getDescriptor(entry);
       if (descriptor != null) {
         final DremioMaterialization expanded = provider.expand(descriptor);
         if (expanded != null) {
           cache.put(entry.getId(), new CachedMaterializationDescriptor(descriptor, expanded));
+          return true;
         }
       }
     } catch (Exception e) {
       logger.warn("couldn't expand materialization {}", entry.getId(), e);
     }
+    return false;
   }
 
-  private void safeUpdateEntry(Map<String, CachedMaterializationDescriptor> cache, Materialization entry) {
+  /**
+   * @return true if the entry was expanded and added to the cache
+   */
+  private boolean safeUpdateEntry(Map<String, CachedMaterializationDescriptor> cache, Materialization entry) {
     try {
-      updateEntry(cache, entry);
+      return updateEntry(cache, entry);
     } catch (Exception | AssertionError e) {
       // Calcite can throw assertion errors even when assertions are disabled :( that's why we need to make sure we catch them here
       logger.warn("couldn't expand materialization {}", entry.getId().getId(), e);
+      return false;
     }
   }
 
-  private void updateEntry(Map<String, CachedMaterializationDescriptor> cache, Materialization entry) throws CacheException {
+  private boolean updateEntry(Map<String, CachedMaterializationDescriptor> cache, Materialization entry) throws CacheException {
     final CachedMaterializationDescriptor descriptor = provider.expand(entry);
     if (descriptor != null) {
       cache.put(entry.getId().getId(), descriptor);
+      return true;
     }
+    return false;
   }
 
-  private boolean schemaChanged(MaterializationDescriptor old, Materialization materialization) {
+  private boolean schemaChanged(MaterializationDescriptor old, Materialization materialization,
+                                Map<String, String> validated) {
     if (namespaceService == null) {
       return false;
     }
     try {
       //TODO is this enough ? shouldn't we use the dataset hash instead ??
       final NamespaceKey matKey = new NamespaceKey(ReflectionUtils.getMaterializationPath(materialization));
-      ByteString schemaString = namespaceService.getDataset(matKey).getRecordSchema();
+      final DatasetConfig dataset = namespaceService.getDataset(matKey);
+      final String id = materialization.getId().getId();
+      if (dataset.getTag() != null && dataset.getTag().equals(validatedSchemaTags.get(id))) {
+        // dataset didn't change since its schema was last compared
+        return false;
+      }
+      ByteString schemaString = dataset.getRecordSchema();
       BatchSchema newSchema = BatchSchema.deserialize(schemaString);
       BatchSchema oldSchema = ((CachedMaterializationDescriptor) old).getMaterialization().getSchema();
-      return !oldSchema.equals(newSchema);
+      if (!oldSchema.equals(newSchema)) {
+        return true;
+      }
+      if (dataset.getTag() != null) {
+        validated.put(id, dataset.getTag());
+      }
+      return false;
     } catch (NamespaceException e) {
       return true;
     }
@@ -253,16 +322,27 @@ class MaterializationCache {
       updated.remove(mId.getId());
       //update the cache.
       exchanged = cached.compareAndSet(old, updated);
+      if (exchanged) {
+        validatedSchemaTags.remove(mId.getId());
+      }
     } while(!exchanged);
   }
 
   void update(Materialization m) throws CacheException {
+    // expand once, outside of the compare and set loop
+    final CachedMaterializationDescriptor descriptor = provider.expand(m);
+    if (descriptor == null) {
+      return;
+    }
     boolean exchanged;
     do {
       Map<String, CachedMaterializationDescriptor> old = cached.get();
       Map<String, CachedMaterializationDescriptor> updated =  Maps.newHashMap(old); //copy over everything
-      updateEntry(updated, m);
+      updated.put(m.getId().getId(), descriptor);
       exchanged = cached.compareAndSet(old, updated); //update the cache.
+      if (exchanged) {
+        validatedSchemaTags.remove(m.getId().getId());
+      }
     } while(!exchanged);
   }
 
@@ -56,6 +56,8 @@ public interface ReflectionOptions {
   PositiveLongValidator COMPACTION_TRIGGER_NUMBER_FILES = new PositiveLongValidator("reflection.compaction.trigger.num_files", Long.MAX_VALUE, 1);
   // Compaction will be triggered if the median file size is less than or equal to this parameter
   PositiveLongValidator COMPACTION_TRIGGER_FILE_SIZE = new PositiveLongValidator("reflection.compaction.trigger.file_size_mb", Long.MAX_VALUE/(1024*1024), 16);
+  // Compaction sizes its writers so each output file holds about this many megabytes. Files are still bounded by store.parquet.block-size
+  PositiveLongValidator COMPACTION_TARGET_FILE_SIZE = new PositiveLongValidator("reflection.compaction.target_file_size_mb", Long.MAX_VALUE/(1024*1024), 256);
   // Enable caching of reflection whose dist storage is in cloud ( S3, AzureDataLake, AzureFileSystem)
   BooleanValidator CLOUD_CACHING_ENABLED = new BooleanValidator("reflection.cloud.cache.enabled", true);
   // If disabled, only vds schema and expanded sql definition will be considered when deciding to do an incremental refresh
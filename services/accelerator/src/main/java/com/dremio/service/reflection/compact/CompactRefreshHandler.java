@@ -16,6 +16,8 @@
 package com.dremio.service.reflection.compact;
 
 import static com.dremio.exec.planner.acceleration.IncrementalUpdateUtils.UPDATE_COLUMN;
+import static com.dremio.options.OptionValue.OptionType.QUERY;
+import static com.dremio.service.reflection.ReflectionOptions.COMPACTION_TARGET_FILE_SIZE;
 
 import java.util.List;
 import java.util.regex.Matcher;
@@ -51,6 +53,7 @@ import com.dremio.exec.planner.sql.handlers.query.SqlToPlanHandler;
 import com.dremio.exec.planner.sql.parser.SqlCompactMaterialization;
 import com.dremio.exec.work.foreman.ForemanSetupException;
 import com.dremio.options.OptionManager;
+import com.dremio.options.OptionValue;
 import com.dremio.service.namespace.NamespaceKey;
 import com.dremio.service.reflection.ReflectionGoalChecker;
 import com.dremio.service.reflection.ReflectionService;
@@ -59,10 +62,12 @@ import com.dremio.service.reflection.WriterOptionManager;
 import com.dremio.service.reflection.proto.Materialization;
 import com.dremio.service.reflection.proto.MaterializationId;
 import com.dremio.service.reflection.proto.ReflectionEntry;
+import com.dremio.service.reflection.proto.ReflectionField;
 import com.dremio.service.reflection.proto.ReflectionGoal;
 import com.dremio.service.reflection.proto.ReflectionId;
 import com.dremio.service.reflection.proto.Refresh;
 import com.dremio.service.users.SystemUser;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
@@ -155,6 +160,8 @@ public class CompactRefreshHandler implements SqlToPlanHandler {
 
       final List<String> tableSchemaPath = ReflectionUtils.getMaterializationPath(materialization);
 
+      limitWriters(config.getContext().getOptions(), goal, refreshes.get(0));
+
       final PlanNormalizer planNormalizer = new PlanNormalizer(config);
       final RelNode initial = getPlan(config, tableSchemaPath, planNormalizer);
 
@@ -194,6 +201,41 @@ public class CompactRefreshHandler implements SqlToPlanHandler {
     }
   }
 
+  /**
+   * Bin-packs the compacted data into files of about {@link com.dremio.service.reflection.ReflectionOptions#COMPACTION_TARGET_FILE_SIZE}
+   * by capping the query width, and thus the number of writers, to the number of files needed to hold the refresh.<br>
+   * This only bounds the number of files of unpartitioned reflections, where each writer writes a single file. A writer
+   * of a partitioned reflection writes a file per partition it receives, so the number of files depends on the
+   * partitions rather than on the writers. The reflection manager doesn't compact partitioned reflections, and their
+   * width is left alone here.
+   */
+  private void limitWriters(OptionManager options, ReflectionGoal goal, Refresh refresh) {
+    final List<ReflectionField> partitionFields = goal.getDetails().getPartitionFieldList();
+    if (partitionFields != null && !partitionFields.isEmpty()) {
+      logger.debug("Not limiting the writers compacting partitioned reflection {}", goal.getId().getId());
+      return;
+    }
+
+    final long targetFileSize = options.getOption(COMPACTION_TARGET_FILE_SIZE) * 1024 * 1024;
+    final long footprint = refresh.getMetrics().getFootprint();
+    final int numWriters = getNumberOfWriters(footprint, targetFileSize);
+    if (numWriters < options.getOption(ExecConstants.MAX_WIDTH_GLOBAL)) {
+      logger.debug("Compacting {} bytes using {} writers", footprint, numWriters);
+      options.setOption(OptionValue.createLong(QUERY, ExecConstants.MAX_WIDTH_GLOBAL_KEY, numWriters));
+    }
+  }
+
+  /**
+   * @return how many files of targetFileSize bytes are needed to hold totalSize bytes, at least 1
+   */
+  @VisibleForTesting
+  static int getNumberOfWriters(long totalSize, long targetFileSize) {
+    if (totalSize <= targetFileSize) {
+      return 1;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, (totalSize + targetFileSize - 1) / targetFileSize);
+  }
+
   @Override
   public String getTextPlan() {
     return textPlan;
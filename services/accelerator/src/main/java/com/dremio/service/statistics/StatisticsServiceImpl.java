@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.statistics;
+
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Provider;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dremio.common.exceptions.UserException;
+import com.dremio.common.utils.SqlUtils;
+import com.dremio.datastore.api.LegacyKVStoreProvider;
+import com.dremio.exec.catalog.DremioTable;
+import com.dremio.exec.catalog.MetadataRequestOptions;
+import com.dremio.exec.planner.cost.StatisticsService;
+import com.dremio.exec.planner.types.JavaTypeFactoryImpl;
+import com.dremio.exec.store.CatalogService;
+import com.dremio.exec.store.SchemaConfig;
+import com.dremio.service.job.SqlQuery;
+import com.dremio.service.job.SubmitJobRequest;
+import com.dremio.service.job.VersionedDatasetPath;
+import com.dremio.service.job.proto.JobId;
+import com.dremio.service.job.proto.QueryType;
+import com.dremio.service.jobs.CompletionListener;
+import com.dremio.service.jobs.JobDataClientUtils;
+import com.dremio.service.jobs.JobDataFragment;
+import com.dremio.service.jobs.JobsProtoUtil;
+import com.dremio.service.jobs.JobsService;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.ColumnStatistics;
+import com.dremio.service.namespace.dataset.proto.TableStatistics;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Computes the column statistics of datasets with internal jobs, and serves them to the planner.<br>
+ * A first job computes the number of rows of the dataset and, for every column, its number of distinct values using
+ * HyperLogLog and its number of nulls. Numeric columns then get an equi-depth histogram, built from a sample of the
+ * dataset by a second job. Statistics are stored in the KV store and cached for planning.<br>
+ * Statistics record the version of the dataset they were computed for. Once the dataset is refreshed, or dropped and
+ * recreated, they no longer match its version: the planner ignores them, and they are deleted when the statistics of
+ * the dataset are computed again.
+ */
+public class StatisticsServiceImpl implements StatisticsService {
+  private static final Logger logger = LoggerFactory.getLogger(StatisticsServiceImpl.class);
+  private static final NamespaceKey NONE_PATH = new NamespaceKey(ImmutableList.of("__none"));
+
+  private static final int HISTOGRAM_BUCKETS = 32;
+  private static final double HISTOGRAM_SAMPLE_ROWS = 100_000d;
+  private static final String ROW_COUNT_COLUMN = "row_count";
+
+  private final Provider<JobsService> jobsService;
+  private final Provider<CatalogService> catalogService;
+  private final StatisticsStore store;
+  private final BufferAllocator allocator;
+  private final ExecutorService executor;
+  private final LoadingCache<NamespaceKey, Optional<TableStatistics>> cache;
+
+  public StatisticsServiceImpl(Provider<JobsService> jobsService, Provider<CatalogService> catalogService,
+                               Provider<LegacyKVStoreProvider> storeProvider, BufferAllocator allocator,
+                               ExecutorService executor) {
+    this.jobsService = Preconditions.checkNotNull(jobsService, "jobs service required");
+    this.catalogService = Preconditions.checkNotNull(catalogService, "catalog service required");
+    this.store = new StatisticsStore(storeProvider);
+    this.allocator = Preconditions.checkNotNull(allocator, "buffer allocator required");
+    this.executor = Preconditions.checkNotNull(executor, "executor required");
+    this.cache = CacheBuilder.newBuilder()
+      .maximumSize(10_000)
+      .expireAfterWrite(1, TimeUnit.MINUTES)
+      .build(new CacheLoader<NamespaceKey, Optional<TableStatistics>>() {
+        @Override
+        public Optional<TableStatistics> load(NamespaceKey key) {
+          return Optional.ofNullable(store.get(key));
+        }
+      });
+  }
+
+  @Override
+  public TableStatistics getTableStatistics(NamespaceKey table, String datasetTag) {
+    final TableStatistics statistics;
+    try {
+      statistics = cache.getUnchecked(table).orElse(null);
+    } catch (RuntimeException e) {
+      logger.warn("Failure while reading the statistics of {}", table, e);
+      return null;
+    }
+
+    if (statistics != null && !Objects.equals(statistics.getDatasetTag(), datasetTag)) {
+      logger.debug("Ignoring the statistics of {}, computed for version {} of the dataset instead of {}", table,
+        statistics.getDatasetTag(), datasetTag);
+      return null;
+    }
+    return statistics;
+  }
+
+  @Override
+  public String computeStatistics(NamespaceKey table, List<String> columns, String user) {
+    final DremioTable dremioTable = catalogService.get()
+      .getCatalog(MetadataRequestOptions.of(SchemaConfig.newBuilder(user).build()))
+      .getTable(table);
+    if (dremioTable == null) {
+      throw UserException.validationError()
+        .message("Unknown table %s", table)
+        .build(logger);
+    }
+
+    final NamespaceKey path = dremioTable.getPath();
+    // version the statistics are computed for, read before the data so a concurrent refresh invalidates them
+    final String datasetTag = dremioTable.getDatasetConfig() == null ? null : dremioTable.getDatasetConfig().getTag();
+    final List<RelDataTypeField> fields = getFields(path, dremioTable, columns);
+    deleteStale(path, datasetTag);
+    final StringBuilder selection = new StringBuilder("COUNT(*) AS ").append(SqlUtils.quoteIdentifier(ROW_COUNT_COLUMN));
+    for (int i = 0; i < fields.size(); i++) {
+      final String column = SqlUtils.quoteIdentifier(fields.get(i).getName());
+      selection.append(String.format(", ndv(%s) AS \"ndv_%d\", COUNT(%s) AS \"count_%d\"", column, i, column, i));
+    }
+
+    final CompletionListener listener = new CompletionListener();
+    final JobId jobId = submit(String.format("SELECT %s FROM %s", selection, path.getSchemaPath()), user, listener);
+    executor.submit(() -> {
+      try {
+        listener.awaitUnchecked();
+        save(path, collect(path, fields, jobId, user).setDatasetTag(datasetTag));
+      } catch (Exception e) {
+        logger.warn("Failure while computing the statistics of {}", path, e);
+      }
+    });
+    return jobId.getId();
+  }
+
+  /**
+   * Deletes the statistics of a dataset computed for another version of it, so they don't outlive a failed computation.
+   */
+  private void deleteStale(NamespaceKey path, String datasetTag) {
+    final TableStatistics statistics = store.get(path);
+    if (statistics == null || Objects.equals(statistics.getDatasetTag(), datasetTag)) {
+      return;
+    }
+
+    logger.debug("Dropping the statistics of {}, computed for version {} of the dataset instead of {}", path,
+      statistics.getDatasetTag(), datasetTag);
+    try {
+      // statistics computed in the meantime for the new version are kept
+      store.delete(path, statistics.getTag());
+    } catch (ConcurrentModificationException e) {
+      logger.debug("Statistics of {} were replaced while being dropped", path, e);
+    }
+    cache.invalidate(path);
+  }
+
+  private List<RelDataTypeField> getFields(NamespaceKey path, DremioTable table, List<String> columns) {
+    final List<RelDataTypeField> fields = table.getRowType(JavaTypeFactoryImpl.INSTANCE).getFieldList();
+    if (columns == null || columns.isEmpty()) {
+      final List<RelDataTypeField> supported = Lists.newArrayList();
+      for (RelDataTypeField field : fields) {
+        if (isSupported(field)) {
+          supported.add(field);
+        }
+      }
+      return supported;
+    }
+
+    final List<RelDataTypeField> selected = Lists.newArrayList();
+    for (String column : columns) {
+      final RelDataTypeField field = fields.stream()
+        .filter(f -> f.getName().equalsIgnoreCase(column))
+        .findFirst()
+        .orElseThrow(() -> UserException.validationError()
+          .message("Unknown column %s in table %s", column, path)
+          .build(logger));
+      if (!isSupported(field)) {
+        throw UserException.validationError()
+          .message("Statistics are not supported for column %s of type %s", column, field.getType().getSqlTypeName())
+          .build(logger);
+      }
+      selected.add(field);
+    }
+    return selected;
+  }
+
+  private static boolean isSupported(RelDataTypeField field) {
+    final SqlTypeName type = field.getType().getSqlTypeName();
+    return isNumeric(field)
+      || SqlTypeName.DATETIME_TYPES.contains(type)
+      || SqlTypeName.CHAR_TYPES.contains(type)
+      || SqlTypeName.BOOLEAN_TYPES.contains(type);
+  }
+
+  private static boolean isNumeric(RelDataTypeField field) {
+    return SqlTypeName.NUMERIC_TYPES.contains(field.getType().getSqlTypeName());
+  }
+
+  private TableStatistics collect(NamespaceKey path, List<RelDataTypeField> fields, JobId jobId, String user) {
+    final TableStatistics statistics = new TableStatistics();
+    final List<ColumnStatistics> columns = Lists.newArrayList();
+    try (JobDataFragment data = JobDataClientUtils.getJobData(jobsService.get(), allocator, jobId, 0, 1)) {
+      final long rowCount = toLong(data.extractValue(ROW_COUNT_COLUMN, 0));
+      statistics.setRowCount(rowCount);
+      for (int i = 0; i < fields.size(); i++) {
+        columns.add(new ColumnStatistics()
+          .setName(fields.get(i).getName())
+          .setNdv(toLong(data.extractValue("ndv_" + i, 0)))
+          .setNullCount(rowCount - toLong(data.extractValue("count_" + i, 0))));
+      }
+    }
+
+    for (int i = 0; i < fields.size(); i++) {
+      if (isNumeric(fields.get(i)) && statistics.getRowCount() > 0) {
+        columns.get(i).setHistogramBoundsList(histogram(path, fields.get(i), statistics.getRowCount(), user));
+      }
+    }
+    return statistics
+      .setColumnsList(columns)
+      .setComputedAt(System.currentTimeMillis());
+  }
+
+  /**
+   * Builds an equi-depth histogram of a numeric column from a sample of its non null values.
+   *
+   * @return the bounds of the buckets, minimum first and maximum last
+   */
+  private List<Double> histogram(NamespaceKey path, RelDataTypeField field, long rowCount, String user) {
+    final String column = SqlUtils.quoteIdentifier(field.getName());
+    final double fraction = Math.min(1d, HISTOGRAM_SAMPLE_ROWS / rowCount);
+    final String sql = String.format("SELECT \"bucket\", MIN(\"v\") AS \"lo\", MAX(\"v\") AS \"hi\" FROM ("
+        + "SELECT \"v\", NTILE(%d) OVER (ORDER BY \"v\") AS \"bucket\" FROM ("
+        + "SELECT CAST(%s AS DOUBLE) AS \"v\" FROM %s WHERE %s IS NOT NULL AND RAND() < %s)) "
+        + "GROUP BY \"bucket\" ORDER BY \"bucket\"",
+      HISTOGRAM_BUCKETS, column, path.getSchemaPath(), column, fraction);
+
+    final CompletionListener listener = new CompletionListener();
+    final JobId jobId = submit(sql, user, listener);
+    listener.awaitUnchecked();
+    try (JobDataFragment data = JobDataClientUtils.getJobData(jobsService.get(), allocator, jobId, 0, HISTOGRAM_BUCKETS)) {
+      final List<Double> bounds = Lists.newArrayList();
+      for (int row = 0; row < data.getReturnedRowCount(); row++) {
+        if (row == 0) {
+          bounds.add(((Number) data.extractValue("lo", row)).doubleValue());
+        }
+        bounds.add(((Number) data.extractValue("hi", row)).doubleValue());
+      }
+      return bounds.size() > 1 ? bounds : Collections.emptyList();
+    }
+  }
+
+  private JobId submit(String sql, String user, CompletionListener listener) {
+    final SqlQuery query = SqlQuery.newBuilder()
+      .setSql(sql)
+      .addAllContext(Collections.<String>emptyList())
+      .setUsername(user)
+      .build();
+
+    return jobsService.get().submitJob(
+      SubmitJobRequest.newBuilder()
+        .setSqlQuery(query)
+        .setQueryType(JobsProtoUtil.toBuf(QueryType.UI_INTERNAL_RUN))
+        .setVersionedDataset(VersionedDatasetPath.newBuilder().addAllPath(NONE_PATH.getPathComponents()).build())
+        .build(),
+      listener);
+  }
+
+  private void save(NamespaceKey path, TableStatistics statistics) {
+    store.save(path, statistics);
+    cache.invalidate(path);
+    logger.debug("Saved the statistics of {} columns of {}", statistics.getColumnsList().size(), path);
+  }
+
+  private static long toLong(Object value) {
+    return value == null ? 0L : ((Number) value).longValue();
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.reflection;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dremio.exec.planner.acceleration.CachedMaterializationDescriptor;
+import com.dremio.exec.planner.acceleration.DremioMaterialization;
+import com.dremio.exec.record.BatchSchema;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.NamespaceService;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.service.reflection.MaterializationCache.CacheHelper;
+import com.dremio.service.reflection.proto.Materialization;
+import com.dremio.service.reflection.proto.MaterializationId;
+import com.dremio.service.reflection.proto.ReflectionId;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tests for {@link MaterializationCache}
+ */
+public class TestMaterializationCache {
+
+  private static final BatchSchema SCHEMA = BatchSchema.newBuilder()
+    .addField(new Field("a", true, new ArrowType.Utf8(), null))
+    .build();
+
+  private static final BatchSchema OTHER_SCHEMA = BatchSchema.newBuilder()
+    .addField(new Field("b", true, new ArrowType.Int(32, true), null))
+    .build();
+
+  private CacheHelper helper;
+  private NamespaceService namespaceService;
+  private MaterializationCache cache;
+
+  @Before
+  public void setup() throws Exception {
+    helper = mock(CacheHelper.class);
+    namespaceService = mock(NamespaceService.class);
+    when(helper.getExternalReflections()).thenReturn(ImmutableList.of());
+    when(namespaceService.getDataset(any(NamespaceKey.class))).thenReturn(new DatasetConfig()
+      .setTag("dataset-tag")
+      .setRecordSchema(SCHEMA.toByteString()));
+    cache = new MaterializationCache(helper, namespaceService, mock(ReflectionStatusService.class));
+  }
+
+  private static Materialization materialization(String id, String tag) {
+    return new Materialization()
+      .setId(new MaterializationId(id))
+      .setReflectionId(new ReflectionId("r-" + id))
+      .setTag(tag);
+  }
+
+  private static CachedMaterializationDescriptor descriptor(Materialization m, BatchSchema schema) {
+    final DremioMaterialization materialization = mock(DremioMaterialization.class);
+    when(materialization.getSchema()).thenReturn(schema);
+    final CachedMaterializationDescriptor descriptor = mock(CachedMaterializationDescriptor.class);
+    when(descriptor.getVersion()).thenReturn(m.getTag());
+    when(descriptor.getMaterialization()).thenReturn(materialization);
+    return descriptor;
+  }
+
+  private CachedMaterializationDescriptor expandsTo(Materialization m) throws Exception {
+    final CachedMaterializationDescriptor descriptor = descriptor(m, SCHEMA);
+    when(helper.expand(m)).thenReturn(descriptor);
+    return descriptor;
+  }
+
+  @Test
+  public void testUnchangedMaterializationsAreNotExpandedAgain() throws Exception {
+    final Materialization m1 = materialization("m1", "1");
+    final Materialization m2 = materialization("m2", "1");
+    final CachedMaterializationDescriptor d1 = expandsTo(m1);
+    expandsTo(m2);
+    when(helper.getValidMaterializations()).thenReturn(ImmutableList.of(m1, m2));
+
+    cache.refresh();
+    cache.refresh();
+    cache.refresh();
+
+    verify(helper, times(1)).expand(m1);
+    verify(helper, times(1)).expand(m2);
+    assertSame(d1, cache.get(m1.getId()));
+  }
+
+  @Test
+  public void testChangedMaterializationIsReplaced() throws Exception {
+    final Materialization m1 = materialization("m1", "1");
+    expandsTo(m1);
+    when(helper.getValidMaterializations()).thenReturn(ImmutableList.of(m1));
+    cache.refresh();
+
+    final Materialization updated = materialization("m1", "2");
+    final CachedMaterializationDescriptor d2 = expandsTo(updated);
+    when(helper.getValidMaterializations()).thenReturn(ImmutableList.of(updated));
+    cache.refresh();
+
+    assertSame(d2, cache.get(m1.getId()));
+  }
+
+  @Test
+  public void testRemovedMaterializationIsEvicted() throws Exception {
+    final Materialization m1 = materialization("m1", "1");
+    final Materialization m2 = materialization("m2", "1");
+    expandsTo(m1);
+    expandsTo(m2);
+    when(helper.getValidMaterializations()).thenReturn(ImmutableList.of(m1, m2));
+    cache.refresh();
+    assertTrue(cache.contains(m2.getId()));
+
+    when(helper.getValidMaterializations()).thenReturn(ImmutableList.of(m1));
+    cache.refresh();
+
+    assertTrue(cache.contains(m1.getId()));
+    assertFalse(cache.contains(m2.getId()));
+  }
+
+  @Test
+  public void testUpdateAndInvalidateSingleEntry() throws Exception {
+    final Materialization m1 = materialization("m1", "1");
+    final CachedMaterializationDescriptor d1 = expandsTo(m1);
+
+    cache.update(m1);
+    assertSame(d1, cache.get(m1.getId()));
+
+    cache.invalidate(m1.getId());
+    assertFalse(cache.contains(m1.getId()));
+  }
+
+  @Test
+  public void testSchemaValidatedByLosingRefreshIsNotRecorded() throws Exception {
+    final Materialization m1 = materialization("m1", "1");
+    final CachedMaterializationDescriptor d1 = descriptor(m1, SCHEMA);
+    // updated concurrently with a descriptor whose schema doesn't match the dataset anymore
+    final CachedMaterializationDescriptor concurrent = descriptor(m1, OTHER_SCHEMA);
+    final CachedMaterializationDescriptor d3 = descriptor(m1, SCHEMA);
+    when(helper.expand(m1)).thenReturn(d1, concurrent, d3);
+    cache.update(m1);
+
+    final AtomicBoolean updatedConcurrently = new AtomicBoolean();
+    when(helper.getValidMaterializations()).thenAnswer(invocation -> {
+      if (updatedConcurrently.compareAndSet(false, true)) {
+        cache.update(m1);
+      }
+      return ImmutableList.of(m1);
+    });
+    cache.refresh();
+
+    // the schema validated against d1 must not let the retry keep the concurrent descriptor
+    assertSame(d3, cache.get(m1.getId()));
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.reflection.compact;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link CompactRefreshHandler}
+ */
+public class TestCompactRefreshHandler {
+
+  private static final long MB = 1024 * 1024;
+
+  @Test
+  public void testNumberOfWriters() {
+    assertEquals(1, CompactRefreshHandler.getNumberOfWriters(0, 256 * MB));
+    assertEquals(1, CompactRefreshHandler.getNumberOfWriters(10 * MB, 256 * MB));
+    assertEquals(1, CompactRefreshHandler.getNumberOfWriters(256 * MB, 256 * MB));
+    assertEquals(2, CompactRefreshHandler.getNumberOfWriters(256 * MB + 1, 256 * MB));
+    assertEquals(40, CompactRefreshHandler.getNumberOfWriters(10_000 * MB, 256 * MB));
+  }
+
+  @Test
+  public void testNumberOfWritersIsBounded() {
+    assertEquals(Integer.MAX_VALUE, CompactRefreshHandler.getNumberOfWriters(Long.MAX_VALUE / 2, 1));
+  }
+}
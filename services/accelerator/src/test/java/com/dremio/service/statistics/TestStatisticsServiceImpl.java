@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2017-2019 Dremio Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dremio.service.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.dremio.common.exceptions.UserException;
+import com.dremio.datastore.adapter.LegacyKVStoreProviderAdapter;
+import com.dremio.datastore.api.LegacyKVStoreProvider;
+import com.dremio.exec.catalog.Catalog;
+import com.dremio.exec.catalog.DremioTable;
+import com.dremio.exec.catalog.MetadataRequestOptions;
+import com.dremio.exec.planner.types.JavaTypeFactoryImpl;
+import com.dremio.exec.store.CatalogService;
+import com.dremio.service.DirectProvider;
+import com.dremio.service.job.SubmitJobRequest;
+import com.dremio.service.job.proto.JobId;
+import com.dremio.service.jobs.JobStatusListener;
+import com.dremio.service.jobs.JobsService;
+import com.dremio.service.namespace.NamespaceKey;
+import com.dremio.service.namespace.dataset.proto.ColumnStatistics;
+import com.dremio.service.namespace.dataset.proto.DatasetConfig;
+import com.dremio.service.namespace.dataset.proto.TableStatistics;
+import com.dremio.test.DremioTest;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Tests for {@link StatisticsServiceImpl} and {@link StatisticsStore}
+ */
+public class TestStatisticsServiceImpl {
+
+  private static final NamespaceKey TABLE = new NamespaceKey(ImmutableList.of("src", "t1"));
+
+  private static final LegacyKVStoreProvider kvstore =
+      LegacyKVStoreProviderAdapter.inMemory(DremioTest.CLASSPATH_SCAN_RESULT);
+
+  private StatisticsStore store;
+  private JobsService jobsService;
+  private Catalog catalog;
+  private StatisticsServiceImpl service;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    kvstore.start();
+  }
+
+  @AfterClass
+  public static void afterClass() throws Exception {
+    kvstore.close();
+  }
+
+  @Before
+  public void setup() {
+    store = new StatisticsStore(DirectProvider.wrap(kvstore));
+    store.delete(TABLE);
+
+    jobsService = mock(JobsService.class);
+    catalog = mock(Catalog.class);
+    final CatalogService catalogService = mock(CatalogService.class);
+    when(catalogService.getCatalog(any(MetadataRequestOptions.class))).thenReturn(catalog);
+
+    service = new StatisticsServiceImpl(DirectProvider.wrap(jobsService), DirectProvider.wrap(catalogService),
+      DirectProvider.wrap(kvstore), mock(BufferAllocator.class), MoreExecutors.newDirectExecutorService());
+  }
+
+  private static TableStatistics statistics(String datasetTag) {
+    return new TableStatistics()
+      .setRowCount(100L)
+      .setColumnsList(ImmutableList.of(new ColumnStatistics().setName("a").setNdv(10L).setNullCount(0L)))
+      .setDatasetTag(datasetTag);
+  }
+
+  @Test
+  public void testStoreReplacesStatistics() {
+    store.save(TABLE, statistics("1"));
+    store.save(TABLE, statistics("2").setRowCount(200L));
+
+    final TableStatistics saved = store.get(TABLE);
+    assertEquals(Long.valueOf(200L), saved.getRowCount());
+    assertEquals("2", saved.getDatasetTag());
+  }
+
+  @Test
+  public void testNoStatistics() {
+    assertNull(service.getTableStatistics(TABLE, "1"));
+  }
+
+  @Test
+  public void testStatisticsOfCurrentVersion() {
+    store.save(TABLE, statistics("1"));
+
+    final TableStatistics statistics = service.getTableStatistics(TABLE, "1");
+    assertEquals(Long.valueOf(100L), statistics.getRowCount());
+    assertEquals(Long.valueOf(10L), statistics.getColumnsList().get(0).getNdv());
+  }
+
+  @Test
+  public void testRefreshedDatasetIgnoresStatistics() {
+    store.save(TABLE, statistics("1"));
+    assertEquals(Long.valueOf(100L), service.getTableStatistics(TABLE, "1").getRowCount());
+
+    // a refresh or a drop and recreate gives the dataset a new version, reading doesn't write to the store
+    assertNull(service.getTableStatistics(TABLE, "2"));
+    assertEquals(Long.valueOf(100L), store.get(TABLE).getRowCount());
+  }
+
+  @Test
+  public void testComputeDropsStaleStatistics() {
+    store.save(TABLE, statistics("1"));
+    final DremioTable table = mock(DremioTable.class);
+    when(table.getPath()).thenReturn(TABLE);
+    when(table.getDatasetConfig()).thenReturn(new DatasetConfig().setTag("2"));
+    when(table.getRowType(JavaTypeFactoryImpl.INSTANCE)).thenReturn(JavaTypeFactoryImpl.INSTANCE.builder()
+      .add("a", SqlTypeName.INTEGER)
+      .build());
+    when(catalog.getTable(TABLE)).thenReturn(table);
+    when(jobsService.submitJob(any(SubmitJobRequest.class), any(JobStatusListener.class))).thenAnswer(invocation -> {
+      ((JobStatusListener) invocation.getArguments()[1]).jobFailed(new Exception("failed"));
+      return new JobId("1");
+    });
+
+    // the statistics of the previous version are dropped even though the new ones can't be computed
+    service.computeStatistics(TABLE, Collections.emptyList(), "user");
+    assertNull(store.get(TABLE));
+    assertNull(service.getTableStatistics(TABLE, "1"));
+  }
+
+  @Test
+  public void testStatisticsOfNewVersionAreKept() {
+    store.save(TABLE, statistics("1"));
+    assertEquals(Long.valueOf(100L), service.getTableStatistics(TABLE, "1").getRowCount());
+
+    // statistics computed for the new version after the planner cached the old ones
+    store.save(TABLE, statistics("2").setRowCount(200L));
+    assertNull(service.getTableStatistics(TABLE, "2"));
+    assertEquals(Long.valueOf(200L), service.getTableStatistics(TABLE, "2").getRowCount());
+  }
+
+  @Test
+  public void testComputeUnknownTable() {
+    try {
+      service.computeStatistics(TABLE, Collections.emptyList(), "user");
+      fail("expected a validation error");
+    } catch (UserException e) {
+      assertTrue(e.getMessage().contains("Unknown table"));
+    }
+    verifyZeroInteractions(jobsService);
+  }
+
+  @Test
+  public void testComputeUnsupportedColumn() {
+    final DremioTable table = mock(DremioTable.class);
+    when(table.getPath()).thenReturn(TABLE);
+    when(table.getDatasetConfig()).thenReturn(new DatasetConfig().setTag("1"));
+    when(table.getRowType(JavaTypeFactoryImpl.INSTANCE)).thenReturn(JavaTypeFactoryImpl.INSTANCE.builder()
+      .add("a", SqlTypeName.INTEGER)
+      .add("b", SqlTypeName.VARBINARY)
+      .build());
+    when(catalog.getTable(TABLE)).thenReturn(table);
+
+    try {
+      service.computeStatistics(TABLE, ImmutableList.of("b"), "user");
+      fail("expected a validation error");
+    } catch (UserException e) {
+      assertTrue(e.getMessage().contains("not supported for column b"));
+    }
+    try {
+      service.computeStatistics(TABLE, ImmutableList.of("c"), "user");
+      fail("expected a validation error");
+    } catch (UserException e) {
+      assertTrue(e.getMessage().contains("Unknown column c"));
+    }
+    verifyZeroInteractions(jobsService);
+  }
+}
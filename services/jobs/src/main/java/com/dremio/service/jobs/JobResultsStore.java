@@ -23,9 +23,13 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.arrow.memory.BufferAllocator;
 
+import com.dremio.common.AutoCloseables;
+import com.dremio.common.concurrent.CloseableSchedulerThreadPool;
 import com.dremio.common.exceptions.UserException;
 import com.dremio.common.perf.Timer.TimedBlock;
 import com.dremio.common.utils.PathUtils;
@@ -44,6 +48,9 @@ import com.dremio.service.job.proto.JobInfo;
 import com.dremio.service.job.proto.JobResult;
 import com.dremio.service.job.proto.JobState;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -55,11 +62,19 @@ import com.google.common.collect.Sets;
 public class JobResultsStore implements Service {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(JobResultsStore.class);
 
+  // results files are kept open between reads, so that paging through results doesn't reopen them every time
+  private static final long MAX_OPEN_READERS = Long.getLong("dremio.jobs.results.max_open_readers", 256);
+  private static final long READER_IDLE_SECONDS = Long.getLong("dremio.jobs.results.reader_idle_seconds", 60);
+
   private final String storageName;
   private final Path jobStoreLocation;
   private final FileSystem dfs;
   private final BufferAllocator allocator;
   private final LegacyIndexedStore<JobId, JobResult> store;
+  private final Cache<String, ArrowFileReader> readers;
+  // idle readers are only evicted on cache activity, expire them even when no results are read
+  private final CloseableSchedulerThreadPool readersCleaner =
+      new CloseableSchedulerThreadPool("job-results-readers-cleaner", 1);
 
   public JobResultsStore(
       final JobResultsStoreConfig resultsStoreConfig,
@@ -73,6 +88,17 @@ public class JobResultsStore implements Service {
 
     this.store = store;
     this.allocator = allocator;
+    this.readers = CacheBuilder.newBuilder()
+        .maximumSize(MAX_OPEN_READERS)
+        .expireAfterAccess(READER_IDLE_SECONDS, TimeUnit.SECONDS)
+        .removalListener((RemovalListener<String, ArrowFileReader>) notification -> {
+          try {
+            notification.getValue().close();
+          } catch (IOException e) {
+            logger.warn("Failure while closing results file {}", notification.getKey(), e);
+          }
+        })
+        .build();
   }
 
   /**
@@ -95,6 +121,7 @@ public class JobResultsStore implements Service {
 
   public boolean cleanup(JobId jobId) {
     final Path jobOutputDir = getJobOutputDir(jobId);
+    closeReaders(jobOutputDir);
     try {
       if (doesQueryResultsDirExists(jobOutputDir, jobId)) {
         deleteQueryResults(jobOutputDir, true, jobId);
@@ -161,48 +188,28 @@ public class JobResultsStore implements Service {
             .build(logger);
       }
 
-      final List<ArrowFileMetadata> resultFilesToRead = Lists.newArrayList();
-      int runningFileRecordCount = 0;
-      int remainingRecords = limit;
-      for(ArrowFileMetadata fileMetadata : resultMetadata) {
-        if (offset < runningFileRecordCount + fileMetadata.getRecordCount()) {
-          resultFilesToRead.add(fileMetadata);
-
-          // offset within current file to read records
-          long fileOffset = 0; // fileOffset will be 0 from second file to be read for records.
-          if (resultFilesToRead.size() == 1) {
-            // update the given offset to start from the current file
-            offset -= runningFileRecordCount;
-            fileOffset = offset; // fileOffset will be "offset" for the first file to be read for records.
-          }
-
-          // Find how many records to read from current file.
-          // Min of remaining records in file or remaining records in total to read.
-          long fileLimit = Math.min(fileMetadata.getRecordCount() - fileOffset, remainingRecords);
-          remainingRecords -= fileLimit;
-
-          // stop including files if there are no remainingRecords to be included.
-          if (remainingRecords <=0) {
-            break;
-          }
-        }
-
-        runningFileRecordCount += fileMetadata.getRecordCount();
+      // Find the first file containing the given offset, then read files until the limit is reached
+      final long[] fileStarts = new long[resultMetadata.size() + 1];
+      for (int i = 0; i < resultMetadata.size(); i++) {
+        fileStarts[i + 1] = fileStarts[i] + resultMetadata.get(i).getRecordCount();
       }
 
       final List<RecordBatchHolder> batchHolders = Lists.newArrayList();
-      if (resultFilesToRead.isEmpty()) {
+      if (offset < 0 || offset >= fileStarts[resultMetadata.size()] || limit <= 0) {
         // when the query returns no results at all or the requested range is invalid, return an empty record batch
         // for metadata purposes.
         batchHolders.addAll(getQueryResults(jobOutputDir, resultMetadata.get(0), allocator, 0, 0));
 
       } else {
-        runningFileRecordCount = 0;
-        int remaining = limit;
-        for(ArrowFileMetadata file : resultFilesToRead) {
+        long remaining = limit;
+        for (int i = findFile(fileStarts, offset); remaining > 0 && i < resultMetadata.size(); i++) {
+          final ArrowFileMetadata file = resultMetadata.get(i);
+          if (file.getRecordCount() == 0) {
+            continue;
+          }
 
           // Find the starting record index in file
-          final long fileOffset = Math.max(0, offset - runningFileRecordCount);
+          final long fileOffset = Math.max(0, offset - fileStarts[i]);
 
           // Find how many records to read from file.
           // Min of remaining records in file or remaining records in total to read.
@@ -210,8 +217,6 @@ public class JobResultsStore implements Service {
 
           batchHolders.addAll(getQueryResults(jobOutputDir, file, allocator, fileOffset, fileLimit));
           remaining -= fileLimit;
-
-          runningFileRecordCount += file.getRecordCount();
         }
       }
 
@@ -228,8 +233,60 @@ public class JobResultsStore implements Service {
                                                     BufferAllocator allocator,
                                                     long fileOffset,
                                                     long fileLimit) throws IOException {
-    try(ArrowFileReader fileReader = new ArrowFileReader(dfs, jobOutputDir, arrowFileMetadata, allocator)) {
-      return fileReader.read(fileOffset, fileLimit);
+    final String key = jobOutputDir.resolve(arrowFileMetadata.getPath()).toString();
+    while (true) {
+      final ArrowFileReader reader;
+      try {
+        reader = readers.get(key, () -> new ArrowFileReader(dfs, jobOutputDir, arrowFileMetadata, allocator));
+      } catch (ExecutionException e) {
+        throw new IOException(e.getCause());
+      }
+
+      try {
+        return reader.read(fileOffset, fileLimit);
+      } catch (IllegalStateException e) {
+        readers.asMap().remove(key, reader);
+        if (!reader.isClosed()) {
+          throw e;
+        }
+        // the reader was evicted and closed after being looked up, retry with a new one
+      } catch (IOException | RuntimeException e) {
+        // don't keep a reader that failed, the file may have been replaced or deleted
+        readers.asMap().remove(key, reader);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * @return the index of the file containing the given record, given the index of the first record of every file
+   */
+  @VisibleForTesting
+  static int findFile(long[] fileStarts, long record) {
+    int low = 0;
+    int high = fileStarts.length - 2;
+    int found = 0;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      if (fileStarts[mid] <= record) {
+        found = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Closes the results files of a job kept open for reads.
+   */
+  private void closeReaders(Path jobOutputDir) {
+    final String prefix = jobOutputDir.toString() + "/";
+    for (String key : readers.asMap().keySet()) {
+      if (key.startsWith(prefix)) {
+        readers.invalidate(key);
+      }
     }
   }
 
@@ -296,10 +353,18 @@ public class JobResultsStore implements Service {
   @Override
   public void start() throws Exception {
     // TODO reclaim space
+    readersCleaner.scheduleWithFixedDelay(readers::cleanUp, READER_IDLE_SECONDS, READER_IDLE_SECONDS, TimeUnit.SECONDS);
   }
 
   @Override
   public void close() throws Exception {
+    AutoCloseables.close(readersCleaner);
+    readers.invalidateAll();
+  }
+
+  @VisibleForTesting
+  Cache<String, ArrowFileReader> getReaders() {
+    return readers;
   }
 
   protected Set<NodeEndpoint> getNodeEndpoints(JobId jobId) {
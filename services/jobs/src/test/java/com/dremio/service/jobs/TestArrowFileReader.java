@@ -17,6 +17,7 @@ package com.dremio.service.jobs;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -53,6 +54,7 @@ import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.dremio.datastore.api.LegacyIndexedStore;
 import com.dremio.exec.hadoop.HadoopFileSystem;
 import com.dremio.exec.physical.base.OpProps;
 import com.dremio.exec.proto.ExecProtos.FragmentHandle;
@@ -61,6 +63,7 @@ import com.dremio.exec.record.BatchSchema.SelectionVectorMode;
 import com.dremio.exec.record.RecordBatchHolder;
 import com.dremio.exec.record.VectorContainer;
 import com.dremio.exec.record.VectorWrapper;
+import com.dremio.exec.store.JobResultsStoreConfig;
 import com.dremio.exec.store.RecordWriter.OutputEntryListener;
 import com.dremio.exec.store.RecordWriter.WriteStatsListener;
 import com.dremio.exec.store.dfs.FileSystemPlugin;
@@ -74,6 +77,7 @@ import com.dremio.exec.store.easy.arrow.ArrowRecordWriter;
 import com.dremio.sabot.exec.context.OperatorContext;
 import com.dremio.test.AllocatorRule;
 import com.dremio.test.DremioTest;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
@@ -248,6 +252,45 @@ public class TestArrowFileReader extends DremioTest {
     }
   }
 
+  @Test
+  public void readingMultiBatchFileWithoutRecordOffsets() throws Exception {
+    List<VectorContainer> containers = Lists.newArrayList();
+    try (final BufferAllocator allocator = allocatorRule.newAllocator("test-arrow-file-reader", 0, Long.MAX_VALUE)) {
+      containers.add(createBatch(5, testBitVector(allocator), testVarCharVector(allocator)));
+      containers.add(createBatch(5, testBitVector(allocator), testVarCharVector(allocator)));
+      containers.add(createBatch(5, testBitVector(allocator), testVarCharVector(allocator)));
+
+      Path basePath = new Path(dateGenFolder.getRoot().getPath());
+      ArrowFileMetadata metadata = writeArrowFile(containers.toArray(new VectorContainer[3]));
+      for (int i = 0; i < 3; i++) {
+        assertEquals(Long.valueOf(5 * i), metadata.getFooter().getBatchList().get(i).getRecordOffset());
+        // files written before the footer had record offsets
+        metadata.getFooter().getBatchList().get(i).setRecordOffset(null);
+      }
+
+      try(ArrowFileReader reader = new ArrowFileReader(HadoopFileSystem.getLocal(FS_CONF), com.dremio.io.file.Path.of(basePath.toUri()), metadata, allocator)) {
+        // the same reader serves successive reads
+        for (int start : new int[] {12, 3}) {
+          List<RecordBatchHolder> batchHolders = getRecords(reader, start, 3, allocator);
+          final int batchStart = start % 5;
+          assertEquals(batchStart + 3 > 5 ? 2 : 1, batchHolders.size());
+          verifyBatchHolder(batchHolders.get(0), batchStart, Math.min(5, batchStart + 3));
+
+          VectorContainer batchContainer = batchHolders.get(0).getData().getContainer();
+          assertEquals(TEST_BIT_VALUES.subList(batchStart, Math.min(5, batchStart + 3)),
+            getBitValues(batchContainer, batchStart, Math.min(5, batchStart + 3)));
+          releaseBatches(batchHolders);
+        }
+      }
+    } finally {
+      for(VectorContainer container : containers) {
+        if (container != null) {
+          container.clear();
+        }
+      }
+    }
+  }
+
   @Test
   public void readingMultiBatchFile() throws Exception {
     List<VectorContainer> containers = Lists.newArrayList();
@@ -574,6 +617,83 @@ public class TestArrowFileReader extends DremioTest {
      // no-op. This is overridden in derived class.
   }
 
+  @Test
+  public void readingClosedReaderFails() throws Exception {
+    VectorContainer batchData = null;
+    try (final BufferAllocator allocator = allocatorRule.newAllocator("test-arrow-file-reader", 0, Long.MAX_VALUE)) {
+      Path basePath = new Path(dateGenFolder.getRoot().getPath());
+      batchData = createBatch(5, testBitVector(allocator), testVarCharVector(allocator));
+
+      ArrowFileMetadata metadata = writeArrowFile(batchData);
+      ArrowFileReader reader = new ArrowFileReader(HadoopFileSystem.getLocal(FS_CONF), com.dremio.io.file.Path.of(basePath.toUri()), metadata, allocator);
+      releaseBatches(getRecords(reader, 0, 5, allocator));
+      reader.close();
+      assertTrue(reader.isClosed());
+
+      try {
+        getRecords(reader, 0, 5, allocator);
+        fail("reading a closed reader should fail instead of reopening the file");
+      } catch (IllegalStateException e) {
+        assertTrue(e.getMessage().contains("is closed"));
+      }
+    } finally {
+      if (batchData != null) {
+        batchData.clear();
+      }
+    }
+  }
+
+  @Test
+  public void readingThroughReaderCache() throws Exception {
+    VectorContainer batchData = null;
+    try (final BufferAllocator allocator = allocatorRule.newAllocator("test-arrow-file-reader", 0, Long.MAX_VALUE)) {
+      final com.dremio.io.file.Path basePath = com.dremio.io.file.Path.of(dateGenFolder.getRoot().toURI());
+      batchData = createBatch(5, testBitVector(allocator), testVarCharVector(allocator));
+      ArrowFileMetadata metadata = writeArrowFile(batchData);
+
+      @SuppressWarnings("unchecked")
+      final JobResultsStore resultsStore = new JobResultsStore(
+        new JobResultsStoreConfig("results", basePath, HadoopFileSystem.getLocal(FS_CONF)),
+        mock(LegacyIndexedStore.class), allocator);
+      try {
+        releaseBatches(resultsStore.getQueryResults(basePath, metadata, allocator, 0, 5));
+        releaseBatches(resultsStore.getQueryResults(basePath, metadata, allocator, 2, 3));
+        assertEquals(1, resultsStore.getReaders().size());
+
+        // a reader evicted and closed right after another thread looked it up is replaced by a new one
+        final ArrowFileReader first = Iterables.getOnlyElement(resultsStore.getReaders().asMap().values());
+        first.close();
+        List<RecordBatchHolder> batchHolders = resultsStore.getQueryResults(basePath, metadata, allocator, 1, 4);
+        assertEquals(1, batchHolders.size());
+        verifyBatchHolder(batchHolders.get(0), 1, 5);
+        assertEquals(TEST_VARCHAR_VALUES.subList(1, 5), getVarCharValues(batchHolders.get(0).getData().getContainer(), 1, 5));
+        releaseBatches(batchHolders);
+
+        final ArrowFileReader second = Iterables.getOnlyElement(resultsStore.getReaders().asMap().values());
+        assertTrue(first != second);
+        assertFalse(second.isClosed());
+      } finally {
+        resultsStore.close();
+      }
+      assertEquals(0, resultsStore.getReaders().size());
+    } finally {
+      if (batchData != null) {
+        batchData.clear();
+      }
+    }
+  }
+
+  @Test
+  public void findingFile() {
+    // three files of 5, 0 and 10 records
+    final long[] fileStarts = {0, 5, 5, 15};
+    assertEquals(0, JobResultsStore.findFile(fileStarts, 0));
+    assertEquals(0, JobResultsStore.findFile(fileStarts, 4));
+    assertEquals(2, JobResultsStore.findFile(fileStarts, 5));
+    assertEquals(2, JobResultsStore.findFile(fileStarts, 14));
+    assertEquals(0, JobResultsStore.findFile(new long[] {0, 5}, 3));
+  }
+
   public List<RecordBatchHolder> getRecords(ArrowFileReader reader, long start, long limit, BufferAllocator allocator) throws Exception {
     return reader.read(start, limit);
   }
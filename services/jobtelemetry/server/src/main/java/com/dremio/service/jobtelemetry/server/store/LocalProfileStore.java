@@ -126,7 +126,8 @@ public class LocalProfileStore implements ProfileStore {
         if (value == null)  {
           value = new HashMap<>();
         }
-        value.put(EndpointHelper.getMinimalString(endpoint), profile);
+        final String endpointKey = EndpointHelper.getMinimalString(endpoint);
+        value.put(endpointKey, profile.getDelta() ? ProfileStore.applyDelta(value.get(endpointKey), profile) : profile);
         return value;
       });
   }
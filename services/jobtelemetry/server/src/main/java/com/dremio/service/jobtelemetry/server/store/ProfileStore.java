@@ -15,11 +15,15 @@
  */
 package com.dremio.service.jobtelemetry.server.store;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import com.dremio.exec.proto.CoordExecRPC.ExecutorQueryProfile;
+import com.dremio.exec.proto.CoordExecRPC.FragmentStatus;
 import com.dremio.exec.proto.CoordinationProtos;
+import com.dremio.exec.proto.ExecProtos.FragmentHandle;
 import com.dremio.exec.proto.UserBitShared;
 import com.dremio.exec.proto.UserBitShared.QueryProfile;
 import com.dremio.service.Service;
@@ -77,7 +81,7 @@ public interface ProfileStore extends Service {
 
   /**
   /**
-   * Put executor profile for a given query.
+   * Put executor profile for a given query. A delta profile is folded into the previous profile of the executor.
    *
    * @param queryId queryId
    * @param endpoint executor endpoint
@@ -108,4 +112,29 @@ public interface ProfileStore extends Service {
    * @param queryId queryId.
    */
   void deleteProfile(UserBitShared.QueryId queryId);
+
+  /**
+   * Fold a delta executor profile into the previous profile of the same executor.
+   *
+   * @param previous previous profile, or null if there is none
+   * @param delta profile holding the fragment statuses that changed
+   * @return the full executor profile
+   */
+  static ExecutorQueryProfile applyDelta(ExecutorQueryProfile previous, ExecutorQueryProfile delta) {
+    final Map<FragmentHandle, FragmentStatus> fragments = new LinkedHashMap<>();
+    if (previous != null) {
+      for (FragmentStatus fragment : previous.getFragmentsList()) {
+        fragments.put(fragment.getHandle(), fragment);
+      }
+    }
+    for (FragmentStatus fragment : delta.getFragmentsList()) {
+      fragments.put(fragment.getHandle(), fragment);
+    }
+
+    return delta.toBuilder()
+      .clearDelta()
+      .clearFragments()
+      .addAllFragments(fragments.values())
+      .build();
+  }
 }
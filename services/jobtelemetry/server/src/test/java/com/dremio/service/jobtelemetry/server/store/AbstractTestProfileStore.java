@@ -31,6 +31,7 @@ import org.junit.Test;
 import com.dremio.common.AutoCloseables;
 import com.dremio.exec.proto.CoordExecRPC;
 import com.dremio.exec.proto.CoordinationProtos;
+import com.dremio.exec.proto.ExecProtos;
 import com.dremio.exec.proto.UserBitShared;
 import com.google.protobuf.Message;
 
@@ -229,6 +230,58 @@ public abstract class AbstractTestProfileStore {
       profileStore.getAllExecutorProfiles(queryId)));
   }
 
+  @Test
+  public void testExecutorProfileDelta() {
+    final UserBitShared.QueryId queryId = UserBitShared.QueryId.newBuilder()
+      .setPart1(1020)
+      .setPart2(2040)
+      .build();
+    final CoordinationProtos.NodeEndpoint e1 = CoordinationProtos.NodeEndpoint.newBuilder()
+      .setAddress("10.10.20.20")
+      .build();
+
+    final CoordExecRPC.FragmentStatus f1 = fragmentStatus(queryId, 1, 10);
+    final CoordExecRPC.FragmentStatus f2 = fragmentStatus(queryId, 2, 10);
+    profileStore.putExecutorProfile(queryId, e1,
+      CoordExecRPC.ExecutorQueryProfile.newBuilder()
+        .addFragments(f1)
+        .addFragments(f2)
+        .build());
+
+    // a delta replaces the changed fragments, and adds the new ones.
+    final CoordExecRPC.FragmentStatus f2Updated = fragmentStatus(queryId, 2, 20);
+    final CoordExecRPC.FragmentStatus f3 = fragmentStatus(queryId, 3, 30);
+    profileStore.putExecutorProfile(queryId, e1,
+      CoordExecRPC.ExecutorQueryProfile.newBuilder()
+        .setDelta(true)
+        .addFragments(f2Updated)
+        .addFragments(f3)
+        .build());
+
+    assertEquals(
+      CoordExecRPC.ExecutorQueryProfile.newBuilder()
+        .addFragments(f1)
+        .addFragments(f2Updated)
+        .addFragments(f3)
+        .build(),
+      profileStore.getAllExecutorProfiles(queryId).findFirst().get());
+  }
+
+  private static CoordExecRPC.FragmentStatus fragmentStatus(UserBitShared.QueryId queryId, int minorFragmentId,
+                                                            long endTime) {
+    return CoordExecRPC.FragmentStatus.newBuilder()
+      .setHandle(ExecProtos.FragmentHandle.newBuilder()
+        .setQueryId(queryId)
+        .setMajorFragmentId(0)
+        .setMinorFragmentId(minorFragmentId)
+        .build())
+      .setProfile(UserBitShared.MinorFragmentProfile.newBuilder()
+        .setMinorFragmentId(minorFragmentId)
+        .setEndTime(endTime)
+        .build())
+      .build();
+  }
+
   private static <T extends Message> boolean compareUnordered(Stream<T> left,
                                                               Stream<T> right) {
     Set<T> leftSet = left.collect(Collectors.toSet());
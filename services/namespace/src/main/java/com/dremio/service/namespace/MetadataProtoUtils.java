@@ -70,6 +70,43 @@ public final class MetadataProtoUtils {
     return builder.build();
   }
 
+  public static PartitionValue fromProtobuf(PartitionProtobuf.PartitionValue value) {
+    final String column = value.getColumn();
+    final PartitionValue.PartitionValueType type = fromProtobuf(value.getType());
+
+    if (value.hasBinaryValue()) {
+      return PartitionValue.of(column, value.getBinaryValue().asReadOnlyByteBuffer(), type);
+    } else if (value.hasBitValue()) {
+      return PartitionValue.of(column, value.getBitValue(), type);
+    } else if (value.hasDoubleValue()) {
+      return PartitionValue.of(column, value.getDoubleValue(), type);
+    } else if (value.hasFloatValue()) {
+      return PartitionValue.of(column, value.getFloatValue(), type);
+    } else if (value.hasIntValue()) {
+      return PartitionValue.of(column, value.getIntValue(), type);
+    } else if (value.hasLongValue()) {
+      return PartitionValue.of(column, value.getLongValue(), type);
+    } else if (value.hasStringValue()) {
+      return PartitionValue.of(column, value.getStringValue(), type);
+    }
+
+    return PartitionValue.of(column, type);
+  }
+
+  private static PartitionValue.PartitionValueType fromProtobuf(PartitionProtobuf.PartitionValueType type) {
+    switch (type) {
+    case IMPLICIT:
+      return PartitionValue.PartitionValueType.IMPLICIT;
+    case INVISIBLE:
+      return PartitionValue.PartitionValueType.INVISIBLE;
+    case UNKNOWN:
+    case VISIBLE:
+      return PartitionValue.PartitionValueType.VISIBLE;
+    default:
+      throw new IllegalArgumentException("Unknown type of partition: " + type.name());
+    }
+  }
+
   private static PartitionProtobuf.PartitionValueType toProtobuf(PartitionValue.PartitionValueType type) {
     switch (type) {
     case IMPLICIT:
@@ -96,6 +133,7 @@ public final class MetadataProtoUtils {
             .from(split.getAffinities())
             .transform(MetadataProtoUtils::toProtobuf))
         .setSize(split.getSizeInBytes())
+        .setRecordCount(split.getRecordCount())
         .setSplitExtendedProperty(MetadataProtoUtils.toProtobuf(split.getExtraInfo()))
         .build();
   }